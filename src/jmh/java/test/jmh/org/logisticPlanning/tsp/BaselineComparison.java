@@ -0,0 +1,176 @@
+package test.jmh.org.logisticPlanning.tsp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compare the CSV results of a benchmark run (as written by JMH with
+ * {@code -rf csv}) with the baseline in {@code src/jmh/baseline.csv}. For
+ * each benchmark and parameter setting present in both files, the ratio
+ * of the new score and the baseline score is printed. For the
+ * {@code AverageTime} and {@code SingleShotTime} modes used by our
+ * benchmarks, a ratio below {@code 1} means an improvement. Results whose
+ * difference is within the sum of the two score errors are marked with
+ * {@code ~}, i.e., as not significant.
+ */
+public final class BaselineComparison {
+
+  /** the prefix of the parameter columns */
+  private static final String PARAM = "Param: "; //$NON-NLS-1$
+
+  /** forbidden */
+  private BaselineComparison() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Split a line of a CSV file written by JMH
+   *
+   * @param line
+   *          the line
+   * @return the fields
+   */
+  private static final ArrayList<String> __split(final String line) {
+    final ArrayList<String> fields;
+    final StringBuilder sb;
+    boolean quoted;
+    char ch;
+    int i;
+
+    fields = new ArrayList<>();
+    sb = new StringBuilder();
+    quoted = false;
+    for (i = 0; i < line.length(); i++) {
+      ch = line.charAt(i);
+      if (ch == '"') {
+        quoted = (!quoted);
+      } else {
+        if ((ch == ',') && (!quoted)) {
+          fields.add(sb.toString().trim());
+          sb.setLength(0);
+        } else {
+          sb.append(ch);
+        }
+      }
+    }
+    fields.add(sb.toString().trim());
+    return fields;
+  }
+
+  /**
+   * Load a result file: map each benchmark with its parameter setting to
+   * its score and score error
+   *
+   * @param path
+   *          the path to the file
+   * @return the results
+   * @throws IOException
+   *           if reading fails
+   */
+  private static final Map<String, double[]> __load(final Path path)
+      throws IOException {
+    final TreeMap<String, double[]> results;
+    ArrayList<String> header, fields;
+    StringBuilder key;
+    String line, error;
+    int i;
+
+    results = new TreeMap<>();
+    header = null;
+    try (final BufferedReader br = Files.newBufferedReader(path,
+        StandardCharsets.UTF_8)) {
+      while ((line = br.readLine()) != null) {
+        if (line.trim().isEmpty()) {
+          continue;
+        }
+        fields = BaselineComparison.__split(line);
+        if (header == null) {
+          header = fields;
+          continue;
+        }
+
+        key = new StringBuilder(fields.get(0));
+        for (i = 7; i < Math.min(header.size(), fields.size()); i++) {
+          if (!(fields.get(i).isEmpty())) {
+            key.append(' ');
+            key.append(header.get(i).startsWith(BaselineComparison.PARAM) ? //
+            header.get(i).substring(BaselineComparison.PARAM.length())
+                : header.get(i));
+            key.append('=');
+            key.append(fields.get(i));
+          }
+        }
+        error = fields.get(5);
+        results.put(key.toString(),
+            new double[] {
+                Double.parseDouble(fields.get(4)),
+                (error.isEmpty() || "NaN".equals(error)) ? 0d : //$NON-NLS-1$
+                    Double.parseDouble(error) });
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Compare two result files
+   *
+   * @param baseline
+   *          the baseline
+   * @param result
+   *          the new result
+   * @param ps
+   *          the print stream to write the comparison to
+   * @throws IOException
+   *           if reading fails
+   */
+  public static final void compare(final Path baseline, final Path result,
+      final PrintStream ps) throws IOException {
+    final Map<String, double[]> base, res;
+    double[] a, b;
+
+    base = BaselineComparison.__load(baseline);
+    res = BaselineComparison.__load(result);
+    for (final Map.Entry<String, double[]> e : res.entrySet()) {
+      b = e.getValue();
+      a = base.get(e.getKey());
+      ps.print(e.getKey());
+      ps.print('\t');
+      if (a == null) {
+        ps.println("no baseline"); //$NON-NLS-1$
+        continue;
+      }
+      ps.print(b[0] / a[0]);
+      if (Math.abs(b[0] - a[0]) <= (a[1] + b[1])) {
+        ps.print('\t');
+        ps.print('~');
+      }
+      ps.println();
+    }
+  }
+
+  /**
+   * Compare a result file with the baseline
+   *
+   * @param args
+   *          the path to the result file (default:
+   *          {@code target/jmh-result.csv}) and the path to the baseline
+   *          (default: {@code src/jmh/baseline.csv})
+   * @throws IOException
+   *           if reading fails
+   */
+  public static final void main(final String[] args) throws IOException {
+    BaselineComparison.compare(Paths.get(((args.length > 1) ? args[1]
+        : "src/jmh/baseline.csv")), //$NON-NLS-1$
+        Paths.get(((args.length > 0) ? args[0]
+            : "target/jmh-result.csv")), //$NON-NLS-1$
+        System.out);
+  }
+}
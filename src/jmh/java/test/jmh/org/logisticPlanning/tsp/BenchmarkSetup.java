@@ -0,0 +1,137 @@
+package test.jmh.org.logisticPlanning.tsp;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.utils.config.Configuration;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+/**
+ * Shared setup code for the <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH</a>
+ * micro-benchmarks of the hot paths of the TSP Suite. All benchmarks are
+ * parameterized over the same three benchmark instances: a small instance
+ * given as explicit distance matrix ({@link #SMALL}), a medium-sized
+ * {@code EUC_2D} instance ({@link #MEDIUM}), and a large instance from the
+ * {@code pla*} family ({@link #LARGE}). Other instances can be selected
+ * with JMH's {@code -p instance=...} option.
+ */
+public final class BenchmarkSetup {
+
+  /** the small instance with an explicit distance matrix */
+  public static final String SMALL = "burma14"; //$NON-NLS-1$
+
+  /** the medium-sized {@code EUC_2D} instance */
+  public static final String MEDIUM = "a280"; //$NON-NLS-1$
+
+  /** the large {@code pla*} instance */
+  public static final String LARGE = "pla7397"; //$NON-NLS-1$
+
+  /**
+   * the seed used for all random numbers, so that all runs see the same
+   * tours and moves
+   */
+  public static final long SEED = 5489l;
+
+  /**
+   * the number of pre-computed random moves or node pairs, a power of two
+   * so that benchmarks can cycle through them with a bit mask
+   */
+  public static final int PRECOMPUTED = 4096;
+
+  /** forbidden */
+  private BenchmarkSetup() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get the instance of the given name
+   *
+   * @param name
+   *          the instance name
+   * @return the instance
+   */
+  public static final Instance instance(final String name) {
+    final Instance inst;
+
+    inst = Instance.forName(name);
+    if (inst == null) {
+      throw new IllegalArgumentException(//
+          "Unknown benchmark instance: " + name); //$NON-NLS-1$
+    }
+    return inst;
+  }
+
+  /**
+   * Load the distance computer of the given instance, using the same
+   * matrix conversion limit as
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark}
+   *
+   * @param name
+   *          the instance name
+   * @return the distance computer
+   * @throws IOException
+   *           if loading fails
+   */
+  public static final DistanceComputer load(final String name)
+      throws IOException {
+    return BenchmarkSetup.instance(name).load(
+        Benchmark.DEFAULT_MATRIX_LIMIT_DIM);
+  }
+
+  /**
+   * Create a benchmark whose runs will never be terminated by any of the
+   * computational budget limits, so that objective functions can be used
+   * for an arbitrary number of benchmark invocations.
+   *
+   * @param dir
+   *          the directory for the log files
+   * @param name
+   *          the instance name
+   * @param profile
+   *          should the runs be
+   *          {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_PROFILE
+   *          profiled}?
+   * @return the benchmark
+   */
+  public static final Benchmark benchmark(final File dir,
+      final String name, final boolean profile) {
+    final Benchmark bm;
+    final Configuration config;
+    final String max;
+
+    bm = new Benchmark(dir, BenchmarkSetup.instance(name));
+    config = new Configuration();
+    max = String.valueOf(Long.MAX_VALUE);
+    config.putString(Benchmark.PARAM_MAX_FES, max);
+    config.putString(Benchmark.PARAM_MAX_DES, max);
+    config.putString(Benchmark.PARAM_MAX_TIME, max);
+    config.putString(Benchmark.PARAM_MAX_RUNS, "100000"); //$NON-NLS-1$
+    config.putString(Benchmark.PARAM_PROFILE, String.valueOf(profile));
+    bm.configure(config);
+    return bm;
+  }
+
+  /**
+   * Create a random tour
+   *
+   * @param n
+   *          the number of nodes
+   * @param random
+   *          the randomizer
+   * @return the tour
+   */
+  public static final int[] randomTour(final int n, final Randomizer random) {
+    final int[] tour;
+    int i;
+
+    tour = new int[n];
+    for (i = n; (--i) >= 0;) {
+      tour[i] = (i + 1);
+    }
+    random.shuffle(tour);
+    return tour;
+  }
+}
@@ -0,0 +1,110 @@
+package test.jmh.org.logisticPlanning.tsp.benchmarking.dist;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
+import org.logisticPlanning.utils.math.random.Randomizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import test.jmh.org.logisticPlanning.tsp.BenchmarkSetup;
+
+/**
+ * Micro-benchmarks of the
+ * {@link org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer
+ * distance computers}, i.e., of single distance queries and of the
+ * evaluation of whole tours, without any of the bookkeeping of the
+ * objective function.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class DistanceComputerBenchmark {
+
+  /** the instance */
+  @Param({ BenchmarkSetup.SMALL, BenchmarkSetup.MEDIUM,
+      BenchmarkSetup.LARGE })
+  public String instance;
+
+  /** the distance computer */
+  private DistanceComputer m_dist;
+
+  /** the first nodes of the pre-computed node pairs */
+  private int[] m_a;
+
+  /** the second nodes of the pre-computed node pairs */
+  private int[] m_b;
+
+  /** the index of the next node pair */
+  private int m_next;
+
+  /** the tour to evaluate */
+  private int[] m_tour;
+
+  /** create */
+  public DistanceComputerBenchmark() {
+    super();
+  }
+
+  /**
+   * load the instance and create the random node pairs and tour
+   *
+   * @throws IOException
+   *           if loading fails
+   */
+  @Setup
+  public void setup() throws IOException {
+    final Randomizer r;
+    final int n;
+    int i;
+
+    this.m_dist = BenchmarkSetup.load(this.instance);
+    n = this.m_dist.n();
+    r = new Randomizer(BenchmarkSetup.SEED);
+
+    this.m_a = new int[BenchmarkSetup.PRECOMPUTED];
+    this.m_b = new int[BenchmarkSetup.PRECOMPUTED];
+    for (i = BenchmarkSetup.PRECOMPUTED; (--i) >= 0;) {
+      this.m_a[i] = (1 + r.nextInt(n));
+      this.m_b[i] = (1 + r.nextInt(n));
+    }
+    this.m_tour = BenchmarkSetup.randomTour(n, r);
+  }
+
+  /**
+   * Compute the distance between two random nodes
+   *
+   * @return the distance
+   */
+  @Benchmark
+  public int distance() {
+    final int i;
+
+    i = this.m_next;
+    this.m_next = ((i + 1) & (BenchmarkSetup.PRECOMPUTED - 1));
+    return this.m_dist.distance(this.m_a[i], this.m_b[i]);
+  }
+
+  /**
+   * Evaluate a random tour
+   *
+   * @return the tour length
+   */
+  @Benchmark
+  public long evaluate() {
+    return this.m_dist.evaluate(this.m_tour);
+  }
+}
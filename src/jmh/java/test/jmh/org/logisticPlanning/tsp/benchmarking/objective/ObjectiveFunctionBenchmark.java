@@ -0,0 +1,149 @@
+package test.jmh.org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.utils.NamedObject;
+import org.logisticPlanning.utils.math.random.Randomizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import test.jmh.org.logisticPlanning.tsp.BenchmarkSetup;
+import test.junit.TempDir;
+
+/**
+ * Micro-benchmarks of the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction
+ * objective function}, i.e., of the evaluation of tours including the
+ * registration of the FEs and DEs, the update of the best solution, and
+ * the collection of log points. Each measurement iteration is one run.
+ * The benchmarks are performed with and without
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_PROFILE
+ * profiling}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class ObjectiveFunctionBenchmark {
+
+  /** the instance */
+  @Param({ BenchmarkSetup.SMALL, BenchmarkSetup.MEDIUM,
+      BenchmarkSetup.LARGE })
+  public String instance;
+
+  /** should the runs be profiled? */
+  @Param({ "false", "true" })
+  public boolean profile;
+
+  /** the algorithm */
+  private final NamedObject m_algorithm;
+
+  /** the temporary directory for the logs */
+  private TempDir m_dir;
+
+  /** the objective function */
+  private ObjectiveFunction m_f;
+
+  /** the tour */
+  private int[] m_tour;
+
+  /** the length of the tour */
+  private long m_length;
+
+  /** the next objective value to register as improvement */
+  private long m_improving;
+
+  /** create */
+  public ObjectiveFunctionBenchmark() {
+    super();
+    this.m_algorithm = new NamedObject("jmh"); //$NON-NLS-1$
+  }
+
+  /**
+   * create the objective function
+   *
+   * @throws IOException
+   *           if the temporary directory cannot be created
+   */
+  @Setup(Level.Trial)
+  public void setupTrial() throws IOException {
+    this.m_dir = new TempDir();
+    this.m_f = BenchmarkSetup.benchmark(this.m_dir.getDir(),
+        this.instance, this.profile).createObjective();
+    this.m_tour = BenchmarkSetup.randomTour(this.m_f.n(), new Randomizer(
+        BenchmarkSetup.SEED));
+  }
+
+  /** begin a run */
+  @Setup(Level.Iteration)
+  public void setupIteration() {
+    this.m_f.beginRun(this.m_algorithm);
+    this.m_length = this.m_f.evaluate(this.m_tour);
+    this.m_improving = (Long.MAX_VALUE >>> 1);
+  }
+
+  /** end the run */
+  @TearDown(Level.Iteration)
+  public void tearDownIteration() {
+    this.m_f.endRun();
+  }
+
+  /**
+   * delete the logs
+   *
+   * @throws IOException
+   *           if the temporary directory cannot be deleted
+   */
+  @TearDown(Level.Trial)
+  public void tearDownTrial() throws IOException {
+    org.logisticPlanning.tsp.benchmarking.objective.Benchmark.flushLogs();
+    this.m_dir.close();
+  }
+
+  /**
+   * Evaluate a tour, i.e., compute its length and register it
+   *
+   * @return the tour length
+   */
+  @Benchmark
+  public long evaluate() {
+    return this.m_f.evaluate(this.m_tour);
+  }
+
+  /**
+   * Register a tour which is not better than the best tour of the run,
+   * the common case during a run
+   *
+   * @return the improvement flag
+   */
+  @Benchmark
+  public boolean registerFE() {
+    return this.m_f.registerFE(this.m_tour, this.m_length);
+  }
+
+  /**
+   * Register a tour as new best tour of the run, which includes copying
+   * it
+   *
+   * @return the improvement flag
+   */
+  @Benchmark
+  public boolean registerFEImproving() {
+    return this.m_f.registerFE(this.m_tour, (this.m_improving--));
+  }
+}
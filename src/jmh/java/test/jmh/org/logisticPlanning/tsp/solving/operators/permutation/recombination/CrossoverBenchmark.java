@@ -0,0 +1,153 @@
+package test.jmh.org.logisticPlanning.tsp.solving.operators.permutation.recombination;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.Individual;
+import org.logisticPlanning.tsp.solving.operators.BinaryOperator;
+import org.logisticPlanning.tsp.solving.operators.permutation.recombination.PermutationOrderCrossover;
+import org.logisticPlanning.utils.NamedObject;
+import org.logisticPlanning.utils.math.random.Randomizer;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import test.jmh.org.logisticPlanning.tsp.BenchmarkSetup;
+import test.junit.TempDir;
+
+/**
+ * Micro-benchmarks of the
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.recombination
+ * crossover operators for permutations}. Each invocation creates one
+ * offspring from two fixed random parents. Each measurement iteration is
+ * one run of the objective function, since the crossover operators use its
+ * randomizer and some of them also its distance function.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class CrossoverBenchmark {
+
+  /** the instance */
+  @Param({ BenchmarkSetup.SMALL, BenchmarkSetup.MEDIUM,
+      BenchmarkSetup.LARGE })
+  public String instance;
+
+  /** the simple class name of the crossover operator */
+  @Param({ "PermutationAlternatingPositionCrossover",
+      "PermutationCycleCrossover", "PermutationEdgeCrossover",
+      "PermutationHeuristicCrossover",
+      "PermutationMaximalPreservativeCrossover",
+      "PermutationOrderBasedCrossover", "PermutationOrderCrossover",
+      "PermutationPartiallyMappedCrossover",
+      "PermutationPositionBasedCrossover", "PermutationSavingsCrossover" })
+  public String crossover;
+
+  /** the algorithm */
+  private final NamedObject m_algorithm;
+
+  /** the temporary directory for the logs */
+  private TempDir m_dir;
+
+  /** the objective function */
+  private ObjectiveFunction m_f;
+
+  /** the crossover operator */
+  private BinaryOperator<int[]> m_op;
+
+  /** the first parent */
+  private Individual<int[]> m_parent1;
+
+  /** the second parent */
+  private Individual<int[]> m_parent2;
+
+  /** the offspring */
+  private Individual<int[]> m_dest;
+
+  /** create */
+  public CrossoverBenchmark() {
+    super();
+    this.m_algorithm = new NamedObject("jmh"); //$NON-NLS-1$
+  }
+
+  /**
+   * create the objective function, the operator, and the parents
+   *
+   * @throws Exception
+   *           if the operator cannot be created or the temporary
+   *           directory cannot be created
+   */
+  @Setup(Level.Trial)
+  @SuppressWarnings("unchecked")
+  public void setupTrial() throws Exception {
+    final Randomizer r;
+
+    this.m_dir = new TempDir();
+    this.m_f = BenchmarkSetup.benchmark(this.m_dir.getDir(),
+        this.instance, false).createObjective();
+    this.m_op = ((BinaryOperator<int[]>) (Class.forName(//
+        PermutationOrderCrossover.class.getPackage().getName() + '.'
+            + this.crossover).newInstance()));
+
+    r = new Randomizer(BenchmarkSetup.SEED);
+    this.m_parent1 = new Individual<>();
+    this.m_parent1.solution = BenchmarkSetup.randomTour(this.m_f.n(), r);
+    this.m_parent2 = new Individual<>();
+    this.m_parent2.solution = BenchmarkSetup.randomTour(this.m_f.n(), r);
+    this.m_dest = new Individual<>();
+  }
+
+  /** begin a run */
+  @Setup(Level.Iteration)
+  public void setupIteration() {
+    this.m_f.beginRun(this.m_algorithm);
+    this.m_op.beginRun(this.m_f);
+    this.m_parent1.tourLength = this.m_f.evaluate(this.m_parent1.solution);
+    this.m_parent2.tourLength = this.m_f.evaluate(this.m_parent2.solution);
+  }
+
+  /** end the run */
+  @TearDown(Level.Iteration)
+  public void tearDownIteration() {
+    this.m_op.endRun(this.m_f);
+    this.m_f.endRun();
+  }
+
+  /**
+   * delete the logs
+   *
+   * @throws IOException
+   *           if the temporary directory cannot be deleted
+   */
+  @TearDown(Level.Trial)
+  public void tearDownTrial() throws IOException {
+    Benchmark.flushLogs();
+    this.m_dir.close();
+  }
+
+  /**
+   * Create an offspring
+   *
+   * @return the offspring
+   */
+  @org.openjdk.jmh.annotations.Benchmark
+  public Individual<int[]> recombine() {
+    this.m_op.recombine(this.m_dest, this.m_f, this.m_parent1,
+        this.m_parent2);
+    return this.m_dest;
+  }
+}
@@ -0,0 +1,164 @@
+package test.jmh.org.logisticPlanning.tsp.solving.operators.permutation.update;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
+import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdateOperator;
+import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Reverse;
+import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Rotate_Left;
+import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Rotate_Right;
+import org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdate_Swap;
+import org.logisticPlanning.utils.math.random.Randomizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import test.jmh.org.logisticPlanning.tsp.BenchmarkSetup;
+
+/**
+ * Micro-benchmarks of the
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdateOperator
+ * permutation update operators}: the computation of the change of the tour
+ * length caused by a move and the application of the move to a tour. The
+ * moves are drawn at random in the same way as in
+ * {@link org.logisticPlanning.tsp.solving.operators.permutation.update.PermutationUpdateOperator#mutate(org.logisticPlanning.tsp.solving.Individual, org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction, org.logisticPlanning.tsp.solving.Individual)}
+ * .
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class PermutationUpdateBenchmark {
+
+  /** the instance */
+  @Param({ BenchmarkSetup.SMALL, BenchmarkSetup.MEDIUM,
+      BenchmarkSetup.LARGE })
+  public String instance;
+
+  /** the operator */
+  @Param({ "Reverse", "Rotate_Left", "Rotate_Right", "Swap" })
+  public String operator;
+
+  /** the update operator */
+  private PermutationUpdateOperator m_op;
+
+  /** the distance computer */
+  private DistanceComputer m_dist;
+
+  /** the tour */
+  private int[] m_tour;
+
+  /** the first indices of the pre-computed moves */
+  private int[] m_a;
+
+  /** the second indices of the pre-computed moves */
+  private int[] m_b;
+
+  /** the index of the next move */
+  private int m_next;
+
+  /** create */
+  public PermutationUpdateBenchmark() {
+    super();
+  }
+
+  /**
+   * Get the operator of the given name
+   *
+   * @param name
+   *          the name
+   * @return the operator
+   */
+  private static final PermutationUpdateOperator __operator(
+      final String name) {
+    switch (name) {
+      case "Reverse": { //$NON-NLS-1$
+        return PermutationUpdate_Reverse.INSTANCE;
+      }
+      case "Rotate_Left": { //$NON-NLS-1$
+        return PermutationUpdate_Rotate_Left.INSTANCE;
+      }
+      case "Rotate_Right": { //$NON-NLS-1$
+        return PermutationUpdate_Rotate_Right.INSTANCE;
+      }
+      case "Swap": { //$NON-NLS-1$
+        return PermutationUpdate_Swap.INSTANCE;
+      }
+      default: {
+        throw new IllegalArgumentException(//
+            "Unknown update operator: " + name); //$NON-NLS-1$
+      }
+    }
+  }
+
+  /**
+   * load the instance and create the random tour and moves
+   *
+   * @throws IOException
+   *           if loading fails
+   */
+  @Setup
+  public void setup() throws IOException {
+    final Randomizer r;
+    final int n;
+    int i, a, b;
+
+    this.m_op = PermutationUpdateBenchmark.__operator(this.operator);
+    this.m_dist = BenchmarkSetup.load(this.instance);
+    n = this.m_dist.n();
+    r = new Randomizer(BenchmarkSetup.SEED);
+    this.m_tour = BenchmarkSetup.randomTour(n, r);
+
+    this.m_a = new int[BenchmarkSetup.PRECOMPUTED];
+    this.m_b = new int[BenchmarkSetup.PRECOMPUTED];
+    for (i = BenchmarkSetup.PRECOMPUTED; (--i) >= 0;) {
+      a = r.nextInt(n);
+      do {
+        b = r.nextInt(n);
+      } while (a == b);
+      this.m_a[i] = a;
+      this.m_b[i] = b;
+    }
+  }
+
+  /**
+   * Compute the change of the tour length caused by a random move
+   *
+   * @return the delta
+   */
+  @Benchmark
+  public int delta() {
+    final int i;
+
+    i = this.m_next;
+    this.m_next = ((i + 1) & (BenchmarkSetup.PRECOMPUTED - 1));
+    return this.m_op.delta(this.m_tour, this.m_dist, this.m_a[i],
+        this.m_b[i]);
+  }
+
+  /**
+   * Apply a random move to the tour
+   *
+   * @return the tour
+   */
+  @Benchmark
+  public int[] update() {
+    final int i;
+
+    i = this.m_next;
+    this.m_next = ((i + 1) & (BenchmarkSetup.PRECOMPUTED - 1));
+    this.m_op.update(this.m_tour, this.m_a[i], this.m_b[i]);
+    return this.m_tour;
+  }
+}
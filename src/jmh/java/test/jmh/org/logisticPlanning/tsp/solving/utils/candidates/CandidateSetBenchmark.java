@@ -0,0 +1,115 @@
+package test.jmh.org.logisticPlanning.tsp.solving.utils.candidates;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.utils.candidates.CandidateSet;
+import org.logisticPlanning.tsp.solving.utils.candidates.ECandidateSetKind;
+import org.logisticPlanning.utils.NamedObject;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import test.jmh.org.logisticPlanning.tsp.BenchmarkSetup;
+import test.junit.TempDir;
+
+/**
+ * Micro-benchmarks of the construction of
+ * {@link org.logisticPlanning.tsp.solving.utils.candidates.CandidateSet
+ * candidate sets} via
+ * {@link org.logisticPlanning.tsp.solving.utils.candidates.CandidateSet#allocate(ObjectiveFunction, int, ECandidateSetKind, CandidateSet)}
+ * . Since candidate sets are shared between the runs on a benchmark
+ * instance, the shared data is discarded before each invocation, so that
+ * each invocation measures one complete construction. The construction is
+ * expensive for large instances, so each invocation is timed separately.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(2)
+public class CandidateSetBenchmark {
+
+  /** the instance */
+  @Param({ BenchmarkSetup.SMALL, BenchmarkSetup.MEDIUM,
+      BenchmarkSetup.LARGE })
+  public String instance;
+
+  /** the number of candidates per node */
+  @Param({ "5", "10" })
+  public int m;
+
+  /** the kind of the candidate set */
+  @Param({ "NEAREST_NEIGHBORS", "QUADRANT_NEIGHBORS" })
+  public ECandidateSetKind kind;
+
+  /** the temporary directory for the logs */
+  private TempDir m_dir;
+
+  /** the benchmark */
+  private Benchmark m_benchmark;
+
+  /** the objective function */
+  private ObjectiveFunction m_f;
+
+  /** create */
+  public CandidateSetBenchmark() {
+    super();
+  }
+
+  /**
+   * create the objective function and begin a run
+   *
+   * @throws IOException
+   *           if the temporary directory cannot be created
+   */
+  @Setup(Level.Trial)
+  public void setupTrial() throws IOException {
+    this.m_dir = new TempDir();
+    this.m_benchmark = BenchmarkSetup.benchmark(this.m_dir.getDir(),
+        this.instance, false);
+    this.m_f = this.m_benchmark.createObjective();
+    this.m_f.beginRun(new NamedObject("jmh")); //$NON-NLS-1$
+  }
+
+  /** discard the candidate set built by the previous invocation */
+  @Setup(Level.Invocation)
+  public void setupInvocation() {
+    this.m_benchmark.clearSharedData();
+  }
+
+  /**
+   * end the run and delete the logs
+   *
+   * @throws IOException
+   *           if the temporary directory cannot be deleted
+   */
+  @TearDown(Level.Trial)
+  public void tearDownTrial() throws IOException {
+    this.m_f.endRun();
+    Benchmark.flushLogs();
+    this.m_dir.close();
+  }
+
+  /**
+   * Build a candidate set
+   *
+   * @return the candidate set
+   */
+  @org.openjdk.jmh.annotations.Benchmark
+  public CandidateSet allocate() {
+    return CandidateSet.allocate(this.m_f, this.m, this.kind, null);
+  }
+}
@@ -1,18 +1,18 @@
 package org.logisticPlanning.tsp.benchmarking.dist;
 
 import java.io.BufferedReader;
+import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 
 /**
@@ -415,6 +415,9 @@ public abstract class DistanceComputer extends _Constants {
   /** the number of nodes */
   protected final int m_n;
 
+  /** the spatial index over the node coordinates, created on demand */
+  private transient volatile _KDTree m_spatialIndex;
+
   /**
    * the distance computer
    *
@@ -522,6 +525,371 @@ public abstract class DistanceComputer extends _Constants {
     return sum;
   }
 
+  /**
+   * <p>
+   * Compute the change of the tour length caused by a 2-opt move, i.e., by
+   * reversing the sub-sequence {@code path[i..j]} of the tour
+   * {@code path} in path representation. If {@code j<i}, the sub-sequence
+   * wraps around the end of the array. The move removes the edges entering
+   * and leaving the sub-sequence and adds two new edges, so exactly four
+   * distances are computed. If the move does not change the tour, e.g.,
+   * because the sub-sequence has only one node or covers at least all but
+   * one node, {@code 0} is returned without computing any distance.
+   * </p>
+   * <p>
+   * Like all move deltas, this method assumes that the distances are
+   * symmetric: The edges inside reversed sub-sequences are not considered.
+   * If this distance computer is an
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction
+   * objective function}, each computed distance counts as one distance
+   * evaluation (DE). Together with
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#registerFEs(long, int[], long)}
+   * , which registers several function evaluations at once, moves can thus
+   * be evaluated in {@code O(1)} and without any allocation instead of
+   * calling {@link #evaluate(int[])}.
+   * </p>
+   *
+   * @param path
+   *          the tour in path representation
+   * @param i
+   *          the index of the first node of the sub-sequence to reverse
+   * @param j
+   *          the index of the last node of the sub-sequence to reverse
+   * @return the change of the tour length, negative values are
+   *         improvements
+   */
+  public final int twoOptDelta(final int[] path, final int i, final int j) {
+    final int n;
+
+    n = path.length;
+    if ((i == j) || ((((j - i) + n) % n) >= (n - 2))) {
+      return 0;
+    }
+
+    return DistanceComputer.__twoOptDelta(this, path[((i + n) - 1) % n],
+        path[i], path[j], path[(j + 1) % n]);
+  }
+
+  /**
+   * Compute the change of the tour length caused by exchanging the nodes
+   * at indexes {@code i} and {@code j} of the tour {@code path} in path
+   * representation. Only the distances of the edges which actually change
+   * are computed: four if the two nodes are neighbors or have exactly one
+   * node between them, eight otherwise, and none if the move does not
+   * change the tour (see {@link #twoOptDelta(int[], int, int)} for a
+   * discussion of distance evaluations and symmetry).
+   *
+   * @param path
+   *          the tour in path representation
+   * @param i
+   *          the index of the first node
+   * @param j
+   *          the index of the second node
+   * @return the change of the tour length, negative values are
+   *         improvements
+   */
+  public final int swapDelta(final int[] path, final int i, final int j) {
+    final int n, A, B, C, D, E, F;
+
+    n = path.length;
+    if ((i == j) || (n <= 3)) {
+      return 0;
+    }
+    if (i == ((j + 1) % n)) {
+      return this.swapDelta(path, j, i);
+    }
+
+    A = path[((i + n) - 1) % n];
+    B = path[i];
+    E = path[j];
+    F = path[(j + 1) % n];
+
+    // A B E F -> A E B F: the edge between B and E remains
+    if (j == ((i + 1) % n)) {
+      return DistanceComputer.__twoOptDelta(this, A, B, E, F);
+    }
+
+    C = path[(i + 1) % n];
+    D = path[((j + n) - 1) % n];
+    if (C == D) {
+      if (F == A) {
+        // a tour of four nodes: the tour is reversed
+        return 0;
+      }
+      // A B C E F -> A E C B F: the edges to C remain
+      return DistanceComputer.__twoOptDelta(this, A, B, E, F);
+    }
+    if (F == A) {
+      // D E A B C -> D B A E C: the edges to A remain
+      return DistanceComputer.__twoOptDelta(this, D, E, B, C);
+    }
+
+    return ((this.distance(A, E) + this.distance(E, C)
+        + this.distance(D, B) + this.distance(B, F)) - //
+    (this.distance(A, B) + this.distance(B, C) + this.distance(D, E) + //
+    this.distance(E, F)));
+  }
+
+  /**
+   * Compute the change of the tour length caused by an Or-opt move, i.e.,
+   * by moving the sub-sequence {@code path[i..j]} of the tour
+   * {@code path} in path representation (which wraps around the end of
+   * the array if {@code j<i}) between the nodes at indexes {@code k} and
+   * {@code k+1}, optionally reversing it. {@code k} must not be an index
+   * of the sub-sequence; if it is, {@code 0} is returned. If {@code k} is
+   * the index directly before the sub-sequence, the move is either a
+   * 2-opt move or does not change the tour. At most six distances are
+   * computed (see
+   * {@link #twoOptDelta(int[], int, int)} for a discussion of distance
+   * evaluations and symmetry).
+   *
+   * @param path
+   *          the tour in path representation
+   * @param i
+   *          the index of the first node of the sub-sequence to move
+   * @param j
+   *          the index of the last node of the sub-sequence to move
+   * @param k
+   *          the index of the node after which the sub-sequence is
+   *          inserted
+   * @param reverse
+   *          should the sub-sequence be reversed?
+   * @return the change of the tour length, negative values are
+   *         improvements
+   */
+  public final int orOptDelta(final int[] path, final int i, final int j,
+      final int k, final boolean reverse) {
+    final int n, before;
+
+    n = path.length;
+    before = (((i + n) - 1) % n);
+    if ((((k - i) + n) % n) <= (((j - i) + n) % n)) {
+      return 0;
+    }
+    if (k == before) {
+      // the sub-sequence stays where it is
+      return (reverse ? this.twoOptDelta(path, i, j) : 0);
+    }
+    return this.threeOptDelta(path, before, j, k, true, reverse, false);
+  }
+
+  /**
+   * <p>
+   * Compute the change of the tour length caused by a 3-opt move on the
+   * tour {@code path} in path representation. The move removes the edges
+   * leaving the nodes at the indexes {@code i}, {@code j}, and {@code k},
+   * which must be different and appear in this order when going along the
+   * tour starting at {@code i}. This cuts the tour into the sub-sequences
+   * {@code s1=path[i+1..j]}, {@code s2=path[j+1..k]}, and the rest of the
+   * tour. The tour is then reconnected by appending {@code s1} and
+   * {@code s2} to the rest of the tour either in their original order or,
+   * if {@code exchange} is {@code true}, in exchanged order, each of them
+   * optionally reversed.
+   * </p>
+   * <p>
+   * These settings cover all ways to reconnect the tour, including the
+   * 2-opt moves and the Or-opt moves (see
+   * {@link #orOptDelta(int[], int, int, int, boolean)}). Only the
+   * distances of the edges which actually change are computed, i.e., at
+   * most six (see {@link #twoOptDelta(int[], int, int)} for a discussion of
+   * distance evaluations and symmetry). If {@code i}, {@code j}, and
+   * {@code k} are not different and in order, {@code 0} is returned.
+   * </p>
+   *
+   * @param path
+   *          the tour in path representation
+   * @param i
+   *          the index of the node before the first sub-sequence
+   * @param j
+   *          the index of the last node of the first sub-sequence
+   * @param k
+   *          the index of the last node of the second sub-sequence
+   * @param exchange
+   *          should the order of the two sub-sequences be exchanged?
+   * @param reverseFirst
+   *          should the first sub-sequence be reversed?
+   * @param reverseSecond
+   *          should the second sub-sequence be reversed?
+   * @return the change of the tour length, negative values are
+   *         improvements
+   */
+  public final int threeOptDelta(final int[] path, final int i,
+      final int j, final int k, final boolean exchange,
+      final boolean reverseFirst, final boolean reverseSecond) {
+    final int n, dj, a, b, c, d, e, f, x1, y1, x2, y2;
+
+    n = path.length;
+    dj = (((j - i) + n) % n);
+    if ((dj <= 0) || ((((k - i) + n) % n) <= dj)) {
+      return 0;
+    }
+
+    a = path[i];
+    b = path[(i + 1) % n];
+    c = path[j];
+    d = path[(j + 1) % n];
+    e = path[k];
+    f = path[(k + 1) % n];
+
+    // the first and last nodes of the sub-sequences in the new tour
+    if (reverseFirst) {
+      x1 = c;
+      y1 = b;
+    } else {
+      x1 = b;
+      y1 = c;
+    }
+    if (reverseSecond) {
+      x2 = e;
+      y2 = d;
+    } else {
+      x2 = d;
+      y2 = e;
+    }
+
+    if (exchange) {
+      return this.__reconnectDelta(a, b, c, d, e, f, a, x2, y2, x1, y1, f);
+    }
+    return this.__reconnectDelta(a, b, c, d, e, f, a, x1, y1, x2, y2, f);
+  }
+
+  /**
+   * Compute the change of the tour length if the edges {@code (A, B)} and
+   * {@code (E, F)} are replaced with {@code (A, E)} and {@code (B, F)}
+   *
+   * @param dist
+   *          the distance computer
+   * @param A
+   *          the first node
+   * @param B
+   *          the second node
+   * @param E
+   *          the third node
+   * @param F
+   *          the fourth node
+   * @return the change of the tour length
+   */
+  private static final int __twoOptDelta(final DistanceComputer dist,
+      final int A, final int B, final int E, final int F) {
+    return ((dist.distance(A, E) + dist.distance(B, F)) - //
+    (dist.distance(A, B) + dist.distance(E, F)));
+  }
+
+  /**
+   * Compute the change of the tour length if the edges {@code (a, b)},
+   * {@code (c, d)}, and {@code (e, f)} are replaced with
+   * {@code (p, q)}, {@code (r, s)}, and {@code (t, u)}. Edges which are
+   * both removed and added are skipped, so only the distances of edges
+   * which actually change are computed.
+   *
+   * @param a
+   *          the first node of the first removed edge
+   * @param b
+   *          the second node of the first removed edge
+   * @param c
+   *          the first node of the second removed edge
+   * @param d
+   *          the second node of the second removed edge
+   * @param e
+   *          the first node of the third removed edge
+   * @param f
+   *          the second node of the third removed edge
+   * @param p
+   *          the first node of the first added edge
+   * @param q
+   *          the second node of the first added edge
+   * @param r
+   *          the first node of the second added edge
+   * @param s
+   *          the second node of the second added edge
+   * @param t
+   *          the first node of the third added edge
+   * @param u
+   *          the second node of the third added edge
+   * @return the change of the tour length
+   */
+  private final int __reconnectDelta(final int a, final int b,
+      final int c, final int d, final int e, final int f, final int p,
+      final int q, final int r, final int s, final int t, final int u) {
+    int kept, match, delta;
+
+    kept = 0;
+    delta = 0;
+
+    match = DistanceComputer.__kept(p, q, a, b, c, d, e, f, kept);
+    if (match == 0) {
+      delta += this.distance(p, q);
+    } else {
+      kept |= match;
+    }
+    match = DistanceComputer.__kept(r, s, a, b, c, d, e, f, kept);
+    if (match == 0) {
+      delta += this.distance(r, s);
+    } else {
+      kept |= match;
+    }
+    match = DistanceComputer.__kept(t, u, a, b, c, d, e, f, kept);
+    if (match == 0) {
+      delta += this.distance(t, u);
+    } else {
+      kept |= match;
+    }
+
+    if ((kept & 1) == 0) {
+      delta -= this.distance(a, b);
+    }
+    if ((kept & 2) == 0) {
+      delta -= this.distance(c, d);
+    }
+    if ((kept & 4) == 0) {
+      delta -= this.distance(e, f);
+    }
+    return delta;
+  }
+
+  /**
+   * Find the removed edge which is equal to the added edge {@code (x, y)}
+   *
+   * @param x
+   *          the first node of the added edge
+   * @param y
+   *          the second node of the added edge
+   * @param a
+   *          the first node of the first removed edge
+   * @param b
+   *          the second node of the first removed edge
+   * @param c
+   *          the first node of the second removed edge
+   * @param d
+   *          the second node of the second removed edge
+   * @param e
+   *          the first node of the third removed edge
+   * @param f
+   *          the second node of the third removed edge
+   * @param kept
+   *          the bit mask of the removed edges already found to be kept
+   * @return {@code 1}, {@code 2}, or {@code 4} if {@code (x, y)} is equal
+   *         to the first, second, or third removed edge, respectively, or
+   *         {@code 0} if it is a new edge
+   */
+  private static final int __kept(final int x, final int y, final int a,
+      final int b, final int c, final int d, final int e, final int f,
+      final int kept) {
+    if (((kept & 1) == 0)
+        && (((x == a) && (y == b)) || ((x == b) && (y == a)))) {
+      return 1;
+    }
+    if (((kept & 2) == 0)
+        && (((x == c) && (y == d)) || ((x == d) && (y == c)))) {
+      return 2;
+    }
+    if (((kept & 4) == 0)
+        && (((x == e) && (y == f)) || ((x == f) && (y == e)))) {
+      return 4;
+    }
+    return 0;
+  }
+
   /**
    * Obtain the number of cities.
    *
@@ -531,6 +899,189 @@ public abstract class DistanceComputer extends _Constants {
     return this.m_n;
   }
 
+  /**
+   * Is this distance computer symmetric, i.e., is
+   * {@code distance(i,j)==distance(j,i)} guaranteed? Only explicit
+   * asymmetric matrices return {@code false} here.
+   *
+   * @return {@code true} if the distances are symmetric, {@code false}
+   *         otherwise
+   */
+  boolean _symmetric() {
+    return true;
+  }
+
+  /**
+   * Create the spatial index over the node coordinates. This method
+   * returns {@code null} if the distance computer is not backed by
+   * coordinates or if its metric cannot be searched with a k-d tree.
+   *
+   * @return the spatial index, or {@code null} if none is supported
+   */
+  _KDTree _createSpatialIndex() {
+    return null;
+  }
+
+  /**
+   * Get the spatial index over the node coordinates. The index is created
+   * once and then shared by all threads using this distance computer.
+   *
+   * @return the spatial index, or {@code null} if none is supported
+   */
+  final _KDTree _getSpatialIndex() {
+    _KDTree idx;
+
+    idx = this.m_spatialIndex;
+    if (idx == null) {
+      synchronized (this) {
+        idx = this.m_spatialIndex;
+        if (idx == null) {
+          this.m_spatialIndex = idx = this._createSpatialIndex();
+        }
+      }
+    }
+    return idx;
+  }
+
+  /**
+   * check the parameters of a neighbor query
+   *
+   * @param m
+   *          the number of neighbors per node
+   * @param dest
+   *          the destination array
+   */
+  private final void __checkNeighborQuery(final int m, final int[] dest) {
+    if ((m <= 0) || (m >= this.m_n)) {
+      throw new IllegalArgumentException(//
+          "Invalid number of neighbors: " + m); //$NON-NLS-1$
+    }
+    if (dest.length < (((long) (this.m_n)) * m)) {
+      throw new IllegalArgumentException(//
+          "Destination array too short: " + dest.length); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * <p>
+   * Compute the {@code m} nearest neighbors of every node by using a
+   * spatial index (a k-d tree) over the node coordinates. This takes
+   * roughly {@code O(n*(log(n)+m))} distance evaluations instead of the
+   * {@code n*(n-1)} needed by an exhaustive search. Neighbors are ranked
+   * by distance and ties are broken in favor of the smaller node index,
+   * so the result is the same as the one of the exhaustive search.
+   * </p>
+   * <p>
+   * A spatial index is available if the distance computer is based on
+   * Euclidean, pseudo-Euclidean, ceiled Euclidean, Manhattan, or maximum
+   * distances over coordinates, even if these have automatically been
+   * converted to a distance matrix. It is not available for explicit
+   * distance matrices and geographical or x-ray crystallography
+   * distances, in which case this method returns {@code false} and the
+   * caller needs to fall back to the exhaustive search.
+   * </p>
+   *
+   * @param m
+   *          the number of neighbors per node, {@code 0<m<n}
+   * @param dest
+   *          the destination array of at least {@code n*m} elements: the
+   *          neighbors of node {@code i} are stored at indexes
+   *          {@code (i-1)*m} to {@code (i*m)-1} in increasing order of
+   *          distance
+   * @param dist
+   *          the distance computer through which all distances are
+   *          evaluated: either this object or an objective function
+   *          wrapping it, so that the distance evaluations are counted
+   * @return {@code true} if the neighbors have been computed,
+   *         {@code false} if no spatial index is available (in which case
+   *         {@code dest} is not touched)
+   */
+  public boolean nearestNeighbors(final int m, final int[] dest,
+      final DistanceComputer dist) {
+    final _KDTree idx;
+
+    this.__checkNeighborQuery(m, dest);
+    idx = this._getSpatialIndex();
+    if (idx == null) {
+      return false;
+    }
+    idx.nearest(dist, m, dest);
+    return true;
+  }
+
+  /**
+   * Compute {@code m} quadrant neighbors for every node by using a
+   * spatial index over the node coordinates: For each node, about
+   * {@code m/4} nearest neighbors are taken from each of the four
+   * quadrants (spanned by the first two coordinate axes) around it. If a
+   * quadrant holds too few nodes, the free slots are filled with the
+   * nearest remaining neighbors. Quadrant neighbors avoid candidate sets
+   * that only point into one direction in clustered instances. See
+   * {@link #nearestNeighbors(int, int[], DistanceComputer)} for the
+   * parameters and the availability of the spatial index.
+   *
+   * @param m
+   *          the number of neighbors per node, {@code 0<m<n}
+   * @param dest
+   *          the destination array of at least {@code n*m} elements: the
+   *          neighbors of node {@code i} are stored at indexes
+   *          {@code (i-1)*m} to {@code (i*m)-1} in increasing order of
+   *          distance
+   * @param dist
+   *          the distance computer through which all distances are
+   *          evaluated
+   * @return {@code true} if the neighbors have been computed,
+   *         {@code false} if no spatial index is available
+   */
+  public boolean quadrantNeighbors(final int m, final int[] dest,
+      final DistanceComputer dist) {
+    final _KDTree idx;
+
+    this.__checkNeighborQuery(m, dest);
+    idx = this._getSpatialIndex();
+    if (idx == null) {
+      return false;
+    }
+    idx.quadrant(dist, m, dest);
+    return true;
+  }
+
+  /**
+   * Compute {@code m} Delaunay-style neighbors for every node by using a
+   * spatial index over the node coordinates: For each node, its neighbors
+   * in the Gabriel graph, a sub-graph of the Delaunay triangulation, are
+   * chosen first (in order of increasing distance). Only edges to the
+   * {@code max(2m, 16)} nearest neighbors are considered. The free slots
+   * are filled with the nearest remaining neighbors. See
+   * {@link #nearestNeighbors(int, int[], DistanceComputer)} for the
+   * parameters and the availability of the spatial index.
+   *
+   * @param m
+   *          the number of neighbors per node, {@code 0<m<n}
+   * @param dest
+   *          the destination array of at least {@code n*m} elements: the
+   *          neighbors of node {@code i} are stored at indexes
+   *          {@code (i-1)*m} to {@code (i*m)-1} in increasing order of
+   *          distance
+   * @param dist
+   *          the distance computer through which all distances are
+   *          evaluated
+   * @return {@code true} if the neighbors have been computed,
+   *         {@code false} if no spatial index is available
+   */
+  public boolean gabrielNeighbors(final int m, final int[] dest,
+      final DistanceComputer dist) {
+    final _KDTree idx;
+
+    this.__checkNeighborQuery(m, dest);
+    idx = this._getSpatialIndex();
+    if (idx == null) {
+      return false;
+    }
+    idx.gabriel(dist, m, dest);
+    return true;
+  }
+
   /**
    * Print the contents of this distance measuring object.
    *
@@ -585,6 +1136,54 @@ public abstract class DistanceComputer extends _Constants {
     }
   }
 
+  /**
+   * Load the data section of this raw distance computer, i.e., the
+   * {@code NODE_COORD_SECTION} of coordinate lists or the
+   * {@code EDGE_WEIGHT_SECTION} of explicitly given matrices.
+   *
+   * @param edgeType
+   *          the index of the edge weight format in
+   *          {@link _Constants#FORMATS}, only used by matrices
+   * @param nums
+   *          the source of numbers
+   * @throws IOException
+   *           on failure
+   */
+  void _loadSection(final int edgeType, final _NumberSource nums)
+      throws IOException {
+    //
+  }
+
+  /**
+   * Write the data of this raw distance computer, i.e., its coordinates or
+   * its explicitly given distances, to a binary stream.
+   *
+   * @param out
+   *          the output stream
+   * @throws IOException
+   *           on failure, or if this distance computer cannot be stored
+   *           in binary form
+   */
+  void _writeBinary(final DataOutputStream out) throws IOException {
+    throw new IOException("Binary storage not supported by " + //$NON-NLS-1$
+        this.getClass().getSimpleName());
+  }
+
+  /**
+   * Read the data written by {@link #_writeBinary(DataOutputStream)} from
+   * a buffer.
+   *
+   * @param in
+   *          the buffer, holding exactly the data of this computer
+   * @throws IOException
+   *           on failure, or if this distance computer cannot be stored
+   *           in binary form
+   */
+  void _readBinary(final ByteBuffer in) throws IOException {
+    throw new IOException("Binary storage not supported by " + //$NON-NLS-1$
+        this.getClass().getSimpleName());
+  }
+
   /**
    * Load the contents of this distance measuring object.
    *
@@ -625,6 +1224,13 @@ public abstract class DistanceComputer extends _Constants {
    * distance matrix.
    * </p>
    * <p>
+   * Distance matrices, regardless whether loaded or created from a
+   * coordinate list, use only 16 bits per entry if all distances fit into
+   * {@code 0..65535} (or {@code -32768..32767}), which is the case for
+   * most TSPLib instances given as matrix. This halves the memory
+   * consumption and lets twice as many distances fit into the cache.
+   * </p>
+   * <p>
    * In the case that the data to be loaded is indeed a coordinate list
    * (regardless whether it will be transformed to a matrix later), there
    * is another chance for improving memory consumption and performance: If
@@ -674,11 +1280,36 @@ public abstract class DistanceComputer extends _Constants {
   public static final DistanceComputer read(final BufferedReader br,
       final int matrixLimitDim, final boolean intHint,
       final boolean symmetricHint) throws IOException {
+    return DistanceComputer._finish(
+        DistanceComputer._load(br, intHint, symmetricHint, null),
+        matrixLimitDim);
+  }
+
+  /**
+   * Load the raw distance computer from a buffered reader, i.e., either a
+   * coordinate list or an explicitly given distance matrix.
+   *
+   * @param br
+   *          the buffered reader
+   * @param intHint
+   *          are the coordinates integer?
+   * @param symmetricHint
+   *          Is the problem definitely symmetric?
+   * @param type
+   *          an array of length two which, if not {@code null}, receives
+   *          the edge weight type and edge weight format found in the
+   *          header (either may be {@code null})
+   * @return the distance computer
+   * @throws IOException
+   *           if i/o fails or the stream is not correctly formatted
+   */
+  static final DistanceComputer _load(final BufferedReader br,
+      final boolean intHint, final boolean symmetricHint,
+      final String[] type) throws IOException {
     String s, t, ewt, ewf;
     ArrayList<String> pb;
     int dimension, have, i;
     DistanceComputer chosen;
-    _DistanceMatrixSymmetric chosen2;
 
     dimension = -1;
     pb = null;
@@ -738,139 +1369,252 @@ public abstract class DistanceComputer extends _Constants {
     }
 
     if ((have >= 2) && (dimension > 1)) {
-      chosen = null;
-
-      choose: {
-        if (_Constants.EUCLIDEAN_2D_STR.equalsIgnoreCase(ewt)) {
-          if (intHint) {
-            chosen = new _2DEuclideanDistanceInt(dimension);
-          } else {
-            chosen = new _2DEuclideanDistanceDouble(dimension);
-          }
-          break choose;
+      chosen = DistanceComputer._create(dimension, ewt, ewf, intHint,
+          symmetricHint);
+      if (chosen != null) {
+        chosen.load(_PushBackReader.wrap(pb, br));
+        if (type != null) {
+          type[0] = ewt;
+          type[1] = ewf;
         }
+        return chosen;
+      }
+    }
 
-        if (_Constants.EUCLIDEAN_3D_STR.equalsIgnoreCase(ewt)) {
-          if (intHint) {
-            chosen = new _3DEuclideanDistanceInt(dimension);
-          } else {
-            chosen = new _3DEuclideanDistanceDouble(dimension);
-          }
-          break choose;
-        }
+    throw new IOException("Error loading distance computer."); //$NON-NLS-1$
+  }
 
-        if (_Constants.MANHATTAN_2D_STR.equalsIgnoreCase(ewt)) {
-          if (intHint) {
-            chosen = new _2DManhattanDistanceInt(dimension);
-          } else {
-            chosen = new _2DManhattanDistanceDouble(dimension);
-          }
-          break choose;
-        }
+  /**
+   * Create an empty raw distance computer for the given edge weight type
+   * and format.
+   *
+   * @param dimension
+   *          the dimension
+   * @param ewt
+   *          the edge weight type, or {@code null}
+   * @param ewf
+   *          the edge weight format, or {@code null}
+   * @param intHint
+   *          are the coordinates integer?
+   * @param symmetricHint
+   *          Is the problem definitely symmetric?
+   * @return the distance computer, or {@code null} if the type is not
+   *         supported
+   */
+  static final DistanceComputer _create(final int dimension,
+      final String ewt, final String ewf, final boolean intHint,
+      final boolean symmetricHint) {
 
-        if (_Constants.MANHATTAN_3D_STR.equalsIgnoreCase(ewt)) {
-          if (intHint) {
-            chosen = new _3DManhattanDistanceInt(dimension);
-          } else {
-            chosen = new _3DManhattanDistanceDouble(dimension);
-          }
-          break choose;
-        }
+    if (_Constants.EUCLIDEAN_2D_STR.equalsIgnoreCase(ewt)) {
+      if (intHint) {
+        return new _2DEuclideanDistanceInt(dimension);
+      } else {
+        return new _2DEuclideanDistanceDouble(dimension);
+      }
+    }
 
-        if (_Constants.MAXIMUM_2D_STR.equalsIgnoreCase(ewt)) {
-          if (intHint) {
-            chosen = new _2DMaximumDistanceInt(dimension);
-          } else {
-            chosen = new _2DMaximumDistanceDouble(dimension);
-          }
-          break choose;
-        }
+    if (_Constants.EUCLIDEAN_3D_STR.equalsIgnoreCase(ewt)) {
+      if (intHint) {
+        return new _3DEuclideanDistanceInt(dimension);
+      } else {
+        return new _3DEuclideanDistanceDouble(dimension);
+      }
+    }
 
-        if (_Constants.MAXIMUM_3D_STR.equalsIgnoreCase(ewt)) {
-          if (intHint) {
-            chosen = new _3DMaximumDistanceInt(dimension);
-          } else {
-            chosen = new _3DMaximumDistanceDouble(dimension);
-          }
-          break choose;
-        }
+    if (_Constants.MANHATTAN_2D_STR.equalsIgnoreCase(ewt)) {
+      if (intHint) {
+        return new _2DManhattanDistanceInt(dimension);
+      } else {
+        return new _2DManhattanDistanceDouble(dimension);
+      }
+    }
 
-        if (_Constants.EUCLIDEAN_CEIL_2D_STR.equalsIgnoreCase(ewt)) {
-          if (intHint) {
-            chosen = new _2DCeiledEuclideanDistanceInt(dimension);
-          } else {
-            chosen = new _2DCeiledEuclideanDistanceDouble(dimension);
-          }
-          break choose;
-        }
+    if (_Constants.MANHATTAN_3D_STR.equalsIgnoreCase(ewt)) {
+      if (intHint) {
+        return new _3DManhattanDistanceInt(dimension);
+      } else {
+        return new _3DManhattanDistanceDouble(dimension);
+      }
+    }
 
-        if (_Constants.EUCLIDEAN_PSEUDO_2D_STR.equalsIgnoreCase(ewt)) {
-          if (intHint) {
-            chosen = new _2DPseudoEuclideanDistanceInt(dimension);
-          } else {
-            chosen = new _2DPseudoEuclideanDistanceDouble(dimension);
-          }
-          break choose;
-        }
+    if (_Constants.MAXIMUM_2D_STR.equalsIgnoreCase(ewt)) {
+      if (intHint) {
+        return new _2DMaximumDistanceInt(dimension);
+      } else {
+        return new _2DMaximumDistanceDouble(dimension);
+      }
+    }
 
-        if (_Constants.XRAY_1_STR.equalsIgnoreCase(ewt)) {
-          if (intHint) {
-            chosen = new _3DXRay1DistanceInt(dimension);
-          } else {
-            chosen = new _3DXRay1DistanceDouble(dimension);
-          }
-          break choose;
-        }
+    if (_Constants.MAXIMUM_3D_STR.equalsIgnoreCase(ewt)) {
+      if (intHint) {
+        return new _3DMaximumDistanceInt(dimension);
+      } else {
+        return new _3DMaximumDistanceDouble(dimension);
+      }
+    }
 
-        if (_Constants.GEO_STR.equalsIgnoreCase(ewt)) {
-          if (intHint) {
-            chosen = new _2DGeoDistanceInt(dimension);
-          } else {
-            chosen = new _2DGeoDistanceDouble(dimension);
-          }
-          break choose;
-        }
+    if (_Constants.EUCLIDEAN_CEIL_2D_STR.equalsIgnoreCase(ewt)) {
+      if (intHint) {
+        return new _2DCeiledEuclideanDistanceInt(dimension);
+      } else {
+        return new _2DCeiledEuclideanDistanceDouble(dimension);
+      }
+    }
 
-        if (_Constants.FULL_MATRIX_STR.equalsIgnoreCase(ewf)) {
-          if (symmetricHint) {
-            chosen = new _DistanceMatrixSymmetric(dimension);
-          } else {
-            chosen = new _DistanceMatrixAsymmetric(dimension);
-          }
-          break choose;
-        }
+    if (_Constants.EUCLIDEAN_PSEUDO_2D_STR.equalsIgnoreCase(ewt)) {
+      if (intHint) {
+        return new _2DPseudoEuclideanDistanceInt(dimension);
+      } else {
+        return new _2DPseudoEuclideanDistanceDouble(dimension);
+      }
+    }
 
-        if (_Constants.LOWER_ROW_STR.equalsIgnoreCase(ewf) || //
-            _Constants.UPPER_ROW_STR.equalsIgnoreCase(ewf) || //
-            _Constants.LOWER_DIAG_ROW_STR.equalsIgnoreCase(ewf) || //
-            _Constants.UPPER_DIAG_ROW_STR.equalsIgnoreCase(ewf) || //
-            _Constants.LOWER_COL_STR.equalsIgnoreCase(ewf) || //
-            _Constants.UPPER_COL_STR.equalsIgnoreCase(ewf) || //
-            _Constants.LOWER_DIAG_COL_STR.equalsIgnoreCase(ewf) || //
-            _Constants.UPPER_DIAG_COL_STR.equalsIgnoreCase(ewf)) {
-          chosen = new _DistanceMatrixSymmetric(dimension);
-          break choose;
-        }
+    if (_Constants.XRAY_1_STR.equalsIgnoreCase(ewt)) {
+      if (intHint) {
+        return new _3DXRay1DistanceInt(dimension);
+      } else {
+        return new _3DXRay1DistanceDouble(dimension);
       }
+    }
 
-      if (chosen != null) {
-        chosen.load(_PushBackReader.wrap(pb, br));
-        if (!(chosen instanceof _DistanceMatrix)) {
-          if (dimension <= matrixLimitDim) {
-            try {
-              chosen2 = new _DistanceMatrixSymmetric(dimension);
-              chosen2.fillFrom(chosen);
-              chosen = chosen2;
-            } catch (final OutOfMemoryError ome) {
-              //
-            }
-          }
-        }
-        return chosen;
+    if (_Constants.GEO_STR.equalsIgnoreCase(ewt)) {
+      if (intHint) {
+        return new _2DGeoDistanceInt(dimension);
+      } else {
+        return new _2DGeoDistanceDouble(dimension);
       }
     }
 
-    throw new IOException("Error loading distance computer."); //$NON-NLS-1$
+    if (_Constants.FULL_MATRIX_STR.equalsIgnoreCase(ewf)) {
+      if (symmetricHint) {
+        return new _DistanceMatrixSymmetric(dimension);
+      } else {
+        return new _DistanceMatrixAsymmetric(dimension);
+      }
+    }
+
+    if (_Constants.LOWER_ROW_STR.equalsIgnoreCase(ewf) || //
+        _Constants.UPPER_ROW_STR.equalsIgnoreCase(ewf) || //
+        _Constants.LOWER_DIAG_ROW_STR.equalsIgnoreCase(ewf) || //
+        _Constants.UPPER_DIAG_ROW_STR.equalsIgnoreCase(ewf) || //
+        _Constants.LOWER_COL_STR.equalsIgnoreCase(ewf) || //
+        _Constants.UPPER_COL_STR.equalsIgnoreCase(ewf) || //
+        _Constants.LOWER_DIAG_COL_STR.equalsIgnoreCase(ewf) || //
+        _Constants.UPPER_DIAG_COL_STR.equalsIgnoreCase(ewf)) {
+      return new _DistanceMatrixSymmetric(dimension);
+    }
+
+    return null;
+  }
+
+  /**
+   * Turn a raw distance computer into the one to be used: explicitly
+   * given matrices are packed and coordinate lists are translated to
+   * matrices if their dimension is not too high.
+   *
+   * @param raw
+   *          the raw distance computer
+   * @param matrixLimitDim
+   *          the highest dimension for which coordinate lists will
+   *          automatically be transformed to matrices.
+   * @return the distance computer to use
+   */
+  static final DistanceComputer _finish(final DistanceComputer raw,
+      final int matrixLimitDim) {
+    if (raw instanceof _DistanceMatrix) {
+      try {
+        return ((_DistanceMatrix) raw)._pack();
+      } catch (final OutOfMemoryError ome) {
+        return raw;
+      }
+    }
+
+    if (raw.m_n <= matrixLimitDim) {
+      try {
+        return _DistanceMatrix._create(raw);
+      } catch (final OutOfMemoryError ome) {
+        //
+      }
+    }
+    return raw;
+  }
+
+  /**
+   * <p>
+   * Load a distance computer from an {@link java.io.InputStream} in
+   * TSPLib format, using a binary cache file. If {@code cache} exists and
+   * was created from the same data with the same hints (which is checked
+   * with the length and a CRC32 checksum of the data), the coordinates or
+   * explicitly given distances are loaded from it in one go instead of
+   * being parsed from text. Otherwise, the data is parsed and
+   * {@code cache} is (re-)created. If {@code cache} cannot be written, the
+   * loaded data is returned anyway.
+   * </p>
+   * <p>
+   * Please read the documentation of
+   * {@link #read(BufferedReader, int, boolean, boolean)} for a detailed
+   * explanation of the parameters.
+   * </p>
+   *
+   * @param is
+   *          the input stream
+   * @param cache
+   *          the cache file
+   * @param intHint
+   *          if this parameter is {@code true} and the input defines a
+   *          list of coordinates, the coordinates are assumed to be
+   *          integer valued. This can speed up loading and distance
+   *          computations and saves memory. It will crash when the
+   *          coordinates are actually floating point numbers. This is only
+   *          available for internal purposes.
+   * @param matrixLimitDim
+   *          the highest dimension for which coordinate lists will
+   *          automatically be transformed to matrices.
+   * @param symmetricHint
+   *          Is the problem definitely symmetric?
+   * @return the distance computer
+   * @throws IOException
+   *           if i/o fails or the stream is not correctly formatted
+   */
+  public static final DistanceComputer read(final InputStream is,
+      final File cache, final int matrixLimitDim, final boolean intHint,
+      final boolean symmetricHint) throws IOException {
+    return DistanceComputer._finish(
+        _InstanceCache._read(is, cache, intHint, symmetricHint),
+        matrixLimitDim);
+  }
+
+  /**
+   * <p>
+   * Obtain a distance matrix backed by a memory-mapped file for the
+   * distance computer {@code src}. If {@code file} already exists and
+   * holds the distances of {@code src} (which is checked with its header
+   * and a sample of distances), it is re-used. Otherwise, all distances of
+   * {@code src} are computed once and written to it.
+   * </p>
+   * <p>
+   * Such a matrix does not occupy any space on the Java heap and has no
+   * limit on the dimension, while the distances do not need to be
+   * re-computed (e.g., with {@code sqrt} or {@code acos}) upon each call to
+   * {@link #distance(int, int)}. Its pages are held in the page cache of
+   * the operating system and thus shared by all threads and all processes
+   * working on the same instance, and the file can be re-used after a
+   * restart of the JVM. A symmetric matrix needs
+   * {@code 2*n*(n-1)+32} bytes of disk space, an asymmetric one
+   * {@code 4*n*n+32}.
+   * </p>
+   *
+   * @param src
+   *          the source distance computer
+   * @param file
+   *          the file to store the matrix in
+   * @return the memory-mapped distance matrix
+   * @throws IOException
+   *           if i/o fails
+   */
+  public static final DistanceComputer mapMatrix(
+      final DistanceComputer src, final File file) throws IOException {
+    return _MappedDistanceMatrix._map(src, file);
   }
 
   /**
@@ -921,6 +1665,11 @@ public abstract class DistanceComputer extends _Constants {
    * on which a function is applied.
    * </p>
    * <p>
+   * The data is read completely into memory via NIO and the numbers of its
+   * data section are parsed in parallel, which is much faster for large
+   * instances than reading them one by one from a {@link java.io.Reader}.
+   * </p>
+   * <p>
    * Please read the documentation of
    * {@link #read(BufferedReader, int, boolean, boolean)} for a detailed
    * explanation of the parameters.
@@ -947,10 +1696,9 @@ public abstract class DistanceComputer extends _Constants {
   public static final DistanceComputer read(final InputStream is,
       final int matrixLimitDim, final boolean intHint,
       final boolean symmetricHint) throws IOException {
-    try (InputStreamReader r = new InputStreamReader(is)) {
-      return DistanceComputer.read(r, matrixLimitDim, intHint,
-          symmetricHint);
-    }
+    return DistanceComputer._finish(_ParallelParser._parse(
+        _ParallelParser._read(is), intHint, symmetricHint, null),
+        matrixLimitDim);
   }
 
   /**
@@ -961,6 +1709,11 @@ public abstract class DistanceComputer extends _Constants {
    * which a function is applied.
    * </p>
    * <p>
+   * The data is read completely into memory via NIO and the numbers of its
+   * data section are parsed in parallel, which is much faster for large
+   * instances than reading them one by one from a {@link java.io.Reader}.
+   * </p>
+   * <p>
    * Please read the documentation of
    * {@link #read(BufferedReader, int, boolean, boolean)} for a detailed
    * explanation of the parameters.
@@ -987,9 +1740,8 @@ public abstract class DistanceComputer extends _Constants {
   public static final DistanceComputer read(final File f,
       final int matrixLimitDim, final boolean intHint,
       final boolean symmetricHint) throws IOException {
-    try (FileReader fr = new FileReader(f)) {
-      return DistanceComputer.read(fr, matrixLimitDim, intHint,
-          symmetricHint);
-    }
+    return DistanceComputer._finish(_ParallelParser._parse(
+        _ParallelParser._read(f), intHint, symmetricHint, null),
+        matrixLimitDim);
   }
 }
@@ -526,6 +526,14 @@ import java.io.PrintWriter;
  */
 final class _2DGeoDistanceDouble extends _2DDoubleCoords {
 
+  /**
+   * the pre-computed cosine and sine of the latitude and the cosine and
+   * sine of the longitude of each node, in radians, computed once after
+   * loading so that each distance needs only a few multiplications and a
+   * single {@link java.lang.Math#acos(double)}
+   */
+  transient double[] m_trig;
+
   /**
    * create
    *
@@ -538,42 +546,72 @@ final class _2DGeoDistanceDouble extends _2DDoubleCoords {
 
   /** {@inheritDoc} */
   @Override
-  public final int distance(final int i, final int j) {
+  final void _prepare() {
+    final double[] m, t;
+    int i, j;
+    double lat, lng;
+    double x;
+    int deg;
 
-    if (i == j) {
-      return 0;
+    m = this.m_coords;
+    this.m_trig = t = new double[m.length << 1];
+
+    for (i = j = 0; i < m.length;) {
+      x = m[i++];
+      deg = ((int) x);
+      lat = ((3.141592d * (deg + ((5.0d * (x - deg)) / 3d))) / 180d);
+      x = m[i++];
+      deg = ((int) x);
+      lng = ((3.141592d * (deg + ((5.0d * (x - deg)) / 3d))) / 180d);
+      t[j++] = Math.cos(lat);
+      t[j++] = Math.sin(lat);
+      t[j++] = Math.cos(lng);
+      t[j++] = Math.sin(lng);
     }
+  }
 
-    final double[] m;
-    int a;
-    double x, y;
-    int deg;
-    final double latA, longA, latB, longB, q1, q2, q3;
+  /**
+   * Compute the geographical distance between two nodes from their
+   * pre-computed sines and cosines. With {@code q1=cos(longA-longB)},
+   * {@code q2=cos(latA-latB)}, and {@code q3=cos(latA+latB)}, the TSPLib
+   * formula {@code 0.5*((1+q1)*q2-(1-q1)*q3)} equals
+   * {@code q1*cos(latA)*cos(latB)+sin(latA)*sin(latB)}.
+   *
+   * @param t
+   *          the trigonometric table
+   * @param a
+   *          the index of the first node in {@code t}
+   * @param b
+   *          the index of the second node in {@code t}
+   * @return the distance
+   */
+  private static final int __distance(final double[] t, final int a,
+      final int b) {
+    double v;
 
-    m = this.m_coords;
+    v = ((((t[a + 2] * t[b + 2]) + (t[a + 3] * t[b + 3])) * //
+    (t[a] * t[b])) + (t[a + 1] * t[b + 1]));
+    if (v > 1d) {
+      v = 1d;
+    } else {
+      if (v < (-1d)) {
+        v = (-1d);
+      }
+    }
 
-    a = ((i - 1) << 1);
-    x = m[a++];
-    y = m[a];
-    deg = ((int) x);
-    latA = ((3.141592d * (deg + ((5.0d * (x - deg)) / 3d))) / 180d);
-    deg = ((int) y);
-    longA = ((3.141592d * (deg + ((5.0d * (y - deg)) / 3d))) / 180d);
+    return ((int) ((6378.388d * Math.acos(v)) + 1d));
+  }
 
-    a = ((j - 1) << 1);
-    x = m[a++];
-    y = m[a];
-    deg = ((int) x);
-    latB = ((3.141592d * (deg + ((5.0d * (x - deg)) / 3d))) / 180d);
-    deg = ((int) y);
-    longB = ((3.141592d * (deg + ((5.0d * (y - deg)) / 3d))) / 180d);
+  /** {@inheritDoc} */
+  @Override
+  public final int distance(final int i, final int j) {
 
-    q1 = Math.cos(longA - longB);
-    q2 = Math.cos(latA - latB);
-    q3 = Math.cos(latA + latB);
+    if (i == j) {
+      return 0;
+    }
 
-    return ((int) ((6378.388d * Math
-        .acos(0.5d * (((1d + q1) * q2) - ((1d - q1) * q3)))) + 1d));
+    return _2DGeoDistanceDouble.__distance(this.m_trig, ((i - 1) << 2),
+        ((j - 1) << 2));
   }
 
   /**
@@ -593,45 +631,18 @@ final class _2DGeoDistanceDouble extends _2DDoubleCoords {
    */
   @Override
   public final long evaluate(final int[] nodes) {
-    int a, old_i;
+    int a, b;
     long totalDist;
-    final double[] m;
-    double x, y;
-    int deg;
-    double lat1, long1, lat2, long2, q1, q2, q3;
+    final double[] t;
 
-    old_i = nodes[nodes.length - 1];
     totalDist = 0l;
-    m = this.m_coords;
-
-    a = ((old_i - 1) << 1);
-    x = m[a++];
-    y = m[a];
-    deg = ((int) x);
-    lat2 = ((3.141592d * (deg + ((5.0d * (x - deg)) / 3d))) / 180d);
-    deg = ((int) y);
-    long2 = ((3.141592d * (deg + ((5.0d * (y - deg)) / 3d))) / 180d);
+    t = this.m_trig;
 
+    b = ((nodes[nodes.length - 1] - 1) << 2);
     for (final int cur_i : nodes) {
-      a = ((cur_i - 1) << 1);
-
-      x = m[a++];
-      y = m[a];
-      deg = ((int) x);
-      lat1 = ((3.141592d * (deg + ((5.0d * (x - deg)) / 3d))) / 180d);
-      deg = ((int) y);
-      long1 = ((3.141592d * (deg + ((5.0d * (y - deg)) / 3d))) / 180d);
-
-      q1 = Math.cos(long2 - long1);
-      q2 = Math.cos(lat2 - lat1);
-      q3 = Math.cos(lat2 + lat1);
-
-      totalDist += ((int) ((6378.388d * Math
-          .acos(0.5d * (((1d + q1) * q2) - ((1d - q1) * q3)))) + 1d));
-      long2 = long1;
-      lat2 = lat1;
-
-      old_i = cur_i;
+      a = ((cur_i - 1) << 2);
+      totalDist += _2DGeoDistanceDouble.__distance(t, b, a);
+      b = a;
     }
 
     return totalDist;
@@ -657,44 +668,18 @@ final class _2DGeoDistanceDouble extends _2DDoubleCoords {
    */
   @Override
   public final long evaluateAdj(final int[] adj) {
-    int a, old_i, cur_i;
+    int old_i, cur_i;
     long totalDist;
-    final double[] m;
-    double x, y;
-    int deg;
-    double lat1, long1, lat2, long2, q1, q2, q3;
+    final double[] t;
 
     old_i = 1;
     totalDist = 0l;
-    m = this.m_coords;
-
-    a = ((old_i - 1) << 1);
-    x = m[a++];
-    y = m[a];
-    deg = ((int) x);
-    lat2 = ((3.141592d * (deg + ((5.0d * (x - deg)) / 3d))) / 180d);
-    deg = ((int) y);
-    long2 = ((3.141592d * (deg + ((5.0d * (y - deg)) / 3d))) / 180d);
+    t = this.m_trig;
 
     for (;;) {
       cur_i = adj[old_i - 1];
-      a = ((cur_i - 1) << 1);
-
-      x = m[a++];
-      y = m[a];
-      deg = ((int) x);
-      lat1 = ((3.141592d * (deg + ((5.0d * (x - deg)) / 3d))) / 180d);
-      deg = ((int) y);
-      long1 = ((3.141592d * (deg + ((5.0d * (y - deg)) / 3d))) / 180d);
-
-      q1 = Math.cos(long2 - long1);
-      q2 = Math.cos(lat2 - lat1);
-      q3 = Math.cos(lat2 + lat1);
-
-      totalDist += ((int) ((6378.388d * Math
-          .acos(0.5d * (((1d + q1) * q2) - ((1d - q1) * q3)))) + 1d));
-      long2 = long1;
-      lat2 = lat1;
+      totalDist += _2DGeoDistanceDouble.__distance(t, ((old_i - 1) << 2),
+          ((cur_i - 1) << 2));
 
       if (cur_i == 1) {
         return totalDist;
@@ -709,4 +694,15 @@ final class _2DGeoDistanceDouble extends _2DDoubleCoords {
     super.print(out);
     this._print(out, _Constants.GEO_STR);
   }
+
+  /**
+   * Geographical distances do not grow monotonically with the coordinate
+   * differences, so no spatial index can be used.
+   *
+   * @return {@code null}
+   */
+  @Override
+  final _KDTree _createSpatialIndex() {
+    return null;
+  }
 }
@@ -525,6 +525,14 @@ import java.io.PrintWriter;
  */
 final class _2DGeoDistanceInt extends _2DIntCoords {
 
+  /**
+   * the pre-computed cosine and sine of the latitude and the cosine and
+   * sine of the longitude of each node, in radians, computed once after
+   * loading so that each distance needs only a few multiplications and a
+   * single {@link java.lang.Math#acos(double)}
+   */
+  transient double[] m_trig;
+
   /**
    * create
    *
@@ -537,38 +545,67 @@ final class _2DGeoDistanceInt extends _2DIntCoords {
 
   /** {@inheritDoc} */
   @Override
-  public final int distance(final int i, final int j) {
-
-    if (i == j) {
-      return 0;
-    }
-
+  final void _prepare() {
     final int[] m;
-    int a;
-    int x, y;
-
-    final double latA, longA, latB, longB, q1, q2, q3;
+    final double[] t;
+    int i, j;
+    double lat, lng;
 
     m = this.m_coords;
+    this.m_trig = t = new double[m.length << 1];
+
+    for (i = j = 0; i < m.length;) {
+      lat = ((3.141592d * m[i++]) / 180d);
+      lng = ((3.141592d * m[i++]) / 180d);
+      t[j++] = Math.cos(lat);
+      t[j++] = Math.sin(lat);
+      t[j++] = Math.cos(lng);
+      t[j++] = Math.sin(lng);
+    }
+  }
 
-    a = ((i - 1) << 1);
-    x = m[a++];
-    y = m[a];
-    latA = ((3.141592d * x) / 180d);
-    longA = ((3.141592d * y) / 180d);
+  /**
+   * Compute the geographical distance between two nodes from their
+   * pre-computed sines and cosines. With {@code q1=cos(longA-longB)},
+   * {@code q2=cos(latA-latB)}, and {@code q3=cos(latA+latB)}, the TSPLib
+   * formula {@code 0.5*((1+q1)*q2-(1-q1)*q3)} equals
+   * {@code q1*cos(latA)*cos(latB)+sin(latA)*sin(latB)}.
+   *
+   * @param t
+   *          the trigonometric table
+   * @param a
+   *          the index of the first node in {@code t}
+   * @param b
+   *          the index of the second node in {@code t}
+   * @return the distance
+   */
+  private static final int __distance(final double[] t, final int a,
+      final int b) {
+    double v;
+
+    v = ((((t[a + 2] * t[b + 2]) + (t[a + 3] * t[b + 3])) * //
+    (t[a] * t[b])) + (t[a + 1] * t[b + 1]));
+    if (v > 1d) {
+      v = 1d;
+    } else {
+      if (v < (-1d)) {
+        v = (-1d);
+      }
+    }
 
-    a = ((j - 1) << 1);
-    x = m[a++];
-    y = m[a];
-    latB = ((3.141592d * x) / 180d);
-    longB = ((3.141592d * y) / 180d);
+    return ((int) ((6378.388d * Math.acos(v)) + 1d));
+  }
 
-    q1 = Math.cos(longA - longB);
-    q2 = Math.cos(latA - latB);
-    q3 = Math.cos(latA + latB);
+  /** {@inheritDoc} */
+  @Override
+  public final int distance(final int i, final int j) {
 
-    return ((int) ((6378.388d * Math
-        .acos(0.5d * (((1d + q1) * q2) - ((1d - q1) * q3)))) + 1d));
+    if (i == j) {
+      return 0;
+    }
+
+    return _2DGeoDistanceInt.__distance(this.m_trig, ((i - 1) << 2),
+        ((j - 1) << 2));
   }
 
   /**
@@ -588,41 +625,18 @@ final class _2DGeoDistanceInt extends _2DIntCoords {
    */
   @Override
   public final long evaluate(final int[] nodes) {
-    int a, old_i;
+    int a, b;
     long totalDist;
-    final int[] m;
-    int x, y;
-
-    double lat1, long1, lat2, long2, q1, q2, q3;
+    final double[] t;
 
-    old_i = nodes[nodes.length - 1];
     totalDist = 0l;
-    m = this.m_coords;
-
-    a = ((old_i - 1) << 1);
-    x = m[a++];
-    y = m[a];
-    lat2 = ((3.141592d * x) / 180d);
-    long2 = ((3.141592d * y) / 180d);
+    t = this.m_trig;
 
+    b = ((nodes[nodes.length - 1] - 1) << 2);
     for (final int cur_i : nodes) {
-      a = ((cur_i - 1) << 1);
-
-      x = m[a++];
-      y = m[a];
-      lat1 = ((3.141592d * x) / 180d);
-      long1 = ((3.141592d * y) / 180d);
-
-      q1 = Math.cos(long2 - long1);
-      q2 = Math.cos(lat2 - lat1);
-      q3 = Math.cos(lat2 + lat1);
-
-      totalDist += ((int) ((6378.388d * Math
-          .acos(0.5d * (((1d + q1) * q2) - ((1d - q1) * q3)))) + 1d));
-      long2 = long1;
-      lat2 = lat1;
-
-      old_i = cur_i;
+      a = ((cur_i - 1) << 2);
+      totalDist += _2DGeoDistanceInt.__distance(t, b, a);
+      b = a;
     }
 
     return totalDist;
@@ -648,40 +662,18 @@ final class _2DGeoDistanceInt extends _2DIntCoords {
    */
   @Override
   public final long evaluateAdj(final int[] adj) {
-    int a, old_i, cur_i;
+    int old_i, cur_i;
     long totalDist;
-    final int[] m;
-    int x, y;
-
-    double lat1, long1, lat2, long2, q1, q2, q3;
+    final double[] t;
 
     old_i = 1;
     totalDist = 0l;
-    m = this.m_coords;
-
-    a = ((old_i - 1) << 1);
-    x = m[a++];
-    y = m[a];
-    lat2 = ((3.141592d * x) / 180d);
-    long2 = ((3.141592d * y) / 180d);
+    t = this.m_trig;
 
     for (;;) {
       cur_i = adj[old_i - 1];
-      a = ((cur_i - 1) << 1);
-
-      x = m[a++];
-      y = m[a];
-      lat1 = ((3.141592d * x) / 180d);
-      long1 = ((3.141592d * y) / 180d);
-
-      q1 = Math.cos(long2 - long1);
-      q2 = Math.cos(lat2 - lat1);
-      q3 = Math.cos(lat2 + lat1);
-
-      totalDist += ((int) ((6378.388d * Math
-          .acos(0.5d * (((1d + q1) * q2) - ((1d - q1) * q3)))) + 1d));
-      long2 = long1;
-      lat2 = lat1;
+      totalDist += _2DGeoDistanceInt.__distance(t, ((old_i - 1) << 2),
+          ((cur_i - 1) << 2));
 
       if (cur_i == 1) {
         return totalDist;
@@ -696,4 +688,15 @@ final class _2DGeoDistanceInt extends _2DIntCoords {
     super.print(out);
     this._print(out, _Constants.GEO_STR);
   }
+
+  /**
+   * Geographical distances do not grow monotonically with the coordinate
+   * differences, so no spatial index can be used.
+   *
+   * @return {@code null}
+   */
+  @Override
+  final _KDTree _createSpatialIndex() {
+    return null;
+  }
 }
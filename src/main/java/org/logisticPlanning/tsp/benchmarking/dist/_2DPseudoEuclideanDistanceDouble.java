@@ -572,4 +572,15 @@ final class _2DPseudoEuclideanDistanceDouble extends _2DDoubleCoords {
     super.print(out);
     this._print(out, _Constants.EUCLIDEAN_PSEUDO_2D_STR);
   }
+
+  /**
+   * The pseudo-Euclidean distance scales coordinate differences by
+   * {@code sqrt(0.1)}, which we need to take into account for pruning.
+   *
+   * @return the spatial index
+   */
+  @Override
+  final _KDTree _createSpatialIndex() {
+    return new _KDTree(this.m_coords, 2, Math.sqrt(0.1d));
+  }
 }
@@ -1,10 +1,12 @@
 package org.logisticPlanning.tsp.benchmarking.dist;
 
 import java.io.BufferedReader;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.PrintWriter;
+import java.nio.ByteBuffer;
 
 import org.logisticPlanning.utils.NumberReader;
 
@@ -388,6 +390,12 @@ abstract class _3DDoubleCoords extends DistanceComputer {
     this.m_coords = new double[((n) * 3)];
   }
 
+  /** {@inheritDoc} */
+  @Override
+  _KDTree _createSpatialIndex() {
+    return new _KDTree(this.m_coords, 3, 1d);
+  }
+
   /**
    * add a new coordinate pair
    *
@@ -454,6 +462,23 @@ abstract class _3DDoubleCoords extends DistanceComputer {
     out.println(_Constants.EOF_STR);
   }
 
+  /** {@inheritDoc} */
+  @Override
+  final void _writeBinary(final DataOutputStream out) throws IOException {
+    for (final double z : this.m_coords) {
+      out.writeDouble(z);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void _readBinary(final ByteBuffer in) throws IOException {
+    if (in.remaining() != (((long) (this.m_coords.length)) << 3)) {
+      throw new IOException("Invalid data size."); //$NON-NLS-1$
+    }
+    in.asDoubleBuffer().get(this.m_coords);
+  }
+
   /**
    * write the object
    *
@@ -503,12 +528,22 @@ abstract class _3DDoubleCoords extends DistanceComputer {
     }
   }
 
+  /** {@inheritDoc} */
+  @Override
+  final void _loadSection(final int edgeType, final _NumberSource nums)
+      throws IOException {
+    int i;
+
+    for (i = this.m_n; (--i) >= 0;) {
+      this.setCoords(nums.nextInt(), nums.nextDouble(),
+          nums.nextDouble(), nums.nextDouble());
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   final void load(final BufferedReader in) throws IOException {
     String s;
-    final NumberReader nums;
-    int i;
 
     while ((s = in.readLine()) != null) {
 
@@ -518,11 +553,7 @@ abstract class _3DDoubleCoords extends DistanceComputer {
       }
 
       if (_Constants.NODE_COORD_SECTION_STR.equalsIgnoreCase(s)) {
-        nums = new NumberReader(in);
-        for (i = this.m_n; (--i) >= 0;) {
-          this.setCoords(nums.nextInt(), nums.nextDouble(),
-              nums.nextDouble(), nums.nextDouble());
-        }
+        this._loadSection(0, _NumberSource._wrap(new NumberReader(in)));
         return;
       }
 
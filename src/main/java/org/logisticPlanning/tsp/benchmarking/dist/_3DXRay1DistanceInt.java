@@ -651,4 +651,15 @@ final class _3DXRay1DistanceInt extends _3DIntCoords {
     super.print(out);
     this._print(out, _Constants.XRAY_1_STR);
   }
+
+  /**
+   * The x-ray crystallography distance wraps around in the first
+   * coordinate, so no spatial index can be used.
+   *
+   * @return {@code null}
+   */
+  @Override
+  final _KDTree _createSpatialIndex() {
+    return null;
+  }
 }
@@ -30,8 +30,12 @@ abstract class _DistanceMatrix extends DistanceComputer implements
   /** the maximum numbers per line */
   static final int MAX_NUMBERS_PER_LINE = 16;
 
-  /** the data */
-  int[] m_data;
+  /**
+   * the coordinate-based distance computer this matrix has been filled
+   * from, or {@code null} if the matrix was loaded explicitly: we keep it
+   * only for building a spatial index
+   */
+  transient DistanceComputer m_source;
 
   /**
    * create
@@ -73,4 +77,54 @@ abstract class _DistanceMatrix extends DistanceComputer implements
     }
   }
 
+  /**
+   * Get a matrix holding the same distances as this one, but using less
+   * memory per entry if the range of distances permits it.
+   *
+   * @return the packed matrix, or this matrix if it cannot be packed
+   */
+  _DistanceMatrix _pack() {
+    return this;
+  }
+
+  /**
+   * Create a symmetric distance matrix holding the distances computed by
+   * a coordinate-based distance computer. Such distances are never
+   * negative, so we first try to store them in 16 bit unsigned integers
+   * and only fall back to 32 bit integers if a distance is larger than
+   * 65535. This happens usually very soon for instances with large
+   * distances, so the wasted effort is small.
+   *
+   * @param src
+   *          the source distance computer
+   * @return the new matrix
+   */
+  static final _DistanceMatrix _create(final DistanceComputer src) {
+    final int n;
+    _DistanceMatrix ret;
+    _DistanceMatrixSymmetricChar packed;
+
+    n = src.n();
+    packed = new _DistanceMatrixSymmetricChar(n);
+    if (packed.tryFillFrom(src)) {
+      ret = packed;
+    } else {
+      packed = null;
+      ret = new _DistanceMatrixSymmetric(n);
+      ret.fillFrom(src);
+    }
+
+    ret.m_source = src;
+    return ret;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final _KDTree _createSpatialIndex() {
+    final DistanceComputer src;
+
+    src = this.m_source;
+    return ((src != null) ? src._getSpatialIndex() : null);
+  }
+
 }
@@ -0,0 +1,133 @@
+package org.logisticPlanning.tsp.benchmarking.dist;
+
+import java.io.PrintWriter;
+
+/**
+ * <p>
+ * An asymmetric distance matrix for instances where all distances are in
+ * {@code 0..65535}. It has the same layout as
+ * {@link org.logisticPlanning.tsp.benchmarking.dist._DistanceMatrixAsymmetric}
+ * , but uses a one-dimensional array of 16 bit unsigned integers (
+ * {@code char}) as backing store and thus needs only half of the memory.
+ * </p>
+ * <p>
+ * This matrix is never loaded directly, it is always filled from another
+ * distance computer.
+ * </p>
+ */
+final class _DistanceMatrixAsymmetricChar extends _DistanceMatrix {
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the data */
+  char[] m_data;
+
+  /**
+   * create the _DistanceMatrixAsymmetricChar
+   *
+   * @param n
+   *          the number of nodes
+   */
+  _DistanceMatrixAsymmetricChar(final int n) {
+    super(n);
+    if (n > 46341) {
+      throw new IllegalArgumentException( //
+          "Matrix dimension cannot be higher than 46'341."); //$NON-NLS-1$
+    }
+    this.m_data = new char[((n) * ((n) - 1))];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void setDistance(final int a, final int b, final int dist) {
+
+    if (a == b) {
+      if (dist == 0) {
+        return;
+      }
+      throw new IllegalArgumentException("Invalid index"); //$NON-NLS-1$
+    }
+    if ((dist < Character.MIN_VALUE) || (dist > Character.MAX_VALUE)) {
+      throw new IllegalArgumentException("Invalid distance"); //$NON-NLS-1$
+    }
+
+    this.m_data[((((a) - 1) * ((this.m_n) - 1)) + (((b) > (a)) ? ((b) - 2)
+        : ((b) - 1)))] = ((char) dist);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int distance(final int a, final int b) {
+
+    if (a == b) {
+      return 0;
+    }
+
+    return this.m_data[((((a) - 1) * ((this.m_n) - 1)) + (((b) > (a)) ? ((b) - 2)
+        : ((b) - 1)))];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final boolean _symmetric() {
+    return false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void fillFrom(final DistanceComputer src) {
+    final char[] m;
+    int i, j, k, v;
+
+    m = this.m_data;
+    k = 0;
+
+    for (i = 1; i <= this.m_n; i++) {
+      for (j = 1; j <= this.m_n; j++) {
+        if (i == j) {
+          continue;
+        }
+        v = src.distance(i, j);
+        if ((v < Character.MIN_VALUE) || (v > Character.MAX_VALUE)) {
+          throw new IllegalArgumentException("Invalid distance"); //$NON-NLS-1$
+        }
+        m[k++] = ((char) v);
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void print(final PrintWriter out) {
+    final char[] m;
+    int i, j, k, f;
+
+    super.print(out);
+    _Constants.putTuple(_Constants.TYPE_STR, _Constants.TSP_STR, out);
+    _Constants.putTuple(_Constants.EDGE_WEIGHT_FORMAT_STR,
+        _Constants.FULL_MATRIX_STR, out);
+    out.println(_Constants.EDGE_WEIGHT_SECTION_STR);
+
+    f = k = 0;
+    m = this.m_data;
+    for (i = 1; i <= this.m_n; i++) {
+      for (j = 1; j <= this.m_n; j++) {
+        f++;
+        out.print('\t');
+        if (i == j) {
+          out.print('0');
+        } else {
+          out.print((int) (m[k++]));
+        }
+        if ((f % _DistanceMatrix.MAX_NUMBERS_PER_LINE) == 0) {
+          out.println();
+        }
+      }
+    }
+
+    if ((f % _DistanceMatrix.MAX_NUMBERS_PER_LINE) != 0) {
+      out.println();
+    }
+    out.println(_Constants.EOF_STR);
+  }
+}
@@ -1,8 +1,10 @@
 package org.logisticPlanning.tsp.benchmarking.dist;
 
 import java.io.BufferedReader;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.ByteBuffer;
 
 import org.logisticPlanning.utils.NumberReader;
 
@@ -49,6 +51,9 @@ final class _DistanceMatrixSymmetric extends _DistanceMatrix {
   /** the serial version uid */
   private static final long serialVersionUID = 1L;
 
+  /** the data */
+  int[] m_data;
+
   /**
    * create the _DistanceMatrixSymmetric
    *
@@ -126,6 +131,55 @@ final class _DistanceMatrixSymmetric extends _DistanceMatrix {
     }
   }
 
+  /** {@inheritDoc} */
+  @Override
+  final _DistanceMatrix _pack() {
+    final _DistanceMatrix ret;
+    int min, max;
+
+    min = Integer.MAX_VALUE;
+    max = Integer.MIN_VALUE;
+    for (final int z : this.m_data) {
+      if (z < min) {
+        min = z;
+      }
+      if (z > max) {
+        max = z;
+      }
+    }
+
+    if ((min >= Character.MIN_VALUE) && (max <= Character.MAX_VALUE)) {
+      ret = new _DistanceMatrixSymmetricChar(this.m_n);
+    } else {
+      if ((min >= Short.MIN_VALUE) && (max <= Short.MAX_VALUE)) {
+        ret = new _DistanceMatrixSymmetricShort(this.m_n);
+      } else {
+        return this;
+      }
+    }
+
+    ret.fillFrom(this);
+    ret.m_source = this.m_source;
+    return ret;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void _writeBinary(final DataOutputStream out) throws IOException {
+    for (final int z : this.m_data) {
+      out.writeInt(z);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void _readBinary(final ByteBuffer in) throws IOException {
+    if (in.remaining() != (((long) (this.m_data.length)) << 2)) {
+      throw new IOException("Invalid data size."); //$NON-NLS-1$
+    }
+    in.asIntBuffer().get(this.m_data);
+  }
+
   /** {@inheritDoc} */
   @Override
   public final void print(final PrintWriter out) {
@@ -157,11 +211,81 @@ final class _DistanceMatrixSymmetric extends _DistanceMatrix {
   /** {@inheritDoc} */
   @Override
   @SuppressWarnings("incomplete-switch")
+  final void _loadSection(final int edgeType, final _NumberSource nr)
+      throws IOException {
+    int i, j, v;
+
+    switch (edgeType) {
+      case _Constants.FULL_MATRIX: {
+        for (i = 1; i <= this.m_n; i++) {
+          for (j = 1; j <= this.m_n; j++) {
+            v = nr.nextInt();
+            if (i != j) {
+              if (j > i) {
+                this.setDistance(j, i, v);
+              } else {
+                if (this.distance(i, j) != v) {
+                  throw new IOException("The matrix is not symmetric."); //$NON-NLS-1$
+                }
+              }
+            }
+          }
+        }
+        return;
+      }
+
+      case _Constants.UPPER_COL:
+      case _Constants.LOWER_ROW: {
+        for (i = 1; i <= this.m_n; i++) {
+          for (j = 1; j < i; j++) {
+            v = nr.nextInt();
+            this.setDistance(i, j, v);
+          }
+        }
+        return;
+      }
+      case _Constants.LOWER_COL:
+      case _Constants.UPPER_ROW: {
+        for (i = 1; i <= this.m_n; i++) {
+          for (j = i + 1; j <= this.m_n; j++) {
+            v = nr.nextInt();
+            this.setDistance(j, i, v);
+          }
+        }
+        return;
+      }
+      case _Constants.UPPER_DIAG_COL:
+      case _Constants.LOWER_DIAG_ROW: {
+        for (i = 1; i <= this.m_n; i++) {
+          for (j = 1; j <= i; j++) {
+            v = nr.nextInt();
+            if (i != j) {
+              this.setDistance(i, j, v);
+            }
+          }
+        }
+        return;
+      }
+      case _Constants.LOWER_DIAG_COL:
+      case _Constants.UPPER_DIAG_ROW: {
+        for (i = 1; i <= this.m_n; i++) {
+          for (j = i; j <= this.m_n; j++) {
+            v = nr.nextInt();
+            if (i != j) {
+              this.setDistance(j, i, v);
+            }
+          }
+        }
+        return;
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
   final void load(final BufferedReader in) throws IOException {
     String s, t;
-    int edgeType;
-    final NumberReader nr;
-    int i, j, v;
+    int edgeType, i;
 
     edgeType = 0;
     outer: while ((s = in.readLine()) != null) {
@@ -193,72 +317,8 @@ final class _DistanceMatrixSymmetric extends _DistanceMatrix {
       }
 
       if (_Constants.EDGE_WEIGHT_SECTION_STR.equalsIgnoreCase(s)) {
-        nr = new NumberReader(in);
-        switch (edgeType) {
-          case _Constants.FULL_MATRIX: {
-            for (i = 1; i <= this.m_n; i++) {
-              for (j = 1; j <= this.m_n; j++) {
-                v = nr.nextInt();
-                if (i != j) {
-                  if (j > i) {
-                    this.setDistance(j, i, v);
-                  } else {
-                    if (this.distance(i, j) != v) {
-                      throw new IOException("The matrix is not symmetric."); //$NON-NLS-1$
-                    }
-                  }
-                }
-              }
-            }
-            return;
-          }
-
-          case _Constants.UPPER_COL:
-          case _Constants.LOWER_ROW: {
-            for (i = 1; i <= this.m_n; i++) {
-              for (j = 1; j < i; j++) {
-                v = nr.nextInt();
-                this.setDistance(i, j, v);
-              }
-            }
-            return;
-          }
-          case _Constants.LOWER_COL:
-          case _Constants.UPPER_ROW: {
-            for (i = 1; i <= this.m_n; i++) {
-              for (j = i + 1; j <= this.m_n; j++) {
-                v = nr.nextInt();
-                this.setDistance(j, i, v);
-              }
-            }
-            return;
-          }
-          case _Constants.UPPER_DIAG_COL:
-          case _Constants.LOWER_DIAG_ROW: {
-            for (i = 1; i <= this.m_n; i++) {
-              for (j = 1; j <= i; j++) {
-                v = nr.nextInt();
-                if (i != j) {
-                  this.setDistance(i, j, v);
-                }
-              }
-            }
-            return;
-          }
-          case _Constants.LOWER_DIAG_COL:
-          case _Constants.UPPER_DIAG_ROW: {
-            for (i = 1; i <= this.m_n; i++) {
-              for (j = i; j <= this.m_n; j++) {
-                v = nr.nextInt();
-                if (i != j) {
-                  this.setDistance(j, i, v);
-                }
-              }
-            }
-            return;
-          }
-        }
-
+        this._loadSection(edgeType, _NumberSource._wrap(new NumberReader(
+            in)));
         return;
       }
 
@@ -0,0 +1,153 @@
+package org.logisticPlanning.tsp.benchmarking.dist;
+
+import java.io.PrintWriter;
+
+/**
+ * <p>
+ * A symmetric distance matrix for instances where all distances are in
+ * {@code 0..65535}. It has the same layout as
+ * {@link org.logisticPlanning.tsp.benchmarking.dist._DistanceMatrixSymmetric}
+ * , but uses a one-dimensional array of 16 bit unsigned integers (
+ * {@code char}) as backing store. It thus needs only half of the memory,
+ * e.g., about 95&nbsp;MiB instead of 191&nbsp;MiB for {@code n=10'000},
+ * and twice as many distances fit into each cache line, which speeds up
+ * {@link #distance(int, int)}.
+ * </p>
+ * <p>
+ * This matrix is never loaded directly, it is always filled from another
+ * distance computer.
+ * </p>
+ */
+final class _DistanceMatrixSymmetricChar extends _DistanceMatrix {
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the data */
+  char[] m_data;
+
+  /**
+   * create the _DistanceMatrixSymmetricChar
+   *
+   * @param n
+   *          the number of nodes
+   */
+  _DistanceMatrixSymmetricChar(final int n) {
+    super(n);
+    if (n > 46342) {
+      throw new IllegalArgumentException( //
+          "Matrix dimension cannot be higher than 46'342."); //$NON-NLS-1$
+    }
+    this.m_data = new char[((int) ((((long) (n)) * ((n) - 1)) >>> 1))];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void setDistance(final int a, final int b, final int dist) {
+    final int i, j;
+
+    if (a > b) {
+      i = a;
+      j = b;
+    } else {
+      if (a == b) {
+        if (dist == 0) {
+          return;
+        }
+        throw new IllegalArgumentException("Invalid index"); //$NON-NLS-1$
+      }
+      i = b;
+      j = a;
+    }
+    if ((dist < Character.MIN_VALUE) || (dist > Character.MAX_VALUE)) {
+      throw new IllegalArgumentException("Invalid distance"); //$NON-NLS-1$
+    }
+    this.m_data[((((((i) - 1) * ((i) - 2)) >>> 1) + (j)) - 1)] = ((char) dist);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int distance(final int a, final int b) {
+    final int i, j;
+
+    if (a > b) {
+      i = a;
+      j = b;
+    } else {
+      if (a == b) {
+        return 0;
+      }
+      i = b;
+      j = a;
+    }
+    return this.m_data[((((((i) - 1) * ((i) - 2)) >>> 1) + (j)) - 1)];
+  }
+
+  /**
+   * Try to fill this matrix from the given source.
+   *
+   * @param src
+   *          the source
+   * @return {@code true} if all distances could be stored, {@code false}
+   *         if at least one distance is outside of {@code 0..65535}, in
+   *         which case the contents of this matrix are undefined
+   */
+  final boolean tryFillFrom(final DistanceComputer src) {
+    final char[] m;
+    int i, j, k, v;
+
+    m = this.m_data;
+    i = 1;
+    j = 1;
+
+    for (k = 0; k < m.length; k++) {
+      j++;
+      if (j >= i) {
+        i++;
+        j = 1;
+      }
+      v = src.distance(i, j);
+      if ((v < Character.MIN_VALUE) || (v > Character.MAX_VALUE)) {
+        return false;
+      }
+      m[k] = ((char) v);
+    }
+
+    return true;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void fillFrom(final DistanceComputer src) {
+    if (!(this.tryFillFrom(src))) {
+      throw new IllegalArgumentException("Invalid distance"); //$NON-NLS-1$
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void print(final PrintWriter out) {
+    int f;
+
+    super.print(out);
+
+    _Constants.putTuple(_Constants.TYPE_STR, _Constants.TSP_STR, out);
+    _Constants.putTuple(_Constants.EDGE_WEIGHT_FORMAT_STR,
+        _Constants.LOWER_ROW_STR, out);
+    out.println(_Constants.EDGE_WEIGHT_SECTION_STR);
+
+    f = 0;
+    for (final char z : this.m_data) {
+      f++;
+      out.print('\t');
+      out.print((int) z);
+      if ((f % _DistanceMatrix.MAX_NUMBERS_PER_LINE) == 0) {
+        out.println();
+      }
+    }
+    if ((f % _DistanceMatrix.MAX_NUMBERS_PER_LINE) != 0) {
+      out.println();
+    }
+
+    out.println(_Constants.EOF_STR);
+  }
+}
@@ -0,0 +1,136 @@
+package org.logisticPlanning.tsp.benchmarking.dist;
+
+import java.io.PrintWriter;
+
+/**
+ * <p>
+ * A symmetric distance matrix for instances where all distances are in
+ * {@code -32768..32767}, but some are negative. It has the same layout as
+ * {@link org.logisticPlanning.tsp.benchmarking.dist._DistanceMatrixSymmetric}
+ * , but uses a one-dimensional array of 16 bit signed integers (
+ * {@code short}) as backing store and thus needs only half of the memory.
+ * Matrices with only non-negative distances use
+ * {@link org.logisticPlanning.tsp.benchmarking.dist._DistanceMatrixSymmetricChar}
+ * instead, which supports twice the range.
+ * </p>
+ * <p>
+ * This matrix is never loaded directly, it is always filled from another
+ * distance computer.
+ * </p>
+ */
+final class _DistanceMatrixSymmetricShort extends _DistanceMatrix {
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the data */
+  short[] m_data;
+
+  /**
+   * create the _DistanceMatrixSymmetricShort
+   *
+   * @param n
+   *          the number of nodes
+   */
+  _DistanceMatrixSymmetricShort(final int n) {
+    super(n);
+    if (n > 46342) {
+      throw new IllegalArgumentException( //
+          "Matrix dimension cannot be higher than 46'342."); //$NON-NLS-1$
+    }
+    this.m_data = new short[((int) ((((long) (n)) * ((n) - 1)) >>> 1))];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void setDistance(final int a, final int b, final int dist) {
+    final int i, j;
+
+    if (a > b) {
+      i = a;
+      j = b;
+    } else {
+      if (a == b) {
+        if (dist == 0) {
+          return;
+        }
+        throw new IllegalArgumentException("Invalid index"); //$NON-NLS-1$
+      }
+      i = b;
+      j = a;
+    }
+    if ((dist < Short.MIN_VALUE) || (dist > Short.MAX_VALUE)) {
+      throw new IllegalArgumentException("Invalid distance"); //$NON-NLS-1$
+    }
+    this.m_data[((((((i) - 1) * ((i) - 2)) >>> 1) + (j)) - 1)] = ((short) dist);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int distance(final int a, final int b) {
+    final int i, j;
+
+    if (a > b) {
+      i = a;
+      j = b;
+    } else {
+      if (a == b) {
+        return 0;
+      }
+      i = b;
+      j = a;
+    }
+    return this.m_data[((((((i) - 1) * ((i) - 2)) >>> 1) + (j)) - 1)];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final void fillFrom(final DistanceComputer src) {
+    final short[] m;
+    int i, j, k, v;
+
+    m = this.m_data;
+    i = 1;
+    j = 1;
+
+    for (k = 0; k < m.length; k++) {
+      j++;
+      if (j >= i) {
+        i++;
+        j = 1;
+      }
+      v = src.distance(i, j);
+      if ((v < Short.MIN_VALUE) || (v > Short.MAX_VALUE)) {
+        throw new IllegalArgumentException("Invalid distance"); //$NON-NLS-1$
+      }
+      m[k] = ((short) v);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void print(final PrintWriter out) {
+    int f;
+
+    super.print(out);
+
+    _Constants.putTuple(_Constants.TYPE_STR, _Constants.TSP_STR, out);
+    _Constants.putTuple(_Constants.EDGE_WEIGHT_FORMAT_STR,
+        _Constants.LOWER_ROW_STR, out);
+    out.println(_Constants.EDGE_WEIGHT_SECTION_STR);
+
+    f = 0;
+    for (final short z : this.m_data) {
+      f++;
+      out.print('\t');
+      out.print(z);
+      if ((f % _DistanceMatrix.MAX_NUMBERS_PER_LINE) == 0) {
+        out.println();
+      }
+    }
+    if ((f % _DistanceMatrix.MAX_NUMBERS_PER_LINE) != 0) {
+      out.println();
+    }
+
+    out.println(_Constants.EOF_STR);
+  }
+}
@@ -0,0 +1,234 @@
+package org.logisticPlanning.tsp.benchmarking.dist;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.zip.CRC32;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * A cache for parsed instances. Parsing a TSPLib file is slow for large
+ * instances, since every number is read from text. Here we store the raw
+ * data of a parsed instance, i.e., its coordinates or its explicitly given
+ * distance matrix, in a compact binary file. The next time the instance is
+ * loaded, this file is read into memory in one go and its numbers are
+ * copied in bulk into the distance computer.
+ * </p>
+ * <p>
+ * A cache file starts with a header holding a magic number, the format
+ * version, the length and the CRC32 checksum of the source file, the hints
+ * used for loading, the dimension, and the edge weight type and format.
+ * The cache is only used if the length and checksum of the source match
+ * and the hints are the same, otherwise the source is parsed again and the
+ * cache is re-written. The header is followed by the raw data in
+ * big-endian order.
+ * </p>
+ */
+final class _InstanceCache {
+
+  /** the magic number: TSPC */
+  static final int MAGIC = 0x54535043;
+
+  /** the version of the file format */
+  static final int VERSION = 1;
+
+  /** the flag for the integer hint */
+  static final int FLAG_INT_HINT = 1;
+
+  /** the flag for the symmetric hint */
+  static final int FLAG_SYMMETRIC_HINT = 2;
+
+  /** the size of the buffer for writing the cache */
+  private static final int BUFFER_SIZE = (1 << 16);
+
+  /** no instances */
+  private _InstanceCache() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Load a raw distance computer from a source stream, using the cache
+   * file if it is valid and (re-)creating it otherwise.
+   *
+   * @param is
+   *          the source stream with the instance in TSPLib format
+   * @param cache
+   *          the cache file
+   * @param intHint
+   *          are the coordinates integer?
+   * @param symmetricHint
+   *          Is the problem definitely symmetric?
+   * @return the raw distance computer
+   * @throws IOException
+   *           if i/o fails or the source is not correctly formatted
+   */
+  static final DistanceComputer _read(final InputStream is,
+      final File cache, final boolean intHint, final boolean symmetricHint)
+      throws IOException {
+    final byte[] source;
+    final CRC32 crc;
+    final long checksum;
+    final int flags;
+    final String[] type;
+    DistanceComputer raw;
+
+    source = _ParallelParser._read(is);
+    crc = new CRC32();
+    crc.update(source, 0, source.length);
+    checksum = crc.getValue();
+    flags = ((intHint ? _InstanceCache.FLAG_INT_HINT : 0) | //
+    (symmetricHint ? _InstanceCache.FLAG_SYMMETRIC_HINT : 0));
+
+    if (cache.exists()) {
+      raw = _InstanceCache.__tryLoad(cache, source.length, checksum,
+          flags, intHint, symmetricHint);
+      if (raw != null) {
+        return raw;
+      }
+    }
+
+    type = new String[2];
+    raw = _ParallelParser._parse(source, intHint, symmetricHint, type);
+
+    try {
+      _InstanceCache.__store(raw, cache, source.length, checksum, flags,
+          type);
+    } catch (final IOException ioe) {
+      // the cache is only an optimization: we have loaded the instance
+      // anyway, maybe we can write the cache next time
+    }
+
+    return raw;
+  }
+
+  /**
+   * Try to load a raw distance computer from the cache
+   *
+   * @param cache
+   *          the cache file
+   * @param length
+   *          the length of the source
+   * @param checksum
+   *          the checksum of the source
+   * @param flags
+   *          the flags
+   * @param intHint
+   *          are the coordinates integer?
+   * @param symmetricHint
+   *          Is the problem definitely symmetric?
+   * @return the distance computer, or {@code null} if the cache is
+   *         invalid or outdated
+   */
+  private static final DistanceComputer __tryLoad(final File cache,
+      final long length, final long checksum, final int flags,
+      final boolean intHint, final boolean symmetricHint) {
+    final byte[] data;
+    final DataInputStream dis;
+    final DistanceComputer raw;
+    final int n, start;
+    String ewt, ewf;
+
+    try {
+      data = Files.readAllBytes(cache.toPath());
+      dis = new DataInputStream(new ByteArrayInputStream(data));
+
+      if ((dis.readInt() != _InstanceCache.MAGIC) || //
+          (dis.readInt() != _InstanceCache.VERSION) || //
+          (dis.readLong() != length) || //
+          (dis.readLong() != checksum) || //
+          (dis.readInt() != flags)) {
+        return null;
+      }
+
+      n = dis.readInt();
+      ewt = dis.readUTF();
+      if (ewt.length() <= 0) {
+        ewt = null;
+      }
+      ewf = dis.readUTF();
+      if (ewf.length() <= 0) {
+        ewf = null;
+      }
+
+      raw = DistanceComputer._create(n, ewt, ewf, intHint, symmetricHint);
+      if (raw == null) {
+        return null;
+      }
+
+      start = (data.length - dis.available());
+      raw._readBinary(ByteBuffer.wrap(data, start, (data.length - start)));
+      return raw;
+    } catch (final IOException ioe) {
+      return null;
+    }
+  }
+
+  /**
+   * Store a raw distance computer in the cache. The data is first written
+   * to a temporary file in the same directory which is then renamed, so
+   * other processes never see a partially written cache.
+   *
+   * @param raw
+   *          the raw distance computer
+   * @param cache
+   *          the cache file
+   * @param length
+   *          the length of the source
+   * @param checksum
+   *          the checksum of the source
+   * @param flags
+   *          the flags
+   * @param type
+   *          the edge weight type and format
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final void __store(final DistanceComputer raw,
+      final File cache, final long length, final long checksum,
+      final int flags, final String[] type) throws IOException {
+    final File dir, tmp;
+
+    dir = cache.getAbsoluteFile().getParentFile();
+    if (dir != null) {
+      dir.mkdirs();
+    }
+    tmp = File.createTempFile(cache.getName(), ".tmp", dir); //$NON-NLS-1$
+
+    try {
+      try (final DataOutputStream dos = new DataOutputStream(
+          new BufferedOutputStream(new FileOutputStream(tmp),
+              _InstanceCache.BUFFER_SIZE))) {
+        dos.writeInt(_InstanceCache.MAGIC);
+        dos.writeInt(_InstanceCache.VERSION);
+        dos.writeLong(length);
+        dos.writeLong(checksum);
+        dos.writeInt(flags);
+        dos.writeInt(raw.n());
+        dos.writeUTF((type[0] != null) ? type[0] : ""); //$NON-NLS-1$
+        dos.writeUTF((type[1] != null) ? type[1] : ""); //$NON-NLS-1$
+        raw._writeBinary(dos);
+      }
+
+      if (!(tmp.renameTo(cache))) {
+        // maybe another process created the file in the meantime
+        if (!(cache.delete() && tmp.renameTo(cache))) {
+          throw new IOException(//
+              "Could not rename " + tmp + " to " + cache); //$NON-NLS-1$//$NON-NLS-2$
+        }
+      }
+    } finally {
+      tmp.delete();
+    }
+  }
+}
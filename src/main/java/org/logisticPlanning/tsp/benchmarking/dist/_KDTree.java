@@ -0,0 +1,745 @@
+package org.logisticPlanning.tsp.benchmarking.dist;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * A <a href="https://en.wikipedia.org/wiki/K-d_tree">k-d tree</a> over the
+ * node coordinates of a coordinate-based distance computer. It allows us
+ * to find the {@code m} nearest neighbors of all {@code n} nodes in
+ * roughly {@code O(n*(log(n)+m))} distance evaluations instead of the
+ * {@code n*(n-1)} evaluations needed by an exhaustive search. The tree is
+ * immutable after construction and can thus be shared by any number of
+ * threads.
+ * </p>
+ * <p>
+ * The tree itself only uses the coordinates for organizing the nodes and
+ * for pruning: all distances used to rank neighbors are computed with the
+ * {@link DistanceComputer#distance(int, int)} method of a distance
+ * computer handed in by the caller. Neighbors are ranked by their
+ * distance and ties are broken in favor of the smaller node index, i.e.,
+ * the results are identical to what a stable sort over all nodes would
+ * yield. For this to work, the distance function must be non-decreasing
+ * in the coordinate difference along each axis. For a coordinate gap of
+ * {@code d} along any axis, the distance must be at least
+ * {@code floor(d*scale)}, where {@code scale} is provided to the
+ * constructor. This holds for all Euclidean, Manhattan, maximum, and
+ * ceiled metrics with {@code scale=1} and for the pseudo-Euclidean metric
+ * with {@code scale=sqrt(0.1)}, but not for geographical or x-ray
+ * crystallography distances.
+ * </p>
+ */
+final class _KDTree {
+
+  /** the maximum number of nodes in a leaf bucket */
+  private static final int BUCKET_SIZE = 8;
+
+  /** the number of neighbors examined for the Gabriel test at least */
+  private static final int MIN_GABRIEL_NEIGHBORS = 16;
+
+  /** the number of dimensions */
+  final int m_dim;
+
+  /**
+   * the coordinates: the coordinates of node {@code i} start at index
+   * {@code (i-1)*m_dim}
+   */
+  final double[] m_coords;
+
+  /** the scale factor for computing lower bounds from coordinate gaps */
+  final double m_scale;
+
+  /** the nodes, ordered according to the tree structure */
+  final int[] m_nodes;
+
+  /** the split axis of the inner tree node at a given index */
+  final byte[] m_axes;
+
+  /**
+   * create the k-d tree
+   *
+   * @param coords
+   *          the coordinates
+   * @param dim
+   *          the number of dimensions
+   * @param scale
+   *          the scale factor for computing lower bounds from coordinate
+   *          gaps
+   */
+  _KDTree(final double[] coords, final int dim, final double scale) {
+    super();
+
+    final int n;
+    int i;
+
+    n = (coords.length / dim);
+    this.m_dim = dim;
+    this.m_coords = coords;
+    this.m_scale = scale;
+    this.m_nodes = new int[n];
+    this.m_axes = new byte[n];
+
+    for (i = n; i > 0; i--) {
+      this.m_nodes[i - 1] = i;
+    }
+
+    this.__build(0, n);
+  }
+
+  /**
+   * create the k-d tree from integer coordinates
+   *
+   * @param coords
+   *          the coordinates
+   * @param dim
+   *          the number of dimensions
+   * @param scale
+   *          the scale factor for computing lower bounds from coordinate
+   *          gaps
+   */
+  _KDTree(final int[] coords, final int dim, final double scale) {
+    this(_KDTree.__toDouble(coords), dim, scale);
+  }
+
+  /**
+   * convert an integer array to a double array
+   *
+   * @param coords
+   *          the integer coordinates
+   * @return the double coordinates
+   */
+  private static final double[] __toDouble(final int[] coords) {
+    final double[] res;
+    int i;
+
+    i = coords.length;
+    res = new double[i];
+    for (; (--i) >= 0;) {
+      res[i] = coords[i];
+    }
+    return res;
+  }
+
+  /**
+   * get a coordinate of a node
+   *
+   * @param node
+   *          the node
+   * @param axis
+   *          the axis
+   * @return the coordinate
+   */
+  final double _coord(final int node, final int axis) {
+    return this.m_coords[((node - 1) * this.m_dim) + axis];
+  }
+
+  /**
+   * Build the tree for the index range {@code lo..hi-1}: the node in the
+   * middle becomes the split node, the nodes to the left have coordinates
+   * no larger and the nodes to the right have coordinates no smaller than
+   * it along the split axis, which is the axis with the largest spread.
+   *
+   * @param lo
+   *          the inclusive lower index
+   * @param hi
+   *          the exclusive upper index
+   */
+  private final void __build(final int lo, final int hi) {
+    final int[] nodes;
+    final int mid;
+    double min, max, c, bestSpread;
+    int axis, bestAxis, i;
+
+    if ((hi - lo) <= _KDTree.BUCKET_SIZE) {
+      return;
+    }
+
+    nodes = this.m_nodes;
+    bestAxis = 0;
+    bestSpread = Double.NEGATIVE_INFINITY;
+    for (axis = this.m_dim; (--axis) >= 0;) {
+      min = Double.POSITIVE_INFINITY;
+      max = Double.NEGATIVE_INFINITY;
+      for (i = lo; i < hi; i++) {
+        c = this._coord(nodes[i], axis);
+        if (c < min) {
+          min = c;
+        }
+        if (c > max) {
+          max = c;
+        }
+      }
+      if ((max - min) > bestSpread) {
+        bestSpread = (max - min);
+        bestAxis = axis;
+      }
+    }
+
+    mid = ((lo + hi) >>> 1);
+    this.__select(lo, (hi - 1), mid, bestAxis);
+    this.m_axes[mid] = ((byte) bestAxis);
+    this.__build(lo, mid);
+    this.__build((mid + 1), hi);
+  }
+
+  /**
+   * Rearrange the nodes in {@code lo..hi} such that the node at index
+   * {@code k} has the coordinate it would have if the range was sorted
+   * along the {@code axis} (Wirth's selection algorithm).
+   *
+   * @param lo
+   *          the inclusive lower index
+   * @param hi
+   *          the inclusive upper index
+   * @param k
+   *          the index to select
+   * @param axis
+   *          the axis
+   */
+  private final void __select(final int lo, final int hi, final int k,
+      final int axis) {
+    final int[] nodes;
+    double pivot;
+    int l, h, i, j, t;
+
+    nodes = this.m_nodes;
+    l = lo;
+    h = hi;
+    while (h > l) {
+      pivot = this._coord(nodes[k], axis);
+      i = l;
+      j = h;
+      do {
+        while (this._coord(nodes[i], axis) < pivot) {
+          i++;
+        }
+        while (pivot < this._coord(nodes[j], axis)) {
+          j--;
+        }
+        if (i <= j) {
+          t = nodes[i];
+          nodes[i] = nodes[j];
+          nodes[j] = t;
+          i++;
+          j--;
+        }
+      } while (i <= j);
+      if (j < k) {
+        l = i;
+      }
+      if (k < i) {
+        h = j;
+      }
+    }
+  }
+
+  /**
+   * Find the {@code m} nearest neighbors of each node.
+   *
+   * @param dist
+   *          the distance computer used to evaluate distances
+   * @param m
+   *          the number of neighbors per node
+   * @param dest
+   *          the destination array: the neighbors of node {@code i} are
+   *          stored at indexes {@code (i-1)*m} to {@code (i*m)-1} in
+   *          increasing order of distance
+   */
+  final void nearest(final DistanceComputer dist, final int m,
+      final int[] dest) {
+    final __Search search;
+    final int n;
+    int node;
+
+    n = this.m_nodes.length;
+    search = new __Search(this, dist, m);
+    for (node = 1; node <= n; node++) {
+      search._run(node, -1, m);
+      search._drain(dest, ((node - 1) * m), null, 0);
+    }
+  }
+
+  /**
+   * Find {@code m} neighbors for each node, taking (about) {@code m/4}
+   * nearest neighbors from each of the four quadrants around the node
+   * spanned by the first two axes. If a quadrant does not contain enough
+   * nodes, the remaining slots are filled with the nearest neighbors not
+   * yet chosen.
+   *
+   * @param dist
+   *          the distance computer used to evaluate distances
+   * @param m
+   *          the number of neighbors per node
+   * @param dest
+   *          the destination array: the neighbors of node {@code i} are
+   *          stored at indexes {@code (i-1)*m} to {@code (i*m)-1} in
+   *          increasing order of distance
+   */
+  final void quadrant(final DistanceComputer dist, final int m,
+      final int[] dest) {
+    final __Search search;
+    final int n;
+    final int[] nodes, dists, allNodes, allDists;
+    int node, quadrant, count, k, i, j;
+
+    n = this.m_nodes.length;
+    search = new __Search(this, dist, m);
+    nodes = new int[m];
+    dists = new int[m];
+    allNodes = new int[m];
+    allDists = new int[m];
+
+    for (node = 1; node <= n; node++) {
+      count = 0;
+      for (quadrant = 0; quadrant < 4; quadrant++) {
+        k = (((m + 3) - quadrant) >>> 2);
+        if (k > 0) {
+          search._run(node, quadrant, k);
+          count += search._drain(nodes, count, dists, count);
+        }
+      }
+
+      if (count < m) {
+        search._run(node, -1, m);
+        search._drain(allNodes, 0, allDists, 0);
+        outer: for (i = 0; (i < m) && (count < m); i++) {
+          for (j = count; (--j) >= 0;) {
+            if (nodes[j] == allNodes[i]) {
+              continue outer;
+            }
+          }
+          nodes[count] = allNodes[i];
+          dists[count++] = allDists[i];
+        }
+      }
+
+      _KDTree.__sort(nodes, dists, m);
+      System.arraycopy(nodes, 0, dest, ((node - 1) * m), m);
+    }
+  }
+
+  /**
+   * <p>
+   * Find {@code m} neighbors for each node, preferring the neighbors in
+   * the <a href="https://en.wikipedia.org/wiki/Gabriel_graph">Gabriel
+   * graph</a>, which is a sub-graph of the <a
+   * href="https://en.wikipedia.org/wiki/Delaunay_triangulation">Delaunay
+   * triangulation</a>: An edge {@code (p,q)} belongs to the Gabriel graph
+   * if no other node lies strictly inside the circle (sphere) whose
+   * diameter is {@code (p,q)}.
+   * </p>
+   * <p>
+   * Any node inside that circle is closer to {@code p} than {@code q}, so
+   * we only test the edges to the nearest neighbors of each node against
+   * these same neighbors. If there are less than {@code m} Gabriel
+   * neighbors, the remaining slots are filled with the nearest neighbors
+   * not yet chosen.
+   * </p>
+   *
+   * @param dist
+   *          the distance computer used to evaluate distances
+   * @param m
+   *          the number of neighbors per node
+   * @param dest
+   *          the destination array: the neighbors of node {@code i} are
+   *          stored at indexes {@code (i-1)*m} to {@code (i*m)-1} in
+   *          increasing order of distance
+   */
+  final void gabriel(final DistanceComputer dist, final int m,
+      final int[] dest) {
+    final __Search search;
+    final int n, k, dim;
+    final int[] nodes;
+    final boolean[] chosen;
+    int node, count, i, j, axis, start;
+    double dot, c;
+
+    n = this.m_nodes.length;
+    k = Math.min((n - 1),
+        Math.max((m << 1), _KDTree.MIN_GABRIEL_NEIGHBORS));
+    dim = this.m_dim;
+    search = new __Search(this, dist, k);
+    nodes = new int[k];
+    chosen = new boolean[k];
+
+    for (node = 1; node <= n; node++) {
+      search._run(node, -1, k);
+      search._drain(nodes, 0, null, 0);
+
+      count = 0;
+      gabriel: for (i = 0; (i < k) && (count < m); i++) {
+        chosen[i] = false;
+        for (j = 0; j < k; j++) {
+          if (j != i) {
+            dot = 0d;
+            for (axis = dim; (--axis) >= 0;) {
+              c = this._coord(nodes[j], axis);
+              dot += ((c - this._coord(node, axis)) * //
+              (c - this._coord(nodes[i], axis)));
+            }
+            if (dot < 0d) {
+              continue gabriel;
+            }
+          }
+        }
+        chosen[i] = true;
+        count++;
+      }
+      for (; i < k; i++) {
+        chosen[i] = false;
+      }
+
+      for (i = 0; count < m; i++) {
+        if (!(chosen[i])) {
+          chosen[i] = true;
+          count++;
+        }
+      }
+
+      start = ((node - 1) * m);
+      for (i = 0; count > 0; i++) {
+        if (chosen[i]) {
+          dest[start++] = nodes[i];
+          count--;
+        }
+      }
+    }
+  }
+
+  /**
+   * Sort the first {@code len} nodes by increasing distance and node
+   * index (insertion sort, the arrays are short).
+   *
+   * @param nodes
+   *          the nodes
+   * @param dists
+   *          the distances
+   * @param len
+   *          the number of elements to sort
+   */
+  private static final void __sort(final int[] nodes, final int[] dists,
+      final int len) {
+    int i, j, n, d;
+
+    for (i = 1; i < len; i++) {
+      n = nodes[i];
+      d = dists[i];
+      for (j = i; (j > 0) && //
+          ((dists[j - 1] > d) || //
+          ((dists[j - 1] == d) && (nodes[j - 1] > n))); j--) {
+        nodes[j] = nodes[j - 1];
+        dists[j] = dists[j - 1];
+      }
+      nodes[j] = n;
+      dists[j] = d;
+    }
+  }
+
+  /**
+   * A single k-nearest neighbor search. Each search object maintains a
+   * bounded max-heap of the best neighbors found so far, ordered by
+   * distance and node index, so that the worst current neighbor sits at
+   * the root. A search object can be reused for an arbitrary number of
+   * queries, but must only be used by one thread at a time.
+   */
+  private static final class __Search {
+
+    /** the owning tree */
+    private final _KDTree m_tree;
+
+    /** the distance computer */
+    private final DistanceComputer m_dist;
+
+    /** the nodes in the heap */
+    private final int[] m_heapNodes;
+
+    /** the distances in the heap */
+    private final int[] m_heapDists;
+
+    /** the coordinates of the query node */
+    private final double[] m_query;
+
+    /** the number of nodes in the heap */
+    private int m_size;
+
+    /** the number of neighbors wanted */
+    private int m_k;
+
+    /** the query node */
+    private int m_node;
+
+    /** the quadrant to restrict the search to, or {@code -1} for none */
+    private int m_quadrant;
+
+    /**
+     * create the search
+     *
+     * @param tree
+     *          the tree
+     * @param dist
+     *          the distance computer
+     * @param maxK
+     *          the maximum number of neighbors that will be searched
+     */
+    __Search(final _KDTree tree, final DistanceComputer dist,
+        final int maxK) {
+      super();
+      this.m_tree = tree;
+      this.m_dist = dist;
+      this.m_heapNodes = new int[maxK];
+      this.m_heapDists = new int[maxK];
+      this.m_query = new double[tree.m_dim];
+    }
+
+    /**
+     * run a query
+     *
+     * @param node
+     *          the query node
+     * @param quadrant
+     *          the quadrant to restrict the search to, or {@code -1} for
+     *          none
+     * @param k
+     *          the number of neighbors to find
+     */
+    final void _run(final int node, final int quadrant, final int k) {
+      int axis;
+
+      this.m_node = node;
+      this.m_quadrant = quadrant;
+      this.m_k = k;
+      this.m_size = 0;
+      for (axis = this.m_query.length; (--axis) >= 0;) {
+        this.m_query[axis] = this.m_tree._coord(node, axis);
+      }
+      this.__search(0, this.m_tree.m_nodes.length);
+    }
+
+    /**
+     * Remove all neighbors from the heap and store them in increasing
+     * order of distance.
+     *
+     * @param nodes
+     *          the destination for the nodes
+     * @param nodesStart
+     *          the start index in {@code nodes}
+     * @param dists
+     *          the destination for the distances, or {@code null} if not
+     *          needed
+     * @param distsStart
+     *          the start index in {@code dists}
+     * @return the number of neighbors found
+     */
+    final int _drain(final int[] nodes, final int nodesStart,
+        final int[] dists, final int distsStart) {
+      final int found;
+      int i;
+
+      found = this.m_size;
+      for (i = found; (--i) >= 0;) {
+        nodes[nodesStart + i] = this.m_heapNodes[0];
+        if (dists != null) {
+          dists[distsStart + i] = this.m_heapDists[0];
+        }
+        this.m_size = i;
+        if (i > 0) {
+          this.__siftDown(this.m_heapNodes[i], this.m_heapDists[i]);
+        }
+      }
+      return found;
+    }
+
+    /**
+     * search the index range {@code lo..hi-1}
+     *
+     * @param lo
+     *          the inclusive lower index
+     * @param hi
+     *          the exclusive upper index
+     */
+    private final void __search(final int lo, final int hi) {
+      final _KDTree tree;
+      final int[] nodes;
+      final int mid, axis;
+      final double split, gap;
+      int i;
+
+      tree = this.m_tree;
+      nodes = tree.m_nodes;
+      if ((hi - lo) <= _KDTree.BUCKET_SIZE) {
+        for (i = lo; i < hi; i++) {
+          this.__consider(nodes[i]);
+        }
+        return;
+      }
+
+      mid = ((lo + hi) >>> 1);
+      axis = tree.m_axes[mid];
+      split = tree._coord(nodes[mid], axis);
+      gap = (this.m_query[axis] - split);
+
+      this.__consider(nodes[mid]);
+      if (gap <= 0d) {
+        if (this.__mayContain(axis, split, true)) {
+          this.__search(lo, mid);
+        }
+        if (this.__mayContain(axis, split, false)
+            && this.__mayImprove(-gap)) {
+          this.__search((mid + 1), hi);
+        }
+      } else {
+        if (this.__mayContain(axis, split, false)) {
+          this.__search((mid + 1), hi);
+        }
+        if (this.__mayContain(axis, split, true)
+            && this.__mayImprove(gap)) {
+          this.__search(lo, mid);
+        }
+      }
+    }
+
+    /**
+     * Check whether a sub-tree may contain nodes of the current quadrant.
+     *
+     * @param axis
+     *          the split axis
+     * @param split
+     *          the split coordinate
+     * @param left
+     *          {@code true} for the sub-tree with coordinates no larger
+     *          than {@code split}, {@code false} for the one with
+     *          coordinates no smaller than {@code split}
+     * @return {@code true} if the sub-tree may contain nodes in the
+     *         quadrant, {@code false} otherwise
+     */
+    private final boolean __mayContain(final int axis, final double split,
+        final boolean left) {
+      final boolean below;
+
+      if ((this.m_quadrant < 0) || (axis > 1)) {
+        return true;
+      }
+      below = ((this.m_quadrant & (1 << axis)) != 0);
+      if (left) {
+        return (below || (split >= this.m_query[axis]));
+      }
+      return ((!below) || (split < this.m_query[axis]));
+    }
+
+    /**
+     * Check whether a sub-tree at the given coordinate gap may contain a
+     * node that would enter the heap. Nodes with the same distance as the
+     * current worst neighbor may still enter if their index is smaller.
+     *
+     * @param gap
+     *          the (non-negative) coordinate gap
+     * @return {@code true} if the sub-tree must be searched
+     */
+    private final boolean __mayImprove(final double gap) {
+      if (this.m_size < this.m_k) {
+        return true;
+      }
+      return ((gap * this.m_tree.m_scale) < //
+      (this.m_heapDists[0] + 1.001d));
+    }
+
+    /**
+     * consider a node as neighbor
+     *
+     * @param node
+     *          the node
+     */
+    private final void __consider(final int node) {
+      final int[] heapNodes, heapDists;
+      final int dist;
+      final _KDTree tree;
+      int i, parent, quadrant;
+
+      if (node == this.m_node) {
+        return;
+      }
+
+      if (this.m_quadrant >= 0) {
+        tree = this.m_tree;
+        quadrant = 0;
+        if (tree._coord(node, 0) < this.m_query[0]) {
+          quadrant |= 1;
+        }
+        if (tree._coord(node, 1) < this.m_query[1]) {
+          quadrant |= 2;
+        }
+        if (quadrant != this.m_quadrant) {
+          return;
+        }
+      }
+
+      dist = this.m_dist.distance(this.m_node, node);
+      heapNodes = this.m_heapNodes;
+      heapDists = this.m_heapDists;
+
+      if (this.m_size < this.m_k) {
+        i = this.m_size++;
+        while (i > 0) {
+          parent = ((i - 1) >>> 1);
+          if ((heapDists[parent] > dist) || //
+              ((heapDists[parent] == dist) && (heapNodes[parent] > node))) {
+            break;
+          }
+          heapNodes[i] = heapNodes[parent];
+          heapDists[i] = heapDists[parent];
+          i = parent;
+        }
+        heapNodes[i] = node;
+        heapDists[i] = dist;
+        return;
+      }
+
+      if ((dist < heapDists[0]) || //
+          ((dist == heapDists[0]) && (node < heapNodes[0]))) {
+        this.__siftDown(node, dist);
+      }
+    }
+
+    /**
+     * put a node at the root of the heap and sift it down
+     *
+     * @param node
+     *          the node
+     * @param dist
+     *          the distance
+     */
+    private final void __siftDown(final int node, final int dist) {
+      final int[] heapNodes, heapDists;
+      final int size;
+      int i, child;
+
+      heapNodes = this.m_heapNodes;
+      heapDists = this.m_heapDists;
+      size = this.m_size;
+      i = 0;
+      for (;;) {
+        child = ((i << 1) + 1);
+        if (child >= size) {
+          break;
+        }
+        if (((child + 1) < size) && //
+            ((heapDists[child + 1] > heapDists[child]) || //
+            ((heapDists[child + 1] == heapDists[child]) && //
+            (heapNodes[child + 1] > heapNodes[child])))) {
+          child++;
+        }
+        if ((heapDists[child] < dist) || //
+            ((heapDists[child] == dist) && (heapNodes[child] < node))) {
+          break;
+        }
+        heapNodes[i] = heapNodes[child];
+        heapDists[i] = heapDists[child];
+        i = child;
+      }
+      heapNodes[i] = node;
+      heapDists[i] = dist;
+    }
+  }
+}
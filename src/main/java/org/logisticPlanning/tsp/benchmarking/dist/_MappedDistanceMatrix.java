@@ -0,0 +1,401 @@
+package org.logisticPlanning.tsp.benchmarking.dist;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * The base class for distance matrices backed by a memory-mapped file.
+ * Different from the heap-based
+ * {@link org.logisticPlanning.tsp.benchmarking.dist._DistanceMatrix
+ * distance matrices}, these matrices are indexed with 64 bit signed
+ * integers (long) and are split into multiple
+ * {@link java.nio.MappedByteBuffer} segments of at most
+ * {@link #SEGMENT_SIZE} bytes each. Their dimension is therefore only
+ * limited by the available disk space and address space, not by the size
+ * of the Java heap. Since the operating system keeps the file pages in its
+ * page cache, all threads of a process and even several processes working
+ * on the same instance share the same physical memory.
+ * </p>
+ * <p>
+ * A matrix file is written once from an arbitrary distance computer (see
+ * {@link #fillFrom(DistanceComputer, File)}) and can then be reused by
+ * later processes. The binary format consists of a header of
+ * {@link #HEADER_SIZE} bytes followed by the distances stored as 32 bit
+ * signed integers (int) in big-endian byte order:
+ * </p>
+ * <ol>
+ * <li>the magic number {@link #MAGIC} (int)</li>
+ * <li>the format version {@link #VERSION} (int)</li>
+ * <li>the dimension {@code n} (int)</li>
+ * <li>the flags: {@link #FLAG_SYMMETRIC} for symmetric matrices (int)</li>
+ * <li>the number of bytes per entry (int)</li>
+ * <li>reserved, {@code 0} (int)</li>
+ * <li>the number of entries (long)</li>
+ * </ol>
+ * <p>
+ * Symmetric matrices store the lower triangle without diagonal row by
+ * row, i.e., the same layout as
+ * {@link org.logisticPlanning.tsp.benchmarking.dist._DistanceMatrixSymmetric}
+ * , asymmetric matrices store all {@code n*n} entries row by row.
+ * </p>
+ */
+abstract class _MappedDistanceMatrix extends DistanceComputer {
+
+  /** the magic number identifying a matrix file */
+  static final int MAGIC = 0x54535044;
+
+  /** the file format version */
+  static final int VERSION = 1;
+
+  /** the flag for symmetric matrices */
+  static final int FLAG_SYMMETRIC = 1;
+
+  /** the size of the header in bytes */
+  static final int HEADER_SIZE = 32;
+
+  /** the number of bytes per entry */
+  static final int ENTRY_SIZE = 4;
+
+  /** the binary logarithm of {@link #SEGMENT_SIZE} */
+  static final int SEGMENT_SHIFT = 30;
+
+  /**
+   * the size of a mapped segment: 1 GiB, which is a multiple of the entry
+   * size, so no entry crosses a segment boundary
+   */
+  static final long SEGMENT_SIZE = (1l << _MappedDistanceMatrix.SEGMENT_SHIFT);
+
+  /** the mask for the offset inside a segment */
+  static final long SEGMENT_MASK = (_MappedDistanceMatrix.SEGMENT_SIZE - 1l);
+
+  /** the size of the write buffer */
+  private static final int WRITE_BUFFER_SIZE = (1 << 20);
+
+  /** the number of distances compared when re-using an existing file */
+  private static final int VERIFY_SAMPLES = 256;
+
+  /** the mapped segments */
+  MappedByteBuffer[] m_segments;
+
+  /**
+   * the distance computer this matrix has been created for, or
+   * {@code null}: we keep it only for building a spatial index
+   */
+  DistanceComputer m_source;
+
+  /**
+   * create
+   *
+   * @param n
+   *          the dimension
+   */
+  _MappedDistanceMatrix(final int n) {
+    super(n);
+  }
+
+  /**
+   * Get a distance matrix backed by a memory mapped file for the given
+   * distance computer. If {@code file} exists and holds the distances of
+   * {@code src}, it is re-used. Otherwise, it is (re-)created.
+   *
+   * @param src
+   *          the source distance computer
+   * @param file
+   *          the file
+   * @return the memory-mapped distance matrix
+   * @throws IOException
+   *           if i/o fails
+   */
+  static final _MappedDistanceMatrix _map(final DistanceComputer src,
+      final File file) throws IOException {
+    final _MappedDistanceMatrix ret;
+
+    if (src._symmetric()) {
+      ret = new _MappedDistanceMatrixSymmetric(src.m_n);
+    } else {
+      ret = new _MappedDistanceMatrixAsymmetric(src.m_n);
+    }
+
+    if (!(ret.__tryMap(file, src))) {
+      ret.fillFrom(src, file);
+      if (!(ret.__tryMap(file, src))) {
+        throw new IOException(//
+            "Could not map distance matrix file " + file); //$NON-NLS-1$
+      }
+    }
+
+    if (src instanceof _DistanceMatrix) {
+      ret.m_source = ((_DistanceMatrix) src).m_source;
+    } else {
+      if (src instanceof _MappedDistanceMatrix) {
+        ret.m_source = ((_MappedDistanceMatrix) src).m_source;
+      } else {
+        ret.m_source = src;
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Get the number of entries stored in the file.
+   *
+   * @return the number of entries
+   */
+  abstract long _entries();
+
+  /**
+   * Write the distances of the source distance computer to a file. The
+   * data is first written to a temporary file in the same directory which
+   * is then renamed, so other processes never see a partially written
+   * matrix.
+   *
+   * @param src
+   *          the source
+   * @param file
+   *          the destination file
+   * @throws IOException
+   *           if i/o fails
+   */
+  final void fillFrom(final DistanceComputer src, final File file)
+      throws IOException {
+    final File dir, tmp;
+    final ByteBuffer buf;
+    final long entries;
+    final int n;
+    final boolean symmetric;
+    long index;
+    int i, j, end;
+
+    dir = file.getAbsoluteFile().getParentFile();
+    if (dir != null) {
+      dir.mkdirs();
+    }
+    tmp = File.createTempFile(file.getName(), ".tmp", dir); //$NON-NLS-1$
+
+    try {
+      n = this.m_n;
+      symmetric = this._symmetric();
+      entries = this._entries();
+      buf = ByteBuffer.allocateDirect(_MappedDistanceMatrix.WRITE_BUFFER_SIZE);
+
+      try (final FileOutputStream fos = new FileOutputStream(tmp);
+          final FileChannel channel = fos.getChannel()) {
+
+        buf.putInt(_MappedDistanceMatrix.MAGIC);
+        buf.putInt(_MappedDistanceMatrix.VERSION);
+        buf.putInt(n);
+        buf.putInt(symmetric ? _MappedDistanceMatrix.FLAG_SYMMETRIC : 0);
+        buf.putInt(_MappedDistanceMatrix.ENTRY_SIZE);
+        buf.putInt(0);
+        buf.putLong(entries);
+
+        // the entries are written in index order: row by row, either the
+        // lower triangle (symmetric) or the full matrix (asymmetric)
+        index = 0l;
+        for (i = 1; i <= n; i++) {
+          end = (symmetric ? (i - 1) : n);
+          for (j = 1; j <= end; j++) {
+            if (buf.remaining() < _MappedDistanceMatrix.ENTRY_SIZE) {
+              _MappedDistanceMatrix.__flush(buf, channel);
+            }
+            buf.putInt(src.distance(i, j));
+            index++;
+          }
+        }
+
+        _MappedDistanceMatrix.__flush(buf, channel);
+        channel.force(true);
+      }
+
+      if (index != entries) {
+        throw new IllegalStateException(//
+            "Wrote " + index + //$NON-NLS-1$
+                " entries instead of " + entries); //$NON-NLS-1$
+      }
+
+      if (!(tmp.renameTo(file))) {
+        // maybe another process created the file in the meantime
+        if (!(file.delete() && tmp.renameTo(file))) {
+          throw new IOException(//
+              "Could not rename " + tmp + " to " + file); //$NON-NLS-1$//$NON-NLS-2$
+        }
+      }
+    } finally {
+      tmp.delete();
+    }
+  }
+
+  /**
+   * flush the buffer to the channel
+   *
+   * @param buf
+   *          the buffer
+   * @param channel
+   *          the channel
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final void __flush(final ByteBuffer buf,
+      final FileChannel channel) throws IOException {
+    buf.flip();
+    while (buf.hasRemaining()) {
+      channel.write(buf);
+    }
+    buf.clear();
+  }
+
+  /**
+   * Try to map an existing file and check whether it fits to the source
+   * distance computer.
+   *
+   * @param file
+   *          the file
+   * @param src
+   *          the source distance computer
+   * @return {@code true} if the file could be mapped and fits,
+   *         {@code false} if it needs to be (re-)created
+   * @throws IOException
+   *           if i/o fails
+   */
+  private final boolean __tryMap(final File file,
+      final DistanceComputer src) throws IOException {
+    final MappedByteBuffer[] segments;
+    final ByteBuffer header;
+    final long entries, length;
+    final int n;
+    long pos, size, seed;
+    int i, a, b;
+
+    if (!(file.isFile())) {
+      return false;
+    }
+
+    n = this.m_n;
+    entries = this._entries();
+    length = (_MappedDistanceMatrix.HEADER_SIZE + //
+    (entries * _MappedDistanceMatrix.ENTRY_SIZE));
+
+    try (final RandomAccessFile raf = new RandomAccessFile(file, "r"); //$NON-NLS-1$
+        final FileChannel channel = raf.getChannel()) {
+
+      if (channel.size() != length) {
+        return false;
+      }
+
+      header = ByteBuffer.allocate(_MappedDistanceMatrix.HEADER_SIZE);
+      while (header.hasRemaining()) {
+        if (channel.read(header, header.position()) < 0) {
+          return false;
+        }
+      }
+      header.flip();
+      if ((header.getInt() != _MappedDistanceMatrix.MAGIC)
+          || (header.getInt() != _MappedDistanceMatrix.VERSION)
+          || (header.getInt() != n)
+          || (header.getInt() != (this._symmetric() ? _MappedDistanceMatrix.FLAG_SYMMETRIC
+              : 0))
+          || (header.getInt() != _MappedDistanceMatrix.ENTRY_SIZE)) {
+        return false;
+      }
+      header.getInt();
+      if (header.getLong() != entries) {
+        return false;
+      }
+
+      segments = new MappedByteBuffer[(int) (((length - 1l) >>> _MappedDistanceMatrix.SEGMENT_SHIFT) + 1l)];
+      pos = 0l;
+      for (i = 0; i < segments.length; i++) {
+        size = Math.min(_MappedDistanceMatrix.SEGMENT_SIZE, (length - pos));
+        segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, pos, size);
+        pos += size;
+      }
+    }
+
+    this.m_segments = segments;
+
+    // check a deterministic sample of distances against the source
+    seed = n;
+    for (i = _MappedDistanceMatrix.VERIFY_SAMPLES; (--i) >= 0;) {
+      seed = ((seed * 6364136223846793005l) + 1442695040888963407l);
+      a = ((int) ((seed >>> 33) % n)) + 1;
+      seed = ((seed * 6364136223846793005l) + 1442695040888963407l);
+      b = ((int) ((seed >>> 33) % n)) + 1;
+      if (this.distance(a, b) != src.distance(a, b)) {
+        this.m_segments = null;
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Get the distance stored at a given index
+   *
+   * @param index
+   *          the index
+   * @return the distance
+   */
+  final int _get(final long index) {
+    final long offset;
+
+    offset = (_MappedDistanceMatrix.HEADER_SIZE + //
+    (index * _MappedDistanceMatrix.ENTRY_SIZE));
+    return this.m_segments[(int) (offset >>> _MappedDistanceMatrix.SEGMENT_SHIFT)]
+        .getInt((int) (offset & _MappedDistanceMatrix.SEGMENT_MASK));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final _KDTree _createSpatialIndex() {
+    final DistanceComputer src;
+
+    src = this.m_source;
+    return ((src != null) ? src._getSpatialIndex() : null);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void print(final PrintWriter out) {
+    final int n;
+    int i, j, f;
+
+    super.print(out);
+
+    _Constants.putTuple(_Constants.TYPE_STR,
+        _Constants.TSP_STR,
+        out);
+    _Constants.putTuple(_Constants.EDGE_WEIGHT_FORMAT_STR,
+        _Constants.FULL_MATRIX_STR, out);
+    out.println(_Constants.EDGE_WEIGHT_SECTION_STR);
+
+    n = this.m_n;
+    f = 0;
+    for (i = 1; i <= n; i++) {
+      for (j = 1; j <= n; j++) {
+        f++;
+        out.print('\t');
+        out.print(this.distance(i, j));
+        if ((f % _DistanceMatrix.MAX_NUMBERS_PER_LINE) == 0) {
+          out.println();
+        }
+      }
+    }
+    if ((f % _DistanceMatrix.MAX_NUMBERS_PER_LINE) != 0) {
+      out.println();
+    }
+
+    out.println(_Constants.EOF_STR);
+  }
+}
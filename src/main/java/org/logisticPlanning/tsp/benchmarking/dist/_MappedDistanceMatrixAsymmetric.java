@@ -0,0 +1,46 @@
+package org.logisticPlanning.tsp.benchmarking.dist;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * An asymmetric distance matrix backed by a memory-mapped file. It stores
+ * all {@code n*n} entries row by row, including the (zero) diagonal, which
+ * keeps the index computation simple.
+ * </p>
+ */
+final class _MappedDistanceMatrixAsymmetric extends _MappedDistanceMatrix {
+
+  /**
+   * create the _MappedDistanceMatrixAsymmetric
+   *
+   * @param n
+   *          the number of nodes
+   */
+  _MappedDistanceMatrixAsymmetric(final int n) {
+    super(n);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final long _entries() {
+    return (((long) (this.m_n)) * this.m_n);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final boolean _symmetric() {
+    return false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int distance(final int a, final int b) {
+    if (a == b) {
+      return 0;
+    }
+    return this._get((((long) (a - 1)) * this.m_n) + (b - 1));
+  }
+}
@@ -0,0 +1,53 @@
+package org.logisticPlanning.tsp.benchmarking.dist;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * A symmetric distance matrix backed by a memory-mapped file. It stores
+ * the lower triangle of the matrix without the diagonal, i.e.,
+ * {@code (n*(n-1))/2} entries, with the same layout as
+ * {@link org.logisticPlanning.tsp.benchmarking.dist._DistanceMatrixSymmetric}
+ * , but indexed with 64 bit signed integers (long). There is thus no limit
+ * on {@code n}.
+ * </p>
+ */
+final class _MappedDistanceMatrixSymmetric extends _MappedDistanceMatrix {
+
+  /**
+   * create the _MappedDistanceMatrixSymmetric
+   *
+   * @param n
+   *          the number of nodes
+   */
+  _MappedDistanceMatrixSymmetric(final int n) {
+    super(n);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  final long _entries() {
+    return ((((long) (this.m_n)) * (this.m_n - 1)) >>> 1);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int distance(final int a, final int b) {
+    final long i, j;
+
+    if (a > b) {
+      i = a;
+      j = b;
+    } else {
+      if (a == b) {
+        return 0;
+      }
+      i = b;
+      j = a;
+    }
+
+    return this._get(((((i - 1l) * (i - 2l)) >>> 1) + j) - 1l);
+  }
+}
@@ -0,0 +1,85 @@
+package org.logisticPlanning.tsp.benchmarking.dist;
+
+import java.io.IOException;
+
+import org.logisticPlanning.utils.NumberReader;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * A source for the numbers in the data section of a TSPLib file. The data
+ * sections of all raw distance computers are read from such a source, no
+ * matter whether the numbers are parsed one by one from a
+ * {@link org.logisticPlanning.utils.NumberReader} or have been parsed
+ * beforehand in parallel by {@link _ParallelParser}.
+ * </p>
+ */
+abstract class _NumberSource {
+
+  /** create */
+  _NumberSource() {
+    super();
+  }
+
+  /**
+   * Get the next number as integer.
+   *
+   * @return the next number
+   * @throws IOException
+   *           if there is no next number or it is not an integer
+   */
+  abstract int nextInt() throws IOException;
+
+  /**
+   * Get the next number as double.
+   *
+   * @return the next number
+   * @throws IOException
+   *           if there is no next number
+   */
+  abstract double nextDouble() throws IOException;
+
+  /**
+   * Wrap a number reader into a number source.
+   *
+   * @param nr
+   *          the number reader
+   * @return the number source
+   */
+  static final _NumberSource _wrap(final NumberReader nr) {
+    return new __Reader(nr);
+  }
+
+  /** a number source reading from a number reader */
+  private static final class __Reader extends _NumberSource {
+
+    /** the number reader */
+    private final NumberReader m_nr;
+
+    /**
+     * create
+     *
+     * @param nr
+     *          the number reader
+     */
+    __Reader(final NumberReader nr) {
+      super();
+      this.m_nr = nr;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    final int nextInt() throws IOException {
+      return this.m_nr.nextInt();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    final double nextDouble() throws IOException {
+      return this.m_nr.nextDouble();
+    }
+  }
+}
@@ -0,0 +1,740 @@
+package org.logisticPlanning.tsp.benchmarking.dist;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.logisticPlanning.utils.text.TextUtils;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * A parser for TSPLib files which parses the numbers of the data section
+ * in parallel. The file is first read completely into memory via NIO in
+ * large blocks. The header is then scanned sequentially, which is cheap
+ * since it consists of only a few lines. The data section, i.e., the
+ * {@code NODE_COORD_SECTION} of coordinate lists or the
+ * {@code EDGE_WEIGHT_SECTION} of explicit matrices, is split into chunks
+ * at whitespace boundaries. In a first parallel pass, the numbers in each
+ * chunk are counted, which gives each chunk its fixed offset in the
+ * destination array. In a second parallel pass, each chunk parses its
+ * numbers directly to their final positions. The parsed numbers are then
+ * handed to the distance computer as {@link _NumberSource}, i.e., they are
+ * interpreted in exactly the same way as by the sequential parser, for
+ * all edge weight formats.
+ * </p>
+ * <p>
+ * Numbers are parsed directly from the bytes. Decimal numbers with at most
+ * 15 digits and a small exponent are converted exactly with a single
+ * multiplication or division by a power of ten, all other numbers are
+ * parsed with {@link org.logisticPlanning.utils.text.TextUtils}, so the
+ * results are always the same as the ones of
+ * {@link org.logisticPlanning.utils.NumberReader}.
+ * </p>
+ */
+final class _ParallelParser {
+
+  /** the size of the blocks in which data is read */
+  private static final int BLOCK_SIZE = (1 << 20);
+
+  /** the minimum number of bytes per chunk */
+  private static final int MIN_CHUNK_SIZE = (1 << 16);
+
+  /** the number of chunks per thread, for load balancing */
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  /** the maximum number of digits of the fast path */
+  private static final int MAX_FAST_DIGITS = 15;
+
+  /** the exact powers of ten */
+  private static final double[] POWERS_OF_TEN = { 1e0d, 1e1d, 1e2d, 1e3d,
+      1e4d, 1e5d, 1e6d, 1e7d, 1e8d, 1e9d, 1e10d, 1e11d, 1e12d, 1e13d,
+      1e14d, 1e15d, 1e16d, 1e17d, 1e18d, 1e19d, 1e20d, 1e21d, 1e22d };
+
+  /** no instances */
+  private _ParallelParser() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Read a stream completely.
+   *
+   * @param is
+   *          the stream
+   * @return the bytes
+   * @throws IOException
+   *           if i/o fails
+   */
+  static final byte[] _read(final InputStream is) throws IOException {
+    return _ParallelParser.__read(Channels.newChannel(is), -1l);
+  }
+
+  /**
+   * Read a file completely.
+   *
+   * @param file
+   *          the file
+   * @return the bytes
+   * @throws IOException
+   *           if i/o fails
+   */
+  static final byte[] _read(final File file) throws IOException {
+    try (final FileChannel channel = FileChannel.open(file.toPath(),
+        StandardOpenOption.READ)) {
+      return _ParallelParser.__read(channel, channel.size());
+    }
+  }
+
+  /**
+   * Read a channel completely.
+   *
+   * @param channel
+   *          the channel
+   * @param size
+   *          the expected size, or {@code -1} if unknown
+   * @return the bytes
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final byte[] __read(final ReadableByteChannel channel,
+      final long size) throws IOException {
+    ByteBuffer buffer;
+    byte[] data;
+    int length, read;
+
+    if (size > (Integer.MAX_VALUE - 1)) {
+      throw new IOException("File too large."); //$NON-NLS-1$
+    }
+    data = new byte[(size >= 0l) ? ((int) (size + 1l))
+        : _ParallelParser.BLOCK_SIZE];
+    length = 0;
+
+    for (;;) {
+      if (length >= data.length) {
+        data = Arrays.copyOf(data, (data.length << 1));
+      }
+      buffer = ByteBuffer.wrap(data, length,
+          Math.min(_ParallelParser.BLOCK_SIZE, (data.length - length)));
+      read = channel.read(buffer);
+      if (read < 0) {
+        break;
+      }
+      length += read;
+    }
+
+    return ((length == data.length) ? data : Arrays.copyOf(data, length));
+  }
+
+  /**
+   * Parse a TSPLib file and load the raw distance computer.
+   *
+   * @param data
+   *          the contents of the file
+   * @param intHint
+   *          are the coordinates integer?
+   * @param symmetricHint
+   *          Is the problem definitely symmetric?
+   * @param type
+   *          an array of length two which, if not {@code null}, receives
+   *          the edge weight type and edge weight format found in the
+   *          header (either may be {@code null})
+   * @return the distance computer
+   * @throws IOException
+   *           if the data is not correctly formatted
+   */
+  static final DistanceComputer _parse(final byte[] data,
+      final boolean intHint, final boolean symmetricHint,
+      final String[] type) throws IOException {
+    String s, t, ewt, ewf;
+    DistanceComputer chosen;
+    boolean coords;
+    int dimension, pos, end, i;
+
+    dimension = -1;
+    ewt = ewf = null;
+    chosen = null;
+    pos = 0;
+
+    while (pos < data.length) {
+      end = pos;
+      while ((end < data.length) && (data[end] != '\n')) {
+        end++;
+      }
+      s = new String(data, pos, (end - pos), StandardCharsets.ISO_8859_1)
+          .trim();
+      pos = (end + 1);
+      if (s.length() <= 0) {
+        continue;
+      }
+
+      i = s.indexOf(':');
+      if (i > 0) {
+        t = s.substring(0, i).trim();
+        if (_Constants.DIMENSION_STR.equalsIgnoreCase(t)) {
+          if (dimension == (-1)) {
+            try {
+              dimension = Integer.parseInt(s.substring(i + 1).trim());
+            } catch (final Throwable z) {
+              throw new IOException(z);
+            }
+          }
+          continue;
+        }
+        if (_Constants.EDGE_WEIGHT_TYPE_STR.equalsIgnoreCase(t)) {
+          if (ewt == null) {
+            ewt = s.substring(i + 1).trim();
+            if (ewt.length() <= 0) {
+              ewt = null;
+            }
+          }
+          continue;
+        }
+        if (_Constants.EDGE_WEIGHT_FORMAT_STR.equalsIgnoreCase(t)) {
+          if (ewf == null) {
+            ewf = s.substring(i + 1).trim();
+            if (ewf.length() <= 0) {
+              ewf = null;
+            }
+          }
+        }
+        continue;
+      }
+
+      if (_Constants.EOF_STR.equalsIgnoreCase(s)) {
+        break;
+      }
+
+      coords = _Constants.NODE_COORD_SECTION_STR.equalsIgnoreCase(s);
+      if (coords || _Constants.EDGE_WEIGHT_SECTION_STR.equalsIgnoreCase(s)) {
+        if (chosen == null) {
+          chosen = _ParallelParser.__create(dimension, ewt, ewf, intHint,
+              symmetricHint);
+        }
+        if (coords != (chosen instanceof _DistanceMatrix)) {
+          chosen._loadSection(_ParallelParser.__edgeType(ewf),
+              _ParallelParser.__parseSection(data, pos));
+          break;
+        }
+      }
+    }
+
+    if (chosen == null) {
+      chosen = _ParallelParser.__create(dimension, ewt, ewf, intHint,
+          symmetricHint);
+    }
+    if (type != null) {
+      type[0] = ewt;
+      type[1] = ewf;
+    }
+    return chosen;
+  }
+
+  /**
+   * Create the raw distance computer.
+   *
+   * @param dimension
+   *          the dimension
+   * @param ewt
+   *          the edge weight type, or {@code null}
+   * @param ewf
+   *          the edge weight format, or {@code null}
+   * @param intHint
+   *          are the coordinates integer?
+   * @param symmetricHint
+   *          Is the problem definitely symmetric?
+   * @return the distance computer
+   * @throws IOException
+   *           if the header does not specify a supported instance
+   */
+  private static final DistanceComputer __create(final int dimension,
+      final String ewt, final String ewf, final boolean intHint,
+      final boolean symmetricHint) throws IOException {
+    final DistanceComputer chosen;
+
+    if (dimension > 1) {
+      chosen = DistanceComputer._create(dimension, ewt, ewf, intHint,
+          symmetricHint);
+      if (chosen != null) {
+        return chosen;
+      }
+    }
+    throw new IOException("Error loading distance computer."); //$NON-NLS-1$
+  }
+
+  /**
+   * Get the index of an edge weight format in
+   * {@link _Constants#FORMATS}.
+   *
+   * @param ewf
+   *          the edge weight format, or {@code null}
+   * @return the index, {@code 0} if no format is given, or {@code -1} if
+   *         the format is unknown
+   */
+  private static final int __edgeType(final String ewf) {
+    int edgeType;
+
+    if (ewf == null) {
+      return 0;
+    }
+    for (edgeType = _Constants.FORMATS.length; (--edgeType) >= 0;) {
+      if (_Constants.FORMATS[edgeType].equalsIgnoreCase(ewf)) {
+        break;
+      }
+    }
+    return edgeType;
+  }
+
+  /**
+   * Is a byte a white space?
+   *
+   * @param b
+   *          the byte
+   * @return {@code true} if it is a white space, {@code false} otherwise
+   */
+  static final boolean _isSpace(final byte b) {
+    return ((b >= 0) && (b <= ' '));
+  }
+
+  /**
+   * Parse the numbers of a data section in parallel. The section ends at
+   * the first line starting with a letter, such as {@code EOF} or the
+   * keyword of the next section.
+   *
+   * @param data
+   *          the data
+   * @param start
+   *          the start of the section
+   * @return the numbers
+   * @throws IOException
+   *           if a number cannot be parsed
+   */
+  private static final _NumberSource __parseSection(final byte[] data,
+      final int start) throws IOException {
+    final __Job job;
+    final int[] bounds;
+    final int chunks, parallelism;
+    int end, pos, i, j, total, count;
+    boolean lineStart;
+
+    // find the end of the section
+    end = data.length;
+    lineStart = true;
+    for (pos = start; pos < data.length; pos++) {
+      if (data[pos] == '\n') {
+        lineStart = true;
+        continue;
+      }
+      if (lineStart && (!(_ParallelParser._isSpace(data[pos])))) {
+        if (Character.isAlphabetic(data[pos] & 0xff)) {
+          end = pos;
+          break;
+        }
+        lineStart = false;
+      }
+    }
+
+    // split the section into chunks at white space boundaries
+    parallelism = __Pool.POOL.getParallelism();
+    chunks = Math.max(1, Math.min(
+        ((end - start) / _ParallelParser.MIN_CHUNK_SIZE),
+        (parallelism * _ParallelParser.CHUNKS_PER_THREAD)));
+    bounds = new int[chunks + 1];
+    bounds[0] = start;
+    bounds[chunks] = end;
+    for (i = 1; i < chunks; i++) {
+      pos = Math.max(bounds[i - 1],
+          (start + ((int) ((((long) (end - start)) * i) / chunks))));
+      while ((pos < end) && (!(_ParallelParser._isSpace(data[pos])))) {
+        pos++;
+      }
+      bounds[i] = pos;
+    }
+
+    job = new __Job(data, bounds);
+    if (chunks <= 1) {
+      job._count(0);
+    } else {
+      __Pool.POOL.invoke(new __Task(job, 0, chunks, false));
+    }
+
+    // turn the counts into offsets
+    total = 0;
+    for (j = 0; j < chunks; j++) {
+      count = job.m_offsets[j];
+      job.m_offsets[j] = total;
+      total += count;
+    }
+
+    job.m_values = new double[total];
+    if (chunks <= 1) {
+      job._parse(0);
+    } else {
+      __Pool.POOL.invoke(new __Task(job, 0, chunks, true));
+    }
+
+    return new __Numbers(job.m_values, job.m_errorIndex, job.m_error);
+  }
+
+  /**
+   * Parse a single number.
+   *
+   * @param data
+   *          the data
+   * @param start
+   *          the start index of the number
+   * @param end
+   *          the exclusive end index of the number
+   * @return the number
+   */
+  static final double _parseNumber(final byte[] data, final int start,
+      final int end) {
+    long mantissa;
+    int pos, digits, scale, exp, expDigits;
+    boolean negative, dot, expNegative;
+    byte b;
+
+    pos = start;
+    negative = false;
+    if (data[pos] == '-') {
+      negative = true;
+      pos++;
+    } else {
+      if (data[pos] == '+') {
+        pos++;
+      }
+    }
+
+    mantissa = 0l;
+    digits = scale = exp = 0;
+    dot = false;
+
+    fast: {
+      for (; pos < end; pos++) {
+        b = data[pos];
+        if ((b >= '0') && (b <= '9')) {
+          if ((++digits) > _ParallelParser.MAX_FAST_DIGITS) {
+            break fast;
+          }
+          mantissa = ((mantissa * 10l) + (b - '0'));
+          if (dot) {
+            scale++;
+          }
+          continue;
+        }
+        if ((b == '.') && (!dot)) {
+          dot = true;
+          continue;
+        }
+        if ((b == 'e') || (b == 'E')) {
+          break;
+        }
+        break fast;
+      }
+
+      if (digits <= 0) {
+        break fast;
+      }
+
+      if (pos < end) {
+        // we are at the exponent
+        pos++;
+        expNegative = false;
+        if ((pos < end) && ((data[pos] == '-') || (data[pos] == '+'))) {
+          expNegative = (data[pos] == '-');
+          pos++;
+        }
+        expDigits = 0;
+        for (; pos < end; pos++) {
+          b = data[pos];
+          if ((b < '0') || (b > '9') || ((++expDigits) > 3)) {
+            break fast;
+          }
+          exp = ((exp * 10) + (b - '0'));
+        }
+        if (expDigits <= 0) {
+          break fast;
+        }
+        if (expNegative) {
+          exp = (-exp);
+        }
+      }
+
+      exp -= scale;
+      if ((exp < (-22)) || (exp > 22)) {
+        break fast;
+      }
+
+      // mantissa and power of ten are exact doubles, so a single
+      // multiplication or division gives the correctly rounded result
+      return ((exp >= 0) ? //
+      (negative ? (-(mantissa * _ParallelParser.POWERS_OF_TEN[exp]))
+          : (mantissa * _ParallelParser.POWERS_OF_TEN[exp]))
+          : (negative ? (-(mantissa / _ParallelParser.POWERS_OF_TEN[-exp]))
+              : (mantissa / _ParallelParser.POWERS_OF_TEN[-exp])));
+    }
+
+    return TextUtils.parseDouble(new String(data, start, (end - start),
+        StandardCharsets.ISO_8859_1));
+  }
+
+  /** the holder for the fork-join pool, created when first needed */
+  private static final class __Pool {
+
+    /** the pool */
+    static final ForkJoinPool POOL = new ForkJoinPool();
+  }
+
+  /** the shared data of a parsing job */
+  private static final class __Job {
+
+    /** the data */
+    private final byte[] m_data;
+
+    /** the chunk boundaries */
+    private final int[] m_bounds;
+
+    /** the number counts per chunk, later the offsets of the chunks */
+    final int[] m_offsets;
+
+    /** the parsed values */
+    double[] m_values;
+
+    /** the index of the first number which could not be parsed */
+    int m_errorIndex;
+
+    /** the error belonging to {@link #m_errorIndex}, if any */
+    Throwable m_error;
+
+    /**
+     * create
+     *
+     * @param data
+     *          the data
+     * @param bounds
+     *          the chunk boundaries
+     */
+    __Job(final byte[] data, final int[] bounds) {
+      super();
+      this.m_data = data;
+      this.m_bounds = bounds;
+      this.m_offsets = new int[bounds.length - 1];
+      this.m_errorIndex = Integer.MAX_VALUE;
+    }
+
+    /**
+     * remember that a number could not be parsed
+     *
+     * @param index
+     *          the index of the number
+     * @param error
+     *          the error
+     */
+    final synchronized void _fail(final int index, final Throwable error) {
+      if (index < this.m_errorIndex) {
+        this.m_errorIndex = index;
+        this.m_error = error;
+      }
+    }
+
+    /**
+     * count the numbers in a chunk
+     *
+     * @param chunk
+     *          the chunk
+     */
+    final void _count(final int chunk) {
+      final byte[] data;
+      final int end;
+      int pos, count;
+      boolean space;
+
+      data = this.m_data;
+      end = this.m_bounds[chunk + 1];
+      count = 0;
+      space = true;
+      for (pos = this.m_bounds[chunk]; pos < end; pos++) {
+        if (_ParallelParser._isSpace(data[pos])) {
+          space = true;
+        } else {
+          if (space) {
+            count++;
+            space = false;
+          }
+        }
+      }
+      this.m_offsets[chunk] = count;
+    }
+
+    /**
+     * parse the numbers in a chunk
+     *
+     * @param chunk
+     *          the chunk
+     */
+    final void _parse(final int chunk) {
+      final byte[] data;
+      final double[] values;
+      final int end;
+      int pos, start, index;
+
+      data = this.m_data;
+      values = this.m_values;
+      end = this.m_bounds[chunk + 1];
+      index = this.m_offsets[chunk];
+      pos = this.m_bounds[chunk];
+
+      try {
+        for (;;) {
+          while ((pos < end) && _ParallelParser._isSpace(data[pos])) {
+            pos++;
+          }
+          if (pos >= end) {
+            return;
+          }
+          start = pos;
+          while ((pos < end) && (!(_ParallelParser._isSpace(data[pos])))) {
+            pos++;
+          }
+          values[index] = _ParallelParser._parseNumber(data, start, pos);
+          index++;
+        }
+      } catch (final Throwable error) {
+        // the sequential parser only fails if it actually reads this
+        // number, so we do the same
+        this._fail(index, error);
+      }
+    }
+  }
+
+  /** a task working on a range of chunks */
+  private static final class __Task extends RecursiveAction {
+
+    /** the serial version uid */
+    private static final long serialVersionUID = 1L;
+
+    /** the job */
+    private final __Job m_job;
+
+    /** the first chunk */
+    private final int m_lo;
+
+    /** the exclusive last chunk */
+    private final int m_hi;
+
+    /** should we parse ({@code true}) or count ({@code false})? */
+    private final boolean m_parse;
+
+    /**
+     * create
+     *
+     * @param job
+     *          the job
+     * @param lo
+     *          the first chunk
+     * @param hi
+     *          the exclusive last chunk
+     * @param parse
+     *          should we parse ({@code true}) or count ({@code false})?
+     */
+    __Task(final __Job job, final int lo, final int hi, final boolean parse) {
+      super();
+      this.m_job = job;
+      this.m_lo = lo;
+      this.m_hi = hi;
+      this.m_parse = parse;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected final void compute() {
+      final int mid;
+
+      if ((this.m_hi - this.m_lo) <= 1) {
+        if (this.m_parse) {
+          this.m_job._parse(this.m_lo);
+        } else {
+          this.m_job._count(this.m_lo);
+        }
+        return;
+      }
+
+      mid = ((this.m_lo + this.m_hi) >>> 1);
+      RecursiveAction.invokeAll(new __Task(this.m_job, this.m_lo, mid,
+          this.m_parse), new __Task(this.m_job, mid, this.m_hi,
+          this.m_parse));
+    }
+  }
+
+  /** the parsed numbers */
+  private static final class __Numbers extends _NumberSource {
+
+    /** the values */
+    private final double[] m_values;
+
+    /** the number of valid values */
+    private final int m_limit;
+
+    /** the error at index {@link #m_limit}, or {@code null} if none */
+    private final Throwable m_error;
+
+    /** the index of the next value */
+    private int m_index;
+
+    /**
+     * create
+     *
+     * @param values
+     *          the values
+     * @param errorIndex
+     *          the index of the first number which could not be parsed
+     * @param error
+     *          the error belonging to {@code errorIndex}, or {@code null}
+     *          if all numbers could be parsed
+     */
+    __Numbers(final double[] values, final int errorIndex,
+        final Throwable error) {
+      super();
+      this.m_values = values;
+      this.m_limit = Math.min(values.length, errorIndex);
+      this.m_error = error;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    final double nextDouble() throws IOException {
+      if (this.m_index >= this.m_limit) {
+        if (this.m_error != null) {
+          throw new IOException(this.m_error);
+        }
+        throw new IOException("End of file reached too early."); //$NON-NLS-1$
+      }
+      return this.m_values[this.m_index++];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    final int nextInt() throws IOException {
+      final double value;
+      final int intValue;
+
+      value = this.nextDouble();
+      intValue = ((int) value);
+      if (intValue != value) {
+        throw new IOException("Not an integer: " + value); //$NON-NLS-1$
+      }
+      return intValue;
+    }
+  }
+}
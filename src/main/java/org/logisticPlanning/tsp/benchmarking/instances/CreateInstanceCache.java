@@ -0,0 +1,53 @@
+package org.logisticPlanning.tsp.benchmarking.instances;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.utils.config.Configuration;
+
+/**
+ * Create the binary instance cache for all bundled instances beforehand,
+ * so that no benchmark needs to parse a TSPLib file. The cache directory
+ * is given with the parameter
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_INSTANCE_CACHE_DIR}
+ * , e.g., {@code -instanceCacheDir=/tmp/cache}, and defaults to
+ * {@code instanceCache} in the current directory. The same directory can
+ * then be passed to the benchmark runs. Existing cache files which are
+ * still valid are kept, outdated ones are re-created.
+ */
+public class CreateInstanceCache {
+
+  /** the default cache directory */
+  private static final String DEFAULT_DIR = "instanceCache"; //$NON-NLS-1$
+
+  /**
+   * the main routine
+   *
+   * @param args
+   *          the arguments
+   * @throws IOException
+   *           if i/o fails
+   */
+  public static final void main(final String[] args) throws IOException {
+    final Configuration config;
+    final File dir;
+    DistanceComputer dist;
+    long time;
+
+    config = new Configuration();
+    config.configure(args);
+    dir = config.getFile(Benchmark.PARAM_INSTANCE_CACHE_DIR, new File(
+        CreateInstanceCache.DEFAULT_DIR)).getCanonicalFile();
+
+    System.out.println("Creating instance cache in " + dir); //$NON-NLS-1$
+    for (final Instance inst : Instance.ALL_INSTANCES) {
+      time = System.currentTimeMillis();
+      dist = inst.load(0, dir);
+      time = (System.currentTimeMillis() - time);
+      System.out.println(inst.name() + '\t' + dist.n() + '\t' + time
+          + "ms"); //$NON-NLS-1$
+    }
+  }
+}
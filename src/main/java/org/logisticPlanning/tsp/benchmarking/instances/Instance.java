@@ -1,5 +1,6 @@
 package org.logisticPlanning.tsp.benchmarking.instances;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
@@ -1992,8 +1993,8 @@ public final class Instance extends Configurable implements
   /** the dimension */
   private static final String DIMENSION = "dimension"; //$NON-NLS-1$
 
-  /** the best possible objective value */
-  private static final String KNOWN_OPTIMUM = "knownOptimumValue";//$NON-NLS-1$
+  /** the key for the best possible objective value in log files: {@value} */
+  public static final String KNOWN_OPTIMUM = "knownOptimumValue";//$NON-NLS-1$
 
   /** is the benchmark a symmetric or asymmetric tsp? */
   private static final String IS_SYMMETRIC = "isProblemSymmetric";//$NON-NLS-1$
@@ -2125,11 +2126,40 @@ public final class Instance extends Configurable implements
    */
   public final DistanceComputer load(final int matrixLimitDim)
       throws IOException {
+    return this.load(matrixLimitDim, null);
+  }
+
+  /**
+   * load the benchmark case, using a binary cache of the parsed instance
+   * data in the given directory: The first time an instance is loaded,
+   * the cache file is created. On subsequent loads, the data is read from
+   * it directly instead of being parsed from the TSPLib text, as long as
+   * its checksum matches the bundled instance file.
+   *
+   * @return the distance computer
+   * @param matrixLimitDim
+   *          the highest dimension for which coordinate lists will
+   *          automatically be transformed to matrices.
+   * @param cacheDir
+   *          the directory for the binary instance cache, or {@code null}
+   *          if no cache should be used
+   * @throws IOException
+   *           the io exception if io fails
+   */
+  public final DistanceComputer load(final int matrixLimitDim,
+      final File cacheDir) throws IOException {
+    final String file;
     DistanceComputer c;
-    try (InputStream is = Instance.class.getResourceAsStream(this.name()
-        + (this.m_symmetric ? ".tsp" : ".atsp"))) {//$NON-NLS-1$//$NON-NLS-2$
-      c = DistanceComputer.read(is, matrixLimitDim, this.m_intHint,
-          this.m_symmetric);
+
+    file = (this.name() + (this.m_symmetric ? ".tsp" : ".atsp"));//$NON-NLS-1$//$NON-NLS-2$
+    try (InputStream is = Instance.class.getResourceAsStream(file)) {
+      if (cacheDir != null) {
+        c = DistanceComputer.read(is, new File(cacheDir, file + ".bin"), //$NON-NLS-1$
+            matrixLimitDim, this.m_intHint, this.m_symmetric);
+      } else {
+        c = DistanceComputer.read(is, matrixLimitDim, this.m_intHint,
+            this.m_symmetric);
+      }
       if (c.n() != this.m_n) {
         throw new IOException("dimensions incompatible!"); //$NON-NLS-1$
       }
@@ -0,0 +1,93 @@
+package org.logisticPlanning.tsp.benchmarking.instances;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
+
+/**
+ * Compare the time needed to parse the largest bundled instances with the
+ * sequential {@link java.io.Reader}-based parser and with the parallel
+ * NIO-based parser. Each instance is first copied to a temporary file, so
+ * that both parsers read from the file system and not from the class
+ * path. Each parser is run a few times in alternating order and the best
+ * time is printed. The instances to test can be given as arguments,
+ * otherwise a few of the largest symmetric and asymmetric instances are
+ * used.
+ */
+public class ParserBenchmark {
+
+  /** the default instances */
+  private static final String[] DEFAULT_INSTANCES = { "pla85900", //$NON-NLS-1$
+      "pla33810", //$NON-NLS-1$
+      "si1032", //$NON-NLS-1$
+      "rbg443", //$NON-NLS-1$
+      "rbg403" //$NON-NLS-1$
+  };
+
+  /** the number of repetitions */
+  private static final int REPETITIONS = 5;
+
+  /**
+   * the main routine
+   *
+   * @param args
+   *          the names of the instances to test
+   * @throws IOException
+   *           if i/o fails
+   */
+  public static final void main(final String[] args) throws IOException {
+    final String[] names;
+    Instance inst;
+    Path path;
+    DistanceComputer dist;
+    long seq, par, time;
+    int i;
+
+    names = (((args != null) && (args.length > 0)) ? args
+        : ParserBenchmark.DEFAULT_INSTANCES);
+
+    System.out.println("instance\tn\tsequential[ms]\tparallel[ms]\tspeedup"); //$NON-NLS-1$
+    for (final String name : names) {
+      inst = Instance.forName(name);
+      if (inst == null) {
+        System.out.println(name + ": unknown instance"); //$NON-NLS-1$
+        continue;
+      }
+
+      path = Files.createTempFile(name, //
+          (inst.symmetric() ? ".tsp" : ".atsp")); //$NON-NLS-1$//$NON-NLS-2$
+      try {
+        try (final InputStream is = Instance.class.getResourceAsStream(//
+            name + (inst.symmetric() ? ".tsp" : ".atsp"))) { //$NON-NLS-1$//$NON-NLS-2$
+          Files.copy(is, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        seq = par = Long.MAX_VALUE;
+        dist = null;
+        for (i = ParserBenchmark.REPETITIONS; (--i) >= 0;) {
+          time = System.nanoTime();
+          dist = DistanceComputer.read(
+              new InputStreamReader(Files.newInputStream(path)), 0,
+              inst.intHint(), inst.symmetric());
+          seq = Math.min(seq, (System.nanoTime() - time));
+
+          time = System.nanoTime();
+          dist = DistanceComputer.read(path.toFile(), 0, inst.intHint(),
+              inst.symmetric());
+          par = Math.min(par, (System.nanoTime() - time));
+        }
+
+        System.out.println(name + '\t' + dist.n() + '\t'
+            + (seq / 1000000d) + '\t' + (par / 1000000d) + '\t'
+            + (((double) seq) / par));
+      } finally {
+        Files.delete(path);
+      }
+    }
+  }
+}
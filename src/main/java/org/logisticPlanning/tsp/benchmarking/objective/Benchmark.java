@@ -1,10 +1,14 @@
 package org.logisticPlanning.tsp.benchmarking.objective;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
 import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.solving.utils.candidates.ECandidateSetKind;
 import org.logisticPlanning.utils.config.Configurable;
 import org.logisticPlanning.utils.config.Configuration;
 import org.logisticPlanning.utils.io.FileUtils;
@@ -179,7 +183,11 @@ public final class Benchmark extends Configurable {
    */
   public static final String PARAM_MAX_FES = "maxFEs"; //$NON-NLS-1$
 
-  /** the maximum runs ({@value} , default to {@link #DEFAULT_MAX_RUNS}) */
+  /**
+   * the maximum runs ({@value} , default to {@link #DEFAULT_MAX_RUNS}):
+   * once the output folder contains this many runs of an instance, no
+   * further run is begun on it, whether runs are locked or not
+   */
   public static final String PARAM_MAX_RUNS = "maxRuns"; //$NON-NLS-1$
 
   /** the distance computer type */
@@ -197,6 +205,166 @@ public final class Benchmark extends Configurable {
    */
   public static final String PARAM_LIMIT_DIM = "maxAutoDistanceMatrixConversionDim"; //$NON-NLS-1$
 
+  /**
+   * the directory for memory-mapped distance matrices ({@value} , by
+   * default, no memory-mapped matrices are used): If this parameter is
+   * set, instances with more nodes than the
+   * {@link #PARAM_LIMIT_DIM matrix limit dimension} are represented by a
+   * distance matrix in a memory-mapped file in this directory, which is
+   * created once and then re-used by all threads and processes.
+   */
+  public static final String PARAM_MAPPED_MATRIX_DIR = "mappedDistanceMatrixDir"; //$NON-NLS-1$
+
+  /**
+   * the directory for the binary instance cache ({@value} , by default, no
+   * cache is used): If this parameter is set, the parsed data of each
+   * instance is stored in a compact binary file in this directory the
+   * first time the instance is loaded and read from there instead of being
+   * parsed from the TSPLib text on subsequent loads. Such a cache can also
+   * be created beforehand with
+   * {@link org.logisticPlanning.tsp.benchmarking.instances.CreateInstanceCache}
+   * .
+   */
+  public static final String PARAM_INSTANCE_CACHE_DIR = "instanceCacheDir"; //$NON-NLS-1$
+
+  /**
+   * the policy for charging the DEs of creating shared data ({@value} ,
+   * defaults to
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ESharedDataCharging#CHARGE_EVERY_RUN}
+   * )
+   */
+  public static final String PARAM_SHARED_DATA_CHARGING = "sharedDataCharging"; //$NON-NLS-1$
+
+  /**
+   * the kind of candidate sets built for algorithms which only specify the
+   * number of candidates per node ({@value} , defaults to
+   * {@link org.logisticPlanning.tsp.solving.utils.candidates.ECandidateSetKind#NEAREST_NEIGHBORS}
+   * )
+   */
+  public static final String PARAM_CANDIDATE_SET_KIND = "candidateSetKind"; //$NON-NLS-1$
+
+  /**
+   * the capacity of the queue of the background log writer ({@value} ,
+   * defaults to {@code 0}): If this parameter is {@code 0}, the log file
+   * of a run is written by the thread which performed the run when it
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#endRun()
+   * ends}. Otherwise, a snapshot of the log is handed to a single
+   * background thread which writes it to disk while the next run already
+   * begins. If more than this many logs are waiting, the log is written
+   * synchronously. All logs are written before the JVM terminates, and
+   * {@link #flushLogs()} waits until they have been written. If a log
+   * cannot be written in the background, its file is left empty so that
+   * the run counts as interrupted, and the error is thrown by
+   * {@link #flushLogs()}.
+   */
+  public static final String PARAM_LOG_WRITER_QUEUE = "logWriterQueue"; //$NON-NLS-1$
+
+  /**
+   * the format of the log files ({@value} , defaults to
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ELogFormat#TEXT}
+   * ): With
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ELogFormat#BINARY}
+   * , log files are written in a compact
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.BinaryLog binary
+   * format}, which can be loaded by the evaluator just like text logs.
+   */
+  public static final String PARAM_LOG_FORMAT = "logFormat"; //$NON-NLS-1$
+
+  /**
+   * should the runs be profiled ({@value} , defaults to {@code false})?
+   * If so, each log point also records the CPU time and the memory
+   * allocated by the thread performing the run (plus those of the tasks
+   * performed on its
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#fork()
+   * forks} in other threads) as well as the time spent in garbage
+   * collection, which are written as additional columns of the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#LOG_DATA_SECTION
+   * log data section}. The totals and the FEs and DEs per second of the
+   * whole run are added to the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#SYSTEM_DATA_SECTION
+   * system data section}.
+   */
+  public static final String PARAM_PROFILE = "profile"; //$NON-NLS-1$
+
+  /**
+   * the basis of the runtime normalization ({@value} , defaults to
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ERuntimeNormalization#INSTANCE}
+   * ): With
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ERuntimeNormalization#CALIBRATION}
+   * , the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.DataPoint#getConsumedNormalizedRuntime()
+   * normalized runtime} is computed with the result of a calibration
+   * suite, which is measured once per machine and JVM, instead of the
+   * speed benchmark on each instance.
+   */
+  public static final String PARAM_RUNTIME_NORMALIZATION = "runtimeNormalization"; //$NON-NLS-1$
+
+  /**
+   * the directory where the result of the calibration suite is cached
+   * ({@value} , defaults to the directory {@code .tspSuite} in the home
+   * directory of the user)
+   */
+  public static final String PARAM_CALIBRATION_CACHE_DIR = "calibrationCacheDir"; //$NON-NLS-1$
+
+  /**
+   * the interval in milliseconds in which the state of a run is saved to
+   * a checkpoint ({@value} , defaults to {@code 0}, i.e., no checkpoints
+   * are written): If this parameter is positive, the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction
+   * objective function} saves its complete state (log points, counters,
+   * consumed runtime, best tour, and randomizer) into a file next to the
+   * log file at least this often (see
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#checkpoint(java.io.Serializable)}
+   * ). If the run is interrupted, e.g., because the machine is rebooted,
+   * it is resumed from its last checkpoint instead of being performed
+   * again from scratch. Checkpoints are only resumed if
+   * {@link #PARAM_JOB_LOCK_TIMEOUT runs are locked}, and then only once
+   * the lock of the run has become stale, i.e., once the process which
+   * performed the run is known to be dead. Without locks, a process could
+   * not tell an interrupted run from a run which another process sharing
+   * the output folder is still performing.
+   */
+  public static final String PARAM_CHECKPOINT_INTERVAL = "checkpointInterval"; //$NON-NLS-1$
+
+  /**
+   * the timeout in milliseconds after which the lock of a run is
+   * considered as stale ({@value} , defaults to {@code 0}, i.e., runs are
+   * not locked): If this parameter is positive, several processes, maybe
+   * on different machines, can work on the same experiment by pointing
+   * their {@link #PARAM_DEST_DIR output directories} to the same shared
+   * folder. Each process then claims the {@link #PARAM_MAX_RUNS runs} it
+   * performs with a lock file next to their log files. The lock file is
+   * created atomically and kept alive by a heartbeat while the run is
+   * ongoing. The runs of a process which dies are taken over by other
+   * processes once the heartbeats of their lock files are older than this
+   * timeout: they are resumed from their last checkpoint (see
+   * {@link #PARAM_CHECKPOINT_INTERVAL}) or performed again from scratch.
+   * The clocks of the machines should agree with each other much better
+   * than this timeout.
+   */
+  public static final String PARAM_JOB_LOCK_TIMEOUT = "jobLockTimeout"; //$NON-NLS-1$
+
+  /** the suffix of text log files: {@value} */
+  public static final String TEXT_FILE_SUFFIX = ".txt"; //$NON-NLS-1$
+
+  /**
+   * the suffix appended to the name of the log file of a run to obtain the
+   * name of its checkpoint file: {@value}
+   */
+  public static final String CHECKPOINT_SUFFIX = ".checkpoint"; //$NON-NLS-1$
+
+  /**
+   * the suffix appended to the name of the log file of a run to obtain the
+   * name of its lock file: {@value}
+   */
+  public static final String LOCK_SUFFIX = ".lock"; //$NON-NLS-1$
+
+  /**
+   * the checkpoint files of the runs currently performed in this JVM,
+   * which must not be resumed by anyone else
+   */
+  private static final HashSet<File> CHECKPOINTS = new HashSet<>();
+
   /**
    * the root directory for all results
    *
@@ -270,9 +438,97 @@ public final class Benchmark extends Configurable {
   /** the FEs and DEs to log */
   transient long[] m_FEsDEsToLog;
 
+  /**
+   * the directory for memory-mapped distance matrices, or {@code null} if
+   * none should be used
+   *
+   * @serial a file pointing to the directory for the memory-mapped
+   *         distance matrices, or {@code null}
+   */
+  private File m_mappedMatrixDir;
+
+  /**
+   * the directory for the binary instance cache, or {@code null} if none
+   * should be used
+   *
+   * @serial a file pointing to the directory for the binary instance
+   *         cache, or {@code null}
+   */
+  private File m_instanceCacheDir;
+
+  /**
+   * the policy for charging the DEs needed to create shared data
+   *
+   * @serial the charging policy
+   */
+  ESharedDataCharging m_sharedDataCharging;
+
+  /**
+   * the kind of candidate sets built for algorithms which only specify the
+   * number of candidates
+   *
+   * @serial the candidate set kind
+   */
+  ECandidateSetKind m_candidateSetKind;
+
+  /**
+   * the capacity of the queue of the background log writer, {@code 0} for
+   * writing logs synchronously
+   *
+   * @serial a non-negative int with the capacity of the log writer queue
+   */
+  int m_logWriterQueue;
+
+  /**
+   * the format of the log files
+   *
+   * @serial the log format
+   */
+  ELogFormat m_logFormat;
+
+  /**
+   * should the runs be profiled?
+   *
+   * @serial a boolean value indicating whether runs are profiled
+   */
+  boolean m_profile;
+
+  /**
+   * the basis of the runtime normalization
+   *
+   * @serial the runtime normalization
+   */
+  ERuntimeNormalization m_runtimeNormalization;
+
+  /**
+   * the directory where the result of the calibration suite is cached
+   *
+   * @serial the calibration cache directory
+   */
+  File m_calibrationCacheDir;
+
+  /**
+   * the interval in milliseconds in which checkpoints are written, or
+   * {@code 0} if no checkpoints should be written
+   *
+   * @serial a non-negative long value with the checkpoint interval
+   */
+  long m_checkpointInterval;
+
+  /**
+   * the timeout in milliseconds after which the lock of a run is
+   * considered as stale, or {@code 0} if runs are not locked
+   *
+   * @serial a non-negative long value with the lock timeout
+   */
+  long m_jobLockTimeout;
+
   /** the internal, shared distance computer */
   transient DistanceComputer m_dist;
 
+  /** the data shared by all runs on this benchmark */
+  private transient volatile ConcurrentHashMap<Object, _SharedData> m_shared;
+
   /**
    * Create a setup
    *
@@ -309,6 +565,12 @@ public final class Benchmark extends Configurable {
     this.m_maxTime = Benchmark.DEFAULT_MAX_TIME_PER_RUN;
     this.m_limitDim = Benchmark.DEFAULT_MATRIX_LIMIT_DIM;
     this.m_maxRuns = Benchmark.DEFAULT_MAX_RUNS;
+    this.m_sharedDataCharging = ESharedDataCharging.CHARGE_EVERY_RUN;
+    this.m_candidateSetKind = ECandidateSetKind.NEAREST_NEIGHBORS;
+    this.m_logFormat = ELogFormat.TEXT;
+    this.m_runtimeNormalization = ERuntimeNormalization.INSTANCE;
+    this.m_calibrationCacheDir = FileUtils.canonicalize(new File(
+        System.getProperty("user.home"), ".tspSuite")); //$NON-NLS-1$//$NON-NLS-2$
   }
 
   /** {@inheritDoc} */
@@ -333,8 +595,47 @@ public final class Benchmark extends Configurable {
     this.m_maxRuns = config.getInt(Benchmark.PARAM_MAX_RUNS, 0, 100000,//
         this.m_maxRuns);
 
+    this.m_sharedDataCharging = config.getConstant(
+        Benchmark.PARAM_SHARED_DATA_CHARGING, ESharedDataCharging.class,
+        ESharedDataCharging.class, this.m_sharedDataCharging);
+
+    this.m_candidateSetKind = config.getConstant(
+        Benchmark.PARAM_CANDIDATE_SET_KIND, ECandidateSetKind.class,
+        ECandidateSetKind.class, this.m_candidateSetKind);
+
+    this.m_logWriterQueue = config.getInt(Benchmark.PARAM_LOG_WRITER_QUEUE,
+        0, Integer.MAX_VALUE, this.m_logWriterQueue);
+
+    this.m_logFormat = config.getConstant(Benchmark.PARAM_LOG_FORMAT,
+        ELogFormat.class, ELogFormat.class, this.m_logFormat);
+
+    this.m_profile = config.getBoolean(Benchmark.PARAM_PROFILE,
+        this.m_profile);
+
+    this.m_runtimeNormalization = config.getConstant(
+        Benchmark.PARAM_RUNTIME_NORMALIZATION,
+        ERuntimeNormalization.class, ERuntimeNormalization.class,
+        this.m_runtimeNormalization);
+
+    this.m_calibrationCacheDir = config.getFile(
+        Benchmark.PARAM_CALIBRATION_CACHE_DIR, this.m_calibrationCacheDir);
+
+    this.m_checkpointInterval = config.getLong(
+        Benchmark.PARAM_CHECKPOINT_INTERVAL, 0l, Long.MAX_VALUE,
+        this.m_checkpointInterval);
+
+    this.m_jobLockTimeout = config.getLong(
+        Benchmark.PARAM_JOB_LOCK_TIMEOUT, 0l, Long.MAX_VALUE,
+        this.m_jobLockTimeout);
+
     this.m_dir = config.getFile(Benchmark.PARAM_DEST_DIR, this.m_dir);
     this.m_realDir = null;
+
+    this.m_mappedMatrixDir = config.getFile(
+        Benchmark.PARAM_MAPPED_MATRIX_DIR, this.m_mappedMatrixDir);
+
+    this.m_instanceCacheDir = config.getFile(
+        Benchmark.PARAM_INSTANCE_CACHE_DIR, this.m_instanceCacheDir);
   }
 
   /** {@inheritDoc} */
@@ -366,6 +667,43 @@ public final class Benchmark extends Configurable {
 
     Configurable.printKey(Benchmark.PARAM_MAX_RUNS, ps);
     ps.println(this.m_maxRuns);
+
+    Configurable.printKey(Benchmark.PARAM_SHARED_DATA_CHARGING, ps);
+    ps.println(this.m_sharedDataCharging);
+
+    Configurable.printKey(Benchmark.PARAM_CANDIDATE_SET_KIND, ps);
+    ps.println(this.m_candidateSetKind);
+
+    Configurable.printKey(Benchmark.PARAM_LOG_WRITER_QUEUE, ps);
+    ps.println(this.m_logWriterQueue);
+
+    Configurable.printKey(Benchmark.PARAM_LOG_FORMAT, ps);
+    ps.println(this.m_logFormat);
+
+    Configurable.printKey(Benchmark.PARAM_PROFILE, ps);
+    ps.println(this.m_profile);
+
+    Configurable.printKey(Benchmark.PARAM_RUNTIME_NORMALIZATION, ps);
+    ps.println(this.m_runtimeNormalization);
+
+    Configurable.printKey(Benchmark.PARAM_CALIBRATION_CACHE_DIR, ps);
+    ps.println(this.m_calibrationCacheDir.getAbsolutePath());
+
+    Configurable.printKey(Benchmark.PARAM_CHECKPOINT_INTERVAL, ps);
+    ps.println(this.m_checkpointInterval);
+
+    Configurable.printKey(Benchmark.PARAM_JOB_LOCK_TIMEOUT, ps);
+    ps.println(this.m_jobLockTimeout);
+
+    Configurable.printKey(Benchmark.PARAM_MAPPED_MATRIX_DIR, ps);
+    ps.println((this.m_mappedMatrixDir != null) ? //
+    this.m_mappedMatrixDir.getAbsolutePath()
+        : null);
+
+    Configurable.printKey(Benchmark.PARAM_INSTANCE_CACHE_DIR, ps);
+    ps.println((this.m_instanceCacheDir != null) ? //
+    this.m_instanceCacheDir.getAbsolutePath()
+        : null);
   }
 
   /** {@inheritDoc} */
@@ -396,6 +734,50 @@ public final class Benchmark extends Configurable {
     Configurable.printKey(Benchmark.PARAM_MAX_RUNS, ps);
     ps.println(//
     "The maximum number of runs to perform."); //$NON-NLS-1$
+
+    Configurable.printKey(Benchmark.PARAM_SHARED_DATA_CHARGING, ps);
+    ps.println(//
+    "How the DEs for creating data shared between runs (e.g., candidate sets) are charged: CHARGE_EVERY_RUN or CHARGE_ONCE."); //$NON-NLS-1$
+
+    Configurable.printKey(Benchmark.PARAM_CANDIDATE_SET_KIND, ps);
+    ps.println(//
+    "The kind of candidate sets used by algorithms which only specify the number of candidates: NEAREST_NEIGHBORS (the default), QUADRANT_NEIGHBORS, GABRIEL_NEIGHBORS, or ALPHA_NEARNESS."); //$NON-NLS-1$
+
+    Configurable.printKey(Benchmark.PARAM_LOG_WRITER_QUEUE, ps);
+    ps.println(//
+    "The number of log files which may wait to be written by a background thread (0, the default, writes them synchronously)."); //$NON-NLS-1$
+
+    Configurable.printKey(Benchmark.PARAM_LOG_FORMAT, ps);
+    ps.println(//
+    "The format of the log files: TEXT (the default) or BINARY."); //$NON-NLS-1$
+
+    Configurable.printKey(Benchmark.PARAM_PROFILE, ps);
+    ps.println(//
+    "Should the CPU time, memory allocation, and garbage collection time of the runs be logged (false by default)?"); //$NON-NLS-1$
+
+    Configurable.printKey(Benchmark.PARAM_RUNTIME_NORMALIZATION, ps);
+    ps.println(//
+    "The basis of the normalized runtime: INSTANCE (the default, a speed benchmark on each instance) or CALIBRATION (a calibration suite measured once per machine and JVM)."); //$NON-NLS-1$
+
+    Configurable.printKey(Benchmark.PARAM_CALIBRATION_CACHE_DIR, ps);
+    ps.println(//
+    "The directory where the result of the calibration suite is cached (.tspSuite in the user's home directory by default)."); //$NON-NLS-1$
+
+    Configurable.printKey(Benchmark.PARAM_CHECKPOINT_INTERVAL, ps);
+    ps.println(//
+    "The interval in milliseconds in which the state of a run is saved so that an interrupted run can be resumed if runs are locked (0, the default, disables checkpoints)."); //$NON-NLS-1$
+
+    Configurable.printKey(Benchmark.PARAM_JOB_LOCK_TIMEOUT, ps);
+    ps.println(//
+    "The timeout in milliseconds after which the lock file of a run claimed by a process sharing the output directory is considered stale (0, the default, disables lock files)."); //$NON-NLS-1$
+
+    Configurable.printKey(Benchmark.PARAM_MAPPED_MATRIX_DIR, ps);
+    ps.println(//
+    "The directory for memory-mapped distance matrices used for instances too large for in-memory matrices (none by default)."); //$NON-NLS-1$
+
+    Configurable.printKey(Benchmark.PARAM_INSTANCE_CACHE_DIR, ps);
+    ps.println(//
+    "The directory for the binary cache of parsed instances (none by default)."); //$NON-NLS-1$
   }
 
   /**
@@ -408,26 +790,103 @@ public final class Benchmark extends Configurable {
   }
 
   /**
-   * get a final file to use
+   * Get the maximum number of function evaluations (FEs) per run
+   *
+   * @return the maximum FEs, or {@link java.lang.Long#MAX_VALUE} if
+   *         unlimited
+   */
+  public synchronized final long getMaxFEs() {
+    return this.m_maxFEs;
+  }
+
+  /**
+   * Get the maximum number of distance evaluations (DEs) per run
+   *
+   * @return the maximum DEs, or {@link java.lang.Long#MAX_VALUE} if
+   *         unlimited
+   */
+  public synchronized final long getMaxDEs() {
+    return this.m_maxDEs;
+  }
+
+  /**
+   * Get the maximum runtime per run in milliseconds
+   *
+   * @return the maximum runtime, or {@link java.lang.Long#MAX_VALUE} if
+   *         unlimited
+   */
+  public synchronized final long getMaxRuntime() {
+    return this.m_maxTime;
+  }
+
+  /**
+   * Get the number of runs to be performed in total
+   *
+   * @return the number of runs
+   */
+  public synchronized final int getMaxRuns() {
+    return this.m_maxRuns;
+  }
+
+  /**
+   * get a final file to use: Only the run numbers up to the
+   * {@link #PARAM_MAX_RUNS maximum number of runs} are used, so that
+   * processes sharing the same output folder never perform more runs than
+   * necessary. If {@link #PARAM_JOB_LOCK_TIMEOUT runs are locked}, the
+   * lock file of the run is obtained before its log file is created. A run
+   * whose empty log file is not locked has been abandoned and is performed
+   * again from scratch.
    *
    * @param prefix
    *          a prefix or {@code null}
-   * @return the temporary file
+   * @return the temporary file, or {@code null} if all runs are completed
+   *         or claimed by someone else
    */
   synchronized final File _getFile(final String prefix) {
+    final String suffix, other;
+    final File dir;
     int i;
-    File f;
+    File f, lock;
     String base_name;
 
     // this.init();
 
     try {
-      base_name = (this.name() + "_");//$NON-NLS-1$
-      if (prefix != null) {
-        base_name = (prefix + "_" + base_name);//$NON-NLS-1$
+      base_name = this.__baseName(prefix);
+      if (this.m_logFormat == ELogFormat.BINARY) {
+        suffix = BinaryLog.FILE_SUFFIX;
+        other = Benchmark.TEXT_FILE_SUFFIX;
+      } else {
+        suffix = Benchmark.TEXT_FILE_SUFFIX;
+        other = BinaryLog.FILE_SUFFIX;
       }
+      dir = this.__getRealDir();
       for (i = 1;; i++) {
-        f = new File(this.__getRealDir(), base_name + i + ".txt");//$NON-NLS-1$
+        // runs logged in the other format keep their numbers
+        if (new File(dir, base_name + i + other).exists()) {
+          continue;
+        }
+        if (i > this.m_maxRuns) {
+          return null;
+        }
+        f = new File(dir, base_name + i + suffix);
+        if (this.m_jobLockTimeout > 0l) {
+          if (f.length() > 0l) {
+            continue;
+          }
+          lock = Benchmark._getLockFile(f);
+          if (!(_JobLock._acquire(lock, this.m_jobLockTimeout))) {
+            continue;
+          }
+          if (f.createNewFile() || (f.length() <= 0l)) {
+            // the checkpoint of an abandoned run may only be left if the
+            // run has become stale after we looked for runs to resume
+            Benchmark._getCheckpointFile(f).delete();
+            return f;
+          }
+          _JobLock._release(lock);
+          continue;
+        }
         if (f.createNewFile()) {
           return f;
         }
@@ -439,15 +898,229 @@ public final class Benchmark extends Configurable {
   }
 
   /**
-   * The number of runs that still need to be performed
+   * Get the base name of the log files of the runs with a given prefix
+   *
+   * @param prefix
+   *          a prefix or {@code null}
+   * @return the base name
+   */
+  private final String __baseName(final String prefix) {
+    final String base_name;
+
+    base_name = (this.name() + "_");//$NON-NLS-1$
+    if (prefix != null) {
+      return (prefix + "_" + base_name);//$NON-NLS-1$
+    }
+    return base_name;
+  }
+
+  /**
+   * Get the checkpoint file belonging to a given log file
+   *
+   * @param log
+   *          the log file
+   * @return the checkpoint file
+   */
+  static final File _getCheckpointFile(final File log) {
+    return new File(log.getParentFile(),//
+        (log.getName() + Benchmark.CHECKPOINT_SUFFIX));
+  }
+
+  /**
+   * Get the lock file belonging to a given log file
+   *
+   * @param log
+   *          the log file
+   * @return the lock file
+   */
+  static final File _getLockFile(final File log) {
+    return new File(log.getParentFile(),//
+        (log.getName() + Benchmark.LOCK_SUFFIX));
+  }
+
+  /**
+   * Mark a checkpoint file as belonging to a run performed in this JVM, so
+   * that the run will not be resumed by anyone else.
+   *
+   * @param checkpoint
+   *          the checkpoint file
+   */
+  static final void _claimCheckpoint(final File checkpoint) {
+    synchronized (Benchmark.CHECKPOINTS) {
+      Benchmark.CHECKPOINTS.add(checkpoint);
+    }
+  }
+
+  /**
+   * Delete the checkpoint file of a run whose log has been written
+   * completely: The run must never be resumed.
+   *
+   * @param checkpoint
+   *          the checkpoint file
+   */
+  static final void _releaseCheckpoint(final File checkpoint) {
+    synchronized (Benchmark.CHECKPOINTS) {
+      checkpoint.delete();
+      Benchmark.CHECKPOINTS.remove(checkpoint);
+    }
+  }
+
+  /**
+   * Can the run with the given checkpoint be resumed? This is the case if
+   * the run is not performed in this JVM and its log file has been created
+   * but not yet written. If the log file has been written, the run was
+   * completed and the checkpoint is just a left-over.
+   *
+   * @param checkpoint
+   *          the checkpoint file
+   * @return {@code true} if the run can be resumed, {@code false}
+   *         otherwise
+   */
+  private static final boolean __isResumable(final File checkpoint) {
+    final String name;
+    final File log;
+
+    name = checkpoint.getName();
+    if (!(name.endsWith(Benchmark.CHECKPOINT_SUFFIX))) {
+      return false;
+    }
+    synchronized (Benchmark.CHECKPOINTS) {
+      if (Benchmark.CHECKPOINTS.contains(checkpoint)) {
+        return false;
+      }
+    }
+    log = new File(checkpoint.getParentFile(), name.substring(0,
+        (name.length() - Benchmark.CHECKPOINT_SUFFIX.length())));
+    return (log.isFile() && (log.length() <= 0l));
+  }
+
+  /**
+   * Find an interrupted run with the given prefix which can be resumed
+   * and claim it. Runs are only resumed if
+   * {@link #PARAM_JOB_LOCK_TIMEOUT they are locked}, and then only if
+   * their lock file can be obtained, i.e., if the process which performed
+   * them has died. A checkpoint which cannot be loaded or which belongs to
+   * a different setup of the benchmark (e.g., to other limits of FEs,
+   * DEs, or runtime) is deleted together with the (empty) log file of its
+   * run, so that the run will be performed again from scratch.
+   *
+   * @param prefix
+   *          a prefix or {@code null}
+   * @return the checkpoint of the run to resume, or {@code null} if there
+   *         is none
+   */
+  synchronized final _Checkpoint _resume(final String prefix) {
+    final String base_name, suffix;
+    final File[] fs;
+    String name;
+    _Checkpoint cp;
+    File log, lock;
+    int i;
+
+    // without locks, we cannot know whether the run is still ongoing
+    if (this.m_jobLockTimeout <= 0l) {
+      return null;
+    }
+
+    fs = this.__getRealDir().listFiles();
+    if (fs == null) {
+      return null;
+    }
+
+    base_name = this.__baseName(prefix);
+    suffix = (((this.m_logFormat == ELogFormat.BINARY) ? //
+    BinaryLog.FILE_SUFFIX
+        : Benchmark.TEXT_FILE_SUFFIX) + Benchmark.CHECKPOINT_SUFFIX);
+
+    outer: for (final File f : fs) {
+      name = f.getName();
+      if ((!(name.startsWith(base_name))) || (!(name.endsWith(suffix)))
+          || (name.length() <= (base_name.length() + suffix.length()))) {
+        continue;
+      }
+      // only the run number may be between the base name and the suffix
+      for (i = (name.length() - suffix.length()); (--i) >= base_name
+          .length();) {
+        if ((name.charAt(i) < '0') || (name.charAt(i) > '9')) {
+          continue outer;
+        }
+      }
+      if (!(Benchmark.__isResumable(f))) {
+        continue;
+      }
+
+      log = new File(f.getParentFile(), name.substring(0,
+          (name.length() - Benchmark.CHECKPOINT_SUFFIX.length())));
+      lock = Benchmark._getLockFile(log);
+      try {
+        if (!(_JobLock._acquire(lock, this.m_jobLockTimeout))) {
+          continue;
+        }
+      } catch (final IOException ioe) {
+        throw new RuntimeException(ioe);
+      }
+      // the run may have been completed before we got the lock
+      if (log.length() > 0l) {
+        _JobLock._release(lock);
+        continue;
+      }
+
+      try {
+        cp = _Checkpoint._load(f);
+      } catch (final Throwable t) {
+        cp = null;
+      }
+
+      if ((cp != null) && (log.getName().equals(cp.m_logFile))
+          && (cp.m_n == this.m_instance.n())
+          && (cp.m_maxFEs == this.m_maxFEs)
+          && (cp.m_maxDEs == this.m_maxDEs)
+          && (cp.m_maxTime == this.m_maxTime)) {
+        cp.m_file = log;
+        Benchmark._claimCheckpoint(f);
+        return cp;
+      }
+
+      f.delete();
+      log.delete();
+      _JobLock._release(lock);
+    }
+
+    return null;
+  }
+
+  /**
+   * The number of runs that still need to be performed. If
+   * {@link #PARAM_JOB_LOCK_TIMEOUT runs are locked}, the runs claimed by
+   * other processes are not counted, but the runs abandoned by processes
+   * which have died are, since they will be resumed from their checkpoints
+   * (see {@link #PARAM_CHECKPOINT_INTERVAL}) or performed again. Without
+   * locks, every run whose log file exists counts as performed.
    *
    * @return the number of runs that still need to be performed
    */
   public synchronized final int remainingRunCount() {
     final File[] fs;
+    String name;
+    int count;
 
     fs = this.__getRealDir().listFiles();
-    return Math.max(0, (this.m_maxRuns - ((fs != null) ? fs.length : 0)));
+    count = 0;
+    if (fs != null) {
+      for (final File f : fs) {
+        name = f.getName();
+        if (!(_Checkpoint._isCheckpoint(name) || _JobLock._isLock(name))) {
+          count++;
+          if ((this.m_jobLockTimeout > 0l)
+              && (f.length() <= 0l)
+              && (!(_JobLock._isHeld(Benchmark._getLockFile(f),
+                  this.m_jobLockTimeout)))) {
+            count--;
+          }
+        }
+      }
+    }
+    return Math.max(0, (this.m_maxRuns - count));
   }
 
   /** only if not running! */
@@ -535,7 +1208,13 @@ public final class Benchmark extends Configurable {
           this.__getRealDir().mkdirs();
         }
 
-        this.m_dist = this.m_instance.load(this.m_limitDim);
+        this.m_dist = this.m_instance.load(this.m_limitDim,
+            this.m_instanceCacheDir);
+        if ((this.m_mappedMatrixDir != null)
+            && (this.m_instance.n() > this.m_limitDim)) {
+          this.m_dist = DistanceComputer.mapMatrix(this.m_dist, new File(
+              this.m_mappedMatrixDir, this.m_instance.name() + ".dist")); //$NON-NLS-1$
+        }
 
         this.m_valuesToLog = Benchmark.getLogObjectiveValues(//
             this.m_instance.optimum());
@@ -551,6 +1230,81 @@ public final class Benchmark extends Configurable {
     }
   }
 
+  /**
+   * Get the shared data entry for a given key, create it if necessary.
+   *
+   * @param key
+   *          the key
+   * @return the entry
+   */
+  final _SharedData _getSharedData(final Object key) {
+    ConcurrentHashMap<Object, _SharedData> map;
+    _SharedData data, old;
+
+    map = this.m_shared;
+    if (map == null) {
+      synchronized (this) {
+        map = this.m_shared;
+        if (map == null) {
+          this.m_shared = map = new ConcurrentHashMap<>();
+        }
+      }
+    }
+
+    data = map.get(key);
+    if (data == null) {
+      data = new _SharedData();
+      old = map.putIfAbsent(key, data);
+      if (old != null) {
+        return old;
+      }
+    }
+    return data;
+  }
+
+  /**
+   * Discard all data shared between the runs on this benchmark (see
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#getSharedData(Object, ISharedDataFactory)}
+   * ). Runs still holding references to shared data are not affected, as
+   * shared data is immutable. This method should be called when no more
+   * runs will be started on this benchmark.
+   */
+  public final void clearSharedData() {
+    final ConcurrentHashMap<Object, _SharedData> map;
+
+    map = this.m_shared;
+    if (map != null) {
+      map.clear();
+    }
+  }
+
+  /**
+   * Load the benchmark instance and prepare everything needed for creating
+   * objective functions. This is the expensive part of
+   * {@link #createObjective()}, which calls this method anyway. It can be
+   * invoked beforehand in a different thread in order to load a benchmark
+   * in the background while runs on another one are still executing.
+   */
+  public final void prepare() {
+    this._init(true);
+  }
+
+  /**
+   * Wait until all log files handed to the background log writer (see
+   * {@link #PARAM_LOG_WRITER_QUEUE}) have been written. This method
+   * returns immediately if no logs are waiting.
+   *
+   * @throws RuntimeException
+   *           if a log could not be written in the background
+   */
+  public static final void flushLogs() {
+    try {
+      _LogWriter._flush();
+    } catch (final IOException ioe) {
+      throw new RuntimeException(ioe);
+    }
+  }
+
   /**
    * Create an objective function to be used for performing runs under this
    * setup. One
@@ -565,7 +1319,7 @@ public final class Benchmark extends Configurable {
    * @return the new objective function.
    */
   public final ObjectiveFunction createObjective() {
-    this._init(true);
+    this.prepare();
     return new ObjectiveFunction(this);
   }
 
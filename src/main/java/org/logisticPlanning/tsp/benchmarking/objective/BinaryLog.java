@@ -0,0 +1,948 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.utils.config.Configurable;
+
+/**
+ * <p>
+ * The compact binary format for log files, selected with the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_LOG_FORMAT
+ * log format parameter}. A binary log file contains exactly the same
+ * information as a text log file and can be converted to one (and back)
+ * without any loss, e.g., with
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ConvertLogs}.
+ * </p>
+ * <p>
+ * A binary log file starts with a four-byte magic number and a version
+ * byte, followed by a sequence of blocks, each starting with a one-byte
+ * tag:
+ * </p>
+ * <ol>
+ * <li>A <em>text block</em> holds a part of the text log file verbatim,
+ * encoded in UTF-8 and preceded by its length.</li>
+ * <li>A <em>log point block</em> holds the rows of the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#LOG_DATA_SECTION
+ * log data section}. It starts with the number of log points, the
+ * optimum, and the runtime normalization factor, from which the normalized
+ * runtime and the relative objective value of each point are computed.
+ * Then, for each log point, the differences of its FEs, DEs, runtime, and
+ * objective value to the previous point are stored as variable-length
+ * integers, followed by a byte with its type flags. As these values change
+ * only slowly and in one direction, most of them need only one or two
+ * bytes.</li>
+ * <li>A <em>profiled log point block</em> holds the rows of a
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_PROFILE
+ * profiled} run in the same way, but stores the differences of the CPU
+ * time, allocated bytes, and garbage collection time of each point to the
+ * previous point after its objective value.</li>
+ * <li>A <em>path block</em> holds a solution such as the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#BEST_SOLUTION
+ * best solution}: its key, its length, and the differences between
+ * subsequent nodes as variable-length integers.</li>
+ * <li>The <em>end block</em> terminates the file.</li>
+ * </ol>
+ * <p>
+ * Variable-length integers store seven bits per byte, least significant
+ * bits first, and set the highest bit of every byte but the last. Signed
+ * values are zig-zag encoded first, so that numbers close to zero need few
+ * bytes regardless of their sign.
+ * </p>
+ */
+public final class BinaryLog {
+
+  /** the suffix of binary log files: {@value} */
+  public static final String FILE_SUFFIX = ".tspb"; //$NON-NLS-1$
+
+  /** the magic number at the start of each binary log file */
+  static final int MAGIC = 0x5453504c;
+
+  /** the version of the format */
+  static final int VERSION = 1;
+
+  /** the end block */
+  static final int BLOCK_END = 0;
+
+  /** a text block */
+  static final int BLOCK_TEXT = 1;
+
+  /** a log point block */
+  static final int BLOCK_POINTS = 2;
+
+  /** a path block */
+  static final int BLOCK_PATH = 3;
+
+  /** a profiled log point block */
+  static final int BLOCK_PROFILED_POINTS = 4;
+
+  /** the character set */
+  private static final Charset UTF8 = Charset.forName("UTF-8"); //$NON-NLS-1$
+
+  /** the key-value separator of text logs */
+  private static final String KEY_END = ":\t"; //$NON-NLS-1$
+
+  /** you cannot instantiate this class */
+  private BinaryLog() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Check whether a buffer contains a binary log file. The position of the
+   * buffer is not changed.
+   *
+   * @param in
+   *          the buffer
+   * @return {@code true} if the buffer starts with a binary log,
+   *         {@code false} otherwise
+   */
+  public static final boolean isBinary(final ByteBuffer in) {
+    return ((in.remaining() > 4) && (in.getInt(in.position()) == BinaryLog.MAGIC));
+  }
+
+  /**
+   * write the file header
+   *
+   * @param out
+   *          the output stream
+   * @throws IOException
+   *           if i/o fails
+   */
+  static final void _writeHeader(final OutputStream out) throws IOException {
+    out.write(BinaryLog.MAGIC >>> 24);
+    out.write(BinaryLog.MAGIC >>> 16);
+    out.write(BinaryLog.MAGIC >>> 8);
+    out.write(BinaryLog.MAGIC);
+    out.write(BinaryLog.VERSION);
+  }
+
+  /**
+   * write the end block
+   *
+   * @param out
+   *          the output stream
+   * @throws IOException
+   *           if i/o fails
+   */
+  static final void _writeEnd(final OutputStream out) throws IOException {
+    out.write(BinaryLog.BLOCK_END);
+  }
+
+  /**
+   * write a non-negative variable-length integer
+   *
+   * @param out
+   *          the output stream
+   * @param value
+   *          the value
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final void __writeVar(final OutputStream out,
+      final long value) throws IOException {
+    long v;
+
+    v = value;
+    while ((v & (~0x7fl)) != 0l) {
+      out.write((int) ((v & 0x7fl) | 0x80l));
+      v >>>= 7;
+    }
+    out.write((int) v);
+  }
+
+  /**
+   * write a signed variable-length integer
+   *
+   * @param out
+   *          the output stream
+   * @param value
+   *          the value
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final void __writeSigned(final OutputStream out,
+      final long value) throws IOException {
+    BinaryLog.__writeVar(out, ((value << 1) ^ (value >> 63)));
+  }
+
+  /**
+   * write a string
+   *
+   * @param out
+   *          the output stream
+   * @param s
+   *          the string
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final void __writeString(final OutputStream out,
+      final String s) throws IOException {
+    final byte[] data;
+
+    data = s.getBytes(BinaryLog.UTF8);
+    BinaryLog.__writeVar(out, data.length);
+    out.write(data);
+  }
+
+  /**
+   * write a text block
+   *
+   * @param out
+   *          the output stream
+   * @param data
+   *          the UTF-8 encoded text
+   * @param start
+   *          the start index
+   * @param length
+   *          the number of bytes
+   * @throws IOException
+   *           if i/o fails
+   */
+  static final void _writeText(final OutputStream out, final byte[] data,
+      final int start, final int length) throws IOException {
+    if (length > 0) {
+      out.write(BinaryLog.BLOCK_TEXT);
+      BinaryLog.__writeVar(out, length);
+      out.write(data, start, length);
+    }
+  }
+
+  /**
+   * write a log point block
+   *
+   * @param out
+   *          the output stream
+   * @param log
+   *          the log points
+   * @param count
+   *          the number of log points
+   * @param optimum
+   *          the optimum
+   * @param timeNormalizationFactor
+   *          the time normalization factor
+   * @throws IOException
+   *           if i/o fails
+   */
+  static final void _writePoints(final OutputStream out,
+      final LogPoint[] log, final int count, final long optimum,
+      final double timeNormalizationFactor) throws IOException {
+    long fe, de, time, f, cpu, alloc, gc, bits;
+    boolean profiled;
+    LogPoint p;
+    int i;
+
+    profiled = false;
+    for (i = count; (--i) >= 0;) {
+      if (log[i].m_cpuTime >= 0l) {
+        profiled = true;
+        break;
+      }
+    }
+
+    out.write(profiled ? BinaryLog.BLOCK_PROFILED_POINTS
+        : BinaryLog.BLOCK_POINTS);
+    BinaryLog.__writeVar(out, count);
+    BinaryLog.__writeSigned(out, optimum);
+    bits = Double.doubleToRawLongBits(timeNormalizationFactor);
+    for (i = 64; (i -= 8) >= 0;) {
+      out.write((int) (bits >>> i));
+    }
+
+    fe = de = time = f = cpu = alloc = gc = 0l;
+    for (i = 0; i < count; i++) {
+      p = log[i];
+      BinaryLog.__writeSigned(out, (p.m_fe - fe));
+      BinaryLog.__writeSigned(out, (p.m_de - de));
+      BinaryLog.__writeSigned(out, (p.m_time - time));
+      BinaryLog.__writeSigned(out, (p.m_f - f));
+      if (profiled) {
+        BinaryLog.__writeSigned(out, (p.m_cpuTime - cpu));
+        BinaryLog.__writeSigned(out, (p.m_allocated - alloc));
+        BinaryLog.__writeSigned(out, (p.m_gcTime - gc));
+        cpu = p.m_cpuTime;
+        alloc = p.m_allocated;
+        gc = p.m_gcTime;
+      }
+      out.write(p.m_type);
+      fe = p.m_fe;
+      de = p.m_de;
+      time = p.m_time;
+      f = p.m_f;
+    }
+  }
+
+  /**
+   * Write a path block. The path is stored in the same normal form in
+   * which
+   * {@link org.logisticPlanning.tsp.solving.utils.RepresentationUtils#appendPathInNormalForm(int[], Appendable)}
+   * prints it to text logs.
+   *
+   * @param out
+   *          the output stream
+   * @param key
+   *          the key
+   * @param path
+   *          the path
+   * @param normalize
+   *          should the path be stored in normal form ({@code true}) or
+   *          as is ({@code false})
+   * @throws IOException
+   *           if i/o fails
+   */
+  static final void _writePath(final OutputStream out, final String key,
+      final int[] path, final boolean normalize) throws IOException {
+    final int len;
+    int i, j, step, last;
+
+    out.write(BinaryLog.BLOCK_PATH);
+    BinaryLog.__writeString(out, key);
+
+    len = path.length;
+    BinaryLog.__writeVar(out, len);
+    if (len <= 0) {
+      return;
+    }
+
+    i = 0;
+    step = 1;
+    if (normalize) {
+      for (i = len; (--i) >= 0;) {
+        if (path[i] == 1) {
+          break;
+        }
+      }
+      if (i < 0) {
+        i = 0;
+      }
+      step = (len - 1);
+      if (path[(i + step) % len] > path[(i + 1) % len]) {
+        step = 1;
+      }
+    }
+
+    last = 0;
+    for (j = len; (--j) >= 0;) {
+      BinaryLog.__writeSigned(out, (((long) (path[i])) - last));
+      last = path[i];
+      i = ((i + step) % len);
+    }
+  }
+
+  /**
+   * read a non-negative variable-length integer
+   *
+   * @param in
+   *          the buffer
+   * @return the value
+   */
+  private static final long __readVar(final ByteBuffer in) {
+    long res;
+    int shift, b;
+
+    res = 0l;
+    shift = 0;
+    do {
+      b = in.get();
+      res |= (((long) (b & 0x7f)) << shift);
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return res;
+  }
+
+  /**
+   * read a signed variable-length integer
+   *
+   * @param in
+   *          the buffer
+   * @return the value
+   */
+  private static final long __readSigned(final ByteBuffer in) {
+    final long v;
+
+    v = BinaryLog.__readVar(in);
+    return ((v >>> 1) ^ (-(v & 1l)));
+  }
+
+  /**
+   * read a string
+   *
+   * @param in
+   *          the buffer
+   * @return the string
+   */
+  private static final String __readString(final ByteBuffer in) {
+    final byte[] data;
+
+    data = new byte[(int) (BinaryLog.__readVar(in))];
+    in.get(data);
+    return new String(data, BinaryLog.UTF8);
+  }
+
+  /**
+   * read the header
+   *
+   * @param in
+   *          the buffer
+   * @throws IOException
+   *           if the buffer does not contain a binary log
+   */
+  private static final void __readHeader(final ByteBuffer in)
+      throws IOException {
+    final int version;
+
+    if (!(BinaryLog.isBinary(in))) {
+      throw new IOException("Not a binary log file."); //$NON-NLS-1$
+    }
+    in.getInt();
+    version = (in.get() & 0xff);
+    if (version != BinaryLog.VERSION) {
+      throw new IOException("Unsupported binary log file version: " + //$NON-NLS-1$
+          version);
+    }
+  }
+
+  /**
+   * Read the log points stored in a binary log file and append them to a
+   * list. Everything else in the file is skipped.
+   *
+   * @param in
+   *          the buffer holding the binary log file, starting at its
+   *          current position
+   * @param dest
+   *          the list to append the log points to
+   * @throws IOException
+   *           if the buffer does not contain a valid binary log
+   */
+  public static final void readPoints(final ByteBuffer in,
+      final List<DataPoint> dest) throws IOException {
+    long fe, de, time, f, cpu, alloc, gc, opt, len;
+    double optm, factor;
+    int type, tag;
+
+    try {
+      BinaryLog.__readHeader(in);
+      for (;;) {
+        switch (tag = in.get()) {
+          case BLOCK_END: {
+            return;
+          }
+          case BLOCK_TEXT: {
+            len = BinaryLog.__readVar(in);
+            in.position(in.position() + ((int) len));
+            break;
+          }
+          case BLOCK_PATH: {
+            len = BinaryLog.__readVar(in);
+            in.position(in.position() + ((int) len));
+            for (len = BinaryLog.__readVar(in); (--len) >= 0l;) {
+              BinaryLog.__readVar(in);
+            }
+            break;
+          }
+          case BLOCK_POINTS:
+          case BLOCK_PROFILED_POINTS: {
+            len = BinaryLog.__readVar(in);
+            opt = BinaryLog.__readSigned(in);
+            optm = (1d / opt);
+            factor = Double.longBitsToDouble(in.getLong());
+            fe = de = time = f = cpu = alloc = gc = 0l;
+            if (tag == BinaryLog.BLOCK_POINTS) {
+              cpu = alloc = gc = (-1l);
+            }
+            for (; (--len) >= 0l;) {
+              fe += BinaryLog.__readSigned(in);
+              de += BinaryLog.__readSigned(in);
+              time += BinaryLog.__readSigned(in);
+              f += BinaryLog.__readSigned(in);
+              if (tag == BinaryLog.BLOCK_PROFILED_POINTS) {
+                cpu += BinaryLog.__readSigned(in);
+                alloc += BinaryLog.__readSigned(in);
+                gc += BinaryLog.__readSigned(in);
+              }
+              type = in.get();
+              dest.add(new DataPoint(fe, de, time, f, ((f - opt) * optm),
+                  (time / factor), cpu, alloc, gc,//
+                  ((type & ObjectiveFunction.TYPE_FLAG_FE) != 0),//
+                  ((type & ObjectiveFunction.TYPE_FLAG_DE) != 0),//
+                  ((type & ObjectiveFunction.TYPE_FLAG_OBJECTIVE) != 0),//
+                  ((type & ObjectiveFunction.TYPE_FLAG_INIT_END) != 0),//
+                  ((type & ObjectiveFunction.TYPE_FLAG_END) != 0)));
+            }
+            break;
+          }
+          default: {
+            throw new IOException("Invalid block in binary log file."); //$NON-NLS-1$
+          }
+        }
+      }
+    } catch (final RuntimeException re) {
+      throw new IOException("Corrupted binary log file.", re); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Convert a binary log file to the text format. The output is
+   * byte-for-byte the text log file the run would have produced with the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ELogFormat#TEXT
+   * text format}.
+   *
+   * @param in
+   *          the buffer holding the binary log file, starting at its
+   *          current position
+   * @param out
+   *          the print stream to write the text to, which must use the
+   *          UTF-8 encoding
+   * @throws IOException
+   *           if the buffer does not contain a valid binary log
+   */
+  public static final void toText(final ByteBuffer in, final PrintStream out)
+      throws IOException {
+    final LogPoint p;
+    byte[] data;
+    long len, node, opt;
+    double optm, factor;
+    int size, tag;
+    boolean first;
+
+    p = new LogPoint();
+    try {
+      BinaryLog.__readHeader(in);
+      for (;;) {
+        switch (tag = in.get()) {
+          case BLOCK_END: {
+            return;
+          }
+          case BLOCK_TEXT: {
+            size = ((int) (BinaryLog.__readVar(in)));
+            if (in.hasArray()) {
+              out.write(in.array(), (in.arrayOffset() + in.position()),
+                  size);
+              in.position(in.position() + size);
+            } else {
+              data = new byte[size];
+              in.get(data);
+              out.write(data, 0, size);
+            }
+            break;
+          }
+          case BLOCK_PATH: {
+            Configurable.printKey(BinaryLog.__readString(in), out);
+            node = 0l;
+            first = true;
+            for (len = BinaryLog.__readVar(in); (--len) >= 0l;) {
+              if (first) {
+                first = false;
+              } else {
+                out.print('\t');
+              }
+              node += BinaryLog.__readSigned(in);
+              out.print(node);
+            }
+            out.println();
+            break;
+          }
+          case BLOCK_POINTS:
+          case BLOCK_PROFILED_POINTS: {
+            len = BinaryLog.__readVar(in);
+            opt = BinaryLog.__readSigned(in);
+            optm = (1d / opt);
+            factor = Double.longBitsToDouble(in.getLong());
+            p.m_fe = p.m_de = p.m_time = p.m_f = 0l;
+            if (tag == BinaryLog.BLOCK_POINTS) {
+              p.m_cpuTime = p.m_allocated = p.m_gcTime = (-1l);
+            } else {
+              p.m_cpuTime = p.m_allocated = p.m_gcTime = 0l;
+            }
+            for (; (--len) >= 0l;) {
+              p.m_fe += BinaryLog.__readSigned(in);
+              p.m_de += BinaryLog.__readSigned(in);
+              p.m_time += BinaryLog.__readSigned(in);
+              p.m_f += BinaryLog.__readSigned(in);
+              if (tag == BinaryLog.BLOCK_PROFILED_POINTS) {
+                p.m_cpuTime += BinaryLog.__readSigned(in);
+                p.m_allocated += BinaryLog.__readSigned(in);
+                p.m_gcTime += BinaryLog.__readSigned(in);
+              }
+              p.m_type = in.get();
+              ObjectiveFunction._printLogPoint(p, opt, optm, factor, out);
+            }
+            break;
+          }
+          default: {
+            throw new IOException("Invalid block in binary log file."); //$NON-NLS-1$
+          }
+        }
+      }
+    } catch (final RuntimeException re) {
+      throw new IOException("Corrupted binary log file.", re); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Convert a text log file to the binary format. The log data rows and
+   * solutions are stored in their compact binary form if they can be
+   * restored exactly, everything else is stored as text.
+   *
+   * @param text
+   *          the contents of the text log file
+   * @param out
+   *          the output stream to write the binary log file to
+   * @throws IOException
+   *           if i/o fails
+   */
+  public static final void toBinary(final String text,
+      final OutputStream out) throws IOException {
+    final ArrayList<LogPoint> points;
+    final StringBuilder pending;
+    final String ls;
+    final double factor;
+    final long opt;
+    String line, content;
+    LogPoint p;
+    int start, end, length;
+    boolean inLog;
+
+    ls = System.lineSeparator();
+    opt = BinaryLog.__findLong(text, Instance.KNOWN_OPTIMUM);
+    factor = BinaryLog.__findDouble(text,
+        ObjectiveFunction.RUNTIME_NORMALIZATION_FACTOR);
+
+    points = new ArrayList<>();
+    pending = new StringBuilder();
+    inLog = false;
+
+    BinaryLog._writeHeader(out);
+
+    length = text.length();
+    for (start = 0; start < length; start = end) {
+      end = text.indexOf('\n', start);
+      end = ((end < 0) ? length : (end + 1));
+      line = text.substring(start, end);
+      content = (line.endsWith(ls) ? //
+          line.substring(0, line.length() - ls.length()) : null);
+
+      if (inLog) {
+        p = ((content != null) && (opt > 0l) && (factor > 0d)) ? //
+            BinaryLog.__parsePoint(content, opt, factor)
+            : null;
+        if (p != null) {
+          points.add(p);
+          continue;
+        }
+
+        BinaryLog.__flushPoints(points, opt, factor, pending, out);
+
+        if (ObjectiveFunction.SECTION_END.equals(line.trim())) {
+          inLog = false;
+        }
+        pending.append(line);
+        continue;
+      }
+
+      if ((content != null)
+          && (BinaryLog.__path(content,
+              ObjectiveFunction.BEST_SOLUTION, pending, out) || //
+          BinaryLog.__path(content,
+              ObjectiveFunction.INITIALIZATION_SOLUTION, pending, out))) {
+        continue;
+      }
+
+      pending.append(line);
+      if (ObjectiveFunction.LOG_DATA_SECTION.equals(line.trim())) {
+        inLog = true;
+      }
+    }
+
+    BinaryLog.__flushPoints(points, opt, factor, pending, out);
+    BinaryLog.__flushText(pending, out);
+    BinaryLog._writeEnd(out);
+  }
+
+  /**
+   * write the pending log points, if any, as log point block
+   *
+   * @param points
+   *          the pending log points
+   * @param opt
+   *          the optimum
+   * @param factor
+   *          the time normalization factor
+   * @param pending
+   *          the pending text, which goes before the points
+   * @param out
+   *          the output stream
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final void __flushPoints(final ArrayList<LogPoint> points,
+      final long opt, final double factor, final StringBuilder pending,
+      final OutputStream out) throws IOException {
+    final int size;
+
+    size = points.size();
+    if (size > 0) {
+      BinaryLog.__flushText(pending, out);
+      BinaryLog._writePoints(out, points.toArray(new LogPoint[size]), size,
+          opt, factor);
+      points.clear();
+    }
+  }
+
+  /**
+   * write the pending text as text block
+   *
+   * @param pending
+   *          the pending text
+   * @param out
+   *          the output stream
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final void __flushText(final StringBuilder pending,
+      final OutputStream out) throws IOException {
+    final byte[] data;
+
+    if (pending.length() > 0) {
+      data = pending.toString().getBytes(BinaryLog.UTF8);
+      BinaryLog._writeText(out, data, 0, data.length);
+      pending.setLength(0);
+    }
+  }
+
+  /**
+   * find the value of a key in a text log
+   *
+   * @param text
+   *          the text
+   * @param key
+   *          the key
+   * @return the value, or {@code null} if none was found
+   */
+  private static final String __find(final String text, final String key) {
+    final String k;
+    int i, j;
+
+    k = (key + BinaryLog.KEY_END);
+    i = text.indexOf(k);
+    while (i > 0) {
+      if (text.charAt(i - 1) == '\n') {
+        break;
+      }
+      i = text.indexOf(k, i + 1);
+    }
+    if (i < 0) {
+      return null;
+    }
+    i += k.length();
+    j = text.indexOf('\n', i);
+    return text.substring(i, ((j < 0) ? text.length() : j)).trim();
+  }
+
+  /**
+   * find a {@code long} value in a text log
+   *
+   * @param text
+   *          the text
+   * @param key
+   *          the key
+   * @return the value, or {@code -1} if none was found
+   */
+  private static final long __findLong(final String text, final String key) {
+    final String s;
+
+    s = BinaryLog.__find(text, key);
+    if (s != null) {
+      try {
+        return Long.parseLong(s);
+      } catch (final NumberFormatException nfe) {
+        // ignore
+      }
+    }
+    return (-1l);
+  }
+
+  /**
+   * find a {@code double} value in a text log
+   *
+   * @param text
+   *          the text
+   * @param key
+   *          the key
+   * @return the value, or {@code -1} if none was found
+   */
+  private static final double __findDouble(final String text,
+      final String key) {
+    final String s;
+
+    s = BinaryLog.__find(text, key);
+    if (s != null) {
+      try {
+        return Double.parseDouble(s);
+      } catch (final NumberFormatException nfe) {
+        // ignore
+      }
+    }
+    return (-1d);
+  }
+
+  /**
+   * Parse a row of the log data section. The row is only accepted if
+   * printing the parsed log point yields exactly the same row again.
+   *
+   * @param row
+   *          the row, without line separator
+   * @param opt
+   *          the optimum
+   * @param factor
+   *          the time normalization factor
+   * @return the log point, or {@code null} if the row cannot be restored
+   *         exactly
+   */
+  private static final LogPoint __parsePoint(final String row,
+      final long opt, final double factor) {
+    final String[] cols;
+    final LogPoint p;
+    final ByteArrayOutputStream bos;
+    final String type;
+    final int typeIndex;
+    int i;
+
+    cols = row.split("\t", -1); //$NON-NLS-1$
+    switch (cols.length) {
+      case 6:
+      case 7: {
+        typeIndex = 6;
+        break;
+      }
+      case 9:
+      case 10: {
+        typeIndex = 9;
+        break;
+      }
+      default: {
+        return null;
+      }
+    }
+
+    p = new LogPoint();
+    try {
+      p.m_fe = Long.parseLong(cols[0]);
+      p.m_de = Long.parseLong(cols[1]);
+      p.m_time = Long.parseLong(cols[2]);
+      p.m_f = Long.parseLong(cols[4]);
+      if (typeIndex > 6) {
+        p.m_cpuTime = Long.parseLong(cols[6]);
+        p.m_allocated = Long.parseLong(cols[7]);
+        p.m_gcTime = Long.parseLong(cols[8]);
+      }
+    } catch (final NumberFormatException nfe) {
+      return null;
+    }
+
+    p.m_type = 0;
+    if (cols.length > typeIndex) {
+      type = cols[typeIndex];
+      for (i = type.length(); (--i) >= 0;) {
+        switch (type.charAt(i)) {
+          case ObjectiveFunction.TYPE_FLAG_OBJECTIVE_CHAR: {
+            p.m_type |= ObjectiveFunction.TYPE_FLAG_OBJECTIVE;
+            break;
+          }
+          case ObjectiveFunction.TYPE_FLAG_FE_CHAR: {
+            p.m_type |= ObjectiveFunction.TYPE_FLAG_FE;
+            break;
+          }
+          case ObjectiveFunction.TYPE_FLAG_DE_CHAR: {
+            p.m_type |= ObjectiveFunction.TYPE_FLAG_DE;
+            break;
+          }
+          case ObjectiveFunction.TYPE_FLAG_INIT_END_CHAR: {
+            p.m_type |= ObjectiveFunction.TYPE_FLAG_INIT_END;
+            break;
+          }
+          case ObjectiveFunction.TYPE_FLAG_END_CHAR: {
+            p.m_type |= ObjectiveFunction.TYPE_FLAG_END;
+            break;
+          }
+          default: {
+            return null;
+          }
+        }
+      }
+    }
+
+    // check that the row can be restored exactly
+    bos = new ByteArrayOutputStream(row.length() + 4);
+    try (final PrintStream ps = new PrintStream(bos, false, "UTF-8")) { //$NON-NLS-1$
+      ObjectiveFunction._printLogPoint(p, opt, (1d / opt), factor, ps);
+      ps.flush();
+      if (!((row + System.lineSeparator()).equals(bos.toString("UTF-8")))) { //$NON-NLS-1$
+        return null;
+      }
+    } catch (final IOException ioe) {
+      return null;
+    }
+    return p;
+  }
+
+  /**
+   * Try to store a line as path block. The line is only accepted if
+   * printing the parsed path yields exactly the same line again.
+   *
+   * @param line
+   *          the line, without line separator
+   * @param key
+   *          the key of the path
+   * @param pending
+   *          the pending text
+   * @param out
+   *          the output stream
+   * @return {@code true} if the line was stored as path, {@code false}
+   *         otherwise
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final boolean __path(final String line,
+      final String key, final StringBuilder pending, final OutputStream out)
+      throws IOException {
+    final String[] nodes;
+    final int[] path;
+    final StringBuilder sb;
+    int i;
+
+    if (!(line.startsWith(key + BinaryLog.KEY_END))) {
+      return false;
+    }
+
+    nodes = line.substring(key.length() + BinaryLog.KEY_END.length())
+        .split("\t", -1); //$NON-NLS-1$
+    path = new int[nodes.length];
+    sb = new StringBuilder(line.length());
+    sb.append(key).append(BinaryLog.KEY_END);
+    try {
+      for (i = 0; i < path.length; i++) {
+        path[i] = Integer.parseInt(nodes[i]);
+        if (i > 0) {
+          sb.append('\t');
+        }
+        sb.append(path[i]);
+      }
+    } catch (final NumberFormatException nfe) {
+      return false;
+    }
+    if (!(sb.toString().equals(line))) {
+      return false;
+    }
+
+    BinaryLog.__flushText(pending, out);
+    BinaryLog._writePath(out, key, path, false);
+    return true;
+  }
+}
@@ -0,0 +1,192 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+
+import org.logisticPlanning.utils.config.Configuration;
+
+/**
+ * <p>
+ * Convert all log files in a directory tree to the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ELogFormat log
+ * format} given with the parameter
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_LOG_FORMAT}
+ * , e.g., {@code -logFormat=BINARY -source=results}. The conversion is
+ * lossless in both directions: converting a log file to the binary format
+ * and back yields exactly the original file.
+ * </p>
+ * <p>
+ * If a destination directory is given with {@link #PARAM_DEST}, the
+ * converted log files are written there, in the same relative location
+ * as in the source tree. Otherwise, each log file is replaced with its
+ * converted version. Files which are not log files or which already have
+ * the target format are ignored.
+ * </p>
+ */
+public class ConvertLogs {
+
+  /** the root of the directory tree to convert: {@value} */
+  public static final String PARAM_SOURCE = "source"; //$NON-NLS-1$
+
+  /**
+   * the directory to write the converted tree to: {@value} ; if not
+   * specified, the log files are converted in place
+   */
+  public static final String PARAM_DEST = "dest"; //$NON-NLS-1$
+
+  /** the default source directory */
+  private static final String DEFAULT_SOURCE = "results"; //$NON-NLS-1$
+
+  /**
+   * the main routine
+   *
+   * @param args
+   *          the arguments
+   * @throws IOException
+   *           if i/o fails
+   */
+  public static final void main(final String[] args) throws IOException {
+    final Configuration config;
+    final File source, dest;
+    final ELogFormat format;
+    final int count;
+
+    config = new Configuration();
+    config.configure(args);
+    source = config.getFile(ConvertLogs.PARAM_SOURCE,
+        new File(ConvertLogs.DEFAULT_SOURCE)).getCanonicalFile();
+    dest = config.getFile(ConvertLogs.PARAM_DEST, source)
+        .getCanonicalFile();
+    format = config.getConstant(Benchmark.PARAM_LOG_FORMAT,
+        ELogFormat.class, ELogFormat.class, ELogFormat.BINARY);
+
+    System.out.println("Converting the log files in " + source + //$NON-NLS-1$
+        " to " + format + " format in " + dest); //$NON-NLS-1$//$NON-NLS-2$
+    count = ConvertLogs.convert(source, dest, format);
+    System.out.println("Converted " + count + " log files."); //$NON-NLS-1$//$NON-NLS-2$
+  }
+
+  /**
+   * Convert all log files in a directory tree
+   *
+   * @param source
+   *          the source directory or file
+   * @param dest
+   *          the destination directory or file, which may be the same as
+   *          {@code source}, in which case the log files are replaced
+   * @param format
+   *          the target format
+   * @return the number of converted log files
+   * @throws IOException
+   *           if i/o fails
+   */
+  public static final int convert(final File source, final File dest,
+      final ELogFormat format) throws IOException {
+    final File[] files;
+    final String name, from, to;
+    final File target;
+    int count;
+
+    if (source.isDirectory()) {
+      files = source.listFiles();
+      count = 0;
+      if (files != null) {
+        for (final File f : files) {
+          count += ConvertLogs.convert(f,
+              new File(dest, f.getName()), format);
+        }
+      }
+      return count;
+    }
+
+    if (format == ELogFormat.BINARY) {
+      from = Benchmark.TEXT_FILE_SUFFIX;
+      to = BinaryLog.FILE_SUFFIX;
+    } else {
+      from = BinaryLog.FILE_SUFFIX;
+      to = Benchmark.TEXT_FILE_SUFFIX;
+    }
+
+    name = dest.getName();
+    if (!(name.endsWith(from))) {
+      return 0;
+    }
+    target = new File(dest.getParentFile(),//
+        name.substring(0, name.length() - from.length()) + to);
+
+    if (!(ConvertLogs.convertFile(source, target, format))) {
+      return 0;
+    }
+    if (source.equals(dest)) {
+      Files.delete(source.toPath());
+    }
+    return 1;
+  }
+
+  /**
+   * Convert a single log file
+   *
+   * @param source
+   *          the source file
+   * @param dest
+   *          the destination file
+   * @param format
+   *          the target format
+   * @return {@code true} if the file was converted, {@code false} if it is
+   *         not a log file of the other format
+   * @throws IOException
+   *           if i/o fails
+   */
+  public static final boolean convertFile(final File source,
+      final File dest, final ELogFormat format) throws IOException {
+    final ByteBuffer buffer;
+    final String text;
+    final File dir;
+
+    try (final FileInputStream fis = new FileInputStream(source)) {
+      try (final FileChannel fc = fis.getChannel()) {
+        buffer = fc.map(FileChannel.MapMode.READ_ONLY, 0l, fc.size());
+      }
+    }
+
+    if (format == ELogFormat.BINARY) {
+      if (BinaryLog.isBinary(buffer)) {
+        return false;
+      }
+      text = new String(Files.readAllBytes(source.toPath()), "UTF-8"); //$NON-NLS-1$
+      if (text.indexOf(ObjectiveFunction.LOG_DATA_SECTION) < 0) {
+        return false;
+      }
+    } else {
+      if (!(BinaryLog.isBinary(buffer))) {
+        return false;
+      }
+      text = null;
+    }
+
+    dir = dest.getParentFile();
+    if (dir != null) {
+      dir.mkdirs();
+    }
+
+    try (final OutputStream os = new BufferedOutputStream(
+        new FileOutputStream(dest))) {
+      if (text != null) {
+        BinaryLog.toBinary(text, os);
+      } else {
+        try (final PrintStream ps = new PrintStream(os, false, "UTF-8")) { //$NON-NLS-1$
+          BinaryLog.toText(buffer, ps);
+        }
+      }
+    }
+    return true;
+  }
+}
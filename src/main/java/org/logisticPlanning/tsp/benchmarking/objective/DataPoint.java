@@ -153,8 +153,14 @@ public final class DataPoint extends LogPoint {
    */
   public static final int NORMALIZED_TIME_INDEX = (DataPoint.RELATIVE_F_INDEX + 1);
 
+  /**
+   * the index of the consumed CPU time, to be used in the
+   * {@link #get(int)} method
+   */
+  public static final int CPU_TIME_INDEX = (DataPoint.NORMALIZED_TIME_INDEX + 1);
+
   /** the dimension of the data points */
-  public static final int DATA_POINT_DIMENSION = (DataPoint.NORMALIZED_TIME_INDEX + 1);
+  public static final int DATA_POINT_DIMENSION = (DataPoint.CPU_TIME_INDEX + 1);
 
   /** toString 6 */
   private static final char[] TS6 = { ',', ' ', 'r', 'f', '=' };
@@ -196,6 +202,14 @@ public final class DataPoint extends LogPoint {
    *          the relativized achieved objective value
    * @param normTime
    *          the normalized consumed time
+   * @param cpuTime
+   *          the consumed CPU time, or {@code -1} if the run was not
+   *          profiled
+   * @param allocated
+   *          the allocated bytes, or {@code -1} if they were not measured
+   * @param gcTime
+   *          the time spent in garbage collection, or {@code -1} if the
+   *          run was not profiled
    * @param reasonFE
    *          the point was generated because a specific number function
    *          evaluations has been performed
@@ -213,6 +227,7 @@ public final class DataPoint extends LogPoint {
    */
   public DataPoint(final long fes, final long des, final long time,
       final long f, final double relF, final double normTime,
+      final long cpuTime, final long allocated, final long gcTime,
       final boolean reasonFE, final boolean reasonDE,
       final boolean reasonF, final boolean reasonInitEnd,
       final boolean reasonAlgoEnd) {
@@ -224,6 +239,9 @@ public final class DataPoint extends LogPoint {
     this.m_time = time;
     this.m_relF = ((fes <= 0l) ? Double.POSITIVE_INFINITY : relF);
     this.m_normTime = normTime;
+    this.m_cpuTime = cpuTime;
+    this.m_allocated = allocated;
+    this.m_gcTime = gcTime;
 
     this.m_type = 0;
     if (reasonFE) {
@@ -245,6 +263,46 @@ public final class DataPoint extends LogPoint {
     DataPoint.validateDataPoint(this);
   }
 
+  /**
+   * Create a new data point of a run which was not profiled with the
+   * following information:
+   *
+   * @param fes
+   *          the consumed function evaluations
+   * @param des
+   *          the consumed distance evaluations
+   * @param time
+   *          the elapsed runtime
+   * @param f
+   *          the achieved objective function value
+   * @param relF
+   *          the relativized achieved objective value
+   * @param normTime
+   *          the normalized consumed time
+   * @param reasonFE
+   *          the point was generated because a specific number function
+   *          evaluations has been performed
+   * @param reasonDE
+   *          the point was generated because a specific number distance
+   *          evaluations has been performed
+   * @param reasonF
+   *          the point was generated because a objective value goal limit
+   *          has been reached
+   * @param reasonInitEnd
+   *          the point was generated because the initialization procedure
+   *          has ended
+   * @param reasonAlgoEnd
+   *          the point was generated because the algorithm has finished
+   */
+  public DataPoint(final long fes, final long des, final long time,
+      final long f, final double relF, final double normTime,
+      final boolean reasonFE, final boolean reasonDE,
+      final boolean reasonF, final boolean reasonInitEnd,
+      final boolean reasonAlgoEnd) {
+    this(fes, des, time, f, relF, normTime, (-1l), (-1l), (-1l), reasonFE,
+        reasonDE, reasonF, reasonInitEnd, reasonAlgoEnd);
+  }
+
   /** the data point */
   DataPoint() {
     super();
@@ -369,9 +427,13 @@ public final class DataPoint extends LogPoint {
    *          {@link org.logisticPlanning.tsp.benchmarking.objective.LogPoint#F_INDEX
    *          F_INDEX},
    *          {@link org.logisticPlanning.tsp.benchmarking.objective.DataPoint#RELATIVE_F_INDEX
-   *          RELATIVE_F_INDEX}, and
+   *          RELATIVE_F_INDEX},
    *          {@link org.logisticPlanning.tsp.benchmarking.objective.DataPoint#NORMALIZED_TIME_INDEX
-   *          NORMALIZED_TIME_INDEX}.
+   *          NORMALIZED_TIME_INDEX}, and
+   *          {@link org.logisticPlanning.tsp.benchmarking.objective.DataPoint#CPU_TIME_INDEX
+   *          CPU_TIME_INDEX}, where the latter is the
+   *          {@link #getConsumedRuntime() runtime} if the run was not
+   *          {@link #isProfiled() profiled}.
    * @return the value of the measure {@code dimension} stored in this data
    *         point
    */
@@ -397,6 +459,9 @@ public final class DataPoint extends LogPoint {
       case NORMALIZED_TIME_INDEX: {
         return this.m_normTime;
       }
+      case CPU_TIME_INDEX: {
+        return ((this.m_cpuTime >= 0l) ? this.m_cpuTime : this.m_time);
+      }
       default: {
         throw new IndexOutOfBoundsException(String.valueOf(dimension));
       }
@@ -433,6 +498,9 @@ public final class DataPoint extends LogPoint {
         (p.m_time == this.m_time) && //
         (p.m_f == this.m_f) && //
         (p.m_type == this.m_type) && //
+        (p.m_cpuTime == this.m_cpuTime) && //
+        (p.m_allocated == this.m_allocated) && //
+        (p.m_gcTime == this.m_gcTime) && //
         (Double.doubleToLongBits(this.m_relF) == //
         Double.doubleToLongBits(p.m_relF)) && //
     (Double.doubleToLongBits(this.m_normTime) == //
@@ -540,6 +608,14 @@ public final class DataPoint extends LogPoint {
       throw new IllegalArgumentException(//
           "Normalized runtime can never be less than zero, but is " + point.m_normTime); //$NON-NLS-1$
     }
+
+    if ((point.m_cpuTime < (-1l)) || (point.m_allocated < (-1l))
+        || (point.m_gcTime < (-1l))) {
+      throw new IllegalArgumentException(//
+          "CPU time, allocated bytes, and garbage collection time must either be -1 (not measured) or not less than zero, but are " //$NON-NLS-1$
+              + point.m_cpuTime + ", " + point.m_allocated + //$NON-NLS-1$
+              ", and " + point.m_gcTime); //$NON-NLS-1$
+    }
   }
 
   /**
@@ -0,0 +1,28 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+/**
+ * The format in which the log files of runs are written (see
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_LOG_FORMAT}
+ * ). Both formats contain the same information and can be converted into
+ * each other with
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ConvertLogs}.
+ */
+public enum ELogFormat {
+
+  /**
+   * The human-readable text format with the suffix {@code .txt}. This is
+   * the default.
+   */
+  TEXT,
+
+  /**
+   * The compact
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.BinaryLog binary
+   * format} with the suffix
+   * {@value org.logisticPlanning.tsp.benchmarking.objective.BinaryLog#FILE_SUFFIX}
+   * , which is faster to write and to load for evaluation, in particular
+   * for large instances.
+   */
+  BINARY;
+
+}
@@ -0,0 +1,35 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+/**
+ * The basis of the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.DataPoint#getConsumedNormalizedRuntime()
+ * normalized runtime} (see
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_RUNTIME_NORMALIZATION}
+ * ), i.e., how the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#RUNTIME_NORMALIZATION_FACTOR
+ * runtime normalization factor} is obtained.
+ */
+public enum ERuntimeNormalization {
+
+  /**
+   * The runtime is normalized with the runtime that a standardized
+   * algorithm, the double-ended nearest neighbor heuristic, needs to solve
+   * the benchmark instance itself. This factor is measured anew for each
+   * objective function and thus also normalizes away the problem scale
+   * and the representation of the distance information. This is the
+   * default.
+   */
+  INSTANCE,
+
+  /**
+   * The runtime is normalized with the result of a calibration suite
+   * which measures the speed of the machine with a distance-bound, a
+   * memory-bound, and an allocation-bound kernel. The result does not
+   * depend on the benchmark instance. It is measured once per machine and
+   * JVM and cached on disk in the directory given by
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_CALIBRATION_CACHE_DIR}
+   * , so later JVM starts on the same machine do not need to repeat it.
+   */
+  CALIBRATION;
+
+}
@@ -0,0 +1,29 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+/**
+ * The policy for charging the distance evaluations (DEs) needed for
+ * creating data that is shared by all runs on the same
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark
+ * benchmark} (see
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#getSharedData(Object, ISharedDataFactory)}
+ * ).
+ */
+public enum ESharedDataCharging {
+
+  /**
+   * Every run that uses the shared data is charged the DEs its creation
+   * took, as if it had created the data itself. This keeps the logged
+   * results identical to those obtained without sharing, only the runtime
+   * is saved. This is the default.
+   */
+  CHARGE_EVERY_RUN,
+
+  /**
+   * Only the run which actually creates the shared data is charged the DEs
+   * for its creation. All other runs get the data for free. This treats
+   * the shared data as part of the problem setup, but makes the first run
+   * on each benchmark look worse than the others.
+   */
+  CHARGE_ONCE;
+
+}
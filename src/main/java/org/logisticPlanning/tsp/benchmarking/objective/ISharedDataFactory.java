@@ -0,0 +1,30 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+/**
+ * A factory for data that is shared by all runs performed on the same
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark
+ * benchmark}, such as candidate sets. Shared data is created at most once
+ * per benchmark and key (see
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#getSharedData(Object, ISharedDataFactory)}
+ * ) and then handed to all threads. It must therefore never be modified
+ * after creation.
+ *
+ * @param <T>
+ *          the type of the shared data
+ */
+public interface ISharedDataFactory<T> {
+
+  /**
+   * Create the shared data. All distance evaluations (DEs) needed for the
+   * creation must be performed via {@code f}, so that they can be
+   * accounted for according to the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ESharedDataCharging
+   * charging policy} of the benchmark.
+   *
+   * @param f
+   *          the objective function of the run for which the data is
+   *          created first
+   * @return the shared data
+   */
+  public abstract T create(final ObjectiveFunction f);
+}
@@ -125,6 +125,15 @@ import org.logisticPlanning.utils.math.data.point.Point;
  * </p>
  * </li>
  * </ol>
+ * <p>
+ * If the runs are {@link #isProfiled() profiled}, a log point also holds
+ * the {@link #getConsumedCPUTime() CPU time} and the
+ * {@link #getAllocatedBytes() memory allocated} by the thread performing
+ * the run, as well as the {@link #getGCTime() time spent in garbage
+ * collection}. These values are not measures of &quot;time&quot; in the
+ * sense above, but help to understand where the runtime of an algorithm
+ * goes.
+ * </p>
  * <h2>References</h2>
  * <ol>
  * <li><div><span id="cite_JMB1997TTSPACSILO" /><a
@@ -275,6 +284,31 @@ public class LogPoint extends Point implements Comparable<LogPoint> {
    */
   int m_type;
 
+  /**
+   * the CPU time consumed by the thread performing the run, in
+   * milliseconds
+   *
+   * @serial a long value holding the CPU time, or {@code -1} if the run
+   *         was not profiled
+   */
+  long m_cpuTime;
+
+  /**
+   * the number of bytes allocated by the thread performing the run
+   *
+   * @serial a long value holding the allocated bytes, or {@code -1} if
+   *         they were not measured
+   */
+  long m_allocated;
+
+  /**
+   * the time spent in garbage collection, in milliseconds
+   *
+   * @serial a long value holding the garbage collection time, or
+   *         {@code -1} if the run was not profiled
+   */
+  long m_gcTime;
+
   /** create! */
   LogPoint() {
     super();
@@ -299,6 +333,9 @@ public class LogPoint extends Point implements Comparable<LogPoint> {
     this.m_time = 0l;
     this.m_f = Long.MAX_VALUE;
     this.m_type = 0;
+    this.m_cpuTime = (-1l);
+    this.m_allocated = (-1l);
+    this.m_gcTime = (-1l);
   }
 
   /**
@@ -341,6 +378,60 @@ public class LogPoint extends Point implements Comparable<LogPoint> {
     return this.m_time;
   }
 
+  /**
+   * Was the run profiled, i.e., are the
+   * {@link #getConsumedCPUTime() CPU time}, the
+   * {@link #getAllocatedBytes() allocated bytes}, and the
+   * {@link #getGCTime() garbage collection time} available? This is only
+   * the case if the parameter
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_PROFILE}
+   * was set.
+   *
+   * @return {@code true} if the run was profiled, {@code false} otherwise
+   */
+  public final boolean isProfiled() {
+    return (this.m_cpuTime >= 0l);
+  }
+
+  /**
+   * Get the CPU time in milliseconds consumed by the thread performing the
+   * run until this point in time. Different from the
+   * {@link #getConsumedRuntime() runtime}, this measure does not include
+   * the time where the thread was waiting or other threads were running
+   * instead.
+   *
+   * @return the CPU time in milliseconds, or {@code -1} if the run was not
+   *         {@link #isProfiled() profiled}
+   */
+  public final long getConsumedCPUTime() {
+    return this.m_cpuTime;
+  }
+
+  /**
+   * Get the number of bytes allocated by the thread performing the run
+   * until this point in time.
+   *
+   * @return the number of allocated bytes, or {@code -1} if the run was
+   *         not {@link #isProfiled() profiled} or the JVM cannot measure
+   *         the allocated memory
+   */
+  public final long getAllocatedBytes() {
+    return this.m_allocated;
+  }
+
+  /**
+   * Get the time in milliseconds that the garbage collectors of the JVM
+   * have spent since the run was started. As garbage collection is not
+   * attributed to threads, this includes collections caused by other
+   * threads.
+   *
+   * @return the garbage collection time in milliseconds, or {@code -1} if
+   *         the run was not {@link #isProfiled() profiled}
+   */
+  public final long getGCTime() {
+    return this.m_gcTime;
+  }
+
   /**
    * assign this log point to the values from another log point
    *
@@ -353,6 +444,9 @@ public class LogPoint extends Point implements Comparable<LogPoint> {
     this.m_fe = p.m_fe;
     this.m_time = p.m_time;
     this.m_type = p.m_type;
+    this.m_cpuTime = p.m_cpuTime;
+    this.m_allocated = p.m_allocated;
+    this.m_gcTime = p.m_gcTime;
   }
 
   /**
@@ -1,14 +1,19 @@
 package org.logisticPlanning.tsp.benchmarking.objective;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
 import java.util.Calendar;
-import java.util.GregorianCalendar;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
 import org.logisticPlanning.tsp.solving.utils.RepresentationUtils;
 import org.logisticPlanning.tsp.solving.utils.SolutionValidator;
+import org.logisticPlanning.tsp.solving.utils.candidates.ECandidateSetKind;
 import org.logisticPlanning.utils.NamedObject;
 import org.logisticPlanning.utils.config.Configurable;
 import org.logisticPlanning.utils.math.random.Randomizer;
@@ -1936,6 +1941,36 @@ public final class ObjectiveFunction extends DistanceComputer {
    */
   public static final String RUNTIME_NORMALIZATION_FACTOR = "runtimeNormalizationFactor"; //$NON-NLS-1$
 
+  /**
+   * the milliseconds needed by the distance kernel of the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ERuntimeNormalization#CALIBRATION
+   * calibration suite}: {@value}
+   */
+  public static final String CALIBRATION_DISTANCE = "calibrationDistanceKernel"; //$NON-NLS-1$
+
+  /**
+   * the milliseconds needed by the memory kernel of the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ERuntimeNormalization#CALIBRATION
+   * calibration suite}: {@value}
+   */
+  public static final String CALIBRATION_MEMORY = "calibrationMemoryKernel"; //$NON-NLS-1$
+
+  /**
+   * the milliseconds needed by the allocation kernel of the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ERuntimeNormalization#CALIBRATION
+   * calibration suite}: {@value}
+   */
+  public static final String CALIBRATION_ALLOCATION = "calibrationAllocationKernel"; //$NON-NLS-1$
+
+  /**
+   * the fingerprint of the machine and JVM the calibration belongs to:
+   * {@value}
+   */
+  public static final String CALIBRATION_FINGERPRINT = "calibrationFingerprint"; //$NON-NLS-1$
+
+  /** was the calibration loaded from the cache? {@value} */
+  public static final String CALIBRATION_CACHED = "calibrationCached"; //$NON-NLS-1$
+
   /** the comments in the log file header */
   private static final char[][] HEADER_COMMENTS = new char[][] { //
       { '/', '/', ' ', 'T', 'h', 'i', 's', ' ', 'l', 'o', 'g', ' ', 'f',
@@ -1982,7 +2017,10 @@ public final class ObjectiveFunction extends DistanceComputer {
           'c', 'h', 'e', 'd', '.' }, //
       ("//        \"ntime\" is the normalized runtime that has passed until the log point was reached, i.e., time/FACT where FACT is the runtime that a standardized algorithm (double-ended nearest neighbor heuristic) needs to solve the same problem (see field " + //$NON-NLS-1$
           ObjectiveFunction.RUNTIME_NORMALIZATION_FACTOR
-          + " in section " + ObjectiveFunction.SYSTEM_DATA_SECTION + ')').toCharArray(),//$NON-NLS-1$
+          + " in section " + ObjectiveFunction.SYSTEM_DATA_SECTION + //$NON-NLS-1$
+          "), or the result of a calibration suite if parameter " + //$NON-NLS-1$
+          Benchmark.PARAM_RUNTIME_NORMALIZATION + " is " + //$NON-NLS-1$
+          ERuntimeNormalization.CALIBRATION).toCharArray(),
       { '/', '/', ' ', ' ', ' ', ' ', ' ', ' ', ' ', ' ', '"', 'b', 'e',
           's', 't', '_', 'F', '"', ' ', 'i', 's', ' ', 't', 'h', 'e', ' ',
           'o', 'b', 'j', 'e', 'c', 't', 'i', 'v', 'e', ' ', 'v', 'a', 'l',
@@ -2367,6 +2405,30 @@ public final class ObjectiveFunction extends DistanceComputer {
   /** the total memory: {@value} */
   public static final String TOTAL_MEMORY = "totalMemory";//$NON-NLS-1$
 
+  /**
+   * the CPU time consumed by a profiled run, in milliseconds: {@value}
+   */
+  public static final String CPU_TIME = "cpuTime";//$NON-NLS-1$
+
+  /** the bytes allocated by a profiled run: {@value} */
+  public static final String ALLOCATED_BYTES = "allocatedBytes";//$NON-NLS-1$
+
+  /**
+   * the time spent in garbage collection during a profiled run, in
+   * milliseconds: {@value}
+   */
+  public static final String GC_TIME = "gcTime";//$NON-NLS-1$
+
+  /** the FEs per second of a profiled run: {@value} */
+  public static final String FES_PER_SECOND = "fesPerSecond";//$NON-NLS-1$
+
+  /** the DEs per second of a profiled run: {@value} */
+  public static final String DES_PER_SECOND = "desPerSecond";//$NON-NLS-1$
+
+  /** the comment describing the additional columns of profiled runs */
+  private static final char[] PROFILE_COMMENT = ("//        Profiled runs have three additional columns before \"type\": \"cpu\" is the CPU time in milliseconds consumed by the thread performing the run, \"alloc\" the number of bytes it allocated (-1 if unknown), and \"gc\" the milliseconds spent in garbage collection since the run began. The totals and the FEs and DEs per second of the run are listed in section " + //$NON-NLS-1$
+      ObjectiveFunction.SYSTEM_DATA_SECTION + '.').toCharArray();
+
   /**
    * the beginning of the section with information about the algorithm
    * creator and experimentor: {@value}
@@ -2447,6 +2509,12 @@ public final class ObjectiveFunction extends DistanceComputer {
           'n', '.' }, //
       ObjectiveFunction.ALGORITHM_EXCEPTION_SECTION.toCharArray(), };
 
+  /**
+   * the number of FEs after which we check whether an automatic
+   * checkpoint is due
+   */
+  private static final long CHECKPOINT_CHECK_FES = 256l;
+
   /** nothing is going on: {@value} */
   private static final int STATE_NOTHING = 0;
 
@@ -2730,13 +2798,6 @@ public final class ObjectiveFunction extends DistanceComputer {
    */
   private boolean m_shouldLog;
 
-  /**
-   * The calendar instance used to format times.
-   *
-   * @serial a non-null Calendar instance
-   */
-  private final Calendar m_calendar;
-
   /**
    * did the objective value improve?
    *
@@ -2845,6 +2906,9 @@ public final class ObjectiveFunction extends DistanceComputer {
    */
   private long m_time_offset;
 
+  /** the profiler, or {@code null} if the runs are not profiled */
+  private transient _Profiler m_profiler;
+
   /**
    * the factor used to <a href="#timeNormalization">normalize</a> the
    * runtime measure
@@ -2853,6 +2917,12 @@ public final class ObjectiveFunction extends DistanceComputer {
    */
   private final double m_timeNormalizationFactor;
 
+  /**
+   * the calibration used for normalizing the runtime, or {@code null} if
+   * the runtime is normalized with the speed benchmark on the instance
+   */
+  private final transient _Calibration m_calibration;
+
   /**
    * the creator information record
    *
@@ -2874,8 +2944,89 @@ public final class ObjectiveFunction extends DistanceComputer {
    */
   private Throwable m_exceptionDuringRun;
 
-  /** a linked list link */
-  volatile transient ObjectiveFunction m_next;
+  /**
+   * the index of this function in the heap of the termination timer plus
+   * one, or {@code 0} if it is not waiting for its end time
+   */
+  volatile transient int m_timerSlot;
+
+  /** the index of the termination timer stripe holding this function */
+  transient int m_timerStripe;
+
+  /**
+   * the objective function of the run if this objective function was
+   * {@link #fork() forked} from it, {@code null} otherwise
+   */
+  private final transient ObjectiveFunction m_owner;
+
+  /**
+   * the record of the current task, if this is a {@link #fork() forked}
+   * objective function and a task is running, {@code null} otherwise
+   */
+  private transient TaskRecord m_record;
+
+  /** the DEs at the time of the last registration in the current task */
+  private transient long m_recordDE;
+
+  /**
+   * the number of registrations after which the record of the current
+   * task is merged into the run by the fork itself, or {@code 0} if the
+   * records are merged by the owner
+   */
+  private transient int m_flushInterval;
+
+  /** the fork to which the best tour of this fork is sent, or {@code null} */
+  private transient ObjectiveFunction m_migrationTarget;
+
+  /** has this fork found a new best tour which has not been sent yet? */
+  private transient boolean m_emigrate;
+
+  /** the length of the tour in {@link #m_bestX} */
+  private transient long m_bestXLength;
+
+  /** the migrant sent to this fork, {@code null} if this is not a fork */
+  private final transient AtomicReference<_Migrant> m_migrant;
+
+  /**
+   * the interval in milliseconds in which checkpoints are written, or
+   * {@code 0} if no checkpoints are written
+   */
+  private final transient long m_checkpointInterval;
+
+  /**
+   * the checkpoint file of the current run, or {@code null} if the run has
+   * none
+   */
+  private transient File m_checkpointFile;
+
+  /**
+   * the lock file of the current run, or {@code null} if the run has none
+   * (see
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_JOB_LOCK_TIMEOUT}
+   * )
+   */
+  private transient File m_lockFile;
+
+  /** the time when the next checkpoint is due */
+  private transient long m_nextCheckpoint;
+
+  /**
+   * the number of FEs at which we check next whether an automatic
+   * checkpoint is due
+   */
+  private transient long m_nextCheckpointFE;
+
+  /** should checkpoints be written automatically? */
+  private transient boolean m_automaticCheckpoints;
+
+  /** was the current run resumed from a checkpoint? */
+  private transient boolean m_resumed;
+
+  /**
+   * the algorithm state stored in the checkpoint from which the current
+   * run was resumed, or {@code null} if there is none
+   */
+  private transient Serializable m_resumedState;
 
   /**
    * create the objective function
@@ -2913,7 +3064,6 @@ public final class ObjectiveFunction extends DistanceComputer {
     i = this.n();
     this.m_bestX = new int[i];
     this.m_i_bestX = new int[i];
-    this.m_calendar = new GregorianCalendar();
 
     this.m_state = ObjectiveFunction.STATE_NOTHING;
 
@@ -2925,8 +3075,72 @@ public final class ObjectiveFunction extends DistanceComputer {
     this.m_initLP = new LogPoint();
 
     // compute the time normalization factor
-    this.m_timeNormalizationFactor = _SpeedBenchmark
-        ._timeBenchmarkRun(this);
+    if (benchmark.m_runtimeNormalization == ERuntimeNormalization.CALIBRATION) {
+      this.m_calibration = _Calibration
+          ._get(benchmark.m_calibrationCacheDir);
+      this.m_timeNormalizationFactor = this.m_calibration.m_factor;
+    } else {
+      this.m_calibration = null;
+      this.m_timeNormalizationFactor = _SpeedBenchmark
+          ._timeBenchmarkRun(this);
+    }
+
+    if (benchmark.m_profile) {
+      this.m_profiler = _Profiler._create();
+    }
+
+    this.m_owner = null;
+    this.m_migrant = null;
+
+    this.m_checkpointInterval = benchmark.m_checkpointInterval;
+    this.m_nextCheckpoint = Long.MAX_VALUE;
+    this.m_nextCheckpointFE = Long.MAX_VALUE;
+  }
+
+  /**
+   * create a forked objective function
+   *
+   * @param owner
+   *          the objective function from which this function is forked
+   */
+  private ObjectiveFunction(final ObjectiveFunction owner) {
+    super(owner.n());
+
+    this.m_owner = owner;
+    this.m_migrant = new AtomicReference<>();
+    this.m_symmetric = owner.m_symmetric;
+    this.m_benchmark = owner.m_benchmark;
+    this.m_maxDEs = owner.m_maxDEs;
+    this.m_maxFEs = owner.m_maxFEs;
+    this.m_optimum = owner.m_optimum;
+    this.m_dist = owner.m_dist;
+    this.m_valuesToLog = owner.m_valuesToLog;
+    this.m_FEsDEsToLog = owner.m_FEsDEsToLog;
+    this.m_timeNormalizationFactor = owner.m_timeNormalizationFactor;
+    this.m_calibration = owner.m_calibration;
+
+    this.m_r = new Randomizer();
+
+    // a fork never logs, all FEs and DEs go into the task record
+    this.m_log = new LogPoint[0];
+    this.m_bestX = new int[this.n()];
+    this.m_i_bestX = new int[0];
+
+    this.m_state = ObjectiveFunction.STATE_NOTHING;
+
+    // distance evaluations never reach a check point
+    this.m_nextDE = Long.MAX_VALUE;
+
+    this.m_currentLP = new _CurrentLogPoint(null);
+    this.m_lastImprovementLP = new LogPoint();
+    this.m_initLP = new LogPoint();
+    this.m_currentLP.initExtreme();
+    this.m_lastImprovementLP.initExtreme();
+
+    // a fork never writes checkpoints, only the run does
+    this.m_checkpointInterval = 0l;
+    this.m_nextCheckpoint = Long.MAX_VALUE;
+    this.m_nextCheckpointFE = Long.MAX_VALUE;
   }
 
   /**
@@ -3043,9 +3257,38 @@ public final class ObjectiveFunction extends DistanceComputer {
    * @param algorithm
    *          the algorithm object
    * @see #endRun()
+   * @see #tryBeginRun(NamedObject)
+   * @throws IllegalStateException
+   *           if all runs have been completed (i.e., the
+   *           {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_MAX_RUNS
+   *           maximum number of runs} has been reached in the output
+   *           folder) or claimed by other processes
    */
   public final void beginRun(final NamedObject algorithm) {
-    this._beginRun(algorithm, true);
+    if (!(this._beginRun(algorithm, true))) {
+      throw new IllegalStateException(//
+          "Cannot begin run, all runs are completed or claimed by other processes."); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Try to begin a new run with algorithm {@code algorithm}. This method
+   * works exactly like {@link #beginRun(NamedObject)}, except if all runs
+   * have already been completed (i.e., the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_MAX_RUNS
+   * maximum number of runs} has been reached in the output folder) or
+   * claimed by other processes (see
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_JOB_LOCK_TIMEOUT}
+   * ): In this case, no run is begun and {@code false} is returned.
+   *
+   * @param algorithm
+   *          the algorithm object
+   * @return {@code true} if the run has begun, {@code false} if there is
+   *         no run left to perform
+   * @see #endRun()
+   */
+  public final boolean tryBeginRun(final NamedObject algorithm) {
+    return this._beginRun(algorithm, true);
   }
 
   /**
@@ -3056,9 +3299,20 @@ public final class ObjectiveFunction extends DistanceComputer {
    *          the algorithm name
    * @param makeFile
    *          should we make a temporary file?
+   * @return {@code true} if the run has begun, {@code false} if there is
+   *         no run left to perform
    */
   @SuppressWarnings("incomplete-switch")
-  final void _beginRun(final NamedObject algorithm, final boolean makeFile) {
+  final boolean _beginRun(final NamedObject algorithm,
+      final boolean makeFile) {
+    final String prefix;
+    _Checkpoint resume;
+    File file;
+
+    if (this.m_owner != null) {
+      throw new IllegalStateException(
+          "Cannot begin run, this objective function is a fork."); //$NON-NLS-1$
+    }
 
     switch (this.m_state) {
       case ObjectiveFunction.STATE_IN_RUN: {
@@ -3071,17 +3325,47 @@ public final class ObjectiveFunction extends DistanceComputer {
       }
     }
 
+    resume = null;
+    file = null;
+    if (makeFile) {
+      // an interrupted run of the same algorithm is resumed before a new
+      // run is begun
+      prefix = ObjectiveFunction.__makeName(algorithm, this.m_initializer);
+      resume = this.m_benchmark._resume(prefix);
+      if (resume != null) {
+        file = resume.m_file;
+      } else {
+        file = this.m_benchmark._getFile(prefix);
+        if (file == null) {
+          return false;
+        }
+      }
+    }
+
     this.m_state = ObjectiveFunction.STATE_IN_RUN;
 
     this.m_exceptionDuringRun = null;
 
     this.m_algorithm = algorithm;
+    this.m_checkpointFile = null;
+    this.m_lockFile = null;
     if (makeFile) {
-      this.m_file = this.m_benchmark._getFile(ObjectiveFunction
-          .__makeName(this.m_algorithm, this.m_initializer));
+      this.m_file = file;
+      if (this.m_benchmark.m_jobLockTimeout > 0l) {
+        this.m_lockFile = Benchmark._getLockFile(file);
+      }
+
+      if ((resume != null) || (this.m_checkpointInterval > 0l)) {
+        this.m_checkpointFile = Benchmark._getCheckpointFile(this.m_file);
+        Benchmark._claimCheckpoint(this.m_checkpointFile);
+      }
     }
 
-    this.__begin(this.m_initializer != null);
+    this.__begin((this.m_initializer != null), resume);
+
+    this.m_automaticCheckpoints = true;
+    this.__scheduleCheckpoint(this.m_startTime);
+    return true;
   }
 
   /**
@@ -3212,7 +3496,7 @@ public final class ObjectiveFunction extends DistanceComputer {
 
     this.m_exceptionDuringInit = null;
 
-    this.__begin(false);
+    this.__begin(false, null);
   }
 
   /**
@@ -3254,8 +3538,12 @@ public final class ObjectiveFunction extends DistanceComputer {
    *
    * @param useInit
    *          use the results from the initialization procedure (or not)
+   * @param resume
+   *          the checkpoint of the interrupted run to resume, or
+   *          {@code null} if a new run begins
    */
-  private final void __begin(final boolean useInit) {
+  private final void __begin(final boolean useInit,
+      final _Checkpoint resume) {
     if (useInit) {
       this.m_logSize = this.m_i_logSize;
 
@@ -3293,23 +3581,84 @@ public final class ObjectiveFunction extends DistanceComputer {
     this.m_terminate = false;
     this.m_shouldLog = false;
     this.m_fimproved = false;
+    this.m_nextCheckpoint = Long.MAX_VALUE;
+    this.m_nextCheckpointFE = Long.MAX_VALUE;
+    this.m_resumed = false;
+    this.m_resumedState = null;
 
     this.m_r.setSeed(this.m_randSeed = this.m_r.nextLong());
 
+    if (resume != null) {
+      this.__restore(resume);
+    }
+
     this.m_startTime = System.currentTimeMillis();
     this.m_endTime = (this.m_startTime + this.m_benchmark.m_maxTime);
 
     if (this.m_endTime < this.m_startTime) {
       this.m_endTime = Long.MAX_VALUE;
     } else {
-      if (useInit) {
-        this.m_endTime -= this.m_initLP.m_time;
+      if (resume != null) {
+        this.m_endTime -= this.m_time_offset;
+      } else {
+        if (useInit) {
+          this.m_endTime -= this.m_initLP.m_time;
+        }
       }
     }
 
+    if (this.m_profiler != null) {
+      this.m_profiler._begin((resume != null) ? this.m_currentLP
+          : (useInit ? this.m_initLP : null));
+    }
+
     _TerminationThread._enqueue(this);
   }
 
+  /**
+   * Restore the state of an interrupted run from its checkpoint. The
+   * runtime consumed before the interruption becomes the
+   * {@link #m_time_offset time offset} of the resumed run.
+   *
+   * @param resume
+   *          the checkpoint
+   */
+  private final void __restore(final _Checkpoint resume) {
+    final LogPoint[] log;
+    int i;
+
+    log = resume.m_log;
+    for (i = log.length; (--i) >= 0;) {
+      this.m_log[i]._assign(log[i]);
+    }
+    this.m_logSize = log.length;
+
+    this.m_currentLP._assign(resume.m_currentLP);
+    this.m_lastImprovementLP._assign(resume.m_lastImprovementLP);
+
+    this.m_fIdx = resume.m_fIdx;
+    this.m_nextF = resume.m_nextF;
+
+    this.m_deIdx = resume.m_deIdx;
+    this.m_nextDE = resume.m_nextDE;
+
+    this.m_feIdx = resume.m_feIdx;
+    this.m_nextFE = resume.m_nextFE;
+
+    this.m_shouldLog = resume.m_shouldLog;
+    this.m_fimproved = resume.m_fimproved;
+
+    System.arraycopy(resume.m_bestX, 0, this.m_bestX, 0,
+        this.m_bestX.length);
+
+    this.m_r.assign(resume.m_random);
+    this.m_randSeed = resume.m_randSeed;
+
+    this.m_time_offset = resume.m_currentLP.m_time;
+    this.m_resumed = true;
+    this.m_resumedState = resume.m_state;
+  }
+
   /** the deterministic initialization procedure has finished */
   public final void endDeterministicInitialization() {
     final LogPoint cur, lp;
@@ -3329,6 +3678,9 @@ public final class ObjectiveFunction extends DistanceComputer {
       // update the time variables
       t = System.currentTimeMillis();
       cur.m_time = ((t - this.m_startTime));
+      if (this.m_profiler != null) {
+        this.m_profiler._sample(cur);
+      }
 
       ls = this.m_logSize;
       shouldWeLog: {
@@ -3383,15 +3735,18 @@ public final class ObjectiveFunction extends DistanceComputer {
 
   /**
    * This method must be called when one run has finished. It will flush
-   * the in-memory log data to the output file.
+   * the in-memory log data to the output file, either right away or, if a
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_LOG_WRITER_QUEUE
+   * log writer queue} has been configured, in the background.
    */
   public final void endRun() {
-    final long opt, t, fm, tm, mm;
-    final double optm;
+    final long t;
     final Runtime rt;
     final LogPoint cur, lp;
-    int i, ls, type;
-    LogPoint p;
+    final LogPoint[] log;
+    final _RunLog data;
+    final ByteArrayOutputStream bos;
+    int i, ls;
 
     this.m_terminate = true;
     _TerminationThread._dequeue(this);
@@ -3406,6 +3761,9 @@ public final class ObjectiveFunction extends DistanceComputer {
       // update the time variables
       t = System.currentTimeMillis();
       cur.m_time = ((t - this.m_startTime) + this.m_time_offset);
+      if (this.m_profiler != null) {
+        this.m_profiler._sample(cur);
+      }
 
       ls = this.m_logSize;
       shouldWeLog: {
@@ -3427,335 +3785,527 @@ public final class ObjectiveFunction extends DistanceComputer {
         this.m_log[ls - 1].m_type |= ObjectiveFunction.TYPE_FLAG_END;
       }
 
-      opt = this.m_optimum;
       try {
+        // take a snapshot of everything which goes into the log, so that
+        // this objective function can be used for the next run right away
+        data = new _RunLog();
+        bos = new ByteArrayOutputStream();
+        try (final PrintStream ps = new PrintStream(bos, false, "UTF-8")) { //$NON-NLS-1$
+
+          data.m_file = this.m_file;
+          data.m_checkpoint = this.m_checkpointFile;
+          data.m_lock = this.m_lockFile;
+          data.m_binary = (this.m_benchmark.m_logFormat == ELogFormat.BINARY);
+          data.m_instance = this.m_benchmark.m_instance;
+          this.m_benchmark.printConfiguration(ps);
+          data.m_benchmarkConfig = ObjectiveFunction.__take(bos, ps);
 
-        try (PrintStream ps = new PrintStream(this.m_file, "UTF-8")) { //$NON-NLS-1$
-
-          // print the headline comment
           if (this.m_algorithm != null) {
-            ps.print(ObjectiveFunction.LOG_FILE_START_A);
-            ps.print(this.m_algorithm.name());
-            if (this.m_initializer != null) {
-              ps.print(ObjectiveFunction.LOG_FILE_START_A2);
-              ps.print(this.m_initializer.name());
+            data.m_algorithmName = this.m_algorithm.name();
+            data.m_algorithmClass = this.m_algorithm.getClass();
+            if (this.m_algorithm instanceof Configurable) {
+              ((Configurable) (this.m_algorithm)).printConfiguration(ps);
             }
-            ps.print(ObjectiveFunction.LOG_FILE_START_B);
-          } else {
-            ps.print(ObjectiveFunction.LOG_FILE_START_X);
-          }
-
-          ps.print(this.m_benchmark.m_instance.name());
-          ps.print(ObjectiveFunction.LOG_FILE_START_C);
-          if (this.m_benchmark.m_instance.symmetric()) {
-            ps.print(ObjectiveFunction.LOG_FILE_START_DA);
-          } else {
-            ps.print(ObjectiveFunction.LOG_FILE_START_DB);
-          }
-          ps.println();
-
-          // print some general comments and start the log data
-          // section
-          for (final char[] chs : ObjectiveFunction.HEADER_COMMENTS) {
-            ps.println(chs);
+            data.m_algorithmConfig = ObjectiveFunction.__take(bos, ps);
           }
 
-          // print the log data: FE DE Time Normalized_Time F
-          // Rel_Error Reason
-          optm = (1d / opt);
+          log = new LogPoint[ls];
           for (i = 0; i < ls; i++) {
-            p = this.m_log[i];
-            ps.print(p.m_fe);
-            ps.print('\t');
-            ps.print(p.m_de);
-            ps.print('\t');
-            ps.print(p.m_time);
-            ps.print('\t');
-            ps.print(p.m_time / this.m_timeNormalizationFactor);
-            ps.print('\t');
-            ps.print(p.m_f);
-            ps.print('\t');
-            ps.print((p.m_f - opt) * optm);
-
-            type = p.m_type;
-            if (type != 0) {
-              ps.print('\t');
-              if ((type & ObjectiveFunction.TYPE_FLAG_OBJECTIVE) != 0) {
-                ps.print(ObjectiveFunction.TYPE_FLAG_OBJECTIVE_CHAR);
-              }
-              if ((type & ObjectiveFunction.TYPE_FLAG_FE) != 0) {
-                ps.print(ObjectiveFunction.TYPE_FLAG_FE_CHAR);
-              }
-              if ((type & ObjectiveFunction.TYPE_FLAG_DE) != 0) {
-                ps.print(ObjectiveFunction.TYPE_FLAG_DE_CHAR);
-              }
-              if ((type & ObjectiveFunction.TYPE_FLAG_INIT_END) != 0) {
-                ps.print(ObjectiveFunction.TYPE_FLAG_INIT_END_CHAR);
-              }
-              if ((type & ObjectiveFunction.TYPE_FLAG_END) != 0) {
-                ps.print(ObjectiveFunction.TYPE_FLAG_END_CHAR);
-              }
-            }
-            ps.println();
+            log[i] = new LogPoint();
+            log[i]._assign(this.m_log[i]);
           }
-          ps.println(ObjectiveFunction.SECTION_END);
-
-          // print best solution discovered, if at least 1 FE was
-          // performed
-          if ((ls > 0) && (this.m_log[ls - 1].m_fe > 0)) {
-            // print the comments regarding the solution and print
-            // the solution
-            for (final char[] chs : ObjectiveFunction.SOLUTION_COMMENTS) {
-              ps.println(chs);
-            }
-
-            // print result if at least one fe was performed
-            Configurable.printKey(ObjectiveFunction.BEST_SOLUTION, ps);
-            RepresentationUtils.appendPathInNormalForm(this.m_bestX, ps);
-            ps.println();
+          data.m_log = log;
+          data.m_optimum = this.m_optimum;
+          data.m_timeNormalizationFactor = this.m_timeNormalizationFactor;
+          data.m_calibration = this.m_calibration;
+
+          // the solution is only validated if at least 1 FE was performed
+          if ((ls > 0) && (log[ls - 1].m_fe > 0)) {
+            data.m_bestX = this.m_bestX.clone();
             SolutionValidator.validatePath(this.m_bestX,
                 this.m_currentLP.m_f, this.m_dist, ps);
-            ps.println();
-          }
-
-          // print information about the algorithm
-          if (this.m_algorithm != null) {
-            for (final char[] chs : ObjectiveFunction.ALGORITHM_INFORMATION) {
-              ps.println(chs);
-            }
-            Configurable.printKey(ObjectiveFunction.ALGORITHM_CLASS, ps);
-            Configurable.printlnClass(this.m_algorithm.getClass(), ps);
-            Configurable.printKey(ObjectiveFunction.ALGORITHM_NAME, ps);
-            ps.println(this.m_algorithm.name());
-
-            if (this.m_algorithm instanceof Configurable) {
-              ((Configurable) (this.m_algorithm)).printConfiguration(ps);
-            }
+            data.m_bestValidation = ObjectiveFunction.__take(bos, ps);
           }
-          ps.println(ObjectiveFunction.SECTION_END);
 
-          // print some information on the benchmark
-          for (final char[] chs : ObjectiveFunction.BENCHMARK_INFORMATION) {
-            ps.println(chs);
+          data.m_randSeed = this.m_randSeed;
+          data.m_startTime = this.m_startTime;
+          data.m_endTime = t;
+          data.m_runTime = this.m_currentLP.m_time;
+          if (this.m_profiler != null) {
+            data.m_profile = new LogPoint(this.m_currentLP);
           }
-          this.m_benchmark.printConfiguration(ps);
 
-          Configurable.printKey(ObjectiveFunction.RAND_SEED, ps);
-          ps.println(this.m_randSeed);
-
-          Configurable.printKey(ObjectiveFunction.START_DATE, ps);
-          this.m_calendar.setTimeInMillis(this.m_startTime);
-          Configurable.printlnTimestamp(this.m_calendar, ps);
-
-          Configurable.printKey(ObjectiveFunction.END_DATE, ps);
-          this.m_calendar.setTimeInMillis(t);
-          Configurable.printlnTimestamp(this.m_calendar, ps);
-
-          Configurable.printKey(ObjectiveFunction.RUN_TIME, ps);
-          ps.println(this.m_currentLP.m_time);
-          ps.println(ObjectiveFunction.SECTION_END);
-
-          // if an initialization algorithm was used, print
-          // corresponding data
           if (this.m_initializer != null) {
-            for (final char[] chs : ObjectiveFunction.INITIALIZER_INFORMATION) {
-              ps.println(chs);
-            }
-
-            Configurable.printKey(ObjectiveFunction.INITIALIZER_CLASS, ps);
-            Configurable.printlnClass(this.m_initializer.getClass(), ps);
-            Configurable.printKey(ObjectiveFunction.INITIALIZER_NAME, ps);
-            ps.println(this.m_initializer.name());
-
-            Configurable.printKey(ObjectiveFunction.INITIALIZATION_F, ps);
-            ps.println(this.m_initLP.m_f);
-
-            Configurable
-                .printKey(ObjectiveFunction.INITIALIZATION_DES, ps);
-            ps.println(this.m_initLP.m_de);
-
-            Configurable
-                .printKey(ObjectiveFunction.INITIALIZATION_FES, ps);
-            ps.println(this.m_initLP.m_fe);
-
-            Configurable.printKey(
-                ObjectiveFunction.INITIALIZATION_RUNTIME, ps);
-            ps.println(this.m_initLP.m_time);
-
-            Configurable.printKey(
-                ObjectiveFunction.INITIALIZATION_RAND_SEED, ps);
-            ps.println(this.m_i_randSeed);
-
-            Configurable.printKey(
-                ObjectiveFunction.INITIALIZATION_START_TIME, ps);
-            this.m_calendar.setTimeInMillis(this.m_i_startTime);
-            Configurable.printlnTimestamp(this.m_calendar, ps);
-
-            Configurable.printKey(
-                ObjectiveFunction.INITIALIZATION_END_TIME, ps);
-            this.m_calendar.setTimeInMillis(this.m_i_endTime);
-            Configurable.printlnTimestamp(this.m_calendar, ps);
-
+            data.m_initializerName = this.m_initializer.name();
+            data.m_initializerClass = this.m_initializer.getClass();
+            data.m_initLP = new LogPoint();
+            data.m_initLP._assign(this.m_initLP);
+            data.m_initRandSeed = this.m_i_randSeed;
+            data.m_initStartTime = this.m_i_startTime;
+            data.m_initEndTime = this.m_i_endTime;
             if (this.m_initializer instanceof Configurable) {
               ((Configurable) (this.m_initializer)).printConfiguration(ps);
             }
+            data.m_initializerConfig = ObjectiveFunction.__take(bos, ps);
 
-            ps.println(ObjectiveFunction.SECTION_END);
-
-            // if initializer did perform at least 1 FE, print its
-            // result too
             if (this.m_initLP.m_fe > 0l) {
-              // print initializer solution, if available
-              ps.println(ObjectiveFunction.COMMENT_START);
-              Configurable.printKey(
-                  ObjectiveFunction.INITIALIZATION_SOLUTION, ps);
-              RepresentationUtils.appendPathInNormalForm(this.m_i_bestX,
-                  ps);
-              ps.println();
+              data.m_initBestX = this.m_i_bestX.clone();
               SolutionValidator.validatePath(this.m_i_bestX,
                   this.m_initLP.m_f, this.m_dist, ps);
-              ps.println();
-            }
-          }
-
-          // print potential exception of the initializer
-          if (this.m_exceptionDuringInit != null) {
-            ObjectiveFunction.__printException(this.m_exceptionDuringInit,
-                ObjectiveFunction.INITIALIZATION_EXCEPTION, ps);
-          }
-
-          // print potential exception of the algorithm
-          if (this.m_exceptionDuringRun != null) {
-            ObjectiveFunction.__printException(this.m_exceptionDuringRun,
-                ObjectiveFunction.ALGORITHM_EXCEPTION, ps);
-            this.m_exceptionDuringRun = null;
-          }
-
-          // now let's print system information, such as OS, java
-          // version, etc
-          for (final char[] chs : ObjectiveFunction.SYSTEM_INFORMATION) {
-            ps.println(chs);
-          }
-
-          Configurable.printKey(
-              ObjectiveFunction.RUNTIME_NORMALIZATION_FACTOR, ps);
-          ps.println(this.m_timeNormalizationFactor);
-
-          for (final String s : ObjectiveFunction.SYS_INFOS) {
-            final String v = System.getProperty(s);
-            if (v != null) {
-              Configurable.printKey(ObjectiveFunction.SYS_PROP_PREFIX + s,
-                  ps);
-              ps.println(v);
+              data.m_initValidation = ObjectiveFunction.__take(bos, ps);
             }
           }
 
-          for (final String s : ObjectiveFunction.ENV_INFOS) {
-            final String v = System.getenv(s);
-            if (v != null) {
-              Configurable.printKey(ObjectiveFunction.ENV_VAR_PREFIX + s,
-                  ps);
-              ps.println(v);
-            }
-          }
+          data.m_initException = this.m_exceptionDuringInit;
+          data.m_runException = this.m_exceptionDuringRun;
+          this.m_exceptionDuringRun = null;
 
-          // print infos such as number of processors and memory
           rt = Runtime.getRuntime();
-          tm = rt.totalMemory();
-          fm = rt.freeMemory();
-          mm = rt.maxMemory();
-          Configurable.printKey(ObjectiveFunction.PROCESSORS, ps);
-          ps.println(rt.availableProcessors());
-
-          Configurable.printKey(ObjectiveFunction.FREE_MEMORY, ps);
-          ps.println(fm);
+          data.m_totalMemory = rt.totalMemory();
+          data.m_freeMemory = rt.freeMemory();
+          data.m_maxMemory = rt.maxMemory();
+          data.m_processors = rt.availableProcessors();
 
-          Configurable.printKey(ObjectiveFunction.MAX_MEMORY, ps);
-          ps.println(mm);
-
-          Configurable.printKey(ObjectiveFunction.TOTAL_MEMORY, ps);
-          ps.println(tm);
-
-          ps.println(ObjectiveFunction.SECTION_END);
-
-          // print information about the person/group who did this
-          // experiment
           if ((this.m_creator != null) && (!(this.m_creator.isEmpty()))) {
-            for (final char[] chs : ObjectiveFunction.CREATOR_INFORMATION) {
-              ps.println(chs);
-            }
             this.m_creator.printConfiguration(ps);
-            ps.println(ObjectiveFunction.SECTION_END);
+            data.m_creator = ObjectiveFunction.__take(bos, ps);
           }
         }
+
+        _LogWriter._write(data, this.m_benchmark.m_logWriterQueue);
+        // the log writer releases the lock once the log has been written
+        this.m_lockFile = null;
       } catch (final Throwable txt) {
         throw new RuntimeException(txt);
       }
     } finally {
       this.m_terminate = true;
       this.m_logSize = 0;
+      this.m_checkpointFile = null;
+      if (this.m_lockFile != null) {
+        _JobLock._release(this.m_lockFile);
+        this.m_lockFile = null;
+      }
+      this.m_nextCheckpoint = Long.MAX_VALUE;
+      this.m_nextCheckpointFE = Long.MAX_VALUE;
+      this.m_resumedState = null;
       this.m_state = ObjectiveFunction.STATE_NOTHING;
     }
   }
 
   /**
-   * Clear: delete all information stored in this objective function,
-   * without creating any log. This function is only for use within
-   * {@link org.logisticPlanning.tsp.benchmarking.objective._SpeedBenchmark#_timeBenchmarkRun(ObjectiveFunction)}
-   * .
+   * take the text printed to a buffer so far and clear the buffer
+   *
+   * @param bos
+   *          the buffer
+   * @param ps
+   *          the print stream writing to the buffer
+   * @return the text
+   * @throws UnsupportedEncodingException
+   *           should never happen
    */
-  final void _clear() {
-    this.m_terminate = true;
-
-    this.m_currentLP.initExtreme();
-    this.m_lastImprovementLP.initExtreme();
-    this.m_initLP.initExtreme();
-
-    this.m_state = ObjectiveFunction.STATE_NOTHING;
-    this.m_logSize = 0;
-    this.m_file = null;
-
-    this.m_feIdx = (this.m_FEsDEsToLog.length - 1);
-    this.m_nextFE = this.m_FEsDEsToLog[this.m_feIdx];
-
-    this.m_deIdx = (this.m_FEsDEsToLog.length - 1);
-    this.m_nextDE = (this.m_FEsDEsToLog[this.m_deIdx]);
+  private static final String __take(final ByteArrayOutputStream bos,
+      final PrintStream ps) throws UnsupportedEncodingException {
+    final String s;
 
-    this.m_fIdx = (this.m_valuesToLog.length - 1);
-    this.m_nextF = this.m_valuesToLog[this.m_fIdx];
-
-    this.m_randSeed = 0l;
-    this.m_startTime = 0l;
-    this.m_endTime = 0l;
-    this.m_shouldLog = false;
-    this.m_fimproved = false;
-    this.m_algorithm = null;
-    this.m_initializer = null;
-
-    this.m_i_logSize = 0;
-    this.m_i_fIdx = 0;
-    this.m_i_nextF = 0l;
-    this.m_i_deIdx = 0;
-    this.m_i_nextDE = 0l;
-    this.m_i_feIdx = 0;
-    this.m_i_nextFE = 0l;
-    this.m_i_startTime = 0l;
-    this.m_i_endTime = 0l;
-    this.m_i_randSeed = 0l;
-
-    this.m_time_offset = 0l;
-
-    this.m_exceptionDuringInit = null;
-    this.m_exceptionDuringRun = null;
+    ps.flush();
+    s = bos.toString("UTF-8"); //$NON-NLS-1$
+    bos.reset();
+    return s;
   }
 
   /**
-   * print an exception to the log
+   * print one row of the log data section
    *
-   * @param t
-   *          the exception
-   * @param prefix
-   *          the prefix
+   * @param p
+   *          the log point
+   * @param opt
+   *          the optimum
+   * @param optm
+   *          {@code 1d / opt}
+   * @param timeNormalizationFactor
+   *          the time normalization factor
+   * @param ps
+   *          the print stream
+   */
+  static final void _printLogPoint(final LogPoint p, final long opt,
+      final double optm, final double timeNormalizationFactor,
+      final PrintStream ps) {
+    final int type;
+
+    ps.print(p.m_fe);
+    ps.print('\t');
+    ps.print(p.m_de);
+    ps.print('\t');
+    ps.print(p.m_time);
+    ps.print('\t');
+    ps.print(p.m_time / timeNormalizationFactor);
+    ps.print('\t');
+    ps.print(p.m_f);
+    ps.print('\t');
+    ps.print((p.m_f - opt) * optm);
+
+    if (p.m_cpuTime >= 0l) {
+      ps.print('\t');
+      ps.print(p.m_cpuTime);
+      ps.print('\t');
+      ps.print(p.m_allocated);
+      ps.print('\t');
+      ps.print(p.m_gcTime);
+    }
+
+    type = p.m_type;
+    if (type != 0) {
+      ps.print('\t');
+      if ((type & ObjectiveFunction.TYPE_FLAG_OBJECTIVE) != 0) {
+        ps.print(ObjectiveFunction.TYPE_FLAG_OBJECTIVE_CHAR);
+      }
+      if ((type & ObjectiveFunction.TYPE_FLAG_FE) != 0) {
+        ps.print(ObjectiveFunction.TYPE_FLAG_FE_CHAR);
+      }
+      if ((type & ObjectiveFunction.TYPE_FLAG_DE) != 0) {
+        ps.print(ObjectiveFunction.TYPE_FLAG_DE_CHAR);
+      }
+      if ((type & ObjectiveFunction.TYPE_FLAG_INIT_END) != 0) {
+        ps.print(ObjectiveFunction.TYPE_FLAG_INIT_END_CHAR);
+      }
+      if ((type & ObjectiveFunction.TYPE_FLAG_END) != 0) {
+        ps.print(ObjectiveFunction.TYPE_FLAG_END_CHAR);
+      }
+    }
+    ps.println();
+  }
+
+  /**
+   * Write the log of a run. This method only uses the snapshot of the run
+   * and can thus be called in any thread. In the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ELogFormat#BINARY
+   * binary format}, the log points and solutions are handed to the buffer
+   * in their binary form, everything else is printed as text.
+   *
+   * @param data
+   *          the snapshot of the run
+   * @param out
+   *          the buffer to write to
+   * @throws IOException
+   *           if i/o fails
+   */
+  static final void _writeLog(final _RunLog data, final _LogBuffer out)
+      throws IOException {
+    final PrintStream ps;
+    final Calendar calendar;
+    final LogPoint[] log;
+    final long opt;
+    final double optm;
+    int i;
+
+    ps = out.m_ps;
+    calendar = out.m_calendar;
+    log = data.m_log;
+    opt = data.m_optimum;
+
+    // print the headline comment
+    if (data.m_algorithmName != null) {
+      ps.print(ObjectiveFunction.LOG_FILE_START_A);
+      ps.print(data.m_algorithmName);
+      if (data.m_initializerName != null) {
+        ps.print(ObjectiveFunction.LOG_FILE_START_A2);
+        ps.print(data.m_initializerName);
+      }
+      ps.print(ObjectiveFunction.LOG_FILE_START_B);
+    } else {
+      ps.print(ObjectiveFunction.LOG_FILE_START_X);
+    }
+
+    ps.print(data.m_instance.name());
+    ps.print(ObjectiveFunction.LOG_FILE_START_C);
+    if (data.m_instance.symmetric()) {
+      ps.print(ObjectiveFunction.LOG_FILE_START_DA);
+    } else {
+      ps.print(ObjectiveFunction.LOG_FILE_START_DB);
+    }
+    ps.println();
+
+    // print some general comments and start the log data
+    // section
+    for (final char[] chs : ObjectiveFunction.HEADER_COMMENTS) {
+      ps.println(chs);
+    }
+    if (data.m_profile != null) {
+      ps.println(ObjectiveFunction.PROFILE_COMMENT);
+    }
+
+    // print the log data: FE DE Time Normalized_Time F
+    // Rel_Error Reason
+    if (data.m_binary) {
+      out._points(log, opt, data.m_timeNormalizationFactor);
+    } else {
+      optm = (1d / opt);
+      for (i = 0; i < log.length; i++) {
+        ObjectiveFunction._printLogPoint(log[i], opt, optm,
+            data.m_timeNormalizationFactor, ps);
+      }
+    }
+    ps.println(ObjectiveFunction.SECTION_END);
+
+    // print best solution discovered, if at least 1 FE was
+    // performed
+    if (data.m_bestX != null) {
+      // print the comments regarding the solution and print
+      // the solution
+      for (final char[] chs : ObjectiveFunction.SOLUTION_COMMENTS) {
+        ps.println(chs);
+      }
+
+      // print result if at least one fe was performed
+      if (data.m_binary) {
+        out._path(ObjectiveFunction.BEST_SOLUTION, data.m_bestX);
+      } else {
+        Configurable.printKey(ObjectiveFunction.BEST_SOLUTION, ps);
+        RepresentationUtils.appendPathInNormalForm(data.m_bestX, ps);
+        ps.println();
+      }
+      ps.print(data.m_bestValidation);
+      ps.println();
+    }
+
+    // print information about the algorithm
+    if (data.m_algorithmName != null) {
+      for (final char[] chs : ObjectiveFunction.ALGORITHM_INFORMATION) {
+        ps.println(chs);
+      }
+      Configurable.printKey(ObjectiveFunction.ALGORITHM_CLASS, ps);
+      Configurable.printlnClass(data.m_algorithmClass, ps);
+      Configurable.printKey(ObjectiveFunction.ALGORITHM_NAME, ps);
+      ps.println(data.m_algorithmName);
+      ps.print(data.m_algorithmConfig);
+    }
+    ps.println(ObjectiveFunction.SECTION_END);
+
+    // print some information on the benchmark
+    for (final char[] chs : ObjectiveFunction.BENCHMARK_INFORMATION) {
+      ps.println(chs);
+    }
+    ps.print(data.m_benchmarkConfig);
+
+    Configurable.printKey(ObjectiveFunction.RAND_SEED, ps);
+    ps.println(data.m_randSeed);
+
+    Configurable.printKey(ObjectiveFunction.START_DATE, ps);
+    calendar.setTimeInMillis(data.m_startTime);
+    Configurable.printlnTimestamp(calendar, ps);
+
+    Configurable.printKey(ObjectiveFunction.END_DATE, ps);
+    calendar.setTimeInMillis(data.m_endTime);
+    Configurable.printlnTimestamp(calendar, ps);
+
+    Configurable.printKey(ObjectiveFunction.RUN_TIME, ps);
+    ps.println(data.m_runTime);
+    ps.println(ObjectiveFunction.SECTION_END);
+
+    // if an initialization algorithm was used, print
+    // corresponding data
+    if (data.m_initializerName != null) {
+      for (final char[] chs : ObjectiveFunction.INITIALIZER_INFORMATION) {
+        ps.println(chs);
+      }
+
+      Configurable.printKey(ObjectiveFunction.INITIALIZER_CLASS, ps);
+      Configurable.printlnClass(data.m_initializerClass, ps);
+      Configurable.printKey(ObjectiveFunction.INITIALIZER_NAME, ps);
+      ps.println(data.m_initializerName);
+
+      Configurable.printKey(ObjectiveFunction.INITIALIZATION_F, ps);
+      ps.println(data.m_initLP.m_f);
+
+      Configurable.printKey(ObjectiveFunction.INITIALIZATION_DES, ps);
+      ps.println(data.m_initLP.m_de);
+
+      Configurable.printKey(ObjectiveFunction.INITIALIZATION_FES, ps);
+      ps.println(data.m_initLP.m_fe);
+
+      Configurable.printKey(ObjectiveFunction.INITIALIZATION_RUNTIME, ps);
+      ps.println(data.m_initLP.m_time);
+
+      Configurable.printKey(ObjectiveFunction.INITIALIZATION_RAND_SEED, ps);
+      ps.println(data.m_initRandSeed);
+
+      Configurable
+          .printKey(ObjectiveFunction.INITIALIZATION_START_TIME, ps);
+      calendar.setTimeInMillis(data.m_initStartTime);
+      Configurable.printlnTimestamp(calendar, ps);
+
+      Configurable.printKey(ObjectiveFunction.INITIALIZATION_END_TIME, ps);
+      calendar.setTimeInMillis(data.m_initEndTime);
+      Configurable.printlnTimestamp(calendar, ps);
+
+      ps.print(data.m_initializerConfig);
+
+      ps.println(ObjectiveFunction.SECTION_END);
+
+      // if initializer did perform at least 1 FE, print its
+      // result too
+      if (data.m_initBestX != null) {
+        // print initializer solution, if available
+        ps.println(ObjectiveFunction.COMMENT_START);
+        if (data.m_binary) {
+          out._path(ObjectiveFunction.INITIALIZATION_SOLUTION,
+              data.m_initBestX);
+        } else {
+          Configurable.printKey(
+              ObjectiveFunction.INITIALIZATION_SOLUTION, ps);
+          RepresentationUtils
+              .appendPathInNormalForm(data.m_initBestX, ps);
+          ps.println();
+        }
+        ps.print(data.m_initValidation);
+        ps.println();
+      }
+    }
+
+    // print potential exception of the initializer
+    if (data.m_initException != null) {
+      ObjectiveFunction.__printException(data.m_initException,
+          ObjectiveFunction.INITIALIZATION_EXCEPTION, ps);
+    }
+
+    // print potential exception of the algorithm
+    if (data.m_runException != null) {
+      ObjectiveFunction.__printException(data.m_runException,
+          ObjectiveFunction.ALGORITHM_EXCEPTION, ps);
+    }
+
+    // now let's print system information, such as OS, java
+    // version, etc
+    for (final char[] chs : ObjectiveFunction.SYSTEM_INFORMATION) {
+      ps.println(chs);
+    }
+
+    Configurable.printKey(ObjectiveFunction.RUNTIME_NORMALIZATION_FACTOR,
+        ps);
+    ps.println(data.m_timeNormalizationFactor);
+    if (data.m_calibration != null) {
+      data.m_calibration._print(ps);
+    }
+
+    for (final String s : ObjectiveFunction.SYS_INFOS) {
+      final String v = System.getProperty(s);
+      if (v != null) {
+        Configurable.printKey(ObjectiveFunction.SYS_PROP_PREFIX + s, ps);
+        ps.println(v);
+      }
+    }
+
+    for (final String s : ObjectiveFunction.ENV_INFOS) {
+      final String v = System.getenv(s);
+      if (v != null) {
+        Configurable.printKey(ObjectiveFunction.ENV_VAR_PREFIX + s, ps);
+        ps.println(v);
+      }
+    }
+
+    // print infos such as number of processors and memory
+    Configurable.printKey(ObjectiveFunction.PROCESSORS, ps);
+    ps.println(data.m_processors);
+
+    Configurable.printKey(ObjectiveFunction.FREE_MEMORY, ps);
+    ps.println(data.m_freeMemory);
+
+    Configurable.printKey(ObjectiveFunction.MAX_MEMORY, ps);
+    ps.println(data.m_maxMemory);
+
+    Configurable.printKey(ObjectiveFunction.TOTAL_MEMORY, ps);
+    ps.println(data.m_totalMemory);
+
+    // print the totals of a profiled run
+    if (data.m_profile != null) {
+      Configurable.printKey(ObjectiveFunction.CPU_TIME, ps);
+      ps.println(data.m_profile.m_cpuTime);
+
+      Configurable.printKey(ObjectiveFunction.ALLOCATED_BYTES, ps);
+      ps.println(data.m_profile.m_allocated);
+
+      Configurable.printKey(ObjectiveFunction.GC_TIME, ps);
+      ps.println(data.m_profile.m_gcTime);
+
+      Configurable.printKey(ObjectiveFunction.FES_PER_SECOND, ps);
+      ps.println((1000d * data.m_profile.m_fe) / data.m_profile.m_time);
+
+      Configurable.printKey(ObjectiveFunction.DES_PER_SECOND, ps);
+      ps.println((1000d * data.m_profile.m_de) / data.m_profile.m_time);
+    }
+
+    ps.println(ObjectiveFunction.SECTION_END);
+
+    // print information about the person/group who did this
+    // experiment
+    if (data.m_creator != null) {
+      for (final char[] chs : ObjectiveFunction.CREATOR_INFORMATION) {
+        ps.println(chs);
+      }
+      ps.print(data.m_creator);
+      ps.println(ObjectiveFunction.SECTION_END);
+    }
+  }
+
+  /**
+   * Clear: delete all information stored in this objective function,
+   * without creating any log. This function is only for use within
+   * {@link org.logisticPlanning.tsp.benchmarking.objective._SpeedBenchmark#_timeBenchmarkRun(ObjectiveFunction)}
+   * .
+   */
+  final void _clear() {
+    this.m_terminate = true;
+
+    this.m_currentLP.initExtreme();
+    this.m_lastImprovementLP.initExtreme();
+    this.m_initLP.initExtreme();
+
+    this.m_state = ObjectiveFunction.STATE_NOTHING;
+    this.m_logSize = 0;
+    this.m_file = null;
+
+    this.m_feIdx = (this.m_FEsDEsToLog.length - 1);
+    this.m_nextFE = this.m_FEsDEsToLog[this.m_feIdx];
+
+    this.m_deIdx = (this.m_FEsDEsToLog.length - 1);
+    this.m_nextDE = (this.m_FEsDEsToLog[this.m_deIdx]);
+
+    this.m_fIdx = (this.m_valuesToLog.length - 1);
+    this.m_nextF = this.m_valuesToLog[this.m_fIdx];
+
+    this.m_randSeed = 0l;
+    this.m_startTime = 0l;
+    this.m_endTime = 0l;
+    this.m_shouldLog = false;
+    this.m_fimproved = false;
+    this.m_algorithm = null;
+    this.m_initializer = null;
+
+    this.m_i_logSize = 0;
+    this.m_i_fIdx = 0;
+    this.m_i_nextF = 0l;
+    this.m_i_deIdx = 0;
+    this.m_i_nextDE = 0l;
+    this.m_i_feIdx = 0;
+    this.m_i_nextFE = 0l;
+    this.m_i_startTime = 0l;
+    this.m_i_endTime = 0l;
+    this.m_i_randSeed = 0l;
+
+    this.m_time_offset = 0l;
+
+    this.m_exceptionDuringInit = null;
+    this.m_exceptionDuringRun = null;
+  }
+
+  /**
+   * print an exception to the log
+   *
+   * @param t
+   *          the exception
+   * @param prefix
+   *          the prefix
    * @param ps
    *          the print stream
    */
@@ -3788,6 +4338,56 @@ public final class ObjectiveFunction extends DistanceComputer {
     return this.m_creator;
   }
 
+  /**
+   * Get the kind of candidate sets to be built for algorithms which only
+   * specify the number of candidates per node, as configured for the
+   * benchmark with the parameter
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_CANDIDATE_SET_KIND}
+   * .
+   *
+   * @return the candidate set kind
+   */
+  public final ECandidateSetKind getCandidateSetKind() {
+    return this.m_benchmark.m_candidateSetKind;
+  }
+
+  /**
+   * <p>
+   * Get data that is shared by all runs on the same benchmark instance,
+   * regardless of the thread they run in. If no data exists for the given
+   * {@code key} yet, it is created by {@code factory} in the context of
+   * this objective function, i.e., the distance evaluations (DEs) needed
+   * for that are counted in the current run. Other threads requesting the
+   * same data in the meantime will wait until it is ready.
+   * </p>
+   * <p>
+   * Whether runs which receive the already existing data are charged the
+   * DEs its creation took depends on the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ESharedDataCharging
+   * charging policy} of the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark
+   * benchmark}. By default, each run is charged, so the logged results are
+   * the same as if every run had created the data itself. The shared data
+   * is discarded when the runner moves on to the next benchmark instance.
+   * </p>
+   *
+   * @param key
+   *          the key identifying the data, must implement
+   *          {@link java.lang.Object#equals(Object)} and
+   *          {@link java.lang.Object#hashCode()} properly
+   * @param factory
+   *          the factory to create the data if it does not exist yet
+   * @return the shared data
+   * @param <T>
+   *          the type of the shared data
+   */
+  @SuppressWarnings("unchecked")
+  public final <T> T getSharedData(final Object key,
+      final ISharedDataFactory<T> factory) {
+    return ((T) (this.m_benchmark._getSharedData(key)._get(factory, this,
+        this.m_benchmark.m_sharedDataCharging)));
+  }
+
   /** {@inheritDoc} */
   @Override
   public final int distance(final int i, final int j) {
@@ -3799,36 +4399,70 @@ public final class ObjectiveFunction extends DistanceComputer {
 
     // check if we reached a DE check point
     if (de >= this.m_nextDE) {
+      this.__reachedDECheckPoint(cur, de);
+    }
 
-      // if so, this is a reason for logging, but the logging can only
-      // take
-      // place in the __register function, as here we do not have an
-      // objective
-      // function value
-      this.m_shouldLog = true;
-      cur.m_type |= ObjectiveFunction.TYPE_FLAG_DE;
+    return this.m_dist.distance(i, j);
+  }
 
-      // find the next DE check point
-      do {
-        if ((--this.m_deIdx) < 0) {
-          // ok, no more check points: we should terminate
-          this.m_terminate = true;
-          break;
-        }
-        this.m_nextDE = this.m_FEsDEsToLog[this.m_deIdx];
-      } while (de >= this.m_nextDE);
-
-      // as the maximum DE will also be a check point, we check if we
-      // reached
-      // it. we do not need to check this outside of this if, because, as
-      // said,
-      // it will be a check point DE
-      if (de >= this.m_maxDEs) {
+  /**
+   * Charge a given number of distance evaluations (DEs) at once, as if
+   * {@link #distance(int, int)} had been called {@code des} times. This
+   * is used for data shared between runs, see
+   * {@link #getSharedData(Object, ISharedDataFactory)}.
+   *
+   * @param des
+   *          the number of DEs to charge
+   */
+  final void _chargeDEs(final long des) {
+    final long de;
+    final LogPoint cur;
+
+    if (des <= 0l) {
+      return;
+    }
+
+    cur = this.m_currentLP;
+    de = (cur.m_de += des);
+    if (de >= this.m_nextDE) {
+      this.__reachedDECheckPoint(cur, de);
+    }
+  }
+
+  /**
+   * A DE check point has been reached.
+   *
+   * @param cur
+   *          the current log point
+   * @param de
+   *          the current DEs
+   */
+  private final void __reachedDECheckPoint(final LogPoint cur,
+      final long de) {
+    // this is a reason for logging, but the logging can only take place
+    // in the __register function, as here we do not have an objective
+    // function value
+    this.m_shouldLog = true;
+    cur.m_type |= ObjectiveFunction.TYPE_FLAG_DE;
+
+    // find the next DE check point
+    do {
+      if ((--this.m_deIdx) < 0) {
+        // ok, no more check points: we should terminate
         this.m_terminate = true;
+        break;
       }
+      this.m_nextDE = this.m_FEsDEsToLog[this.m_deIdx];
+    } while (de >= this.m_nextDE);
+
+    // as the maximum DE will also be a check point, we check if we
+    // reached
+    // it. we do not need to check this outside of this if, because, as
+    // said,
+    // it will be a check point DE
+    if (de >= this.m_maxDEs) {
+      this.m_terminate = true;
     }
-
-    return this.m_dist.distance(i, j);
   }
 
   /**
@@ -4115,6 +4749,10 @@ public final class ObjectiveFunction extends DistanceComputer {
     final LogPoint cur;
     final boolean improved;
 
+    if (this.m_owner != null) {
+      return this.__record(fes, nodes, f, countDEs, adj);
+    }
+
     cur = this.m_currentLP;
 
     // did the objective function value improve?
@@ -4219,6 +4857,9 @@ public final class ObjectiveFunction extends DistanceComputer {
         }
 
         // store a log point
+        if (this.m_profiler != null) {
+          this.m_profiler._sample(cur);
+        }
         this.m_shouldLog = false;
         this.m_fimproved = false;
         this.m_log[this.m_logSize++]._assign(cur);
@@ -4230,9 +4871,392 @@ public final class ObjectiveFunction extends DistanceComputer {
       }
     }
 
+    if (fe >= this.m_nextCheckpointFE) {
+      this.__automaticCheckpoint();
+    }
+
     return improved;
   }
 
+  /**
+   * The internal registration function of a {@link #fork() forked}
+   * objective function: count the FEs and DEs and add them to the record
+   * of the current task.
+   *
+   * @param nodes
+   *          the candidate solution
+   * @param f
+   *          its objective value
+   * @param fes
+   *          the number function evaluations to register
+   * @param countDEs
+   *          count the equivalent number of distance evaluations for the
+   *          {@code fes}
+   * @param adj
+   *          {@code true} if {@code nodes} is in adjacency
+   *          representation, {@code false} if it is in path representation
+   * @return {@code true} if the registered solution was an improvement
+   *         compared to the best solution known to this fork
+   */
+  private final boolean __record(final long fes, final int[] nodes,
+      final long f, final boolean countDEs, final boolean adj) {
+    final LogPoint cur;
+    final TaskRecord record;
+    final boolean improved;
+    final long de;
+
+    cur = this.m_currentLP;
+
+    improved = (f < cur.m_f);
+    if (improved) {
+      cur.m_f = f;
+      if (nodes != null) {
+        if (adj) {
+          RepresentationUtils.adjacencyListToPath(nodes, this.m_bestX);
+        } else {
+          System.arraycopy(nodes, 0, this.m_bestX, 0, this.m_bestX.length);
+        }
+        this.m_bestXLength = f;
+        this.m_emigrate = true;
+      }
+      if (f <= this.m_optimum) {
+        this.m_terminate = true;
+      }
+    }
+
+    cur.m_fe += fes;
+    if (countDEs) {
+      cur.m_de += (fes * this.m_n);
+    }
+    de = cur.m_de;
+
+    record = this.m_record;
+    if (record != null) {
+      record._add((de - this.m_recordDE), fes, f,
+          ((improved && (nodes != null)) ? this.m_bestX : null));
+      this.m_recordDE = de;
+      if ((this.m_flushInterval > 0)
+          && (record.m_size >= this.m_flushInterval)) {
+        this.__flush();
+      }
+    }
+
+    // the budget is checked as if this task was the only one, the
+    // termination of the run is only decided during the merge
+    if ((cur.m_fe >= this.m_maxFEs) || (de >= this.m_maxDEs)
+        || this.m_owner.m_terminate) {
+      this.m_terminate = true;
+    }
+
+    if (improved) {
+      this.m_lastImprovementLP._assign(cur);
+    }
+    return improved;
+  }
+
+  /**
+   * <p>
+   * Create a fork of this objective function for evaluating candidate
+   * solutions of the current run in another thread. A fork shares the
+   * distance information with this objective function, but has its own
+   * {@link #getRandom() randomizer} and its own copy of the
+   * {@link #getCopyOfBest(int[]) best solution}. It never creates log
+   * points by itself. Instead, the work is divided into tasks: Each task
+   * is started with {@link #beginTask(TaskRecord, long)} on the fork,
+   * which records all FEs and DEs of the task in a
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.TaskRecord},
+   * and ended with {@link #endTask()}. The records are then
+   * {@link #merge(TaskRecord) merged} into this objective function in the
+   * thread of the run.
+   * </p>
+   * <p>
+   * Forks are not thread-safe either, each fork must only be used by one
+   * thread at a time. Creating a fork is cheap, it does not repeat the
+   * measurement of the runtime normalization factor.
+   * </p>
+   *
+   * @return the fork
+   * @throws IllegalStateException
+   *           if this objective function is a fork itself
+   */
+  public final ObjectiveFunction fork() {
+    if (this.m_owner != null) {
+      throw new IllegalStateException(//
+          "Cannot fork a forked objective function."); //$NON-NLS-1$
+    }
+    return new ObjectiveFunction(this);
+  }
+
+  /**
+   * Begin a new task on a {@link #fork() forked} objective function. The
+   * fork takes over the current state of the run, i.e., the consumed FEs
+   * and DEs, the best solution, and the termination flag, and its
+   * randomizer is re-seeded with {@code seed}. No other thread must
+   * change the objective function of the run until the task is
+   * {@link #endTask() ended}.
+   *
+   * @param record
+   *          the record to store the FEs and DEs of the task in, which is
+   *          cleared first
+   * @param seed
+   *          the random seed of the task
+   * @throws IllegalStateException
+   *           if this objective function is not a fork or if no run is
+   *           ongoing
+   */
+  public final void beginTask(final TaskRecord record, final long seed) {
+    this.beginTask(record, seed, 0);
+  }
+
+  /**
+   * Begin a new task on a {@link #fork() forked} objective function which
+   * may run concurrently with other tasks for the whole duration of the
+   * run. Like {@link #beginTask(TaskRecord, long)}, the fork takes over
+   * the current state of the run and re-seeds its randomizer. However, if
+   * {@code flushInterval} is positive, the fork itself merges its record
+   * into the objective function of the run whenever the record holds
+   * {@code flushInterval} registrations and when the task is
+   * {@link #endTask() ended}. The record is merged while holding the lock
+   * of the objective function of the run. Afterwards, the fork continues
+   * with the FEs, DEs, and termination flag of the run, but keeps its own
+   * best solution. Since the best solution of the run can never be worse
+   * than the best solution of any of its forks, merging in batches
+   * reproduces all improvements exactly, while the lock is only acquired
+   * once per batch instead of once per evaluation. All tasks of a run
+   * should then be performed this way and the thread of the run must not
+   * use the objective function of the run until all tasks have ended.
+   *
+   * @param record
+   *          the record to store the FEs and DEs of the task in, which is
+   *          cleared first
+   * @param seed
+   *          the random seed of the task
+   * @param flushInterval
+   *          the number of registrations after which the record is merged
+   *          into the run, or {@code 0} if the record is merged by the
+   *          caller via {@link #merge(TaskRecord)}
+   * @throws IllegalStateException
+   *           if this objective function is not a fork or if no run is
+   *           ongoing
+   */
+  public final void beginTask(final TaskRecord record, final long seed,
+      final int flushInterval) {
+    final ObjectiveFunction owner;
+
+    owner = this.m_owner;
+    if (owner == null) {
+      throw new IllegalStateException(//
+          "Only forked objective functions can perform tasks."); //$NON-NLS-1$
+    }
+    if (owner.m_state != ObjectiveFunction.STATE_IN_RUN) {
+      throw new IllegalStateException(//
+          "Tasks can only be performed during a run."); //$NON-NLS-1$
+    }
+
+    synchronized (owner) {
+      this.m_currentLP._assign(owner.m_currentLP);
+      this.m_lastImprovementLP._assign(owner.m_lastImprovementLP);
+      System.arraycopy(owner.m_bestX, 0, this.m_bestX, 0,
+          this.m_bestX.length);
+      this.m_terminate = owner.m_terminate;
+    }
+    this.m_bestXLength = this.m_currentLP.m_f;
+    this.m_emigrate = false;
+    this.m_r.setSeed(seed);
+
+    record._clear();
+    if (owner.m_profiler != null) {
+      record._beginProfile();
+    }
+    this.m_record = record;
+    this.m_recordDE = this.m_currentLP.m_de;
+    this.m_flushInterval = Math.max(0, flushInterval);
+  }
+
+  /**
+   * End the current task on a {@link #fork() forked} objective function.
+   * DEs performed after the task has ended are not recorded.
+   */
+  public final void endTask() {
+    final TaskRecord record;
+
+    record = this.m_record;
+    if (record != null) {
+      if (this.m_flushInterval > 0) {
+        this.__flush();
+        this.m_flushInterval = 0;
+      } else {
+        record.m_trailingDEs = (this.m_currentLP.m_de - this.m_recordDE);
+        record._endProfile();
+      }
+      this.m_record = null;
+    }
+  }
+
+  /**
+   * Merge the record of the current task into the run and continue with
+   * the FEs, DEs, and termination flag of the run. If the best solution of
+   * this fork has improved since the last time, it is then sent to the
+   * {@link #setMigrationTarget(ObjectiveFunction) migration target}.
+   */
+  private final void __flush() {
+    final ObjectiveFunction owner, target;
+    final TaskRecord record;
+    final LogPoint cur;
+
+    owner = this.m_owner;
+    record = this.m_record;
+    cur = this.m_currentLP;
+
+    record.m_trailingDEs = (cur.m_de - this.m_recordDE);
+    record._endProfile();
+    synchronized (owner) {
+      owner.merge(record);
+      cur.m_fe = owner.m_currentLP.m_fe;
+      cur.m_de = owner.m_currentLP.m_de;
+      this.m_terminate = owner.m_terminate;
+    }
+    record._clear();
+    if (owner.m_profiler != null) {
+      record._beginProfile();
+    }
+    this.m_recordDE = cur.m_de;
+
+    target = this.m_migrationTarget;
+    if (this.m_emigrate && (target != null)) {
+      this.m_emigrate = false;
+      target.m_migrant.set(new _Migrant(this.m_bestX.clone(),
+          this.m_bestXLength));
+    }
+  }
+
+  /**
+   * Is this objective function a {@link #fork() fork}?
+   *
+   * @return {@code true} if this objective function has been forked from
+   *         the objective function of a run, {@code false} if it is the
+   *         objective function of the run itself
+   */
+  public final boolean isFork() {
+    return (this.m_owner != null);
+  }
+
+  /**
+   * Set the fork to which this {@link #fork() fork} sends its best tour.
+   * Whenever this fork merges its record by itself (see
+   * {@link #beginTask(TaskRecord, long, int)}) and has discovered a new
+   * best tour since the last merge, a copy of that tour is placed into the
+   * mailbox of {@code target}, replacing any tour which has not been
+   * {@link #pollMigrant(int[]) picked up} yet. This does not require any
+   * lock, so forks arranged in a ring can exchange their best tours while
+   * running in different threads, as done in an island model.
+   *
+   * @param target
+   *          the fork to send the best tours to, or {@code null} to send
+   *          no tours
+   * @throws IllegalArgumentException
+   *           if this objective function is not a fork or if
+   *           {@code target} is not a fork of the same run
+   */
+  public final void setMigrationTarget(final ObjectiveFunction target) {
+    if ((this.m_owner == null)
+        || ((target != null) && (target.m_owner != this.m_owner))) {
+      throw new IllegalArgumentException(//
+          "Migration is only possible between forks of the same run."); //$NON-NLS-1$
+    }
+    this.m_migrationTarget = target;
+  }
+
+  /**
+   * Pick up the tour sent to this objective function by another
+   * {@link #fork() fork} (see {@link #setMigrationTarget(ObjectiveFunction)}
+   * ), if any. The tour has already been evaluated and registered by the
+   * sender, so the algorithm can use it without spending an FE. An
+   * algorithm which can make use of tours found elsewhere may call this
+   * method from time to time, e.g., once per generation. If this
+   * objective function is not a fork, no tour is ever sent.
+   *
+   * @param dest
+   *          the destination array to receive the tour in <a
+   *          href="#pathRepresentation"><em>path representation</em></a>
+   *          if there is one
+   * @return the length of the tour copied to {@code dest}, or
+   *         {@link java.lang.Long#MAX_VALUE} if no tour has been sent
+   *         since the last call
+   */
+  public final long pollMigrant(final int[] dest) {
+    final _Migrant migrant;
+
+    if (this.m_migrant == null) {
+      return Long.MAX_VALUE;
+    }
+    migrant = this.m_migrant.getAndSet(null);
+    if (migrant == null) {
+      return Long.MAX_VALUE;
+    }
+    System.arraycopy(migrant.m_tour, 0, dest, 0, migrant.m_tour.length);
+    return migrant.m_length;
+  }
+
+  /**
+   * Merge the record of a task performed on a {@link #fork() fork} into
+   * this objective function: All FEs and DEs are registered in the same
+   * order and with the same objective values as during the task, i.e.,
+   * exactly as if the task had been performed on this objective function
+   * directly. Since a fork only knows the state of the run at the
+   * beginning of its task, it may go on after the run should have been
+   * terminated. Therefore, the registrations following the one after
+   * which {@link #shouldTerminate()} becomes {@code true} are discarded,
+   * as if the task had stopped right then. After merging a record,
+   * {@link #shouldTerminate()} should be checked before merging the next
+   * one. If the run is
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_PROFILE
+   * profiled}, the CPU time and the allocations of the task are added to
+   * the profile of the run, unless the task was performed in the thread
+   * of the run.
+   *
+   * @param record
+   *          the record
+   * @throws IllegalStateException
+   *           if this objective function is a fork
+   */
+  public final void merge(final TaskRecord record) {
+    final long[] des, fes, f;
+    final int[][] tours;
+    final boolean[] improved;
+    final int size;
+    int i;
+
+    if (this.m_owner != null) {
+      throw new IllegalStateException(//
+          "Task records cannot be merged into a fork."); //$NON-NLS-1$
+    }
+
+    if (this.m_profiler != null) {
+      this.m_profiler._addTask(record);
+    }
+
+    des = record.m_des;
+    fes = record.m_fes;
+    f = record.m_f;
+    tours = record.m_tours;
+    improved = record.m_improved;
+    size = record.m_size;
+    for (i = 0; i < size; i++) {
+      if (this.m_terminate) {
+        // an algorithm must stop as soon as it is told to terminate, so
+        // the rest of the task is discarded
+        return;
+      }
+      this._chargeDEs(des[i]);
+      this.__register(fes[i], (improved[i] ? tours[i] : null), f[i],
+          false, false);
+    }
+    if (!(this.m_terminate)) {
+      this._chargeDEs(record.m_trailingDEs);
+    }
+  }
+
   /**
    * Get a copy of the best candidate solution discovered in this run in <a
    * href="#pathRepresentation"><em>path representation</em></a>. This is
@@ -4359,6 +5383,240 @@ public final class ObjectiveFunction extends DistanceComputer {
     return this.m_terminate;
   }
 
+  /**
+   * Get the number of function evaluations (FEs) which can be registered
+   * before the next log point due to the consumed FEs is reached. Since
+   * the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_MAX_FES
+   * maximum number of FEs} always is such a log point, this number never
+   * exceeds the remaining FEs. An algorithm which collects several FEs and
+   * registers them at once via {@link #registerFEs(long, int[], long)}
+   * should register them before they exceed this number, so that neither
+   * the FE budget is exceeded nor log points are taken late.
+   *
+   * @return the number of FEs until the next log point, at least
+   *         {@code 1}
+   */
+  public final long getFEsUntilLogPoint() {
+    final long next;
+
+    // forks do not log, they only check the budget
+    next = ((this.m_owner != null) ? this.m_maxFEs : this.m_nextFE);
+    return Math.max(1l, (next - this.m_currentLP.m_fe));
+  }
+
+  /**
+   * <p>
+   * Is a checkpoint of the current run due? If
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_CHECKPOINT_INTERVAL
+   * checkpoints} are enabled, this method returns {@code true} once the
+   * checkpoint interval has passed since the last checkpoint. An
+   * algorithm which can store its state (see
+   * {@link org.logisticPlanning.tsp.solving.TSPAlgorithm#isCheckpointing()}
+   * ) should then call {@link #checkpoint(Serializable)} at the next point
+   * where its state is consistent and small, e.g., at the beginning of a
+   * generation. Checking this method is cheap, but it should not be done
+   * in the innermost loops.
+   * </p>
+   * <p>
+   * For {@link #fork() forks} and if checkpoints are disabled, this method
+   * always returns {@code false}.
+   * </p>
+   *
+   * @return {@code true} if a checkpoint should be written, {@code false}
+   *         otherwise
+   * @see #checkpoint(Serializable)
+   */
+  public final boolean isCheckpointDue() {
+    return (System.currentTimeMillis() >= this.m_nextCheckpoint);
+  }
+
+  /**
+   * <p>
+   * Save the current state of the run to its checkpoint file, which
+   * replaces the previous checkpoint of the run. The checkpoint contains
+   * the log points collected so far, the consumed FEs, DEs, and runtime,
+   * the best tour, the state of the {@link #getRandom() randomizer}, and
+   * the given state of the optimization algorithm. If the run is
+   * interrupted, e.g., because the machine crashes, it will be resumed
+   * from this checkpoint by the next process which finds the lock of the
+   * run stale (checkpoints are only resumed if
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_JOB_LOCK_TIMEOUT
+   * runs are locked}): The
+   * objective function will be in exactly the state it has now and
+   * {@link #getResumedState()} will return (a copy of) {@code state}.
+   * </p>
+   * <p>
+   * The algorithm state must hence contain everything the algorithm needs
+   * to continue its search from the current point, and nothing which
+   * depends on the objective function or other objects of the current
+   * run. Since the state of the randomizer is stored as well, an algorithm
+   * which stores its complete state will continue exactly as if the run
+   * had never been interrupted (apart from the runtime measurements, of
+   * course).
+   * </p>
+   * <p>
+   * If checkpoints are
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_CHECKPOINT_INTERVAL
+   * disabled}, if this objective function is a {@link #fork() fork}, or if
+   * the run should {@link #shouldTerminate() terminate}, this method does
+   * nothing.
+   * </p>
+   *
+   * @param state
+   *          the state of the optimization algorithm, or {@code null} if
+   *          the algorithm cannot store its state
+   * @see #isCheckpointDue()
+   * @see #getResumedState()
+   */
+  public final void checkpoint(final Serializable state) {
+    final _Checkpoint cp;
+    final LogPoint cur;
+    final LogPoint[] log;
+    final long t;
+    int i;
+
+    if ((this.m_checkpointInterval <= 0l) || (this.m_checkpointFile == null)
+        || (this.m_state != ObjectiveFunction.STATE_IN_RUN)
+        || this.m_terminate) {
+      return;
+    }
+
+    cur = this.m_currentLP;
+    t = System.currentTimeMillis();
+    cur.m_time = ((t - this.m_startTime) + this.m_time_offset);
+    if (this.m_profiler != null) {
+      this.m_profiler._sample(cur);
+    }
+
+    cp = new _Checkpoint();
+    cp.m_logFile = this.m_file.getName();
+    cp.m_n = this.m_n;
+    cp.m_maxFEs = this.m_maxFEs;
+    cp.m_maxDEs = this.m_maxDEs;
+    cp.m_maxTime = this.m_benchmark.m_maxTime;
+
+    cp.m_log = log = new LogPoint[this.m_logSize];
+    for (i = log.length; (--i) >= 0;) {
+      log[i] = new LogPoint(this.m_log[i]);
+    }
+    cp.m_currentLP = new LogPoint(cur);
+    cp.m_lastImprovementLP = new LogPoint(this.m_lastImprovementLP);
+
+    cp.m_fIdx = this.m_fIdx;
+    cp.m_nextF = this.m_nextF;
+    cp.m_deIdx = this.m_deIdx;
+    cp.m_nextDE = this.m_nextDE;
+    cp.m_feIdx = this.m_feIdx;
+    cp.m_nextFE = this.m_nextFE;
+    cp.m_shouldLog = this.m_shouldLog;
+    cp.m_fimproved = this.m_fimproved;
+
+    cp.m_bestX = this.m_bestX.clone();
+    cp.m_random = new Randomizer();
+    cp.m_random.assign(this.m_r);
+    cp.m_randSeed = this.m_randSeed;
+    cp.m_state = state;
+
+    try {
+      cp._store(this.m_checkpointFile);
+    } catch (final IOException ioe) {
+      throw new RuntimeException(ioe);
+    }
+
+    this.__scheduleCheckpoint(System.currentTimeMillis());
+  }
+
+  /**
+   * Should the objective function write checkpoints automatically? By
+   * default, it does so every
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_CHECKPOINT_INTERVAL
+   * checkpoint interval} while FEs are registered, without any
+   * {@link #checkpoint(Serializable) algorithm state}. A run resumed from
+   * such a checkpoint continues with the state of the objective function,
+   * but its algorithm starts from scratch. Algorithms which store their
+   * state themselves switch automatic checkpoints off, which is done by
+   * {@link org.logisticPlanning.tsp.solving.TSPAlgorithm#call(ObjectiveFunction)}
+   * if {@link org.logisticPlanning.tsp.solving.TSPAlgorithm#isCheckpointing()}
+   * returns {@code true}.
+   *
+   * @param automatic
+   *          {@code true} if checkpoints should be written automatically,
+   *          {@code false} if the algorithm calls
+   *          {@link #checkpoint(Serializable)} itself
+   */
+  public final void setAutomaticCheckpoints(final boolean automatic) {
+    this.m_automaticCheckpoints = automatic;
+    if (this.m_nextCheckpoint < Long.MAX_VALUE) {
+      this.m_nextCheckpointFE = (automatic ? this.m_currentLP.m_fe
+          : Long.MAX_VALUE);
+    }
+  }
+
+  /**
+   * Was the current run resumed from a checkpoint after an interruption?
+   *
+   * @return {@code true} if the current run was resumed, {@code false}
+   *         otherwise
+   * @see #checkpoint(Serializable)
+   * @see #getResumedState()
+   */
+  public final boolean isResumed() {
+    return this.m_resumed;
+  }
+
+  /**
+   * Get the algorithm state stored in the checkpoint from which the
+   * current run was resumed.
+   *
+   * @return the algorithm state passed to
+   *         {@link #checkpoint(Serializable)}, or {@code null} if the run
+   *         was not resumed or if the checkpoint holds no algorithm state
+   * @see #checkpoint(Serializable)
+   * @see #isResumed()
+   */
+  public final Serializable getResumedState() {
+    return this.m_resumedState;
+  }
+
+  /**
+   * Schedule the next checkpoint
+   *
+   * @param time
+   *          the time of the last checkpoint or the start of the run
+   */
+  private final void __scheduleCheckpoint(final long time) {
+    final long next;
+
+    if ((this.m_checkpointInterval > 0l) && (this.m_checkpointFile != null)) {
+      next = (time + this.m_checkpointInterval);
+      this.m_nextCheckpoint = ((next < time) ? Long.MAX_VALUE : next);
+      this.m_nextCheckpointFE = (this.m_automaticCheckpoints ? //
+      (this.m_currentLP.m_fe + ObjectiveFunction.CHECKPOINT_CHECK_FES)
+          : Long.MAX_VALUE);
+    } else {
+      this.m_nextCheckpoint = Long.MAX_VALUE;
+      this.m_nextCheckpointFE = Long.MAX_VALUE;
+    }
+  }
+
+  /**
+   * Check whether an automatic checkpoint is due and write it, if so. This
+   * is done every {@link #CHECKPOINT_CHECK_FES} FEs, so that the system
+   * time is not queried in every FE.
+   */
+  private final void __automaticCheckpoint() {
+    if (System.currentTimeMillis() >= this.m_nextCheckpoint) {
+      this.checkpoint(null);
+      if (this.m_terminate) {
+        this.m_nextCheckpointFE = Long.MAX_VALUE;
+      }
+    } else {
+      this.m_nextCheckpointFE = (this.m_currentLP.m_fe + //
+      ObjectiveFunction.CHECKPOINT_CHECK_FES);
+    }
+  }
+
   /**
    * With this method, the user/algorithm can tell the objective function
    * to set the terminate flag to {@code true}. After calling this method,
@@ -4387,6 +5645,38 @@ public final class ObjectiveFunction extends DistanceComputer {
     return this.m_symmetric;
   }
 
+  /**
+   * {@inheritDoc} The spatial index belongs to the underlying distance
+   * computer and is thus shared by all objective functions of the same
+   * benchmark. If {@code dist} is this objective function, every distance
+   * evaluated during the search is counted as one DE.
+   */
+  @Override
+  public final boolean nearestNeighbors(final int m, final int[] dest,
+      final DistanceComputer dist) {
+    return this.m_dist.nearestNeighbors(m, dest, dist);
+  }
+
+  /**
+   * {@inheritDoc} If {@code dist} is this objective function, every
+   * distance evaluated during the search is counted as one DE.
+   */
+  @Override
+  public final boolean quadrantNeighbors(final int m, final int[] dest,
+      final DistanceComputer dist) {
+    return this.m_dist.quadrantNeighbors(m, dest, dist);
+  }
+
+  /**
+   * {@inheritDoc} If {@code dist} is this objective function, every
+   * distance evaluated during the search is counted as one DE.
+   */
+  @Override
+  public final boolean gabrielNeighbors(final int m, final int[] dest,
+      final DistanceComputer dist) {
+    return this.m_dist.gabrielNeighbors(m, dest, dist);
+  }
+
   /** {@inheritDoc} */
   @Override
   public final void print(final PrintWriter out) {
@@ -0,0 +1,195 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A record of the function evaluations (FEs) and distance evaluations
+ * (DEs) performed by one task on a
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#fork()
+ * forked objective function}.
+ * </p>
+ * <p>
+ * An algorithm which evaluates candidate solutions in parallel, e.g., the
+ * offspring of one generation, gives each of them a task record via
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#beginTask(TaskRecord, long)}
+ * . Once all tasks are completed, it
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#merge(TaskRecord)
+ * merges} the records into the objective function of the run in a fixed
+ * order. This replays all registered FEs and DEs exactly as if the tasks
+ * had been executed one after the other in this order, so the log points
+ * and the termination criteria based on FEs, DEs, and objective values do
+ * not depend on the number of threads or their scheduling. Records can be
+ * re-used for any number of tasks. If the runs are
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_PROFILE
+ * profiled}, a record also carries the CPU time and the bytes allocated
+ * by the thread performing the task, which are added to the profile of
+ * the run when the record is merged.
+ * </p>
+ */
+public final class TaskRecord {
+
+  /** the initial capacity */
+  private static final int INITIAL_CAPACITY = 16;
+
+  /** the DEs performed before each FE registration, including those of it */
+  long[] m_des;
+
+  /** the FEs of each registration */
+  long[] m_fes;
+
+  /** the objective value of each registration */
+  long[] m_f;
+
+  /**
+   * the tours of the registrations which improved the best tour of the
+   * task; the arrays are re-used and only valid if the corresponding entry
+   * in {@link #m_improved} is {@code true}
+   */
+  int[][] m_tours;
+
+  /** which registrations improved the best tour of the task? */
+  boolean[] m_improved;
+
+  /** the number of registrations */
+  int m_size;
+
+  /** the DEs performed after the last FE registration */
+  long m_trailingDEs;
+
+  /**
+   * the id of the thread performing the task, or {@code -1} if the task
+   * is not profiled
+   */
+  long m_thread;
+
+  /** the CPU time of the thread when the task began, in nanoseconds */
+  private long m_cpuStart;
+
+  /** the bytes allocated by the thread when the task began */
+  private long m_allocStart;
+
+  /** the CPU time consumed by the task, in nanoseconds */
+  long m_cpuTime;
+
+  /** the bytes allocated by the task, or {@code -1} if unknown */
+  long m_allocated;
+
+  /** create a task record */
+  public TaskRecord() {
+    super();
+    this.m_des = new long[TaskRecord.INITIAL_CAPACITY];
+    this.m_fes = new long[TaskRecord.INITIAL_CAPACITY];
+    this.m_f = new long[TaskRecord.INITIAL_CAPACITY];
+    this.m_tours = new int[TaskRecord.INITIAL_CAPACITY][];
+    this.m_improved = new boolean[TaskRecord.INITIAL_CAPACITY];
+    this.m_thread = (-1l);
+  }
+
+  /** clear the record */
+  final void _clear() {
+    this.m_size = 0;
+    this.m_trailingDEs = 0l;
+    this.m_thread = (-1l);
+    this.m_cpuTime = 0l;
+    this.m_allocated = 0l;
+  }
+
+  /** start profiling the task in the current thread */
+  final void _beginProfile() {
+    this.m_thread = Thread.currentThread().getId();
+    this.m_allocStart = _Profiler._allocated();
+    this.m_cpuStart = _Profiler._cpuTime();
+  }
+
+  /** stop profiling the task, which must be performed in this thread */
+  final void _endProfile() {
+    final long cpu, alloc;
+
+    if (this.m_thread < 0l) {
+      return;
+    }
+    cpu = _Profiler._cpuTime();
+    alloc = _Profiler._allocated();
+    this.m_cpuTime = (((cpu < 0l) || (this.m_cpuStart < 0l)) ? 0l
+        : (cpu - this.m_cpuStart));
+    this.m_allocated = (((alloc < 0l) || (this.m_allocStart < 0l)) ? (-1l)
+        : (alloc - this.m_allocStart));
+  }
+
+  /**
+   * Add a registration
+   *
+   * @param des
+   *          the DEs performed since the previous registration
+   * @param fes
+   *          the FEs
+   * @param f
+   *          the objective value
+   * @param tour
+   *          the new best tour of the task in path representation, or
+   *          {@code null} if the registration was no improvement
+   */
+  final void _add(final long des, final long fes, final long f,
+      final int[] tour) {
+    final int size, cap;
+    int[] dest;
+
+    size = this.m_size;
+    if (size >= this.m_des.length) {
+      cap = (size << 1);
+      this.m_des = Arrays.copyOf(this.m_des, cap);
+      this.m_fes = Arrays.copyOf(this.m_fes, cap);
+      this.m_f = Arrays.copyOf(this.m_f, cap);
+      this.m_tours = Arrays.copyOf(this.m_tours, cap);
+      this.m_improved = Arrays.copyOf(this.m_improved, cap);
+    }
+
+    this.m_des[size] = des;
+    this.m_fes[size] = fes;
+    this.m_f[size] = f;
+    if (tour != null) {
+      dest = this.m_tours[size];
+      if ((dest == null) || (dest.length != tour.length)) {
+        this.m_tours[size] = dest = new int[tour.length];
+      }
+      System.arraycopy(tour, 0, dest, 0, tour.length);
+      this.m_improved[size] = true;
+    } else {
+      this.m_improved[size] = false;
+    }
+    this.m_size = (size + 1);
+  }
+
+  /**
+   * Get the number of FEs registered in this record
+   *
+   * @return the number of FEs registered in this record
+   */
+  public final long getFEs() {
+    long sum;
+    int i;
+
+    sum = 0l;
+    for (i = this.m_size; (--i) >= 0;) {
+      sum += this.m_fes[i];
+    }
+    return sum;
+  }
+
+  /**
+   * Get the number of DEs registered in this record
+   *
+   * @return the number of DEs registered in this record
+   */
+  public final long getDEs() {
+    long sum;
+    int i;
+
+    sum = this.m_trailingDEs;
+    for (i = this.m_size; (--i) >= 0;) {
+      sum += this.m_des[i];
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,540 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+import org.logisticPlanning.utils.config.Configurable;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * The calibration suite used for the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ERuntimeNormalization#CALIBRATION
+ * calibrated} runtime normalization. Different from the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective._SpeedBenchmark
+ * speed benchmark} on the benchmark instance, it measures the speed of the
+ * machine with three kernels that stress different parts of it:
+ * </p>
+ * <ol>
+ * <li>The <em>distance kernel</em> constructs a nearest neighbor tour over
+ * {@value #DISTANCE_N} pseudo-random points with rounded Euclidean
+ * distances, i.e., it is bound by distance computations just like most
+ * TSP solvers on small instances.</li>
+ * <li>The <em>memory kernel</em> follows a random cycle through an array
+ * of {@value #MEMORY_SIZE} {@code int}s, which is much larger than the
+ * caches, so it is bound by the memory latency like algorithms working on
+ * the distance matrices of large instances.</li>
+ * <li>The <em>allocation kernel</em> creates many short-lived arrays and
+ * is bound by the speed of allocation and garbage collection.</li>
+ * </ol>
+ * <p>
+ * Each kernel is timed like the speed benchmark: it is invoked repeatedly
+ * until at least 30ms have passed, this is done ten times, and the
+ * smallest time per invocation is used. The normalization factor is the
+ * geometric mean of the three times, so each kernel has the same weight.
+ * </p>
+ * <p>
+ * The calibration only depends on the machine and the JVM. It is thus
+ * performed at most once per JVM and its result is cached in a file
+ * identified by a fingerprint of the host, operating system, and JVM. If
+ * such a file exists, the calibration is not repeated when a new JVM
+ * starts on the same machine.
+ * </p>
+ */
+final class _Calibration {
+
+  /** the number of points of the distance kernel: {@value} */
+  static final int DISTANCE_N = 1024;
+
+  /** the number of {@code int}s of the memory kernel: {@value} */
+  static final int MEMORY_SIZE = (1 << 22);
+
+  /** the number of steps of the memory kernel */
+  private static final int MEMORY_STEPS = (1 << 20);
+
+  /** the number of arrays created by the allocation kernel */
+  private static final int ALLOCATIONS = (1 << 16);
+
+  /** the length of the arrays created by the allocation kernel */
+  private static final int ALLOCATION_LENGTH = 64;
+
+  /** the prefix of cache files */
+  private static final String PREFIX = "calibration_"; //$NON-NLS-1$
+
+  /** the suffix of cache files */
+  private static final String SUFFIX = ".properties"; //$NON-NLS-1$
+
+  /** the key for the fingerprint */
+  private static final String KEY_FINGERPRINT = "fingerprint"; //$NON-NLS-1$
+
+  /** the key for the distance kernel */
+  private static final String KEY_DISTANCE = "distance"; //$NON-NLS-1$
+
+  /** the key for the memory kernel */
+  private static final String KEY_MEMORY = "memory"; //$NON-NLS-1$
+
+  /** the key for the allocation kernel */
+  private static final String KEY_ALLOCATION = "allocation"; //$NON-NLS-1$
+
+  /** the object used for locking */
+  private static final Object LOCK = new Object();
+
+  /** the calibration of this JVM */
+  private static _Calibration INSTANCE;
+
+  /** the sink which keeps the kernels from being optimized away */
+  static volatile long s_sink;
+
+  /** the fingerprint of the machine and JVM */
+  final String m_fingerprint;
+
+  /** the milliseconds needed by the distance kernel */
+  final double m_distance;
+
+  /** the milliseconds needed by the memory kernel */
+  final double m_memory;
+
+  /** the milliseconds needed by the allocation kernel */
+  final double m_allocation;
+
+  /** the normalization factor */
+  final double m_factor;
+
+  /** was the calibration loaded from the cache? */
+  final boolean m_cached;
+
+  /**
+   * create
+   *
+   * @param fingerprint
+   *          the fingerprint
+   * @param distance
+   *          the milliseconds needed by the distance kernel
+   * @param memory
+   *          the milliseconds needed by the memory kernel
+   * @param allocation
+   *          the milliseconds needed by the allocation kernel
+   * @param cached
+   *          was the calibration loaded from the cache?
+   */
+  private _Calibration(final String fingerprint, final double distance,
+      final double memory, final double allocation, final boolean cached) {
+    super();
+    this.m_fingerprint = fingerprint;
+    this.m_distance = distance;
+    this.m_memory = memory;
+    this.m_allocation = allocation;
+    this.m_factor = Math.cbrt(distance * memory * allocation);
+    this.m_cached = cached;
+  }
+
+  /**
+   * Get the calibration of this machine and JVM, load it from the cache
+   * or perform it if necessary
+   *
+   * @param cacheDir
+   *          the cache directory, or {@code null} if no cache should be
+   *          used
+   * @return the calibration
+   */
+  static final _Calibration _get(final File cacheDir) {
+    final String fingerprint;
+    final File file;
+
+    synchronized (_Calibration.LOCK) {
+      if (_Calibration.INSTANCE == null) {
+        fingerprint = _Calibration.__fingerprint();
+        if (cacheDir != null) {
+          file = new File(cacheDir, _Calibration.PREFIX
+              + Integer.toHexString(fingerprint.hashCode())
+              + _Calibration.SUFFIX);
+          _Calibration.INSTANCE = _Calibration.__load(file, fingerprint);
+          if (_Calibration.INSTANCE == null) {
+            _Calibration.INSTANCE = _Calibration.__calibrate(fingerprint);
+            _Calibration.INSTANCE.__store(file);
+          }
+        } else {
+          _Calibration.INSTANCE = _Calibration.__calibrate(fingerprint);
+        }
+      }
+      return _Calibration.INSTANCE;
+    }
+  }
+
+  /**
+   * Compute the fingerprint of this machine and JVM
+   *
+   * @return the fingerprint
+   */
+  private static final String __fingerprint() {
+    final StringBuilder sb;
+    final Runtime rt;
+    String host;
+
+    try {
+      host = InetAddress.getLocalHost().getHostName();
+    } catch (final Throwable t) {
+      host = System.getenv("HOSTNAME"); //$NON-NLS-1$
+      if (host == null) {
+        host = System.getenv("COMPUTERNAME"); //$NON-NLS-1$
+      }
+    }
+
+    sb = new StringBuilder();
+    sb.append(host);
+    for (final String key : new String[] { "os.name", //$NON-NLS-1$
+        "os.arch", //$NON-NLS-1$
+        "os.version", //$NON-NLS-1$
+        "java.vm.vendor", //$NON-NLS-1$
+        "java.vm.name", //$NON-NLS-1$
+        "java.vm.version" }) { //$NON-NLS-1$
+      sb.append(';');
+      sb.append(System.getProperty(key));
+    }
+    rt = Runtime.getRuntime();
+    sb.append(';');
+    sb.append(rt.availableProcessors());
+    sb.append(';');
+    sb.append(rt.maxMemory());
+    return sb.toString();
+  }
+
+  /**
+   * Load the calibration from a cache file
+   *
+   * @param file
+   *          the file
+   * @param fingerprint
+   *          the expected fingerprint
+   * @return the calibration, or {@code null} if the file does not exist or
+   *         belongs to another machine or JVM
+   */
+  private static final _Calibration __load(final File file,
+      final String fingerprint) {
+    final Properties props;
+    final double distance, memory, allocation;
+
+    if (!(file.isFile())) {
+      return null;
+    }
+
+    props = new Properties();
+    try (final InputStream is = new FileInputStream(file)) {
+      props.load(is);
+      if (!(fingerprint.equals(props
+          .getProperty(_Calibration.KEY_FINGERPRINT)))) {
+        return null;
+      }
+      distance = Double.parseDouble(props
+          .getProperty(_Calibration.KEY_DISTANCE));
+      memory = Double.parseDouble(props
+          .getProperty(_Calibration.KEY_MEMORY));
+      allocation = Double.parseDouble(props
+          .getProperty(_Calibration.KEY_ALLOCATION));
+    } catch (final Throwable t) {
+      return null;
+    }
+
+    if ((distance > 0d) && (memory > 0d) && (allocation > 0d)
+        && (distance < Double.POSITIVE_INFINITY)
+        && (memory < Double.POSITIVE_INFINITY)
+        && (allocation < Double.POSITIVE_INFINITY)) {
+      return new _Calibration(fingerprint, distance, memory, allocation,
+          true);
+    }
+    return null;
+  }
+
+  /**
+   * Store the calibration in a cache file. The file is first written
+   * under a temporary name and then renamed, so that concurrently starting
+   * JVMs never see an incomplete file. Errors are ignored, as the cache is
+   * only an optimization.
+   *
+   * @param file
+   *          the file
+   */
+  private final void __store(final File file) {
+    final Properties props;
+    final File dir;
+    File temp;
+
+    props = new Properties();
+    props.setProperty(_Calibration.KEY_FINGERPRINT, this.m_fingerprint);
+    props.setProperty(_Calibration.KEY_DISTANCE,
+        String.valueOf(this.m_distance));
+    props.setProperty(_Calibration.KEY_MEMORY,
+        String.valueOf(this.m_memory));
+    props.setProperty(_Calibration.KEY_ALLOCATION,
+        String.valueOf(this.m_allocation));
+
+    temp = null;
+    try {
+      dir = file.getParentFile();
+      dir.mkdirs();
+      temp = File.createTempFile(_Calibration.PREFIX, null, dir);
+      try (final OutputStream os = new FileOutputStream(temp)) {
+        props.store(os, null);
+      }
+      Files.move(temp.toPath(), file.toPath(),
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      temp = null;
+    } catch (final Throwable t) {
+      // ignore: the calibration will simply be repeated next time
+    } finally {
+      if (temp != null) {
+        temp.delete();
+      }
+    }
+  }
+
+  /**
+   * Perform the calibration
+   *
+   * @param fingerprint
+   *          the fingerprint
+   * @return the calibration
+   */
+  private static final _Calibration __calibrate(final String fingerprint) {
+    final double distance, memory, allocation;
+    final int[] x, y, chain;
+
+    x = new int[_Calibration.DISTANCE_N];
+    y = new int[_Calibration.DISTANCE_N];
+    _Calibration.__points(x, y);
+    distance = _Calibration.__time(0, x, y);
+
+    chain = _Calibration.__chain();
+    memory = _Calibration.__time(1, chain, null);
+
+    allocation = _Calibration.__time(2, null, null);
+
+    return new _Calibration(fingerprint, distance, memory, allocation,
+        false);
+  }
+
+  /**
+   * Time a kernel in the same way the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective._SpeedBenchmark
+   * speed benchmark} is timed
+   *
+   * @param kernel
+   *          the kernel index
+   * @param a
+   *          the first data array
+   * @param b
+   *          the second data array
+   * @return the smallest number of milliseconds per kernel invocation
+   */
+  private static final double __time(final int kernel, final int[] a,
+      final int[] b) {
+    long time, startTime, sink;
+    double factor, bestFactor;
+    int runs, calls, minCalls;
+
+    bestFactor = Double.POSITIVE_INFINITY;
+    minCalls = -1;
+    sink = 0l;
+
+    for (runs = 10; (--runs) >= 0;) {
+      calls = 0;
+      startTime = System.nanoTime();
+
+      loopy: for (;;) {
+        switch (kernel) {
+          case 0: {
+            sink += _Calibration.__distanceKernel(a, b);
+            break;
+          }
+          case 1: {
+            sink += _Calibration.__memoryKernel(a);
+            break;
+          }
+          default: {
+            sink += _Calibration.__allocationKernel();
+          }
+        }
+        if ((++calls) >= minCalls) {
+          time = (System.nanoTime() - startTime);
+          if (time > 30000000l) {
+            break loopy;
+          }
+        }
+      }
+
+      if (calls >= minCalls) {
+        minCalls = calls;
+      }
+      factor = ((time / 1e6d) / calls);
+      if (factor < bestFactor) {
+        bestFactor = factor;
+      }
+    }
+
+    _Calibration.s_sink += sink;
+    return bestFactor;
+  }
+
+  /**
+   * Create the pseudo-random points of the distance kernel
+   *
+   * @param x
+   *          the x-coordinates
+   * @param y
+   *          the y-coordinates
+   */
+  private static final void __points(final int[] x, final int[] y) {
+    long seed;
+    int i;
+
+    seed = 0x5deece66dl;
+    for (i = x.length; (--i) >= 0;) {
+      seed = ((seed * 0x5deece66dl) + 0xbl) & ((1l << 48) - 1l);
+      x[i] = ((int) ((seed >>> 17) % 100000l));
+      seed = ((seed * 0x5deece66dl) + 0xbl) & ((1l << 48) - 1l);
+      y[i] = ((int) ((seed >>> 17) % 100000l));
+    }
+  }
+
+  /**
+   * Create the random cycle of the memory kernel with Sattolo's algorithm
+   *
+   * @return the cycle
+   */
+  private static final int[] __chain() {
+    final int[] chain;
+    long seed;
+    int i, j, t;
+
+    chain = new int[_Calibration.MEMORY_SIZE];
+    for (i = chain.length; (--i) >= 0;) {
+      chain[i] = i;
+    }
+
+    seed = 0x2545f4914f6cdd1dl;
+    for (i = chain.length; (--i) > 0;) {
+      seed = ((seed * 0x5deece66dl) + 0xbl) & ((1l << 48) - 1l);
+      j = ((int) ((seed >>> 16) % i));
+      t = chain[i];
+      chain[i] = chain[j];
+      chain[j] = t;
+    }
+    return chain;
+  }
+
+  /**
+   * The distance kernel: construct a nearest neighbor tour
+   *
+   * @param x
+   *          the x-coordinates
+   * @param y
+   *          the y-coordinates
+   * @return the tour length
+   */
+  private static final long __distanceKernel(final int[] x, final int[] y) {
+    final int[] rem;
+    int size, last, best, bestIdx, d, dx, dy, i;
+    long length;
+
+    size = x.length;
+    rem = new int[size];
+    for (i = size; (--i) >= 0;) {
+      rem[i] = i;
+    }
+
+    length = 0l;
+    last = rem[--size];
+    while (size > 0) {
+      best = Integer.MAX_VALUE;
+      bestIdx = (-1);
+      for (i = size; (--i) >= 0;) {
+        dx = (x[last] - x[rem[i]]);
+        dy = (y[last] - y[rem[i]]);
+        d = ((int) (0.5d + Math.sqrt((((double) dx) * dx)
+            + (((double) dy) * dy))));
+        if (d < best) {
+          best = d;
+          bestIdx = i;
+        }
+      }
+      length += best;
+      last = rem[bestIdx];
+      rem[bestIdx] = rem[--size];
+    }
+    return length;
+  }
+
+  /**
+   * The memory kernel: follow the random cycle
+   *
+   * @param chain
+   *          the cycle
+   * @return the final position
+   */
+  private static final long __memoryKernel(final int[] chain) {
+    int i, p;
+
+    p = 0;
+    for (i = _Calibration.MEMORY_STEPS; (--i) >= 0;) {
+      p = chain[p];
+    }
+    return p;
+  }
+
+  /**
+   * The allocation kernel: create many short-lived arrays, a few of which
+   * survive a little longer
+   *
+   * @return a checksum
+   */
+  private static final long __allocationKernel() {
+    final int[][] ring;
+    int[] a;
+    long sum;
+    int i;
+
+    ring = new int[256][];
+    for (i = _Calibration.ALLOCATIONS; (--i) >= 0;) {
+      a = new int[_Calibration.ALLOCATION_LENGTH];
+      a[i & (_Calibration.ALLOCATION_LENGTH - 1)] = i;
+      ring[i & 255] = a;
+    }
+
+    sum = 0l;
+    for (final int[] b : ring) {
+      sum += b[0];
+    }
+    return sum;
+  }
+
+  /**
+   * Print the calibration to the system data section of a log file
+   *
+   * @param ps
+   *          the print stream
+   */
+  final void _print(final PrintStream ps) {
+    Configurable.printKey(ObjectiveFunction.CALIBRATION_DISTANCE, ps);
+    ps.println(this.m_distance);
+    Configurable.printKey(ObjectiveFunction.CALIBRATION_MEMORY, ps);
+    ps.println(this.m_memory);
+    Configurable.printKey(ObjectiveFunction.CALIBRATION_ALLOCATION, ps);
+    ps.println(this.m_allocation);
+    Configurable.printKey(ObjectiveFunction.CALIBRATION_FINGERPRINT, ps);
+    ps.println(this.m_fingerprint);
+    Configurable.printKey(ObjectiveFunction.CALIBRATION_CACHED, ps);
+    ps.println(this.m_cached);
+  }
+}
@@ -0,0 +1,172 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * A snapshot of the state of an ongoing run, taken by
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#checkpoint(Serializable)}
+ * . It holds everything the objective function needs to continue the run
+ * as if it had never been interrupted: the log points collected so far,
+ * the counters, the consumed runtime, the best tour, and the state of the
+ * randomizer. It may also hold the state of the optimization algorithm.
+ * Checkpoints are written to a temporary file first, which then replaces
+ * the previous checkpoint of the run atomically. Hence, a checkpoint file
+ * is always complete, even if the machine crashes while writing it.
+ * </p>
+ */
+final class _Checkpoint implements Serializable {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the suffix of temporary checkpoint files: {@value} */
+  private static final String TEMP_SUFFIX = ".tmp"; //$NON-NLS-1$
+
+  /** the name of the log file of the run */
+  String m_logFile;
+
+  /** the log file of the run, set when the checkpoint is loaded */
+  transient File m_file;
+
+  /** the number of nodes */
+  int m_n;
+
+  /** the maximum FEs of the run */
+  long m_maxFEs;
+
+  /** the maximum DEs of the run */
+  long m_maxDEs;
+
+  /** the maximum runtime of the run */
+  long m_maxTime;
+
+  /** the log points collected so far */
+  LogPoint[] m_log;
+
+  /** the current log point */
+  LogPoint m_currentLP;
+
+  /** the log point of the last improvement */
+  LogPoint m_lastImprovementLP;
+
+  /** the index of the next objective value to log */
+  int m_fIdx;
+
+  /** the next objective value to log */
+  long m_nextF;
+
+  /** the index of the next DE to log */
+  int m_deIdx;
+
+  /** the next DE to log */
+  long m_nextDE;
+
+  /** the index of the next FE to log */
+  int m_feIdx;
+
+  /** the next FE to log */
+  long m_nextFE;
+
+  /** should the next improvement be logged? */
+  boolean m_shouldLog;
+
+  /** has the best tour improved since the last log point? */
+  boolean m_fimproved;
+
+  /** the best tour */
+  int[] m_bestX;
+
+  /** the randomizer of the run */
+  Randomizer m_random;
+
+  /** the random seed of the run */
+  long m_randSeed;
+
+  /** the state of the algorithm, or {@code null} if none was stored */
+  Serializable m_state;
+
+  /** create */
+  _Checkpoint() {
+    super();
+  }
+
+  /**
+   * Store this checkpoint in a file: The checkpoint is first written to a
+   * temporary file which then atomically replaces {@code file}.
+   *
+   * @param file
+   *          the file
+   * @throws IOException
+   *           if i/o fails
+   */
+  final void _store(final File file) throws IOException {
+    final File temp;
+
+    temp = new File(file.getParentFile(),//
+        (file.getName() + _Checkpoint.TEMP_SUFFIX));
+    try (final ObjectOutputStream oos = new ObjectOutputStream(
+        new BufferedOutputStream(new FileOutputStream(temp)))) {
+      oos.writeObject(this);
+    }
+
+    try {
+      Files.move(temp.toPath(), file.toPath(),
+          StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (final AtomicMoveNotSupportedException amnse) {
+      Files.move(temp.toPath(), file.toPath(),
+          StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * Load a checkpoint from a file
+   *
+   * @param file
+   *          the file
+   * @return the checkpoint
+   * @throws IOException
+   *           if i/o fails
+   * @throws ClassNotFoundException
+   *           if the state of the algorithm belongs to an unknown class
+   */
+  static final _Checkpoint _load(final File file) throws IOException,
+      ClassNotFoundException {
+    try (final ObjectInputStream ois = new ObjectInputStream(
+        new BufferedInputStream(new FileInputStream(file)))) {
+      return ((_Checkpoint) (ois.readObject()));
+    }
+  }
+
+  /**
+   * Is a given file name the name of a checkpoint file or a temporary
+   * checkpoint file?
+   *
+   * @param name
+   *          the file name
+   * @return {@code true} if {@code name} belongs to a checkpoint,
+   *         {@code false} otherwise
+   */
+  static final boolean _isCheckpoint(final String name) {
+    return (name.endsWith(Benchmark.CHECKPOINT_SUFFIX) || //
+    name.endsWith(Benchmark.CHECKPOINT_SUFFIX + _Checkpoint.TEMP_SUFFIX));
+  }
+}
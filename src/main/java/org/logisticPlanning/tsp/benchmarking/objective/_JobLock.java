@@ -0,0 +1,281 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * The lock files by which several processes, possibly on different
+ * machines, share the runs of an experiment in a common output directory
+ * (see {@link Benchmark#PARAM_JOB_LOCK_TIMEOUT}). The process performing
+ * a run holds the lock file next to the log file of the run. A lock file
+ * is created atomically with {@link java.io.File#createNewFile()}, so only
+ * one process can obtain it. While the run is ongoing, this
+ * {@link java.lang.Thread daemon thread} regularly updates the time of
+ * the last modification of the lock file, its heartbeat. If the process
+ * dies, its lock files become stale once their heartbeat is older than
+ * the lock timeout and any other process can take them over.
+ * </p>
+ * <p>
+ * A stale lock file is taken over by first renaming it atomically to a
+ * name unique to the process. Only one process can succeed in doing so.
+ * If the renamed lock file turns out to be alive after all, i.e., if
+ * another process has taken over the lock in the meantime, it is renamed
+ * back. Otherwise, it is deleted and a new lock file is created.
+ * </p>
+ * <p>
+ * The heartbeats are compared with the local clock, so the clocks of the
+ * machines sharing an experiment should agree with each other much better
+ * than the lock timeout.
+ * </p>
+ */
+final class _JobLock extends Thread {
+
+  /** the suffix of the names of lock files being taken over: {@value} */
+  private static final String STALE_SUFFIX = ".stale"; //$NON-NLS-1$
+
+  /** the identifier of this process */
+  private static final String OWNER = _JobLock.__owner();
+
+  /** the number of lock files taken over */
+  private static final AtomicLong TAKEN_OVER = new AtomicLong();
+
+  /** the lock files held by this process */
+  private static final HashSet<File> HELD = new HashSet<>();
+
+  /** the instance */
+  private static _JobLock s_instance = null;
+
+  /** the interval between two heartbeats, in milliseconds */
+  private static long s_interval = Long.MAX_VALUE;
+
+  /** create */
+  private _JobLock() {
+    super("Job Lock Heartbeat"); //$NON-NLS-1$
+
+    this.setDaemon(true);
+  }
+
+  /**
+   * get the identifier of this process, usually made of the process id
+   * and the host name
+   *
+   * @return the identifier of this process
+   */
+  private static final String __owner() {
+    final StringBuilder sb;
+    String s;
+    char ch;
+
+    try {
+      s = ManagementFactory.getRuntimeMXBean().getName();
+    } catch (final Throwable t) {
+      s = null;
+    }
+    if ((s == null) || (s.isEmpty())) {
+      s = Long.toHexString(System.nanoTime());
+    }
+
+    sb = new StringBuilder(s.length());
+    for (final char c : s.toCharArray()) {
+      ch = c;
+      if (!(Character.isLetterOrDigit(ch) || (ch == '-'))) {
+        ch = '_';
+      }
+      sb.append(ch);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Is a given file name the name of a lock file or of a lock file being
+   * taken over?
+   *
+   * @param name
+   *          the file name
+   * @return {@code true} if {@code name} belongs to a lock file,
+   *         {@code false} otherwise
+   */
+  static final boolean _isLock(final String name) {
+    return (name.endsWith(Benchmark.LOCK_SUFFIX) || //
+    name.endsWith(_JobLock.STALE_SUFFIX));
+  }
+
+  /**
+   * Is a lock file held by any process, i.e., does it exist and is its
+   * heartbeat recent?
+   *
+   * @param lock
+   *          the lock file
+   * @param timeout
+   *          the lock timeout in milliseconds
+   * @return {@code true} if the lock is held, {@code false} if it does not
+   *         exist or is stale
+   */
+  static final boolean _isHeld(final File lock, final long timeout) {
+    final long time;
+
+    time = lock.lastModified();
+    return ((time > 0l) && //
+    ((System.currentTimeMillis() - time) <= timeout));
+  }
+
+  /**
+   * Try to obtain a lock file: either create it or take it over if it is
+   * stale.
+   *
+   * @param lock
+   *          the lock file
+   * @param timeout
+   *          the lock timeout in milliseconds
+   * @return {@code true} if this process now holds the lock,
+   *         {@code false} if someone else does
+   * @throws IOException
+   *           if i/o fails
+   */
+  static final boolean _acquire(final File lock, final long timeout)
+      throws IOException {
+    final File stale;
+
+    if (lock.createNewFile()) {
+      _JobLock.__hold(lock, timeout);
+      return true;
+    }
+
+    if (_JobLock._isHeld(lock, timeout)) {
+      return false;
+    }
+    if (!(lock.exists())) {
+      // the lock has just been released
+      if (lock.createNewFile()) {
+        _JobLock.__hold(lock, timeout);
+        return true;
+      }
+      return false;
+    }
+
+    // the lock is stale: only one process can rename it
+    stale = new File(lock.getParentFile(), (lock.getName() + '.'
+        + _JobLock.OWNER + '_' + _JobLock.TAKEN_OVER.incrementAndGet() + //
+    _JobLock.STALE_SUFFIX));
+    try {
+      Files.move(lock.toPath(), stale.toPath(),
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException ioe) {
+      return false;
+    }
+
+    if (_JobLock._isHeld(stale, timeout)) {
+      // someone else took the lock over right before we renamed it
+      try {
+        Files.move(stale.toPath(), lock.toPath(),
+            StandardCopyOption.ATOMIC_MOVE);
+      } catch (final IOException ioe) {
+        stale.delete();
+      }
+      return false;
+    }
+
+    stale.delete();
+    if (lock.createNewFile()) {
+      _JobLock.__hold(lock, timeout);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Release a lock file held by this process
+   *
+   * @param lock
+   *          the lock file
+   */
+  static final void _release(final File lock) {
+    synchronized (_JobLock.HELD) {
+      if (_JobLock.HELD.remove(lock)) {
+        lock.delete();
+      }
+    }
+  }
+
+  /**
+   * Register a lock file which has just been created by this process:
+   * write the identifier of the process into it, so that humans can see
+   * who is performing the run, and start the heartbeat.
+   *
+   * @param lock
+   *          the lock file
+   * @param timeout
+   *          the lock timeout in milliseconds
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final void __hold(final File lock, final long timeout)
+      throws IOException {
+    final long interval;
+
+    synchronized (_JobLock.HELD) {
+      _JobLock.HELD.add(lock);
+    }
+    try (final FileOutputStream fos = new FileOutputStream(lock)) {
+      fos.write(_JobLock.OWNER.getBytes());
+    } catch (final IOException ioe) {
+      _JobLock._release(lock);
+      throw ioe;
+    }
+
+    // we beat at least four times per timeout period
+    interval = Math.max(1l, (timeout >>> 2));
+    synchronized (_JobLock.HELD) {
+      if (interval < _JobLock.s_interval) {
+        _JobLock.s_interval = interval;
+        if (_JobLock.s_instance != null) {
+          LockSupport.unpark(_JobLock.s_instance);
+        }
+      }
+      if (_JobLock.s_instance == null) {
+        _JobLock.s_instance = new _JobLock();
+        _JobLock.s_instance.start();
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void run() {
+    long time, interval;
+
+    for (;;) {
+      // we touch the lock files while holding the lock on the set, so
+      // that no lock file can be released in between
+      synchronized (_JobLock.HELD) {
+        interval = _JobLock.s_interval;
+        time = System.currentTimeMillis();
+        for (final File lock : _JobLock.HELD) {
+          if (!(lock.setLastModified(time))) {
+            // someone has wrongly taken our lock over and released it
+            try {
+              lock.createNewFile();
+            } catch (final IOException ioe) {
+              // we will try again with the next heartbeat
+            }
+          }
+        }
+      }
+
+      LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(interval));
+    }
+  }
+}
@@ -0,0 +1,183 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.util.GregorianCalendar;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * A re-usable buffer for formatting log files. The text of a log is
+ * printed to this buffer. In the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ELogFormat#BINARY
+ * binary format}, the text printed so far is moved into a text block of a
+ * second buffer whenever log points or a solution are added in binary
+ * form. Once complete, the log is written to its file in one single
+ * operation.
+ * </p>
+ */
+final class _LogBuffer extends ByteArrayOutputStream {
+
+  /** the initial size of the buffers */
+  private static final int INITIAL_SIZE = (1 << 16);
+
+  /** buffers larger than this are not kept for re-use */
+  private static final int MAX_SIZE = (1 << 22);
+
+  /** the print stream writing to this buffer */
+  final PrintStream m_ps;
+
+  /** the calendar */
+  final GregorianCalendar m_calendar;
+
+  /** the buffer for binary logs, created when needed */
+  private ByteArrayOutputStream m_binary;
+
+  /** the binary buffer in use for the current log, or {@code null} */
+  private ByteArrayOutputStream m_current;
+
+  /** create */
+  _LogBuffer() {
+    super(_LogBuffer.INITIAL_SIZE);
+    try {
+      this.m_ps = new PrintStream(this, false, "UTF-8"); //$NON-NLS-1$
+    } catch (final UnsupportedEncodingException uee) {
+      throw new RuntimeException(uee);
+    }
+    this.m_calendar = new GregorianCalendar();
+  }
+
+  /**
+   * format a log and write it to its file
+   *
+   * @param log
+   *          the log
+   * @throws IOException
+   *           if i/o fails
+   */
+  final void _write(final _RunLog log) throws IOException {
+    ByteArrayOutputStream binary;
+
+    this.reset();
+    binary = null;
+    if (log.m_binary) {
+      binary = this.m_binary;
+      if (binary == null) {
+        this.m_binary = binary = new ByteArrayOutputStream(
+            _LogBuffer.INITIAL_SIZE);
+      } else {
+        binary.reset();
+      }
+      BinaryLog._writeHeader(binary);
+    }
+
+    this.m_current = binary;
+    try {
+      ObjectiveFunction._writeLog(log, this);
+      this.m_ps.flush();
+
+      try (final FileOutputStream fos = new FileOutputStream(log.m_file)) {
+        if (binary != null) {
+          this.__flushText();
+          BinaryLog._writeEnd(binary);
+          binary.writeTo(fos);
+        } else {
+          fos.write(this.buf, 0, this.count);
+        }
+      }
+
+      // the run is complete, so it must never be resumed
+      if (log.m_checkpoint != null) {
+        Benchmark._releaseCheckpoint(log.m_checkpoint);
+      }
+    } catch (final IOException ioe) {
+      // a partially written log must not count as a completed run
+      _LogBuffer.__truncate(log.m_file);
+      throw ioe;
+    } catch (final RuntimeException re) {
+      _LogBuffer.__truncate(log.m_file);
+      throw re;
+    } finally {
+      // if the log could not be written, someone else may redo the run
+      if (log.m_lock != null) {
+        _JobLock._release(log.m_lock);
+      }
+      this.m_current = null;
+      if (this.buf.length > _LogBuffer.MAX_SIZE) {
+        this.buf = new byte[_LogBuffer.INITIAL_SIZE];
+        this.count = 0;
+      }
+      if ((binary != null) && (binary.size() > _LogBuffer.MAX_SIZE)) {
+        this.m_binary = null;
+      }
+    }
+  }
+
+  /**
+   * truncate a log file which could not be written completely to an empty
+   * file, which marks its run as interrupted
+   *
+   * @param file
+   *          the log file
+   */
+  private static final void __truncate(final File file) {
+    try {
+      new FileOutputStream(file).close();
+    } catch (final IOException ioe) {
+      // the original error is more important
+    }
+  }
+
+  /**
+   * move the text printed so far into a text block
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  private final void __flushText() throws IOException {
+    this.m_ps.flush();
+    BinaryLog._writeText(this.m_current, this.buf, 0, this.count);
+    this.reset();
+  }
+
+  /**
+   * add the log points in binary form
+   *
+   * @param log
+   *          the log points
+   * @param optimum
+   *          the optimum
+   * @param timeNormalizationFactor
+   *          the time normalization factor
+   * @throws IOException
+   *           if i/o fails
+   */
+  final void _points(final LogPoint[] log, final long optimum,
+      final double timeNormalizationFactor) throws IOException {
+    this.__flushText();
+    BinaryLog._writePoints(this.m_current, log, log.length, optimum,
+        timeNormalizationFactor);
+  }
+
+  /**
+   * add a solution in binary form
+   *
+   * @param key
+   *          the key
+   * @param path
+   *          the solution in path representation
+   * @throws IOException
+   *           if i/o fails
+   */
+  final void _path(final String key, final int[] path) throws IOException {
+    this.__flushText();
+    BinaryLog._writePath(this.m_current, key, path, true);
+  }
+}
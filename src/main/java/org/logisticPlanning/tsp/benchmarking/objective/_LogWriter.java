@@ -0,0 +1,221 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * The writer for the log files of runs. A log file is formatted completely
+ * in memory, in a
+ * {@link org.logisticPlanning.tsp.benchmarking.objective._LogBuffer buffer}
+ * which is re-used for all logs written by the same thread, and then
+ * written to its file in one single operation.
+ * </p>
+ * <p>
+ * If a
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_LOG_WRITER_QUEUE
+ * log writer queue} is configured, this is not done in the thread which
+ * performed the run: its
+ * {@link org.logisticPlanning.tsp.benchmarking.objective._RunLog snapshot}
+ * is put into a bounded queue and written by a single background thread,
+ * which takes all waiting logs at once whenever it wakes up. If the queue
+ * is full, the log is written synchronously, so a slow disk slows down
+ * the runs instead of filling the memory. All waiting logs are written
+ * before the JVM shuts down, and
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#flushLogs()}
+ * waits until all logs have been written.
+ * </p>
+ * <p>
+ * A log which cannot be written is truncated to an empty file, so that its
+ * run counts as interrupted instead of completed. If this happens in the
+ * background thread, the error is kept and thrown by {@link #_flush()}.
+ * It is not thrown when another run ends, since that run has nothing to
+ * do with it and its log must still be written.
+ * </p>
+ */
+final class _LogWriter extends Thread {
+
+  /** the synchronizer */
+  private static final Object SYNC = new Object();
+
+  /** the buffers for writing logs synchronously */
+  private static final ThreadLocal<_LogBuffer> OUTPUT = new ThreadLocal<_LogBuffer>() {
+    @Override
+    protected final _LogBuffer initialValue() {
+      return new _LogBuffer();
+    }
+  };
+
+  /** the instance */
+  private static _LogWriter s_instance = null;
+
+  /** the number of logs queued but not yet written */
+  private static int s_pending = 0;
+
+  /**
+   * the error which occurred while writing a log in the background and
+   * which has not been reported yet, or {@code null}
+   */
+  private static IOException s_error = null;
+
+  /** the queue */
+  private final ArrayBlockingQueue<_RunLog> m_queue;
+
+  /**
+   * create
+   *
+   * @param capacity
+   *          the capacity of the queue
+   */
+  private _LogWriter(final int capacity) {
+    super("Log Writer"); //$NON-NLS-1$
+    this.m_queue = new ArrayBlockingQueue<>(capacity);
+    this.setDaemon(true);
+  }
+
+  /**
+   * Write a log, either asynchronously or synchronously
+   *
+   * @param log
+   *          the log
+   * @param queueSize
+   *          the capacity of the queue of the log writer thread, which is
+   *          used when the thread is created, or {@code 0} if the log
+   *          should be written synchronously
+   * @throws IOException
+   *           if the log is written synchronously and i/o fails
+   */
+  static final void _write(final _RunLog log, final int queueSize)
+      throws IOException {
+    _LogWriter writer;
+
+    if (queueSize > 0) {
+      synchronized (_LogWriter.SYNC) {
+        writer = _LogWriter.s_instance;
+        if (writer == null) {
+          _LogWriter.s_instance = writer = new _LogWriter(queueSize);
+          writer.start();
+          Runtime.getRuntime().addShutdownHook(new __Flush());
+        }
+        _LogWriter.s_pending++;
+      }
+
+      if (writer.m_queue.offer(log)) {
+        return;
+      }
+      _LogWriter.__done();
+    }
+
+    _LogWriter.OUTPUT.get()._write(log);
+  }
+
+  /** one queued log has been written */
+  private static final void __done() {
+    synchronized (_LogWriter.SYNC) {
+      if ((--_LogWriter.s_pending) <= 0) {
+        _LogWriter.SYNC.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * throw the error which occurred while writing a log in the background,
+   * if any, and forget it
+   *
+   * @throws IOException
+   *           the error
+   */
+  private static final void __checkError() throws IOException {
+    final IOException error;
+
+    synchronized (_LogWriter.SYNC) {
+      error = _LogWriter.s_error;
+      _LogWriter.s_error = null;
+    }
+    if (error != null) {
+      throw error;
+    }
+  }
+
+  /**
+   * wait until all queued logs have been written
+   *
+   * @throws IOException
+   *           if writing a log in the background has failed
+   */
+  static final void _flush() throws IOException {
+    synchronized (_LogWriter.SYNC) {
+      while (_LogWriter.s_pending > 0) {
+        try {
+          _LogWriter.SYNC.wait();
+        } catch (final InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+    }
+    _LogWriter.__checkError();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void run() {
+    final ArrayList<_RunLog> batch;
+    final _LogBuffer out;
+
+    batch = new ArrayList<>();
+    out = new _LogBuffer();
+
+    for (;;) {
+      try {
+        batch.add(this.m_queue.take());
+      } catch (final InterruptedException ie) {
+        continue;
+      }
+      this.m_queue.drainTo(batch);
+
+      for (final _RunLog log : batch) {
+        try {
+          out._write(log);
+        } catch (final Throwable t) {
+          synchronized (_LogWriter.SYNC) {
+            if (_LogWriter.s_error == null) {
+              _LogWriter.s_error = new IOException(//
+                  "Could not write log file " + log.m_file, t); //$NON-NLS-1$
+            } else {
+              _LogWriter.s_error.addSuppressed(t);
+            }
+          }
+        } finally {
+          _LogWriter.__done();
+        }
+      }
+      batch.clear();
+    }
+  }
+
+  /** the shutdown hook writing all waiting logs */
+  private static final class __Flush extends Thread {
+
+    /** create */
+    __Flush() {
+      super("Log Writer Shutdown"); //$NON-NLS-1$
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void run() {
+      try {
+        _LogWriter._flush();
+      } catch (final IOException ioe) {
+        // the JVM is shutting down, there is nobody else to tell
+        ioe.printStackTrace();
+      }
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * A tour sent from one
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#fork()
+ * fork} to another one, see
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#setMigrationTarget(ObjectiveFunction)}
+ * . Migrants are immutable, so they can be passed between threads without
+ * locking.
+ * </p>
+ */
+final class _Migrant {
+
+  /** the tour in path representation */
+  final int[] m_tour;
+
+  /** the tour length */
+  final long m_length;
+
+  /**
+   * create
+   *
+   * @param tour
+   *          the tour in path representation
+   * @param length
+   *          the tour length
+   */
+  _Migrant(final int[] tour, final long length) {
+    super();
+    this.m_tour = tour;
+    this.m_length = length;
+  }
+}
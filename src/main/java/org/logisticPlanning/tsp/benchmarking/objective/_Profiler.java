@@ -0,0 +1,227 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * The profiler of an objective function, used if the parameter
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_PROFILE}
+ * is set. Whenever a log point is stored, it measures the CPU time and
+ * the bytes allocated by the thread performing the run as well as the
+ * time spent in garbage collection since the run began. The CPU time
+ * and the allocations of tasks performed on
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#fork()
+ * forks} in other threads are measured in their
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.TaskRecord task
+ * records} and added when the records are merged into the run. The
+ * corresponding JMX calls are much more expensive than
+ * {@link java.lang.System#currentTimeMillis()}, but log points are rare.
+ * </p>
+ */
+final class _Profiler {
+
+  /** the thread management bean */
+  private static final ThreadMXBean THREADS = ManagementFactory
+      .getThreadMXBean();
+
+  /** the garbage collector beans */
+  private static final List<GarbageCollectorMXBean> GCS = ManagementFactory
+      .getGarbageCollectorMXBeans();
+
+  /** the thread management bean, if it can measure allocations */
+  private static final com.sun.management.ThreadMXBean ALLOCATION;
+
+  static {
+    com.sun.management.ThreadMXBean alloc;
+
+    alloc = null;
+    try {
+      if (_Profiler.THREADS instanceof com.sun.management.ThreadMXBean) {
+        alloc = ((com.sun.management.ThreadMXBean) (_Profiler.THREADS));
+        if (!(alloc.isThreadAllocatedMemorySupported())) {
+          alloc = null;
+        } else {
+          if (!(alloc.isThreadAllocatedMemoryEnabled())) {
+            alloc.setThreadAllocatedMemoryEnabled(true);
+          }
+        }
+      }
+    } catch (final Throwable t) {
+      alloc = null;
+    }
+    ALLOCATION = alloc;
+  }
+
+  /** the CPU time at the beginning of the run, in nanoseconds */
+  private long m_cpuStart;
+
+  /** the allocated bytes at the beginning of the run */
+  private long m_allocStart;
+
+  /** the garbage collection time at the beginning of the run */
+  private long m_gcStart;
+
+  /** the CPU time to add, e.g., for the initialization procedure */
+  private long m_cpuOffset;
+
+  /** the allocated bytes to add */
+  private long m_allocOffset;
+
+  /** the garbage collection time to add */
+  private long m_gcOffset;
+
+  /** the id of the thread performing the run */
+  private long m_thread;
+
+  /** the CPU time of the tasks performed in other threads, in nanoseconds */
+  private long m_cpuTasks;
+
+  /**
+   * the bytes allocated by the tasks performed in other threads, or
+   * {@code -1} if unknown
+   */
+  private long m_allocTasks;
+
+  /** create */
+  private _Profiler() {
+    super();
+  }
+
+  /**
+   * Create a profiler, if the JVM can measure the CPU time of threads
+   *
+   * @return the profiler, or {@code null} if the JVM cannot measure the
+   *         CPU time of threads
+   */
+  static final _Profiler _create() {
+    try {
+      if (!(_Profiler.THREADS.isCurrentThreadCpuTimeSupported())) {
+        return null;
+      }
+      if (!(_Profiler.THREADS.isThreadCpuTimeEnabled())) {
+        _Profiler.THREADS.setThreadCpuTimeEnabled(true);
+      }
+    } catch (final Throwable t) {
+      return null;
+    }
+    return new _Profiler();
+  }
+
+  /**
+   * get the total time spent in garbage collection
+   *
+   * @return the total time spent in garbage collection
+   */
+  private static final long __gcTime() {
+    long sum, t;
+
+    sum = 0l;
+    for (final GarbageCollectorMXBean gc : _Profiler.GCS) {
+      t = gc.getCollectionTime();
+      if (t > 0l) {
+        sum += t;
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * get the number of bytes allocated by the current thread
+   *
+   * @return the number of bytes allocated by the current thread, or
+   *         {@code -1} if unknown
+   */
+  static final long _allocated() {
+    if (_Profiler.ALLOCATION == null) {
+      return (-1l);
+    }
+    return _Profiler.ALLOCATION.getThreadAllocatedBytes(Thread
+        .currentThread().getId());
+  }
+
+  /**
+   * get the CPU time consumed by the current thread
+   *
+   * @return the CPU time consumed by the current thread, in nanoseconds,
+   *         or {@code -1} if unknown
+   */
+  static final long _cpuTime() {
+    return _Profiler.THREADS.getCurrentThreadCpuTime();
+  }
+
+  /**
+   * Begin a run in the current thread. The run must be performed in this
+   * thread.
+   *
+   * @param offset
+   *          the log point whose profile should be continued, e.g., the
+   *          end of the deterministic initialization procedure, or
+   *          {@code null} to start from zero
+   */
+  final void _begin(final LogPoint offset) {
+    if ((offset != null) && (offset.m_cpuTime >= 0l)) {
+      this.m_cpuOffset = offset.m_cpuTime;
+      this.m_allocOffset = offset.m_allocated;
+      this.m_gcOffset = offset.m_gcTime;
+    } else {
+      this.m_cpuOffset = 0l;
+      this.m_allocOffset = 0l;
+      this.m_gcOffset = 0l;
+    }
+
+    this.m_thread = Thread.currentThread().getId();
+    this.m_cpuTasks = 0l;
+    this.m_allocTasks = 0l;
+    this.m_gcStart = _Profiler.__gcTime();
+    this.m_allocStart = _Profiler._allocated();
+    this.m_cpuStart = _Profiler._cpuTime();
+  }
+
+  /**
+   * Add the CPU time and the allocations of a task which is merged into
+   * the run. Tasks performed in the thread of the run are ignored, since
+   * they are already measured.
+   *
+   * @param record
+   *          the record of the task
+   */
+  final void _addTask(final TaskRecord record) {
+    if ((record.m_thread < 0l) || (record.m_thread == this.m_thread)) {
+      return;
+    }
+    if (record.m_cpuTime > 0l) {
+      this.m_cpuTasks += record.m_cpuTime;
+    }
+    if ((record.m_allocated < 0l) || (this.m_allocTasks < 0l)) {
+      this.m_allocTasks = (-1l);
+    } else {
+      this.m_allocTasks += record.m_allocated;
+    }
+  }
+
+  /**
+   * Store the current profile in a log point
+   *
+   * @param dest
+   *          the log point
+   */
+  final void _sample(final LogPoint dest) {
+    final long alloc;
+
+    dest.m_cpuTime = (this.m_cpuOffset + //
+    (((_Profiler._cpuTime() - this.m_cpuStart) + this.m_cpuTasks) / 1000000l));
+    alloc = _Profiler._allocated();
+    dest.m_allocated = (((alloc < 0l) || (this.m_allocStart < 0l) || //
+        (this.m_allocOffset < 0l) || (this.m_allocTasks < 0l)) ? (-1l) : //
+        (this.m_allocOffset + (alloc - this.m_allocStart) + //
+        this.m_allocTasks));
+    dest.m_gcTime = (this.m_gcOffset + (_Profiler.__gcTime() - this.m_gcStart));
+  }
+}
@@ -0,0 +1,151 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.File;
+
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * A snapshot of all the information of a finished run which goes into its
+ * log file. It is filled by
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#endRun()}
+ * , which copies all mutable data and already renders everything that
+ * depends on other objects (such as the configuration of the algorithm or
+ * the validation of the best solution) to text. It is then handed to the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective._LogWriter log
+ * writer}, which may write it in a different thread while the objective
+ * function is already used for the next run. Once handed over, a snapshot
+ * is never changed again.
+ * </p>
+ */
+final class _RunLog {
+
+  /** the file to write to */
+  File m_file;
+
+  /**
+   * the checkpoint file of the run, which is deleted once the log has been
+   * written, or {@code null} if the run has none
+   */
+  File m_checkpoint;
+
+  /**
+   * the lock file of the run, which is released once the log has been
+   * written, or {@code null} if the run has none
+   */
+  File m_lock;
+
+  /** should the log be written in the binary format? */
+  boolean m_binary;
+
+  /** the benchmark instance */
+  Instance m_instance;
+
+  /** the configuration of the benchmark */
+  String m_benchmarkConfig;
+
+  /** the name of the algorithm, or {@code null} if none */
+  String m_algorithmName;
+
+  /** the class of the algorithm */
+  Class<?> m_algorithmClass;
+
+  /** the configuration of the algorithm, or {@code null} if none */
+  String m_algorithmConfig;
+
+  /** the name of the initializer, or {@code null} if none */
+  String m_initializerName;
+
+  /** the class of the initializer */
+  Class<?> m_initializerClass;
+
+  /** the configuration of the initializer, or {@code null} if none */
+  String m_initializerConfig;
+
+  /** the log points */
+  LogPoint[] m_log;
+
+  /** the optimum */
+  long m_optimum;
+
+  /** the time normalization factor */
+  double m_timeNormalizationFactor;
+
+  /**
+   * the calibration used for normalizing the runtime, or {@code null} if
+   * the runtime was normalized with the speed benchmark on the instance
+   */
+  _Calibration m_calibration;
+
+  /** the best solution, or {@code null} if no FE was performed */
+  int[] m_bestX;
+
+  /** the validation result of the best solution */
+  String m_bestValidation;
+
+  /** the random seed */
+  long m_randSeed;
+
+  /** the start time */
+  long m_startTime;
+
+  /** the end time */
+  long m_endTime;
+
+  /** the runtime */
+  long m_runTime;
+
+  /** the log point at the end of the initialization */
+  LogPoint m_initLP;
+
+  /**
+   * the log point at the end of a profiled run, or {@code null} if the
+   * run was not profiled
+   */
+  LogPoint m_profile;
+
+  /** the random seed of the initialization */
+  long m_initRandSeed;
+
+  /** the start time of the initialization */
+  long m_initStartTime;
+
+  /** the end time of the initialization */
+  long m_initEndTime;
+
+  /** the best solution of the initialization, or {@code null} */
+  int[] m_initBestX;
+
+  /** the validation result of the best solution of the initialization */
+  String m_initValidation;
+
+  /** the exception during the initialization, or {@code null} */
+  Throwable m_initException;
+
+  /** the exception during the run, or {@code null} */
+  Throwable m_runException;
+
+  /** the number of available processors */
+  int m_processors;
+
+  /** the free memory */
+  long m_freeMemory;
+
+  /** the maximum memory */
+  long m_maxMemory;
+
+  /** the total memory */
+  long m_totalMemory;
+
+  /** the creator information, or {@code null} if none */
+  String m_creator;
+
+  /** create */
+  _RunLog() {
+    super();
+  }
+}
@@ -0,0 +1,60 @@
+package org.logisticPlanning.tsp.benchmarking.objective;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * An entry in the shared data cache of a
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark
+ * benchmark}. It creates its data on first request, while all other
+ * threads requesting it wait, and remembers the number of distance
+ * evaluations (DEs) the creation took.
+ * </p>
+ */
+final class _SharedData {
+
+  /** the data */
+  private Object m_data;
+
+  /** the DEs needed for creating the data */
+  private long m_des;
+
+  /** has the data been created? */
+  private boolean m_created;
+
+  /** create */
+  _SharedData() {
+    super();
+  }
+
+  /**
+   * get the data, create it if necessary
+   *
+   * @param factory
+   *          the factory
+   * @param f
+   *          the objective function
+   * @param charging
+   *          the charging policy
+   * @return the data
+   */
+  synchronized final Object _get(final ISharedDataFactory<?> factory,
+      final ObjectiveFunction f, final ESharedDataCharging charging) {
+    final long des;
+
+    if (this.m_created) {
+      if (charging == ESharedDataCharging.CHARGE_EVERY_RUN) {
+        f._chargeDEs(this.m_des);
+      }
+      return this.m_data;
+    }
+
+    des = f.getCurrentLogPoint().getConsumedDEs();
+    this.m_data = factory.create(f);
+    this.m_des = (f.getCurrentLogPoint().getConsumedDEs() - des);
+    this.m_created = true;
+    return this.m_data;
+  }
+}
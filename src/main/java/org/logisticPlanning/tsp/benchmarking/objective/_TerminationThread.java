@@ -1,39 +1,95 @@
 package org.logisticPlanning.tsp.benchmarking.objective;
 
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
 /**
  * <p>
  * This class is an internal class. Please do not instantiate it, use it by
  * yourself, or otherwise meddle with it.
  * </p>
+ * <p>
  * This internal {@link java.lang.Thread thread} takes care of end times.
  * We could also check whether a runtime limit is reached by calling
  * {@link java.lang.System#currentTimeMillis()}, but this would be costly
  * (system calls!) and waste time during optimization. Thus, instead, we
- * have this thread which {@link java.lang.Object#wait(long) sleeps} until
- * the time limit of an objective function is reached and then updates its
+ * have this thread which
+ * {@link java.util.concurrent.locks.LockSupport#parkNanos(long) sleeps}
+ * until the time limit of an objective function is reached and then
+ * updates its
  * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#shouldTerminate()
  * termination criterion}. As one thread is shared for all instances of
  * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction
  * ObjectiveFunction}, this method is very resource-friendly and saves
- * runtime.</p>
+ * runtime.
+ * </p>
+ * <p>
+ * The objective functions waiting for their end time are held in several
+ * stripes, each of which is a binary min-heap ordered by end time and
+ * protected by its own lock. A function is registered in the stripe
+ * belonging to the thread which begins its run, so threads running
+ * concurrently rarely compete for the same lock. Each function remembers
+ * its position in its heap, so registering and removing it takes only
+ * {@code O(log k)} steps for {@code k} functions in the stripe. The timer
+ * thread wakes up when the earliest end time over all stripes is reached
+ * or when a function with an earlier end time is registered.
+ * </p>
  */
 final class _TerminationThread extends Thread {
 
-  /** the synchronizer */
+  /** the maximum number of stripes */
+  private static final int MAX_STRIPES = 64;
+
+  /** the initial capacity of a stripe */
+  private static final int INITIAL_CAPACITY = 16;
+
+  /** the stripes */
+  private static final __Stripe[] STRIPES = _TerminationThread
+      .__makeStripes();
+
+  /** the synchronizer for starting the thread */
   private static final Object SYNC = new Object();
 
-  /** the queue */
-  private static volatile ObjectiveFunction s_queue = null;
   /** the instance */
   private static volatile _TerminationThread s_instance = null;
 
+  /**
+   * the time when the timer thread will wake up next, or
+   * {@link java.lang.Long#MAX_VALUE} if it is either checking the stripes
+   * or waiting without limit
+   */
+  private static volatile long s_wakeUp = Long.MAX_VALUE;
+
   /** create */
   private _TerminationThread() {
-    super();
+    super("Termination Timer"); //$NON-NLS-1$
 
     this.setDaemon(true);
   }
 
+  /**
+   * create the stripes
+   *
+   * @return the stripes
+   */
+  private static final __Stripe[] __makeStripes() {
+    final __Stripe[] stripes;
+    int count;
+
+    count = 1;
+    while ((count < _TerminationThread.MAX_STRIPES)
+        && (count < (Runtime.getRuntime().availableProcessors() << 1))) {
+      count <<= 1;
+    }
+
+    stripes = new __Stripe[count];
+    for (; (--count) >= 0;) {
+      stripes[count] = new __Stripe();
+    }
+    return stripes;
+  }
+
   /**
    * enqueue the objective function
    *
@@ -42,7 +98,8 @@ final class _TerminationThread extends Thread {
    */
   static final void _enqueue(final ObjectiveFunction f) {
     final long t;
-    ObjectiveFunction prev, next;
+    final __Stripe stripe;
+    final int index;
 
     if (f == null) {
       return;
@@ -52,37 +109,30 @@ final class _TerminationThread extends Thread {
       return;
     }
 
-    synchronized (_TerminationThread.SYNC) {
-
-      prev = null;
-      next = _TerminationThread.s_queue;
+    index = (((int) (Thread.currentThread().getId())) & //
+    (_TerminationThread.STRIPES.length - 1));
+    stripe = _TerminationThread.STRIPES[index];
 
-      while (next != null) {
-        if (next == f) {
-          return;
-        }
-        if (next.m_endTime > f.m_endTime) {
-          break;
-        }
-        prev = next;
-        next = next.m_next;
-      }
-
-      f.m_next = next;
-      if (prev != null) {
-        prev.m_next = f;
+    synchronized (stripe) {
+      if (f.m_timerSlot > 0) {
         return;
       }
+      f.m_timerStripe = index;
+      stripe._add(f);
+    }
 
-      _TerminationThread.s_queue = f;
-
-      if (_TerminationThread.s_instance == null) {
-        _TerminationThread.s_instance = new _TerminationThread();
-        _TerminationThread.s_instance.start();
-        return;
+    if (_TerminationThread.s_instance == null) {
+      synchronized (_TerminationThread.SYNC) {
+        if (_TerminationThread.s_instance == null) {
+          _TerminationThread.s_instance = new _TerminationThread();
+          _TerminationThread.s_instance.start();
+          return;
+        }
       }
+    }
 
-      _TerminationThread.SYNC.notifyAll();
+    if (t < _TerminationThread.s_wakeUp) {
+      LockSupport.unpark(_TerminationThread.s_instance);
     }
   }
 
@@ -93,62 +143,211 @@ final class _TerminationThread extends Thread {
    *          the function
    */
   static final void _dequeue(final ObjectiveFunction f) {
-    ObjectiveFunction cur, next;
-    if (f == null) {
+    final __Stripe stripe;
+
+    if ((f == null) || (f.m_timerSlot <= 0)) {
       return;
     }
 
-    synchronized (_TerminationThread.SYNC) {
-      cur = null;
-      next = _TerminationThread.s_queue;
-
-      while (next != null) {
-        if (next == f) {
-          if (cur == null) {
-            _TerminationThread.s_queue = next.m_next;
-            _TerminationThread.SYNC.notifyAll();
-            return;
-          }
-          cur.m_next = next.m_next;
-          return;
-        }
-        cur = next;
-        next = next.m_next;
+    stripe = _TerminationThread.STRIPES[f.m_timerStripe];
+    synchronized (stripe) {
+      if (f.m_timerSlot > 0) {
+        stripe._remove(f.m_timerSlot - 1);
       }
     }
+    // no need to wake up the timer thread: if it wakes up for nothing, it
+    // will just wait again
   }
 
   /** {@inheritDoc} */
   @Override
   public final void run() {
-    long time;
+    long time, next, t;
 
     for (;;) {
+      // any function registered from now on will wake us up
+      _TerminationThread.s_wakeUp = Long.MAX_VALUE;
+
       time = System.currentTimeMillis();
+      next = Long.MAX_VALUE;
+      for (final __Stripe stripe : _TerminationThread.STRIPES) {
+        synchronized (stripe) {
+          t = stripe._expire(time);
+        }
+        if (t < next) {
+          next = t;
+        }
+      }
 
-      synchronized (_TerminationThread.SYNC) {
+      _TerminationThread.s_wakeUp = next;
+      if (next >= Long.MAX_VALUE) {
+        LockSupport.park(this);
+      } else {
+        LockSupport.parkNanos(this,
+            TimeUnit.MILLISECONDS.toNanos(Math.max(1l, (next - time))));
+      }
+    }
+  }
+
+  /**
+   * A stripe: a binary min-heap of objective functions ordered by their
+   * end time. All methods must be called while holding the lock of the
+   * stripe. Each function stores its index in the heap plus one in
+   * {@link ObjectiveFunction#m_timerSlot}, which is {@code 0} if it is not
+   * in any heap.
+   */
+  private static final class __Stripe {
+
+    /** the heap */
+    private ObjectiveFunction[] m_heap;
+
+    /** the number of functions in the heap */
+    private int m_size;
+
+    /** create */
+    __Stripe() {
+      super();
+      this.m_heap = new ObjectiveFunction[_TerminationThread.INITIAL_CAPACITY];
+    }
+
+    /**
+     * place a function at a given heap index
+     *
+     * @param f
+     *          the function
+     * @param index
+     *          the index
+     */
+    private final void __set(final ObjectiveFunction f, final int index) {
+      this.m_heap[index] = f;
+      f.m_timerSlot = (index + 1);
+    }
+
+    /**
+     * move a function up in the heap until its parent ends earlier
+     *
+     * @param f
+     *          the function
+     * @param start
+     *          the index to start at
+     */
+    private final void __up(final ObjectiveFunction f, final int start) {
+      final ObjectiveFunction[] heap;
+      ObjectiveFunction parent;
+      int index, p;
+
+      heap = this.m_heap;
+      index = start;
+      while (index > 0) {
+        p = ((index - 1) >>> 1);
+        parent = heap[p];
+        if (parent.m_endTime <= f.m_endTime) {
+          break;
+        }
+        this.__set(parent, index);
+        index = p;
+      }
+      this.__set(f, index);
+    }
+
+    /**
+     * move a function down in the heap until its children end later
+     *
+     * @param f
+     *          the function
+     * @param start
+     *          the index to start at
+     */
+    private final void __down(final ObjectiveFunction f, final int start) {
+      final ObjectiveFunction[] heap;
+      final int size;
+      ObjectiveFunction child;
+      int index, c;
 
-        inner: for (;;) {
-          if (_TerminationThread.s_queue == null) {
-            _TerminationThread.s_instance = null;
-            return;
-          }
-
-          if (_TerminationThread.s_queue.m_endTime <= time) {
-            _TerminationThread.s_queue.m_terminate = true;
-            _TerminationThread.s_queue = _TerminationThread.s_queue.m_next;
-          } else {
-            break inner;
-          }
+      heap = this.m_heap;
+      size = this.m_size;
+      index = start;
+      for (;;) {
+        c = ((index << 1) + 1);
+        if (c >= size) {
+          break;
+        }
+        child = heap[c];
+        if (((c + 1) < size) && (heap[c + 1].m_endTime < child.m_endTime)) {
+          child = heap[++c];
+        }
+        if (f.m_endTime <= child.m_endTime) {
+          break;
         }
+        this.__set(child, index);
+        index = c;
+      }
+      this.__set(f, index);
+    }
+
+    /**
+     * add a function
+     *
+     * @param f
+     *          the function
+     */
+    final void _add(final ObjectiveFunction f) {
+      if (this.m_size >= this.m_heap.length) {
+        this.m_heap = Arrays.copyOf(this.m_heap, (this.m_heap.length << 1));
+      }
+      this.__up(f, this.m_size++);
+    }
+
+    /**
+     * remove the function at the given index
+     *
+     * @param index
+     *          the index
+     */
+    final void _remove(final int index) {
+      final ObjectiveFunction[] heap;
+      final ObjectiveFunction removed, last;
+      final int size;
+
+      heap = this.m_heap;
+      removed = heap[index];
+      removed.m_timerSlot = 0;
+
+      size = (--this.m_size);
+      last = heap[size];
+      heap[size] = null;
+      if (index >= size) {
+        return;
+      }
+
+      if ((index > 0) && (last.m_endTime < heap[(index - 1) >>> 1].m_endTime)) {
+        this.__up(last, index);
+      } else {
+        this.__down(last, index);
+      }
+    }
+
+    /**
+     * mark all functions whose end time has been reached as to be
+     * terminated and remove them
+     *
+     * @param time
+     *          the current time
+     * @return the earliest end time of the remaining functions, or
+     *         {@link java.lang.Long#MAX_VALUE} if there are none
+     */
+    final long _expire(final long time) {
+      ObjectiveFunction f;
 
-        try {
-          _TerminationThread.SYNC.wait(Math.max(0l,
-              (_TerminationThread.s_queue.m_endTime - time)));
-        } catch (final InterruptedException ie) {
-          continue;
+      while (this.m_size > 0) {
+        f = this.m_heap[0];
+        if (f.m_endTime > time) {
+          return f.m_endTime;
         }
+        f.m_terminate = true;
+        this._remove(0);
       }
+      return Long.MAX_VALUE;
     }
   }
 }
@@ -563,18 +563,133 @@ public enum Accessor {
     }
   },
 
+  /**
+   * the CPU time accessor: the CPU time consumed by the thread performing
+   * a
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_PROFILE
+   * profiled} run, or the {@link #RUNTIME absolute runtime} if the run was
+   * not profiled
+   */
+  CPU_TIME(DataPoint.CPU_TIME_INDEX, "CT", null,//$NON-NLS-1$
+      "CPU time", false) {//$NON-NLS-1$
+    /** {@inheritDoc} */
+    @Override
+    public final double fromPoint(final DataPoint p) {
+      return ((p == null) ? Double.POSITIVE_INFINITY : p
+          .get(DataPoint.CPU_TIME_INDEX));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean canAccessAsLong() {
+      return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final long fromPointLong(final DataPoint p) {
+      if (p == null) {
+        return Long.MAX_VALUE;
+      }
+      return (p.isProfiled() ? p.getConsumedCPUTime() : p
+          .getConsumedRuntime());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final long calculateScale(final int n) {
+      return (n);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean isScaled() {
+      return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void define(final Header header) throws IOException {
+      super.define(header);
+      Macros.SCALE.define(header);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final String getScaleString() {
+      return Macros.SCALE.getPlaceholder();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void writeScale(final Element ame) throws IOException {
+      if (ame instanceof AbstractInlineElement) {
+        ((AbstractInlineElement) ame).macroInvoke(Macros.SCALE);
+      } else {
+        super.writeScale(ame);
+      }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void validateValue(final double value,
+        final boolean isActualMeasurement) {
+      if (value < 0d) {
+        throw new IllegalArgumentException(//
+            "CPU time must not be less than zero, but is " + value); //$NON-NLS-1$
+      }
+
+      if (value != value) {
+        throw new IllegalArgumentException("CPU time must not be NaN"); //$NON-NLS-1$
+      }
+
+      if (isActualMeasurement) {
+        if (value >= Double.POSITIVE_INFINITY) {
+          throw new IllegalArgumentException(//
+              "CPU time must not be infinite, but is."); //$NON-NLS-1$
+        }
+
+        if (!(ComparisonUtils.isInteger(value))) {
+          throw new IllegalArgumentException(//
+              "CPU time must not be a fraction, but is " + value); //$NON-NLS-1$
+        }
+      }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final boolean isTime() {
+      return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void writeValue(final double value,
+        final AbstractTextComplex txt, final NumberFormat format)
+        throws IOException {
+      Accessor._writeValue(value, txt, format);
+      txt.write("ms");//$NON-NLS-1$
+    }
+  },
+
   ;
 
   /** the total number of accessors */
   public static final ArraySetView<Accessor> ACCESSORS = //
   ArraySetView.makeArraySetView(Accessor.values(), false);
 
-  /** the proper x-dimensions for progress diagrams */
+  /**
+   * the proper x-dimensions for progress diagrams, which are available
+   * for all runs, i.e., all time measures except the {@link #CPU_TIME CPU
+   * time}
+   */
   public static final ArraySetView<Accessor> TIME_MEASURES = //
   Accessor.ACCESSORS.select(//
       new CompoundCondition<>(LAnd.INSTANCE,//
-          NotNullCondition.INSTANCE,//
-          new NotCondition<>(AccessorIsObjective.INSTANCE)));
+          new CompoundCondition<>(LAnd.INSTANCE,//
+              NotNullCondition.INSTANCE,//
+              new NotCondition<>(AccessorIsObjective.INSTANCE)),//
+          new NotCondition<>(new EqualsCondition(Accessor.CPU_TIME))));
 
   /** the proper unbiased x-dimensions for progress diagrams */
   public static final ArraySetView<Accessor> UNBIASED_TIME_MEASURES = //
@@ -0,0 +1,45 @@
+package org.logisticPlanning.tsp.evaluation.data.conditions;
+
+import org.logisticPlanning.tsp.evaluation.data.Run;
+import org.logisticPlanning.utils.collections.conditions.Condition;
+
+/**
+ * A condition that is {@code true} if a run was
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_PROFILE
+ * profiled}, i.e., if its log points contain the consumed CPU time.
+ */
+public class RunIsProfiled extends Condition<Run> {
+
+  /** create */
+  public static final RunIsProfiled INSTANCE = new RunIsProfiled();
+
+  /** create */
+  private RunIsProfiled() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean check(final Run param) {
+    if (param == null) {
+      return false;
+    }
+    if (param.isEmpty()) {
+      return false;
+    }
+    return param.last().isProfiled();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean equals(final Object o) {
+    return (o instanceof RunIsProfiled);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int hashCode() {
+    return RunIsProfiled.class.hashCode();
+  }
+
+}
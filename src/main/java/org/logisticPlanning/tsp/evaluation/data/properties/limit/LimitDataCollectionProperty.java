@@ -67,7 +67,7 @@ public final class LimitDataCollectionProperty extends
       final int dim, final double value) {
     super(type);
 
-    if ((dim < (-4)) || (dim >= DataPoint.DATA_POINT_DIMENSION)) {
+    if ((dim < (-4)) || (dim > DataPoint.NORMALIZED_TIME_INDEX)) {
       LimitDataCollectionProperty.__dimError(dim);
     }
 
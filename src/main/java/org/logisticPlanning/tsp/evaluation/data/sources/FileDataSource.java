@@ -1,17 +1,25 @@
 package org.logisticPlanning.tsp.evaluation.data.sources;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.PrintStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.tsp.benchmarking.objective.BinaryLog;
 import org.logisticPlanning.tsp.benchmarking.objective.DataPoint;
 import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
 import org.logisticPlanning.tsp.evaluation.data.DataSource;
@@ -33,7 +41,11 @@ import org.logisticPlanning.utils.text.TextUtils;
  * data that has been generated by the
  * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction
  * objective function} that logs an algorithms progress in memory and
- * flushes it to log files once a run has completed.
+ * flushes it to log files once a run has completed. Log files in the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.BinaryLog binary
+ * format} (recognized by their suffix) are mapped into memory and their
+ * log points are decoded directly, which is much faster than parsing text
+ * logs. Both formats may be mixed in the same directory tree.
  */
 public class FileDataSource extends DataSource {
   /** the serial version uid */
@@ -181,30 +193,10 @@ public class FileDataSource extends DataSource {
       temp.clear();
       try {
 
-        try (Reader r = new FileReader(v)) {
-
-          try (BufferedReader br = new BufferedReader(r)) {
-            int l;
-            DataPoint p;
-
-            while ((s = br.readLine()) != null) {
-              s = FileDataSource.__prepare(s);
-              if (s == null) {
-                continue;
-              }
-
-              l = s.length();
-              if (l <= 0) {
-                continue;
-              }
-
-              if (ObjectiveFunction.LOG_DATA_SECTION.equalsIgnoreCase(s)) {
-                while ((p = FileDataSource.__load_point(br)) != null) {
-                  temp.add(p);
-                }
-              }
-            }
-          }
+        if (v.getName().endsWith(BinaryLog.FILE_SUFFIX)) {
+          FileDataSource.__load_binary_points(v, temp);
+        } else {
+          FileDataSource.__load_text_points(v, temp);
         }
 
         size = temp.size();
@@ -374,7 +366,9 @@ public class FileDataSource extends DataSource {
       if (s == null) {
         continue;
       }
-      if (s.toLowerCase().endsWith(".txt")) { //$NON-NLS-1$
+      s = s.toLowerCase();
+      if (s.endsWith(Benchmark.TEXT_FILE_SUFFIX)
+          || s.endsWith(BinaryLog.FILE_SUFFIX)) {
         try {
           es = FileDataSource.__load_setup(f);
           if (es != null) {
@@ -510,8 +504,21 @@ public class FileDataSource extends DataSource {
    */
   private static final ExperimentSetup __load_setup(final File file)
       throws IOException {
+    final ByteArrayOutputStream bos;
+
     try {
       if ((file != null) && (file.exists()) && (file.isFile())) {
+        if (file.getName().endsWith(BinaryLog.FILE_SUFFIX)) {
+          bos = new ByteArrayOutputStream();
+          try (final PrintStream ps = new PrintStream(bos, false, "UTF-8")) { //$NON-NLS-1$
+            BinaryLog.toText(FileDataSource.__map(file), ps);
+          }
+          try (final BufferedReader br = new BufferedReader(
+              new InputStreamReader(
+                  new ByteArrayInputStream(bos.toByteArray()), "UTF-8"))) { //$NON-NLS-1$
+            return FileDataSource.__load_setup(br);
+          }
+        }
         try (final FileReader fr = new FileReader(file)) {
           try (final BufferedReader br = new BufferedReader(fr)) {
             return FileDataSource.__load_setup(br);
@@ -720,6 +727,81 @@ public class FileDataSource extends DataSource {
     return ret;
   }
 
+  /**
+   * Load the log points from a text log file.
+   *
+   * @param file
+   *          the file
+   * @param dest
+   *          the destination list
+   * @throws IOException
+   *           if io fails
+   */
+  private static final void __load_text_points(final File file,
+      final List<DataPoint> dest) throws IOException {
+    String s;
+    DataPoint p;
+
+    try (Reader r = new FileReader(file)) {
+
+      try (BufferedReader br = new BufferedReader(r)) {
+
+        while ((s = br.readLine()) != null) {
+          s = FileDataSource.__prepare(s);
+          if (s == null) {
+            continue;
+          }
+
+          if (s.length() <= 0) {
+            continue;
+          }
+
+          if (ObjectiveFunction.LOG_DATA_SECTION.equalsIgnoreCase(s)) {
+            while ((p = FileDataSource.__load_point(br)) != null) {
+              dest.add(p);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * map a file into memory
+   *
+   * @param file
+   *          the file
+   * @return the buffer holding the file contents
+   * @throws IOException
+   *           if io fails
+   */
+  private static final ByteBuffer __map(final File file)
+      throws IOException {
+    try (final FileInputStream fis = new FileInputStream(file)) {
+      try (final FileChannel fc = fis.getChannel()) {
+        return fc.map(FileChannel.MapMode.READ_ONLY, 0l, fc.size());
+      }
+    }
+  }
+
+  /**
+   * Load the log points from a
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.BinaryLog binary
+   * log file}. The file is mapped into memory and its log points are
+   * decoded directly, without any text processing.
+   *
+   * @param file
+   *          the file
+   * @param dest
+   *          the destination list
+   * @throws IOException
+   *           if io fails
+   */
+  private static final void __load_binary_points(final File file,
+      final List<DataPoint> dest) throws IOException {
+    BinaryLog.readPoints(FileDataSource.__map(file), dest);
+  }
+
   /**
    * load the data of this class from a number reader
    *
@@ -733,9 +815,10 @@ public class FileDataSource extends DataSource {
   private static final DataPoint __load_point(final BufferedReader br)
       throws IOException {
     String s, t;
-    int i, l, start, end;
+    int i, j, l, start, end;
+    char c;
 
-    long fe, de, time, f;
+    long fe, de, time, f, cpuTime, allocated, gcTime, v;
     double relF, normTime;
     boolean reasonFE, reasonDE, reasonF, reasonInitEnd, reasonAlgoEnd;
 
@@ -937,6 +1020,64 @@ public class FileDataSource extends DataSource {
             "Invalid relative objective value format: " + t, tt); //$NON-NLS-1$
       }
 
+      // load the CPU time, allocated bytes, and garbage collection time,
+      // which are only present if the run was profiled
+      cpuTime = allocated = gcTime = (-1l);
+      for (j = 0; j < 3; j++) {
+        start = -1;
+        for (i = end; i < l; i++) {
+          if (s.charAt(i) > ' ') {
+            start = i;
+            break;
+          }
+        }
+        if (start <= end) {
+          return null;
+        }
+
+        c = s.charAt(start);
+        if ((c != '-') && ((c < '0') || (c > '9'))) {
+          if (j <= 0) {
+            break;
+          }
+          throw new IllegalArgumentException(
+              "Incomplete profile in log point: " + s); //$NON-NLS-1$
+        }
+
+        end = -1;
+        for (i = start; i < l; i++) {
+          if (s.charAt(i) <= ' ') {
+            end = i;
+            break;
+          }
+        }
+
+        if (end <= start) {
+          return null;
+        }
+
+        t = s.substring(start, end);
+        try {
+          v = Long.parseLong(t);
+        } catch (final Throwable tt) {
+          throw new IllegalArgumentException(
+              "Invalid profile format: " + t, tt); //$NON-NLS-1$
+        }
+        switch (j) {
+          case 0: {
+            cpuTime = v;
+            break;
+          }
+          case 1: {
+            allocated = v;
+            break;
+          }
+          default: {
+            gcTime = v;
+          }
+        }
+      }
+
       // load log reason flags
       start = -1;
       for (i = end; i < l; i++) {
@@ -972,8 +1113,9 @@ public class FileDataSource extends DataSource {
         reasonInitEnd = true;
       }
 
-      return new DataPoint(fe, de, time, f, relF, normTime, reasonFE,
-          reasonDE, reasonF, reasonInitEnd, reasonAlgoEnd);
+      return new DataPoint(fe, de, time, f, relF, normTime, cpuTime,
+          allocated, gcTime, reasonFE, reasonDE, reasonF, reasonInitEnd,
+          reasonAlgoEnd);
     }
   }
 
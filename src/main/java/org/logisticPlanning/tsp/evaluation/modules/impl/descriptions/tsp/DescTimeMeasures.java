@@ -270,6 +270,7 @@ public final class DescTimeMeasures extends DescriptionModule {
     Accessor.FE.define(header);
     Accessor.RUNTIME.define(header);
     Accessor.NORMALIZED_RUNTIME.define(header);
+    Accessor.CPU_TIME.define(header);
   }
 
   /** {@inheritDoc} */
@@ -408,7 +409,9 @@ public final class DescTimeMeasures extends DescriptionModule {
         try (Emphasize emph = enui.emphasize()) {
           emph.write("current");//$NON-NLS-1$
         }
-        enui.write(" conditions. If the algorithms later are applied in a scenario with very slow distance computions, for example, an algorithm measured as slow may actually be the fastest choice.");//$NON-NLS-1$
+        enui.write(" conditions. If the algorithms later are applied in a scenario with very slow distance computions, for example, an algorithm measured as slow may actually be the fastest choice. Alternatively, the benchmark can normalize the runtime with the result of a calibration suite which measures the speed of distance computations, memory accesses, and memory allocation of the machine once. This factor is the same for all benchmark instances, so ");//$NON-NLS-1$
+        Accessor.NORMALIZED_RUNTIME.writeShortName(enui, false);
+        enui.write(" then only removes the machine-bias, but not the influence of the problem scale.");//$NON-NLS-1$
       }
     }
 
@@ -438,6 +441,25 @@ public final class DescTimeMeasures extends DescriptionModule {
 
     body.writeLinebreak();
 
+    body.write(//
+    "If the benchmark runs are profiled, we additionally record the ");//$NON-NLS-1$
+    Accessor.CPU_TIME.writeLongName(body, false);
+    body.write(" (");//$NON-NLS-1$
+    Accessor.CPU_TIME.writeShortName(body, false);
+    body.write(//
+    ") consumed by the threads performing a run, the number of bytes they allocated, and the time spent in garbage collection. Different from ");//$NON-NLS-1$
+    Accessor.RUNTIME.writeShortName(body, false);
+    body.write(", ");//$NON-NLS-1$
+    Accessor.CPU_TIME.writeShortName(body, false);
+    body.write(//
+    " does not include the time during which the threads were not executed, e.g., because the machine was busy with other processes. For runs which were not profiled, ");//$NON-NLS-1$
+    Accessor.CPU_TIME.writeShortName(body, false);
+    body.write(" equals ");//$NON-NLS-1$
+    Accessor.RUNTIME.writeShortName(body, false);
+    body.writeChar('.');
+
+    body.writeLinebreak();
+
     body.write("When looking at problems of different sizes ");//$NON-NLS-1$
     body.macroInvoke(Macros.SCALE);
     body.write(", it makes sense to scale the measured runtimes by some factors, depending on the time measure we use: ");//$NON-NLS-1$
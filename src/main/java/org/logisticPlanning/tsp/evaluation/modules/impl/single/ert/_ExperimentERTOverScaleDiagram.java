@@ -11,12 +11,14 @@ import org.logisticPlanning.tsp.evaluation.Evaluator;
 import org.logisticPlanning.tsp.evaluation.data.Accessor;
 import org.logisticPlanning.tsp.evaluation.data.Experiment;
 import org.logisticPlanning.tsp.evaluation.data.ExperimentSet;
+import org.logisticPlanning.tsp.evaluation.data.conditions.RunIsProfiled;
 import org.logisticPlanning.tsp.evaluation.data.properties.instance.ExperimentInstancesProperty;
 import org.logisticPlanning.tsp.evaluation.modules.ModuleUtils;
 import org.logisticPlanning.tsp.evaluation.modules.impl.AccessorSequence;
 import org.logisticPlanning.tsp.evaluation.modules.impl.descriptions.tsp.DescTimeMeasures;
 import org.logisticPlanning.tsp.evaluation.modules.impl.macros.Macros;
 import org.logisticPlanning.tsp.evaluation.modules.spec.Module;
+import org.logisticPlanning.utils.collections.conditions.CollectiveCondition;
 import org.logisticPlanning.utils.collections.lists.ArraySetView;
 import org.logisticPlanning.utils.document.spec.Document;
 import org.logisticPlanning.utils.document.spec.DocumentDimensions;
@@ -205,6 +207,10 @@ final class _ExperimentERTOverScaleDiagram extends
    *          the data
    * @param goal
    *          the goal
+   * @param profiled
+   *          should a line for the
+   *          {@link org.logisticPlanning.tsp.evaluation.data.Accessor#CPU_TIME
+   *          CPU time} be added?
    * @param lines
    *          the list to receive the lines
    * @param doc
@@ -214,7 +220,9 @@ final class _ExperimentERTOverScaleDiagram extends
    */
   private final boolean __makeFigure(
       final ArraySetView<Instance> instances, final Experiment data,
-      final double goal, final ArrayList<Line2D> lines, final Document doc) {
+      final double goal, final boolean profiled,
+      final ArrayList<Line2D> lines, final Document doc) {
+    final int size;
     int i, j;
     Accessor axs;
     IDataCollection col;
@@ -225,8 +233,10 @@ final class _ExperimentERTOverScaleDiagram extends
     lines.clear();
 
     hasData = false;
-    for (i = Accessor.TIME_MEASURES.size(); (--i) >= 0;) {
-      axs = Accessor.TIME_MEASURES.get(i);
+    size = Accessor.TIME_MEASURES.size();
+    for (i = (profiled ? (size + 1) : size); (--i) >= 0;) {
+      axs = ((i < size) ? Accessor.TIME_MEASURES.get(i)
+          : Accessor.CPU_TIME);
       col = ERTUtils.medianErtOverScales(instances, data, axs, goal, true,
           true, true, doc);
       if ((col == null) || ((j = col.size()) <= 0)) {
@@ -270,6 +280,7 @@ final class _ExperimentERTOverScaleDiagram extends
     final ArrayList<Line2D> lines;
     final Label lbl;
     final ExperimentSet es;
+    final boolean profiled;
     boolean includeLegend, includeAxisLabels;
     double g;
     int fc;
@@ -299,9 +310,12 @@ final class _ExperimentERTOverScaleDiagram extends
       return;
     }
 
+    profiled = data.hasAny(new CollectiveCondition<>(
+        RunIsProfiled.INSTANCE, false));
+
     dims = doc.getDimensions();
     dim = dims.getFigureDimensionsMM(this.m_size);
-    lines = new ArrayList<>(Accessor.TIME_MEASURES.size());
+    lines = new ArrayList<>(Accessor.TIME_MEASURES.size() + 1);
     includeAxisLabels = includeLegend = false;
 
     if (dim.contains(dims
@@ -337,7 +351,8 @@ final class _ExperimentERTOverScaleDiagram extends
 
       outer: for (final double goal : _ExperimentERTOverScaleDiagram.GOALS) {
 
-        if ((!(this.__makeFigure(instances, data, goal, lines, doc)))
+        if ((!(this.__makeFigure(instances, data, goal, profiled, lines,
+            doc)))
             || lines.isEmpty()) {
           continue outer;
         }
@@ -471,6 +486,17 @@ final class _ExperimentERTOverScaleDiagram extends
         true, //
         " can be scaled by ", body),//$NON-NLS-1$
         ESequenceType.AND, false);
+    if (profiled) {
+      body.write(//
+      ". As some of the runs were profiled, we also plot the "); //$NON-NLS-1$
+      body.macroInvoke(Macros.ERT);
+      body.write(" in terms of the "); //$NON-NLS-1$
+      Accessor.CPU_TIME.writeLongName(body, false);
+      body.write(" ("); //$NON-NLS-1$
+      Accessor.CPU_TIME.writeShortName(body, false);
+      body.write("), which is scaled like "); //$NON-NLS-1$
+      Accessor.RUNTIME.writeShortName(body, false);
+    }
 
     body.write(//
     ". We plot the logarithms of these values in order to make the diagrams readable. This has the disadvantage that values such as "); //$NON-NLS-1$
@@ -74,6 +74,8 @@ public class LiteratureComparison extends SingleModule {
     LiteratureComparison.FORMATS[Accessor.RUNTIME.ordinal()];
     LiteratureComparison.FORMATS[Accessor.NORMALIZED_RUNTIME.ordinal()] = //
     LiteratureComparison.FORMATS[Accessor.RUNTIME.ordinal()];
+    LiteratureComparison.FORMATS[Accessor.CPU_TIME.ordinal()] = //
+    LiteratureComparison.FORMATS[Accessor.RUNTIME.ordinal()];
   }
 
   /**
@@ -0,0 +1,27 @@
+package org.logisticPlanning.tsp.solving;
+
+/**
+ * The order in which the
+ * {@link org.logisticPlanning.tsp.solving.TSPAlgorithmRunner} hands out
+ * the runs on the benchmark instances to its worker threads.
+ */
+public enum ESchedulerMode {
+
+  /**
+   * The instances are processed in the order in which they were given to
+   * the runner, usually sorted by size. This is the default.
+   */
+  INSTANCE_ORDER,
+
+  /**
+   * The runs are processed longest-job-first: the runtime of a run is
+   * estimated from the number of nodes of its instance and the limits of
+   * the benchmark (maximum runtime, FEs, and DEs), and the instances are
+   * processed in descending order of this estimate. This way, the few long
+   * runs on the largest instances are started first and the many short
+   * runs fill the remaining time of all worker threads at the end, which
+   * shortens the total time of a full benchmark sweep.
+   */
+  LONGEST_FIRST;
+
+}
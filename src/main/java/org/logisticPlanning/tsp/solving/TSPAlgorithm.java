@@ -2296,6 +2296,44 @@ public class TSPAlgorithm extends TSPModule {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * <p>
+   * Does this algorithm store its state in the checkpoints of a run? If
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_CHECKPOINT_INTERVAL
+   * checkpoints} are enabled, the objective function regularly saves the
+   * state of a run, so that an interrupted run can be resumed instead of
+   * being performed again. By default, this method returns {@code false}
+   * and the objective function writes these checkpoints automatically.
+   * They contain only its own state, i.e., the log, the counters, the
+   * consumed runtime, the best tour, and the state of the randomizer. A
+   * resumed run then continues with this state, but the algorithm begins
+   * its search from scratch.
+   * </p>
+   * <p>
+   * An algorithm which overrides this method to return {@code true} takes
+   * care of the checkpoints itself: In
+   * {@link #solve(ObjectiveFunction)}, it checks
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#isCheckpointDue()}
+   * at points where its state is consistent (e.g., at the beginning of a
+   * generation) and then passes its state to
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#checkpoint(java.io.Serializable)}
+   * . When {@link #solve(ObjectiveFunction)} begins, it checks
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#getResumedState()}
+   * : If this method returns a state, the run was resumed and the
+   * algorithm continues from this state instead of initializing its
+   * search. Together with the restored randomizer, the resumed run then
+   * proceeds exactly like the interrupted one.
+   * </p>
+   *
+   * @return {@code true} if this algorithm stores its state in
+   *         checkpoints, {@code false} if the objective function should
+   *         write checkpoints automatically
+   * @see #call(ObjectiveFunction)
+   */
+  public boolean isCheckpointing() {
+    return false;
+  }
+
   /**
    * Invoke this algorithm on a given objective function. This method first
    * calls
@@ -2303,7 +2341,10 @@ public class TSPAlgorithm extends TSPModule {
    * beginRun}, then invokes {@link #solve(ObjectiveFunction) solve}, and
    * finally calls
    * {@link org.logisticPlanning.tsp.solving.TSPModule#endRun(ObjectiveFunction)
-   * endRun}.
+   * endRun}. Before that, it switches off the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#setAutomaticCheckpoints(boolean)
+   * automatic checkpoints} of the objective function if this algorithm
+   * {@link #isCheckpointing() stores its state itself}.
    *
    * @param f
    *          the objective function
@@ -2312,6 +2353,7 @@ public class TSPAlgorithm extends TSPModule {
    * @see org.logisticPlanning.tsp.solving.TSPModule#endRun(ObjectiveFunction)
    */
   public final void call(final ObjectiveFunction f) {
+    f.setAutomaticCheckpoints(!(this.isCheckpointing()));
     try {
       this.beginRun(f);
       this.solve(f);
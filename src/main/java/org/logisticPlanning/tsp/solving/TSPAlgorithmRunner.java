@@ -5,6 +5,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
 import org.logisticPlanning.tsp.benchmarking.objective.CreatorInfo;
 import org.logisticPlanning.utils.collections.lists.ArrayListView;
 import org.logisticPlanning.utils.config.Configurable;
@@ -532,6 +533,20 @@ import org.logisticPlanning.utils.config.LoggerOwner;
  * about two days (unless the solver can solve some problems in less than
  * an hour, in which case the time would be less, too).
  * </p>
+ * <p>
+ * Without further measures, the runs of a process which crashes are not
+ * taken over by anyone, since their empty log files remain. If
+ * &quot;
+ * <code>{@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_JOB_LOCK_TIMEOUT jobLockTimeout}=nnn</code>
+ * &quot; is supplied to all processes, each run is claimed with a lock
+ * file next to its log file. The lock files are kept alive by a
+ * heartbeat, and those of a process which does not update them for
+ * {@code nnn} milliseconds are taken over by the other processes. No
+ * run is then performed twice, and the runs of crashed processes are
+ * resumed from their
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_CHECKPOINT_INTERVAL
+ * checkpoints} (if any) or performed again from scratch.
+ * </p>
  * <p id="restart">
  * Restarting experiments is also easy because of this mechanism: A
  * completed run will have an associated log file of non-zero size. Since
@@ -567,6 +582,27 @@ import org.logisticPlanning.utils.config.LoggerOwner;
  * <li>
  * <p>
  * If &quot;
+ * <code>{@link org.logisticPlanning.tsp.solving.TSPAlgorithmRunner#PARAM_PREFETCH_BENCHMARKS prefetchBenchmarks}=nnn</code>
+ * &quot; is supplied, then up to {@code nnn} benchmark instances will be
+ * loaded in advance by a background thread while the runs on the current
+ * instance are executed. By default, only the next instance is loaded in
+ * advance.
+ * </p>
+ * </li>
+ * <li>
+ * <p>
+ * If &quot;
+ * <code>{@link org.logisticPlanning.tsp.solving.TSPAlgorithmRunner#PARAM_SCHEDULER_MODE schedulerMode}={@link org.logisticPlanning.tsp.solving.ESchedulerMode#LONGEST_FIRST LONGEST_FIRST}</code>
+ * &quot; is supplied, then the runs which are expected to take longest,
+ * i.e., those on the largest instances, are performed first. This keeps
+ * all threads busy until the very end of the experiment and thus
+ * shortens its total runtime. If logging is enabled, the projected
+ * completion time of the experiment is logged after each run.
+ * </p>
+ * </li>
+ * <li>
+ * <p>
+ * If &quot;
  * <code>{@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_DEST_DIR outputDir}=dir</code>
  * &quot; is set, the output of the program, i.e., the log files, will be
  * written to the directory {@code dir}. Otherwise, they will be written to
@@ -790,6 +826,20 @@ public final class TSPAlgorithmRunner extends LoggerOwner {
    */
   public static final String PARAM_MAX_THREADS = "maxThreads"; //$NON-NLS-1$
 
+  /**
+   * the command line parameter to define how many benchmarks should be
+   * loaded in advance in the background while runs on the current one are
+   * executed ({@value} )
+   */
+  public static final String PARAM_PREFETCH_BENCHMARKS = "prefetchBenchmarks"; //$NON-NLS-1$
+
+  /**
+   * the command line parameter to define the order in which the runs are
+   * performed ({@value} ), see
+   * {@link org.logisticPlanning.tsp.solving.ESchedulerMode}
+   */
+  public static final String PARAM_SCHEDULER_MODE = "schedulerMode"; //$NON-NLS-1$
+
   /**
    * the command line parameter to define the logger to be used ({@value} )
    */
@@ -1007,6 +1057,8 @@ public final class TSPAlgorithmRunner extends LoggerOwner {
               : this.m_init));
     }
 
+    this.m_queue._setThreads(threads.length);
+
     try {
       for (i = threads.length; (--i) >= 0;) {
         threads[i] = new _TSPThread(
@@ -1037,6 +1089,9 @@ public final class TSPAlgorithmRunner extends LoggerOwner {
         }
       }
     } finally {
+      // make sure that all logs have been written when we return
+      Benchmark.flushLogs();
+
       if ((log != null) && (log.isLoggable(Level.INFO))) {
         log.info("Terminating benchmarking procedure with " + //$NON-NLS-1$
             this.m_maxThreads + " threads for  algorithm class " + //$NON-NLS-1$
@@ -1,6 +1,10 @@
 package org.logisticPlanning.tsp.solving;
 
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.concurrent.ArrayBlockingQueue;
 
 import org.logisticPlanning.tsp.benchmarking.instances.Instance;
 import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
@@ -9,23 +13,100 @@ import org.logisticPlanning.utils.config.Configurable;
 import org.logisticPlanning.utils.config.Configuration;
 
 /**
- * a queue holding information for running a tsp algorithm
+ * <p>
+ * A queue holding information for running a tsp algorithm.
+ * </p>
+ * <p>
+ * Loading a benchmark instance (see
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#prepare()}
+ * ) can take a long time for large instances. The queue therefore does not
+ * load benchmarks when a worker thread asks for the next job. Instead, a
+ * single loader thread walks through the instances and loads the next
+ * benchmarks which still need runs in the background, while the worker
+ * threads execute runs on the current one. At most
+ * {@link org.logisticPlanning.tsp.solving.TSPAlgorithmRunner#PARAM_PREFETCH_BENCHMARKS}
+ * loaded benchmarks are kept waiting, so the memory consumption stays
+ * bounded. A worker thread only needs to take the next job, which is
+ * cheap unless the next benchmark is not yet loaded, in which case there
+ * is no work to do anyway.
+ * </p>
+ * <p>
+ * The runs of the current benchmark are counted in memory: the number of
+ * remaining runs is determined when the benchmark becomes current, and
+ * each call to {@link #next()} hands out one of them. Other processes may
+ * work on the same benchmarks in a shared output folder, so before a run
+ * is handed out, the number of remaining runs in the folder is checked
+ * again. The runs handed out by this process whose log files have not
+ * yet been created (see {@link #_runBegun(Benchmark)}) are subtracted
+ * from this number.
+ * </p>
+ * <p>
+ * When the first job is requested, all benchmarks are configured and
+ * their remaining runs are counted. Depending on the
+ * {@link org.logisticPlanning.tsp.solving.ESchedulerMode scheduler mode},
+ * they are then either processed in the given order or longest-job-first,
+ * based on {@link #_estimateRunTime(Benchmark) a rough estimate} of the
+ * runtime of a single run. The same estimate, calibrated with the measured
+ * runtimes of the completed runs, is used to
+ * {@link #_runCompleted(Benchmark, long) project} when all runs will be
+ * completed.
+ * </p>
  */
 final class _TSPQueue extends Configurable {
   /** the serial version uid */
   private static final long serialVersionUID = 1L;
 
+  /** the default number of benchmarks to load in advance */
+  static final int DEFAULT_PREFETCH = 1;
+
+  /**
+   * a rough guess of the number of distance evaluations an algorithm
+   * performs per millisecond, used for estimating runtimes
+   */
+  private static final double DES_PER_MS = 1e5d;
+
   /** the instances */
   private final ArrayListView<Instance> m_instances;
 
   /** the configuration */
   private Configuration m_cfg;
 
+  /** the number of benchmarks to load in advance */
+  private int m_prefetch;
+
+  /** the scheduler mode */
+  private ESchedulerMode m_mode;
+
+  /** the number of worker threads */
+  private transient int m_threads;
+
+  /** the estimated runtime of all runs not yet completed */
+  private transient double m_estimatedLeft;
+
+  /** the estimated runtime of all completed runs */
+  private transient double m_estimatedDone;
+
+  /** the measured runtime of all completed runs */
+  private transient double m_measuredDone;
+
+  /** the loaded benchmarks, or {@code null} if loading has not begun */
+  private transient ArrayBlockingQueue<__Job> m_loaded;
+
   /** the current benchmark */
-  private volatile Benchmark m_bm;
+  private transient Benchmark m_bm;
+
+  /** the number of runs of the current benchmark not yet handed out */
+  private transient int m_remaining;
+
+  /**
+   * the number of runs of the current benchmark handed out by this
+   * process which have not yet begun, i.e., whose log files may not yet
+   * exist
+   */
+  private transient int m_pending;
 
-  /** the index */
-  private volatile int m_idx;
+  /** have all benchmarks been handed out? */
+  private transient boolean m_done;
 
   /**
    * instantiate
@@ -36,7 +117,9 @@ final class _TSPQueue extends Configurable {
   _TSPQueue(final ArrayListView<Instance> inst) {
     super("queue"); //$NON-NLS-1$
     this.m_instances = inst;
-    this.m_idx = (-1);
+    this.m_prefetch = _TSPQueue.DEFAULT_PREFETCH;
+    this.m_mode = ESchedulerMode.INSTANCE_ORDER;
+    this.m_threads = 1;
   }
 
   /** {@inheritDoc} */
@@ -44,67 +127,386 @@ final class _TSPQueue extends Configurable {
   public final void configure(final Configuration config) {
     super.configure(config);
     this.m_cfg = config;
+    this.m_prefetch = config.getInt(
+        TSPAlgorithmRunner.PARAM_PREFETCH_BENCHMARKS, 1, 1000,
+        this.m_prefetch);
+    this.m_mode = config.getConstant(
+        TSPAlgorithmRunner.PARAM_SCHEDULER_MODE, ESchedulerMode.class,
+        ESchedulerMode.class, this.m_mode);
+  }
+
+  /**
+   * Set the number of worker threads, which is needed for projecting the
+   * completion time.
+   *
+   * @param threads
+   *          the number of worker threads
+   */
+  final synchronized void _setThreads(final int threads) {
+    this.m_threads = Math.max(1, threads);
+  }
+
+  /**
+   * Estimate the runtime of a single run on a benchmark. The work of a run
+   * is bounded by the maximum number of DEs and by the maximum number of
+   * FEs times {@code n}, since evaluating a complete tour takes {@code n}
+   * DEs. This work is converted to a time with a rough guess of the speed
+   * of an algorithm and bounded by the maximum runtime. The estimate is
+   * only meaningful relative to the estimates for other benchmarks.
+   *
+   * @param bm
+   *          the benchmark
+   * @return the estimated runtime in milliseconds
+   */
+  static final double _estimateRunTime(final Benchmark bm) {
+    final long n, maxFEs;
+    long work;
+
+    n = bm.getInstance().n();
+    maxFEs = bm.getMaxFEs();
+    work = bm.getMaxDEs();
+    if (maxFEs < (Long.MAX_VALUE / n)) {
+      work = Math.min(work, (maxFEs * n));
+    }
+    return Math.min(bm.getMaxRuntime(), (work / _TSPQueue.DES_PER_MS));
+  }
+
+  /**
+   * get a benchmark to print the configuration or parameters of
+   *
+   * @return the benchmark
+   */
+  private synchronized final Benchmark __printBenchmark() {
+    Benchmark bm;
+
+    bm = this.m_bm;
+    if (bm == null) {
+      bm = new Benchmark(this.m_instances.first());
+      bm.configure(this.m_cfg);
+    }
+    return bm;
   }
 
   /** {@inheritDoc} */
   @Override
   public final void printConfiguration(final PrintStream ps) {
-    Benchmark bm;
-
     super.printConfiguration(ps);
 
+    Configurable.printKey(TSPAlgorithmRunner.PARAM_PREFETCH_BENCHMARKS, ps);
+    ps.println(this.m_prefetch);
+
+    Configurable.printKey(TSPAlgorithmRunner.PARAM_SCHEDULER_MODE, ps);
+    ps.println(this.m_mode);
+
     if (this.m_cfg != null) {
-      bm = this.next();
-      if (bm == null) {
-        bm = new Benchmark(this.m_instances.first());
-        bm.configure(this.m_cfg);
-      }
-      bm.printConfiguration(ps);
+      this.__printBenchmark().printConfiguration(ps);
     }
   }
 
   /** {@inheritDoc} */
   @Override
   public final void printParameters(final PrintStream ps) {
-    Benchmark bm;
-
     super.printParameters(ps);
 
+    Configurable.printKey(TSPAlgorithmRunner.PARAM_PREFETCH_BENCHMARKS, ps);
+    ps.println("the number of benchmarks to load in advance in the background"); //$NON-NLS-1$
+
+    Configurable.printKey(TSPAlgorithmRunner.PARAM_SCHEDULER_MODE, ps);
+    ps.println("the order in which runs are performed: INSTANCE_ORDER (default) or LONGEST_FIRST"); //$NON-NLS-1$
+
     if (this.m_cfg != null) {
-      bm = this.next();
-      if (bm == null) {
-        bm = new Benchmark(this.m_instances.first());
-        bm.configure(this.m_cfg);
-      }
-      bm.printParameters(ps);
+      this.__printBenchmark().printParameters(ps);
     }
   }
 
   /**
-   * get the next benchmark to work on
+   * Get the next benchmark to work on. Each call hands out one run: the
+   * caller must perform exactly one run on the returned benchmark. If the
+   * next benchmark is not yet loaded, the caller waits for the loader
+   * thread. It does so without holding the monitor of the queue, so that
+   * the other worker threads can still report their runs as
+   * {@link #_runBegun(Benchmark) begun} and
+   * {@link #_runCompleted(Benchmark, long) completed}. Only one thread at
+   * a time takes a benchmark from the loader.
    *
-   * @return the next benchmark to work on
+   * @return the next benchmark to work on, or {@code null} if no more
+   *         runs need to be done
    */
   final Benchmark next() {
+    ArrayBlockingQueue<__Job> loaded;
     Benchmark bm;
+    __Job job;
 
-    bm = this.m_bm;
-    if ((bm != null) && (bm.remainingRunCount() > 0)) {
-      return bm;
+    for (;;) {
+      synchronized (this) {
+        bm = this.__handOut();
+        if (bm != null) {
+          return bm;
+        }
+        if (this.m_done) {
+          return null;
+        }
+        loaded = this.m_loaded;
+        if (loaded == null) {
+          loaded = this.__start();
+        }
+      }
+
+      // the queue of loaded benchmarks serves as lock for taking them
+      synchronized (loaded) {
+        synchronized (this) {
+          // another thread may have taken a benchmark in the meantime
+          if ((this.m_bm != null) || this.m_done) {
+            continue;
+          }
+        }
+
+        try {
+          job = loaded.take();
+        } catch (final InterruptedException ie) {
+          throw new RuntimeException(ie);
+        }
+
+        synchronized (this) {
+          if (job.m_bm == null) {
+            this.m_done = true;
+            return null;
+          }
+          if (job.m_error != null) {
+            this.m_estimatedLeft -= (job.m_runs * job.m_cost);
+            throw new RuntimeException(//
+                "Could not load benchmark " + //$NON-NLS-1$
+                    job.m_bm.name(), job.m_error);
+          }
+
+          // other processes may have performed runs in the meantime
+          this.m_bm = job.m_bm;
+          this.m_remaining = job.m_bm.remainingRunCount();
+          this.m_pending = 0;
+          this.m_estimatedLeft += //
+          ((this.m_remaining - job.m_runs) * job.m_cost);
+        }
+      }
     }
+  }
 
-    for (;;) {
-      this.m_bm = bm = null;
+  /**
+   * Hand out a run of the current benchmark, or move on from the current
+   * benchmark if it has no more runs to do. The caller must hold the
+   * monitor of the queue.
+   *
+   * @return the current benchmark, or {@code null} if there is no current
+   *         benchmark with runs left
+   */
+  private final Benchmark __handOut() {
+    final Benchmark bm;
+
+    bm = this.m_bm;
+    if (bm == null) {
+      return null;
+    }
 
-      if ((++this.m_idx) >= this.m_instances.size()) {
-        return null;
+    if (this.m_remaining > 0) {
+      // other processes may have performed runs in the meantime
+      if (bm.remainingRunCount() > this.m_pending) {
+        this.m_remaining--;
+        this.m_pending++;
+        return bm;
       }
+      this.m_estimatedLeft = Math.max(0d, (this.m_estimatedLeft - //
+          (this.m_remaining * _TSPQueue._estimateRunTime(bm))));
+      this.m_remaining = 0;
+    }
+
+    // we move on to the next instance: runs still executing on the old
+    // benchmark keep their references to its shared data, but no new runs
+    // will need it
+    bm.clearSharedData();
+    this.m_bm = null;
+    return null;
+  }
+
+  /**
+   * Notify the queue that a run handed out by {@link #next()} has begun
+   * or could not begin, i.e., that its log file now exists or will never
+   * be created by this process.
+   *
+   * @param bm
+   *          the benchmark of the run
+   */
+  final synchronized void _runBegun(final Benchmark bm) {
+    if ((bm == this.m_bm) && (this.m_pending > 0)) {
+      this.m_pending--;
+    }
+  }
 
-      this.m_bm = bm = new Benchmark(this.m_instances.get(this.m_idx));
+  /**
+   * Plan the jobs and start the loader thread.
+   *
+   * @return the queue of loaded benchmarks
+   */
+  private final ArrayBlockingQueue<__Job> __start() {
+    final ArrayList<__Job> jobs;
+    final ArrayBlockingQueue<__Job> loaded;
+    Benchmark bm;
+    __Job job;
+    int runs;
+
+    jobs = new ArrayList<>(this.m_instances.size());
+    for (final Instance inst : this.m_instances) {
+      bm = new Benchmark(inst);
       bm.configure(this.m_cfg);
+      runs = bm.remainingRunCount();
+      if (runs > 0) {
+        job = new __Job(bm, runs, _TSPQueue._estimateRunTime(bm));
+        this.m_estimatedLeft += (runs * job.m_cost);
+        jobs.add(job);
+      }
+    }
 
-      if (bm.remainingRunCount() > 0) {
-        return bm;
+    if (this.m_mode == ESchedulerMode.LONGEST_FIRST) {
+      Collections.sort(jobs, new __LongestFirst());
+    }
+
+    this.m_loaded = loaded = new ArrayBlockingQueue<>(this.m_prefetch);
+    new __Loader(loaded, jobs).start();
+    return loaded;
+  }
+
+  /**
+   * Notify the queue that a run has been completed and project when all
+   * runs will be completed. The projection scales the estimated runtime of
+   * the runs not yet completed with the ratio of the measured and
+   * estimated runtimes of the completed runs and divides it by the number
+   * of worker threads.
+   *
+   * @param bm
+   *          the benchmark of the run
+   * @param runtime
+   *          the measured runtime of the run in milliseconds
+   * @return the projected point in time when all runs will be completed
+   *         (in milliseconds since the epoch), or {@code -1} if no
+   *         projection is possible
+   */
+  final synchronized long _runCompleted(final Benchmark bm,
+      final long runtime) {
+    final double cost;
+
+    cost = _TSPQueue._estimateRunTime(bm);
+    this.m_estimatedLeft = Math.max(0d, (this.m_estimatedLeft - cost));
+    this.m_estimatedDone += cost;
+    this.m_measuredDone += runtime;
+
+    if (this.m_estimatedDone <= 0d) {
+      return (-1l);
+    }
+    return (System.currentTimeMillis() + ((long) (((this.m_estimatedLeft * //
+    this.m_measuredDone) / this.m_estimatedDone) / this.m_threads)));
+  }
+
+  /** the runs on a benchmark, or the end marker */
+  private static final class __Job {
+
+    /** the end marker */
+    static final __Job END = new __Job(null, 0, 0d);
+
+    /** the benchmark, or {@code null} for the end marker */
+    final Benchmark m_bm;
+
+    /** the number of runs planned */
+    final int m_runs;
+
+    /** the estimated runtime of a single run */
+    final double m_cost;
+
+    /** the error which occurred during loading, or {@code null} */
+    Throwable m_error;
+
+    /**
+     * create
+     *
+     * @param bm
+     *          the benchmark, or {@code null} for the end marker
+     * @param runs
+     *          the number of runs planned
+     * @param cost
+     *          the estimated runtime of a single run
+     */
+    __Job(final Benchmark bm, final int runs, final double cost) {
+      super();
+      this.m_bm = bm;
+      this.m_runs = runs;
+      this.m_cost = cost;
+    }
+  }
+
+  /** the longest-job-first order */
+  private static final class __LongestFirst implements Comparator<__Job> {
+
+    /** create */
+    __LongestFirst() {
+      super();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int compare(final __Job a, final __Job b) {
+      final int res;
+
+      res = Double.compare(b.m_cost, a.m_cost);
+      if (res != 0) {
+        return res;
+      }
+      return Integer.compare(b.m_bm.getInstance().n(), a.m_bm
+          .getInstance().n());
+    }
+  }
+
+  /** the thread loading the benchmarks in the background */
+  private static final class __Loader extends Thread {
+
+    /** the destination queue */
+    private final ArrayBlockingQueue<__Job> m_dest;
+
+    /** the jobs in the order in which they should be processed */
+    private final ArrayList<__Job> m_jobs;
+
+    /**
+     * create
+     *
+     * @param dest
+     *          the destination queue
+     * @param jobs
+     *          the jobs in the order in which they should be processed
+     */
+    __Loader(final ArrayBlockingQueue<__Job> dest,
+        final ArrayList<__Job> jobs) {
+      super("Benchmark Loader"); //$NON-NLS-1$
+      this.m_dest = dest;
+      this.m_jobs = jobs;
+      this.setDaemon(true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void run() {
+      try {
+        try {
+          for (final __Job job : this.m_jobs) {
+            // all runs may have been done by another process meanwhile,
+            // the queue then simply moves on to the next benchmark
+            try {
+              job.m_bm.prepare();
+            } catch (final Throwable t) {
+              job.m_error = t;
+            }
+            this.m_dest.put(job);
+          }
+        } finally {
+          this.m_dest.put(__Job.END);
+        }
+      } catch (final InterruptedException ie) {
+        // the workers are gone, nobody needs our benchmarks anymore
       }
     }
   }
@@ -1,5 +1,6 @@
 package org.logisticPlanning.tsp.solving;
 
+import java.util.Date;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -48,6 +49,8 @@ final class _TSPThread extends Thread {
   private final String m_errorCaught;
   /** the log string for completed jobs */
   private final String m_jobCompleted;
+  /** the log string for the projected completion */
+  private final String m_projected;
   /** the log string for a severe error */
   private final String m_severe;
 
@@ -88,15 +91,35 @@ final class _TSPThread extends Thread {
       " - storing it in objective function for logging. Benchmark instance was ");//$NON-NLS-1$
       this.m_jobCompleted = ("One job completed by thread #" + this.getId() + //$NON-NLS-1$
       " for benchmark ");//$NON-NLS-1$
+      this.m_projected = ", all jobs projected to be completed at "; //$NON-NLS-1$
       this.m_severe = ("Unexpected error caught in thread #" + this.getId());//$NON-NLS-1$
     } else {
       this.m_noMoreJobs = null;
       this.m_errorCaught = null;
       this.m_jobCompleted = null;
+      this.m_projected = null;
       this.m_severe = null;
     }
   }
 
+  /**
+   * Create the log message for a completed job
+   *
+   * @param bm
+   *          the benchmark
+   * @param projected
+   *          the projected completion time of all jobs, or {@code -1} if
+   *          unknown
+   * @return the message
+   */
+  private final String __completed(final Benchmark bm, final long projected) {
+    if (projected < 0l) {
+      return (this.m_jobCompleted + bm.name());
+    }
+    return (this.m_jobCompleted + bm.name() + this.m_projected + //
+    new Date(projected));
+  }
+
   /** {@inheritDoc} */
   @Override
   public final void run() {
@@ -105,6 +128,8 @@ final class _TSPThread extends Thread {
     final Logger log;
     Benchmark bm, nbm;
     ObjectiveFunction f;
+    long start, projected;
+    boolean begun;
 
     q = this.m_queue;
     init = this.m_init;
@@ -118,29 +143,31 @@ final class _TSPThread extends Thread {
       if (init != null) {
         for (;;) {
 
-          synchronized (q) {
-            nbm = q.next();
-
-            if (nbm == null) {
-              if ((log != null) && (log.isLoggable(Level.INFO))) {
-                log.logp(Level.INFO, _TSPThread.SOURCE_CLASS,
-                    _TSPThread.SOURCE_METHOD, this.m_noMoreJobs);
-              }
-              return;
-            }
+          // the queue hands out one run per call and loads the
+          // benchmarks in the background, so we do not need to hold any
+          // lock while creating the objective function
+          nbm = q.next();
 
-            if ((nbm != bm) || (f == null)) {
-              bm = nbm;
-              f = bm.createObjective();
-              f.setCreatorInfo(this.m_creator);
+          if (nbm == null) {
+            if ((log != null) && (log.isLoggable(Level.INFO))) {
+              log.logp(Level.INFO, _TSPThread.SOURCE_CLASS,
+                  _TSPThread.SOURCE_METHOD, this.m_noMoreJobs);
             }
+            return;
+          }
 
-            // initialization procedure is always executed: get
-            // better runtime
-            // estimate
-            f.beginDeterministicInitialization(init);
+          if ((nbm != bm) || (f == null)) {
+            bm = nbm;
+            f = bm.createObjective();
+            f.setCreatorInfo(this.m_creator);
           }
 
+          // initialization procedure is always executed: get
+          // better runtime
+          // estimate
+          start = System.currentTimeMillis();
+          f.beginDeterministicInitialization(init);
+
           try {
             try {
               init.call(f);
@@ -160,7 +187,16 @@ final class _TSPThread extends Thread {
             f.endDeterministicInitialization();
           }
 
-          f.beginRun(algo);
+          // if several processes share the runs, the one handed out to
+          // us may have been claimed by another process in the meantime
+          try {
+            begun = f.tryBeginRun(algo);
+          } finally {
+            q._runBegun(nbm);
+          }
+          if (!begun) {
+            continue;
+          }
           try {
             try {
               algo.call(f);
@@ -180,33 +216,40 @@ final class _TSPThread extends Thread {
             f.endRun();
           }
 
+          projected = q._runCompleted(nbm,
+              (System.currentTimeMillis() - start));
           if ((log != null) && log.isLoggable(Level.INFO)) {
             log.logp(Level.INFO, _TSPThread.SOURCE_CLASS,
-                _TSPThread.SOURCE_METHOD,
-                (this.m_jobCompleted + nbm.name()));
+                _TSPThread.SOURCE_METHOD, this.__completed(nbm, projected));
           }
         }
       }
 
       for (;;) {
-        synchronized (q) {
-          nbm = q.next();
+        nbm = q.next();
 
-          if (nbm == null) {
-            if ((log != null) && (log.isLoggable(Level.INFO))) {
-              log.logp(Level.INFO, _TSPThread.SOURCE_CLASS,
-                  _TSPThread.SOURCE_METHOD, this.m_noMoreJobs);
-            }
-            return;
+        if (nbm == null) {
+          if ((log != null) && (log.isLoggable(Level.INFO))) {
+            log.logp(Level.INFO, _TSPThread.SOURCE_CLASS,
+                _TSPThread.SOURCE_METHOD, this.m_noMoreJobs);
           }
+          return;
+        }
 
-          if ((nbm != bm) || (f == null)) {
-            bm = nbm;
-            f = bm.createObjective();
-            f.setCreatorInfo(this.m_creator);
-          }
+        if ((nbm != bm) || (f == null)) {
+          bm = nbm;
+          f = bm.createObjective();
+          f.setCreatorInfo(this.m_creator);
+        }
 
-          f.beginRun(algo);
+        start = System.currentTimeMillis();
+        try {
+          begun = f.tryBeginRun(algo);
+        } finally {
+          q._runBegun(nbm);
+        }
+        if (!begun) {
+          continue;
         }
 
         try {
@@ -228,9 +271,11 @@ final class _TSPThread extends Thread {
           f.endRun();
         }
 
+        projected = q._runCompleted(nbm,
+            (System.currentTimeMillis() - start));
         if ((log != null) && log.isLoggable(Level.INFO)) {
           log.logp(Level.INFO, _TSPThread.SOURCE_CLASS,
-              _TSPThread.SOURCE_METHOD, (this.m_jobCompleted + nbm.name()));
+              _TSPThread.SOURCE_METHOD, this.__completed(nbm, projected));
         }
       }
     } catch (final Throwable t) {
@@ -204,6 +204,14 @@ public abstract class TSPLocalSearchAlgorithm<P> extends TSPAlgorithm {
    */
   private final String m_maxIterationsParam;
 
+  /**
+   * the buffer for receiving tours from other islands if this algorithm
+   * is {@link #solve(ObjectiveFunction) run stand-alone} as island of an
+   * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.islands.IslandModel
+   * island model}, {@code null} otherwise
+   */
+  private transient int[] m_migrant;
+
   /**
    * instantiate the local search algorithm class
    *
@@ -305,9 +313,12 @@ public abstract class TSPLocalSearchAlgorithm<P> extends TSPAlgorithm {
       final ObjectiveFunction f) {
     final long originalTourLength;
     final boolean checkIterationLimit;
+    final int[] migrant;
+    long length;
     int iterations;
 
     originalTourLength = srcdst.tourLength;
+    migrant = this.m_migrant;
     this.accept(srcdst, f);
 
     // If the solution has been produced by this algorithm, we should
@@ -355,6 +366,15 @@ public abstract class TSPLocalSearchAlgorithm<P> extends TSPAlgorithm {
         this.reject(srcdst, f);
       }
 
+      // Adopt a better tour sent by another island, if any.
+      if (migrant != null) {
+        length = f.pollMigrant(migrant);
+        if (length < srcdst.tourLength) {
+          this.loadPathIntoIndividual(srcdst, migrant.clone(), length);
+          this.accept(srcdst, f);
+        }
+      }
+
       // Perturb: change the solution in order to escape the local optimum
       this.m_perturbation.pertube(srcdst, f);
     }
@@ -452,7 +472,15 @@ public abstract class TSPLocalSearchAlgorithm<P> extends TSPAlgorithm {
       this.loadPathIntoIndividual(ind, path, f.evaluate(path));
       path = null;
     }
-    this.mainLoop(ind, f);
+
+    if (f.isFork()) {
+      this.m_migrant = new int[f.n()];
+    }
+    try {
+      this.mainLoop(ind, f);
+    } finally {
+      this.m_migrant = null;
+    }
   }
 
   /**
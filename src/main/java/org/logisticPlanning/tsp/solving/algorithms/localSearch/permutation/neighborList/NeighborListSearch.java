@@ -0,0 +1,909 @@
+package org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.neighborList;
+
+import java.io.PrintStream;
+
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.Individual;
+import org.logisticPlanning.tsp.solving.TSPAlgorithmRunner;
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.TSPLocalSearchAlgorithm;
+import org.logisticPlanning.tsp.solving.utils.candidates.CandidateSet;
+import org.logisticPlanning.tsp.solving.utils.twoLevelList.TwoLevelList;
+import org.logisticPlanning.utils.config.Configurable;
+import org.logisticPlanning.utils.config.Configuration;
+
+/**
+ * <p>
+ * A local search applying 2-opt and Or-opt moves which are found with the
+ * help of neighbor lists and don't-look bits&nbsp;[<a
+ * href="#cite_B1992FAFGTSP" style="font-weight:bold">1</a>, <a
+ * href="#cite_JM1997TTSPACSILO" style="font-weight:bold">2</a>]. Different
+ * from the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.multiNeighborhoodSearch.MultiNeighborhoodSearch
+ * MultiNeighborhoodSearch} or the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.vns.PermutationVNS
+ * PermutationVNS}, which test all {@code O(n<sup>2</sup>)} pairs of
+ * indices, this search only considers moves which add an edge from a node
+ * to one of its {@link #PARAM_CANDIDATE_COUNT m} nearest neighbors (see
+ * {@link org.logisticPlanning.tsp.solving.utils.candidates.CandidateSet}
+ * ). The neighbors of each node are sorted by their distance at the
+ * beginning of a run, so the search of a node can stop at the first
+ * neighbor which is farther away than the edge that would be removed.
+ * Each node has a don't-look bit: The nodes whose bits are cleared are
+ * kept in a queue. Only these nodes are used as starting points of moves.
+ * Once no improving move starts at a node, its bit is set and it is taken
+ * out of the queue. If a move is applied, the bits of the end points of
+ * all removed edges are cleared again. A pass over all nodes thus takes
+ * {@code O(n*m)} steps plus the time needed to apply the improving moves.
+ * </p>
+ * <p>
+ * The tour is kept in path representation together with an array holding
+ * the index of each node in the tour. Both 2-opt moves and Or-opt moves,
+ * which move a sequence of up to {@link #PARAM_MAX_SEGMENT_LENGTH three}
+ * nodes to another place in the tour, optionally reversing it, are applied
+ * as series of sub-sequence reversals. Each reversal either reverses the
+ * sub-sequence itself or its complement, whichever is shorter.
+ * </p>
+ * <p>
+ * On large instances, the {@code O(n)} reversals of the path
+ * representation dominate the runtime. If the
+ * {@link #PARAM_USE_TWO_LEVEL_LIST two-level list option} is set, the
+ * tour is kept in a
+ * {@link org.logisticPlanning.tsp.solving.utils.twoLevelList.TwoLevelList
+ * two-level doubly-linked list} instead, where a reversal takes
+ * <code>O(&radic;n)</code> steps. Since writing the list back to the path
+ * representation takes {@code O(n)} steps, the applied moves are then
+ * registered in batches of about <code>&radic;n</code> moves each (and
+ * when the search ends). A batch is registered early if it would
+ * otherwise pass the next log point due to the consumed FEs, so that the
+ * FE budget is kept exactly and these log points are taken at the right
+ * FEs. Only the best tour of each batch is registered, though, so an
+ * objective value threshold of the log may be recorded up to one batch
+ * late.
+ * </p>
+ * <p>
+ * The changes of the tour length are computed from the lengths of the
+ * added and removed edges only, i.e., distances are assumed to be
+ * symmetric. Each applied move is counted as one function evaluation
+ * (FE). Every computed distance counts as one distance evaluation (DE),
+ * where the distances between the nodes and their neighbors are computed
+ * only once per run.
+ * </p>
+ * <h2>References</h2>
+ * <ol>
+ * <li><div><span id="cite_B1992FAFGTSP" />Jon Louis Bentley: <span
+ * style="font-weight:bold">&ldquo;Fast Algorithms for Geometric Traveling
+ * Salesman Problems,&rdquo;</span> in <span
+ * style="font-style:italic;font-family:cursive;">ORSA Journal on
+ * Computing</span> 4(4):387&ndash;411, Fall&nbsp;1992; published by
+ * Institute for Operations Research and the Management Sciences (INFORMS).
+ * doi:&nbsp;<a
+ * href="http://dx.doi.org/10.1287/ijoc.4.4.387">10.1287/ijoc.4.4.387</a>
+ * </div></li>
+ * <li><div><span id="cite_JM1997TTSPACSILO" />David Stifler Johnson
+ * and&nbsp;Lyle A. McGeoch: <span style="font-weight:bold">&ldquo;The
+ * Traveling Salesman Problem: A Case Study in Local
+ * Optimization,&rdquo;</span> in <span
+ * style="font-style:italic;font-family:cursive;">Local Search in
+ * Combinatorial Optimization</span>, pages 215&ndash;310, Emile H. L.
+ * Aarts and&nbsp;Jan Karel Lenstra, editors, Chichester, West Sussex, UK:
+ * John Wiley &amp; Sons Ltd., 1997.</div></li>
+ * </ol>
+ */
+public class NeighborListSearch extends TSPLocalSearchAlgorithm<int[]> {
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * the default number of candidates per node: {@value}
+   *
+   * @see #PARAM_CANDIDATE_COUNT
+   * @see #m_candidateCount
+   */
+  public static final int DEFAULT_CANDIDATE_COUNT = 10;
+
+  /**
+   * the parameter governing the number of nearest neighbors in the
+   * candidate list per node: {@value}, {@code -1} means use all nodes as
+   * candidates
+   *
+   * @see #DEFAULT_CANDIDATE_COUNT
+   * @see #m_candidateCount
+   */
+  public static final String PARAM_CANDIDATE_COUNT = "neighborListCandidateCount"; //$NON-NLS-1$
+
+  /**
+   * the default maximum length of the sequences moved by Or-opt moves:
+   * {@value}
+   *
+   * @see #PARAM_MAX_SEGMENT_LENGTH
+   * @see #m_maxSegmentLength
+   */
+  public static final int DEFAULT_MAX_SEGMENT_LENGTH = 3;
+
+  /**
+   * the parameter governing the maximum length of the sequences moved by
+   * Or-opt moves: {@value}, {@code 0} means that only 2-opt moves are
+   * performed
+   *
+   * @see #DEFAULT_MAX_SEGMENT_LENGTH
+   * @see #m_maxSegmentLength
+   */
+  public static final String PARAM_MAX_SEGMENT_LENGTH = "neighborListMaxSegmentLength"; //$NON-NLS-1$
+
+  /**
+   * the parameter governing whether the tour should be kept in a
+   * {@link org.logisticPlanning.tsp.solving.utils.twoLevelList.TwoLevelList
+   * two-level doubly-linked list} instead of the path representation:
+   * {@value}
+   *
+   * @see #m_useTwoLevelList
+   */
+  public static final String PARAM_USE_TWO_LEVEL_LIST = "neighborListUseTwoLevelList"; //$NON-NLS-1$
+
+  /**
+   * the number of candidates per node
+   *
+   * @serial an integer, {@code -1} for all nodes
+   */
+  private int m_candidateCount;
+
+  /**
+   * the maximum length of the sequences moved by Or-opt moves
+   *
+   * @serial a non-negative integer
+   */
+  private int m_maxSegmentLength;
+
+  /**
+   * should the tour be kept in a two-level doubly-linked list?
+   *
+   * @serial a boolean
+   */
+  private boolean m_useTwoLevelList;
+
+  /** the objective function */
+  private transient ObjectiveFunction m_f;
+
+  /** the number of candidates per node */
+  private transient int m_m;
+
+  /**
+   * the candidates of all nodes, the {@link #m_m} candidates of node
+   * {@code i} are stored at indexes {@code (i-1)*m} to {@code (i*m)-1},
+   * sorted by their distance to {@code i}
+   */
+  private transient int[] m_neighbors;
+
+  /**
+   * the distances of the candidates in {@link #m_neighbors} to their
+   * nodes
+   */
+  private transient int[] m_neighborDists;
+
+  /** the tour in path representation */
+  private transient int[] m_tour;
+
+  /** the index of each node in the tour */
+  private transient int[] m_pos;
+
+  /** the two-level doubly-linked list, or {@code null} if not used */
+  private transient TwoLevelList m_list;
+
+  /** the number of applied moves which have not yet been registered */
+  private transient int m_pending;
+
+  /** the number of moves which are registered together */
+  private transient int m_batchSize;
+
+  /** the queue of the nodes whose don't-look bits are cleared */
+  private transient int[] m_queue;
+
+  /** the index of the head of the queue */
+  private transient int m_head;
+
+  /** the number of nodes in the queue */
+  private transient int m_size;
+
+  /** the inverted don't-look bits: is a node in the queue? */
+  private transient boolean[] m_active;
+
+  /** the maximum segment length usable in the current tour */
+  private transient int m_realMaxSegmentLength;
+
+  /** the length of the tour */
+  private transient long m_length;
+
+  /** instantiate */
+  public NeighborListSearch() {
+    super("Neighbor List 2-opt/Or-opt Search");//$NON-NLS-1$
+    this.m_candidateCount = NeighborListSearch.DEFAULT_CANDIDATE_COUNT;
+    this.m_maxSegmentLength = NeighborListSearch.DEFAULT_MAX_SEGMENT_LENGTH;
+  }
+
+  /**
+   * Perform the neighbor list search
+   *
+   * @param args
+   *          the command line arguments
+   */
+  public final static void main(final String[] args) {
+    TSPAlgorithmRunner.benchmark(//
+        Instance.SYMMETRIC_INSTANCES, NeighborListSearch.class,//
+        args);
+  }
+
+  /**
+   * Set the number of nearest neighbors in the candidate list per node
+   *
+   * @param count
+   *          the number of candidates, {@code -1} for all nodes
+   */
+  public final void setCandidateCount(final int count) {
+    this.m_candidateCount = ((count <= 0) ? (-1) : count);
+  }
+
+  /**
+   * Get the number of nearest neighbors in the candidate list per node
+   *
+   * @return the number of candidates, {@code -1} for all nodes
+   */
+  public final int getCandidateCount() {
+    return this.m_candidateCount;
+  }
+
+  /**
+   * Set the maximum length of the sequences moved by Or-opt moves
+   *
+   * @param length
+   *          the maximum length, {@code 0} to perform only 2-opt moves
+   */
+  public final void setMaxSegmentLength(final int length) {
+    this.m_maxSegmentLength = Math.max(0, length);
+  }
+
+  /**
+   * Get the maximum length of the sequences moved by Or-opt moves
+   *
+   * @return the maximum length, {@code 0} if only 2-opt moves are
+   *         performed
+   */
+  public final int getMaxSegmentLength() {
+    return this.m_maxSegmentLength;
+  }
+
+  /**
+   * Set whether the tour should be kept in a two-level doubly-linked list
+   *
+   * @param use
+   *          {@code true} to use the two-level doubly-linked list,
+   *          {@code false} to use the path representation
+   */
+  public final void setUseTwoLevelList(final boolean use) {
+    this.m_useTwoLevelList = use;
+  }
+
+  /**
+   * Get whether the tour is kept in a two-level doubly-linked list
+   *
+   * @return {@code true} if the two-level doubly-linked list is used,
+   *         {@code false} if the path representation is used
+   */
+  public final boolean isUsingTwoLevelList() {
+    return this.m_useTwoLevelList;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void localSearch(final Individual<int[]> srcdst,
+      final ObjectiveFunction f) {
+    final int n;
+    final int[] tour, pos, queue;
+    final boolean[] active;
+    int i, a;
+
+    n = f.n();
+    if (n <= 3) {
+      return; // all tours have the same length
+    }
+
+    this.m_f = f;
+    this.m_tour = tour = srcdst.solution;
+    if (srcdst.tourLength == Individual.TOUR_LENGTH_NOT_SET) {
+      srcdst.tourLength = f.evaluate(tour);
+    }
+    this.m_length = srcdst.tourLength;
+    this.m_realMaxSegmentLength = Math.min(this.m_maxSegmentLength,
+        (n - 3));
+    if (this.m_list != null) {
+      this.m_list.fromPath(tour);
+    }
+
+    // clear all don't-look bits
+    pos = this.m_pos;
+    queue = this.m_queue;
+    active = this.m_active;
+    for (i = n; (--i) >= 0;) {
+      a = tour[i];
+      pos[a] = i;
+      queue[i] = a;
+      active[a] = true;
+    }
+    this.m_head = 0;
+    this.m_size = n;
+
+    try {
+      while ((this.m_size > 0) && (!(f.shouldTerminate()))) {
+        a = queue[this.m_head];
+        if ((++this.m_head) >= n) {
+          this.m_head = 0;
+        }
+        this.m_size--;
+        active[a] = false;
+        this.__improve(a);
+      }
+    } finally {
+      this.__flush();
+      srcdst.tourLength = this.m_length;
+      this.m_tour = null;
+    }
+  }
+
+  /**
+   * Try to find and apply an improving move starting at node {@code a}.
+   *
+   * @param a
+   *          the node
+   * @return {@code true} if an improving move was applied, {@code false}
+   *         otherwise
+   */
+  private final boolean __improve(final int a) {
+    int length;
+
+    if (this.__twoOpt(a, true) || this.__twoOpt(a, false)) {
+      return true;
+    }
+
+    for (length = 1; length <= this.m_realMaxSegmentLength; length++) {
+      if (this.__orOpt(a, length, true)) {
+        return true;
+      }
+      // a single node has no direction
+      if ((length > 1) && this.__orOpt(a, length, false)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Try to find and apply an improving 2-opt move which replaces the edge
+   * between {@code a} and its successor (or predecessor) with an edge from
+   * {@code a} to one of its candidates.
+   *
+   * @param a
+   *          the node
+   * @param forward
+   *          {@code true} for the edge to the successor, {@code false} for
+   *          the edge to the predecessor
+   * @return {@code true} if an improving move was applied, {@code false}
+   *         otherwise
+   */
+  private final boolean __twoOpt(final int a, final boolean forward) {
+    final ObjectiveFunction f;
+    final int[] neighbors, dists;
+    final int b, end;
+    final long dab;
+    long dac, delta;
+    int id, c, d;
+
+    f = this.m_f;
+    neighbors = this.m_neighbors;
+    dists = this.m_neighborDists;
+
+    b = this.__step(a, forward);
+    dab = f.distance(a, b);
+
+    id = ((a - 1) * this.m_m);
+    for (end = (id + this.m_m); id < end; id++) {
+      dac = dists[id];
+      if (dac >= dab) {
+        break; // all remaining candidates are farther away
+      }
+      c = neighbors[id];
+
+      d = this.__step(c, forward);
+      if (d == a) {
+        continue;
+      }
+
+      delta = ((dac + f.distance(b, d)) - (dab + f.distance(c, d)));
+      if (delta < 0l) {
+        this.__move(a, b, c, d);
+        this.__improved(delta);
+        this.__push(a);
+        this.__push(b);
+        this.__push(c);
+        this.__push(d);
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Try to find and apply an improving Or-opt move which moves the
+   * sequence of {@code length} nodes starting at {@code a} to a place
+   * next to one of the candidates of {@code a}.
+   *
+   * @param a
+   *          the first node of the sequence
+   * @param length
+   *          the number of nodes in the sequence
+   * @param forward
+   *          {@code true} if the sequence consists of {@code a} and its
+   *          successors, {@code false} if it consists of {@code a} and its
+   *          predecessors
+   * @return {@code true} if an improving move was applied, {@code false}
+   *         otherwise
+   */
+  private final boolean __orOpt(final int a, final int length,
+      final boolean forward) {
+    final ObjectiveFunction f;
+    final int[] neighbors, dists;
+    final int p, nx, end;
+    final long gain;
+    long dac, delta;
+    int id, e, c, x, y;
+
+    f = this.m_f;
+    neighbors = this.m_neighbors;
+    dists = this.m_neighborDists;
+
+    p = this.__step(a, !forward);
+    e = a;
+    for (id = length; (--id) > 0;) {
+      e = this.__step(e, forward);
+    }
+    nx = this.__step(e, forward);
+
+    // the gain of taking the sequence out of the tour
+    gain = ((f.distance(p, a) + ((long) (f.distance(e, nx)))) - f
+        .distance(p, nx));
+    if (gain <= 0l) {
+      return false;
+    }
+
+    id = ((a - 1) * this.m_m);
+    for (end = (id + this.m_m); id < end; id++) {
+      dac = dists[id];
+      if (dac >= gain) {
+        break; // all remaining candidates are farther away
+      }
+      c = neighbors[id];
+      if (this.__inSequence(a, e, c, length, forward)) {
+        continue;
+      }
+
+      // insert the sequence between c and its next node, a next to c
+      y = this.__step(c, forward);
+      if (y != a) {
+        delta = ((dac + f.distance(e, y)) - (f.distance(c, y) + gain));
+        if (delta < 0l) {
+          this.__orOptMove(p, a, e, nx, c, y, true);
+          this.__improved(delta);
+          return true;
+        }
+      }
+
+      // insert the sequence between the previous node of c and c, a
+      // next to c
+      x = this.__step(c, !forward);
+      if (x != e) {
+        delta = ((dac + f.distance(x, e)) - (f.distance(x, c) + gain));
+        if (delta < 0l) {
+          this.__orOptMove(p, a, e, nx, x, c, false);
+          this.__improved(delta);
+          return true;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Move the sequence from {@code a} to {@code e} between {@code x} and
+   * {@code y} by applying two or three 2-opt moves. The edges
+   * {@code (p, a)}, {@code (e, nx)}, and {@code (x, y)} are removed and
+   * the edge {@code (p, nx)} is added. {@code y} must be the next node of
+   * {@code x} in the same direction in which {@code a} is the next node of
+   * {@code p}.
+   *
+   * @param p
+   *          the node before the sequence
+   * @param a
+   *          the first node of the sequence
+   * @param e
+   *          the last node of the sequence
+   * @param nx
+   *          the node after the sequence
+   * @param x
+   *          the first node of the edge to insert the sequence into
+   * @param y
+   *          the second node of the edge to insert the sequence into
+   * @param aNextToX
+   *          {@code true} if the edges {@code (x, a)} and {@code (e, y)}
+   *          should be added, {@code false} if the edges {@code (x, e)}
+   *          and {@code (a, y)} should be added
+   */
+  private final void __orOptMove(final int p, final int a, final int e,
+      final int nx, final int x, final int y, final boolean aNextToX) {
+    this.__move(p, a, x, y); // add (p, x) and (a, y)
+    this.__move(p, x, nx, e); // add (p, nx) and (x, e)
+    if (aNextToX) {
+      this.__move(x, e, a, y); // add (x, a) and (e, y)
+    }
+    this.__push(p);
+    this.__push(a);
+    this.__push(e);
+    this.__push(nx);
+    this.__push(x);
+    this.__push(y);
+  }
+
+  /**
+   * Apply a 2-opt move: remove the edges {@code (t1, t2)} and
+   * {@code (t3, t4)} and add the edges {@code (t1, t3)} and
+   * {@code (t2, t4)}. {@code t2} must either be the successor of
+   * {@code t1} and {@code t4} the successor of {@code t3} or {@code t2}
+   * must be the predecessor of {@code t1} and {@code t4} the predecessor
+   * of {@code t3}. If the edges are adjacent, nothing happens.
+   *
+   * @param t1
+   *          the first node of the first edge
+   * @param t2
+   *          the second node of the first edge
+   * @param t3
+   *          the first node of the second edge
+   * @param t4
+   *          the second node of the second edge
+   */
+  private final void __move(final int t1, final int t2, final int t3,
+      final int t4) {
+    final int[] pos;
+    final TwoLevelList list;
+
+    list = this.m_list;
+    if (list != null) {
+      if (list.next(t1) == t2) {
+        if ((t2 != t3) && (t4 != t1)) {
+          list.reverse(t2, t3);
+        }
+      } else {
+        if ((t1 != t4) && (t3 != t2)) {
+          list.reverse(t1, t4);
+        }
+      }
+      return;
+    }
+
+    pos = this.m_pos;
+    if (this.__step(t1, true) == t2) {
+      if ((t2 != t3) && (t4 != t1)) {
+        this.__reverse(pos[t2], pos[t3]);
+      }
+    } else {
+      if ((t1 != t4) && (t3 != t2)) {
+        this.__reverse(pos[t1], pos[t4]);
+      }
+    }
+  }
+
+  /**
+   * Reverse the sub-sequence of the tour from index {@code i} to index
+   * {@code j}, which wraps around the end of the tour if {@code j<i}. If
+   * the sub-sequence is longer than half of the tour, its complement is
+   * reversed instead, which results in the same cycle.
+   *
+   * @param i
+   *          the index of the first node of the sub-sequence
+   * @param j
+   *          the index of the last node of the sub-sequence
+   */
+  private final void __reverse(final int i, final int j) {
+    final int[] tour, pos;
+    final int n;
+    int a, b, length, u, v;
+
+    tour = this.m_tour;
+    pos = this.m_pos;
+    n = tour.length;
+
+    a = i;
+    b = j;
+    length = (b - a);
+    if (length < 0) {
+      length += n;
+    }
+    length++;
+
+    if ((length << 1) > n) {
+      a = (j + 1);
+      if (a >= n) {
+        a = 0;
+      }
+      b = (i - 1);
+      if (b < 0) {
+        b = (n - 1);
+      }
+      length = (n - length);
+    }
+
+    for (length >>>= 1; (--length) >= 0;) {
+      u = tour[a];
+      v = tour[b];
+      tour[a] = v;
+      pos[v] = a;
+      tour[b] = u;
+      pos[u] = b;
+      if ((++a) >= n) {
+        a = 0;
+      }
+      if ((--b) < 0) {
+        b = (n - 1);
+      }
+    }
+  }
+
+  /**
+   * Get the successor or predecessor of a node
+   *
+   * @param node
+   *          the node
+   * @param forward
+   *          {@code true} for the successor, {@code false} for the
+   *          predecessor
+   * @return the successor or predecessor of {@code node}
+   */
+  private final int __step(final int node, final boolean forward) {
+    final int[] tour;
+    int i;
+
+    if (this.m_list != null) {
+      return (forward ? this.m_list.next(node) : this.m_list.prev(node));
+    }
+
+    tour = this.m_tour;
+    i = this.m_pos[node];
+    if (forward) {
+      if ((++i) >= tour.length) {
+        i = 0;
+      }
+    } else {
+      if ((--i) < 0) {
+        i = (tour.length - 1);
+      }
+    }
+    return tour[i];
+  }
+
+  /**
+   * Check whether a node belongs to the sequence of {@code length} nodes
+   * starting at {@code a}
+   *
+   * @param a
+   *          the first node of the sequence
+   * @param e
+   *          the last node of the sequence
+   * @param node
+   *          the node to check
+   * @param length
+   *          the number of nodes in the sequence
+   * @param forward
+   *          {@code true} if the sequence consists of {@code a} and its
+   *          successors, {@code false} if it consists of {@code a} and its
+   *          predecessors
+   * @return {@code true} if {@code node} belongs to the sequence,
+   *         {@code false} otherwise
+   */
+  private final boolean __inSequence(final int a, final int e,
+      final int node, final int length, final boolean forward) {
+    int offset;
+
+    if (this.m_list != null) {
+      return (forward ? this.m_list.between(a, node, e) : this.m_list
+          .between(e, node, a));
+    }
+
+    offset = (forward ? (this.m_pos[node] - this.m_pos[a])
+        : (this.m_pos[a] - this.m_pos[node]));
+    if (offset < 0) {
+      offset += this.m_tour.length;
+    }
+    return (offset < length);
+  }
+
+  /**
+   * Clear the don't-look bit of a node, i.e., put it into the queue if it
+   * is not already there
+   *
+   * @param node
+   *          the node
+   */
+  private final void __push(final int node) {
+    final int n;
+    int i;
+
+    if (this.m_active[node]) {
+      return;
+    }
+    this.m_active[node] = true;
+
+    n = this.m_queue.length;
+    i = (this.m_head + this.m_size);
+    if (i >= n) {
+      i -= n;
+    }
+    this.m_queue[i] = node;
+    this.m_size++;
+  }
+
+  /**
+   * Register that an improving move has been applied
+   *
+   * @param delta
+   *          the change of the tour length
+   */
+  private final void __improved(final long delta) {
+    this.m_length += delta;
+    if (this.m_list != null) {
+      if (((++this.m_pending) >= this.m_batchSize)
+          || (this.m_pending >= this.m_f.getFEsUntilLogPoint())) {
+        this.__flush();
+      }
+    } else {
+      this.m_f.registerFE(this.m_tour, this.m_length);
+    }
+  }
+
+  /**
+   * Write the two-level doubly-linked list back to the path representation
+   * and register the moves applied since the last call, if any
+   */
+  private final void __flush() {
+    if (this.m_pending > 0) {
+      this.m_list.toPath(this.m_tour);
+      this.m_f.registerFEs(this.m_pending, this.m_tour, this.m_length);
+      this.m_pending = 0;
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final NeighborListSearch clone() {
+    final NeighborListSearch res;
+
+    res = ((NeighborListSearch) (super.clone()));
+    res.__clear();
+    return res;
+  }
+
+  /** clear all internal data */
+  private final void __clear() {
+    this.m_f = null;
+    this.m_m = 0;
+    this.m_neighbors = null;
+    this.m_neighborDists = null;
+    this.m_tour = null;
+    this.m_pos = null;
+    this.m_list = null;
+    this.m_pending = 0;
+    this.m_batchSize = 0;
+    this.m_queue = null;
+    this.m_active = null;
+    this.m_head = 0;
+    this.m_size = 0;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void printConfiguration(final PrintStream ps) {
+    super.printConfiguration(ps);
+
+    Configurable.printKey(NeighborListSearch.PARAM_CANDIDATE_COUNT, ps);
+    ps.println(this.m_candidateCount);
+
+    Configurable.printKey(NeighborListSearch.PARAM_MAX_SEGMENT_LENGTH, ps);
+    ps.println(this.m_maxSegmentLength);
+
+    Configurable.printKey(NeighborListSearch.PARAM_USE_TWO_LEVEL_LIST, ps);
+    ps.println(this.m_useTwoLevelList);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void printParameters(final PrintStream ps) {
+    super.printParameters(ps);
+
+    Configurable.printKey(NeighborListSearch.PARAM_CANDIDATE_COUNT, ps);
+    ps.println("the number of nearest neighbors in the candidate sets per node"); //$NON-NLS-1$
+
+    Configurable.printKey(NeighborListSearch.PARAM_MAX_SEGMENT_LENGTH, ps);
+    ps.println("the maximum number of nodes moved by an Or-opt move, 0 for 2-opt only"); //$NON-NLS-1$
+
+    Configurable.printKey(NeighborListSearch.PARAM_USE_TWO_LEVEL_LIST, ps);
+    ps.println("should the tour be kept in a two-level doubly-linked list instead of the path representation?"); //$NON-NLS-1$
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void configure(final Configuration config) {
+    super.configure(config);
+
+    this.setCandidateCount(config.getInt(
+        NeighborListSearch.PARAM_CANDIDATE_COUNT, -1, 1000000,
+        this.m_candidateCount));
+    this.setMaxSegmentLength(config.getInt(
+        NeighborListSearch.PARAM_MAX_SEGMENT_LENGTH, 0, 1000,
+        this.m_maxSegmentLength));
+    this.setUseTwoLevelList(config.getBoolean(
+        NeighborListSearch.PARAM_USE_TWO_LEVEL_LIST,
+        this.m_useTwoLevelList));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void beginRun(final ObjectiveFunction f) {
+    final CandidateSet candidates;
+    final int[] neighbors, dists;
+    final int n, m;
+    int i, j, k, start, node, dist;
+
+    super.beginRun(f);
+
+    n = f.n();
+    candidates = CandidateSet.allocate(f, this.m_candidateCount, null);
+    this.m_m = m = candidates.m();
+
+    // The candidates are not ordered by distance, so we sort them once.
+    this.m_neighbors = neighbors = new int[n * m];
+    this.m_neighborDists = dists = new int[n * m];
+    k = 0;
+    for (i = 1; i <= n; i++) {
+      start = k;
+      for (j = 1; j <= m; j++) {
+        node = candidates.getCandidate(i, j);
+        dist = f.distance(i, node);
+        for (k = (start + j - 1); (k > start) && (dists[k - 1] > dist); k--) {
+          neighbors[k] = neighbors[k - 1];
+          dists[k] = dists[k - 1];
+        }
+        neighbors[k] = node;
+        dists[k] = dist;
+      }
+      k = (start + m);
+    }
+
+    this.m_pos = new int[n + 1];
+    if (this.m_useTwoLevelList) {
+      this.m_list = new TwoLevelList(n);
+      this.m_batchSize = Math.max(1, ((int) (Math.sqrt(n))));
+    }
+    this.m_pending = 0;
+    this.m_queue = new int[n];
+    this.m_active = new boolean[n + 1];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void endRun(final ObjectiveFunction f) {
+    try {
+      this.__clear();
+    } finally {
+      super.endRun(f);
+    }
+  }
+}
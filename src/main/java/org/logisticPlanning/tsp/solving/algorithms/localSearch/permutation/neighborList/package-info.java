@@ -0,0 +1,8 @@
+/**
+ * A
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.neighborList.NeighborListSearch
+ * local search algorithm} that applies 2-opt and Or-opt moves found via
+ * neighbor lists and don't-look bits.
+ */
+package org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.neighborList;
+
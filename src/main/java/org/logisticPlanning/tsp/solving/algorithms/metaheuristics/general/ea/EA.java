@@ -1,6 +1,7 @@
 package org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.ea;
 
 import java.io.PrintStream;
+import java.io.Serializable;
 
 import org.logisticPlanning.tsp.benchmarking.objective.LogPoint;
 import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
@@ -2128,6 +2129,14 @@ public class EA extends TSPAlgorithm {
   /** the number of performed generations: {@value} */
   public static final String INFO_COMPLETED_GENERATIONS = "eaCompletedGenerations"; //$NON-NLS-1$
 
+  /**
+   * the parameter for the number of threads used inside a single run:
+   * {@value} . If this is larger than {@code 1}, the individuals of each
+   * generation are completed and the offspring are created in parallel
+   * (see {@link #m_parallelism}).
+   */
+  public static final String PARAM_PARALLELISM = "parallelism"; //$NON-NLS-1$
+
   /** the default &#956;: {@value} , see {@link #m_mu} */
   private static final int DEFAULT_MU = 16;
 
@@ -2306,6 +2315,35 @@ public class EA extends TSPAlgorithm {
    */
   private transient int m_completedGenerations;
 
+  /**
+   * The number of threads used inside a single run. If this is {@code 1}
+   * (the default), the EA is purely sequential. Otherwise, the completion
+   * of the individuals of a generation (genotype-phenotype mapping, local
+   * search, evaluation) and the creation of the offspring are performed
+   * in parallel by a fork-join pool of this many threads. Each thread
+   * works on its own clone of this EA and its own
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#fork()
+   * fork} of the objective function, and each individual is processed
+   * with its own random seed. The FEs and DEs of a generation are merged
+   * into the objective function of the run in the order in which the
+   * sequential EA would process the individuals, so the log and the
+   * termination criteria are exact. Since the seeds are drawn differently,
+   * a parallel run does not produce the same individuals as a sequential
+   * run with the same random seed. If several runs are executed in
+   * parallel (see
+   * {@link org.logisticPlanning.tsp.solving.TSPAlgorithmRunner#PARAM_MAX_THREADS}
+   * ), the threads multiply. If the EA runs on a
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#isFork()
+   * fork}, e.g., as island of an
+   * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.islands.IslandModel
+   * island model}, it is always sequential.
+   *
+   * @serial a positive integer number
+   * @see #getParallelism()
+   * @see #setParallelism(int)
+   */
+  private int m_parallelism;
+
   /**
    * create the EA an initialize all parameters to default values
    *
@@ -2328,6 +2366,7 @@ public class EA extends TSPAlgorithm {
     this.m_minResizeFactor = EA.DEFAULT_MIN_RESIZE;
     this.m_maxResizeFactor = EA.DEFAULT_MAX_RESIZE;
     this.m_resizeStrategy = StaticPopulationSize.INSTANCE;
+    this.m_parallelism = 1;
 
     this.m_completedGenerations = (-1);
   }
@@ -2656,6 +2695,29 @@ public class EA extends TSPAlgorithm {
     return this.m_nullary;
   }
 
+  /**
+   * Get the number of threads used inside a single run
+   *
+   * @return the number of threads used inside a single run
+   * @see #m_parallelism
+   * @see #setParallelism(int)
+   */
+  public final int getParallelism() {
+    return this.m_parallelism;
+  }
+
+  /**
+   * Set the number of threads used inside a single run
+   *
+   * @param parallelism
+   *          the number of threads used inside a single run
+   * @see #m_parallelism
+   * @see #getParallelism()
+   */
+  public final void setParallelism(final int parallelism) {
+    this.m_parallelism = Math.max(1, parallelism);
+  }
+
   /** {@inheritDoc} */
   @Override
   public void configure(final Configuration config) {
@@ -2698,6 +2760,9 @@ public class EA extends TSPAlgorithm {
         0d, 1d, this.m_minResizeFactor);
     this.m_maxResizeFactor = config.getDouble(EA.PARAM_MAX_RESIZE_FACTOR,
         1d, Double.POSITIVE_INFINITY, this.m_maxResizeFactor);
+
+    this.m_parallelism = config.getInt(EA.PARAM_PARALLELISM, 1, 10000,
+        this.m_parallelism);
   }
 
   /** {@inheritDoc} */
@@ -2749,6 +2814,9 @@ public class EA extends TSPAlgorithm {
     Configurable.printKey(EA.PARAM_GPM, ps);
     Configurable.printlnObject(this.m_gpm, ps);
 
+    Configurable.printKey(EA.PARAM_PARALLELISM, ps);
+    ps.println(this.m_parallelism);
+
     if (this.m_completedGenerations >= 0) {
       Configurable.printKey(EA.INFO_COMPLETED_GENERATIONS, ps);
       ps.println(this.m_completedGenerations);
@@ -2805,6 +2873,9 @@ public class EA extends TSPAlgorithm {
     Configurable.printKey(EA.PARAM_GPM, ps);
     ps.println("the class of the genotype-phenotype mapping (gpm)."); //$NON-NLS-1$
     this.m_gpm.printParameters(ps);
+
+    Configurable.printKey(EA.PARAM_PARALLELISM, ps);
+    ps.println("the number of threads used to complete the individuals and create the offspring inside a single run."); //$NON-NLS-1$
   }
 
   /**
@@ -2853,6 +2924,111 @@ public class EA extends TSPAlgorithm {
   @SuppressWarnings("unchecked")
   @Override
   public void solve(final ObjectiveFunction f) {
+    final Individual<Object>[] pop, mate;
+    final Serializable state;
+    final _EAState resume;
+    _ParallelEA par;
+
+    state = f.getResumedState();
+    if (state instanceof _EAState) {
+      // the run was interrupted and is resumed from a checkpoint, so we
+      // continue with the generation at which the checkpoint was written
+      resume = ((_EAState) state);
+      pop = resume._getPopulation();
+      mate = new Individual[resume.m_mu];
+      this.m_completedGenerations = resume.m_generations;
+    } else {
+      resume = null;
+      pop = new Individual[this.getLambda()];
+      mate = new Individual[this.getMu()];
+
+      // Produce the first generation of individuals. These individuals
+      // will usually be random, may have also been produced with a
+      // heuristic and/or refined with a local search
+      this.createFirstGeneration(pop, f);
+    }
+
+    // in the parallel mode, the workers are set up only now, so that they
+    // take over the state of this EA after its initialization
+    par = null;
+    if ((this.m_parallelism > 1) && (!(f.isFork()))
+        && (!(f.shouldTerminate()))) {
+      par = new _ParallelEA(this, f, this.m_parallelism);
+    }
+
+    try {
+      this.__solve(f, pop, mate, par, resume);
+    } finally {
+      if (par != null) {
+        par._close();
+      }
+    }
+  }
+
+  /**
+   * Let the tour sent by another island of an
+   * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.islands.IslandModel
+   * island model}, if any, replace the worst new individual if it is
+   * better.
+   *
+   * @param pop
+   *          the population
+   * @param lambda
+   *          the number of new individuals
+   * @param f
+   *          the objective function
+   * @param migrant
+   *          the buffer to receive the tour
+   */
+  private static final void __immigrate(final Individual<Object>[] pop,
+      final int lambda, final ObjectiveFunction f, final int[] migrant) {
+    final long length;
+    Individual<Object> ind;
+    long worstLength;
+    int i, worst;
+
+    length = f.pollMigrant(migrant);
+    if (length >= Individual.TOUR_LENGTH_NOT_SET) {
+      return;
+    }
+
+    worst = (-1);
+    worstLength = length;
+    for (i = lambda; (--i) >= 0;) {
+      ind = pop[i];
+      if (ind.tourLength > worstLength) {
+        worstLength = ind.tourLength;
+        worst = i;
+      }
+    }
+
+    if (worst >= 0) {
+      pop[worst] = ind = new Individual<>();
+      ind.solution = migrant.clone();
+      ind.tourLength = length;
+    }
+  }
+
+  /**
+   * The main loop of the EA
+   *
+   * @param f
+   *          the objective function
+   * @param initPop
+   *          the first generation
+   * @param initMate
+   *          the mating pool
+   * @param par
+   *          the parallel mode, or {@code null} if the EA is sequential
+   * @param resume
+   *          the state from which the EA is resumed, or {@code null} if
+   *          the run begins normally
+   */
+  @SuppressWarnings("unchecked")
+  private final void __solve(final ObjectiveFunction f,
+      final Individual<Object>[] initPop,
+      final Individual<Object>[] initMate, final _ParallelEA par,
+      final _EAState resume) {
     Individual<Object>[] pop, mate;
     final boolean ss;
     final int origLambda, origMu;
@@ -2866,6 +3042,7 @@ public class EA extends TSPAlgorithm {
     final Randomizer r;
     final double cr, minResize, maxResize;
     final LogPoint bestLP;
+    final int[] migrant;
     double resize, factor;
     long temp, lastImprovementFE;
 
@@ -2875,8 +3052,8 @@ public class EA extends TSPAlgorithm {
     minResize = this.m_minResizeFactor;
     maxResize = this.m_maxResizeFactor;
 
-    pop = new Individual[origLambda];
-    mate = new Individual[origMu];
+    pop = initPop;
+    mate = initMate;
 
     op1 = this.getUnaryOperator();
     op2 = this.getBinaryOperator();
@@ -2888,14 +3065,28 @@ public class EA extends TSPAlgorithm {
     bestLP = f.getLastImprovementLogPoint();
     lastImprovementFE = Long.MIN_VALUE;
 
-    // Produce the first generation of individuals. These individuals will
-    // usually be random, may have also been produced with a heuristic
-    // and/or refined with a local search
-    this.createFirstGeneration(pop, f);
+    if (resume != null) {
+      currentLambda = resume.m_lambda;
+      currentMu = resume.m_mu;
+      nextMu = resume.m_nextMu;
+      lastImprovementFE = resume.m_lastImprovementFE;
+    }
+
+    // tours sent by other islands of an island model can only be used if
+    // the genotypes are tours
+    migrant = ((f.isFork() && (gpm instanceof IdentityMapping)) ? new int[f
+        .n()] : null);
 
     for (;;) {
       // loop forever - termination criterion is checked in loop body
 
+      // at the beginning of a generation, the state of the EA is small and
+      // consistent, so this is where we store it in the checkpoints
+      if (f.isCheckpointDue()) {
+        f.checkpoint(_EAState._create(pop, currentLambda, currentMu,
+            nextMu, lastImprovementFE, this.m_completedGenerations));
+      }
+
       // increase number of completed generations
       this.m_completedGenerations++;
 
@@ -2905,18 +3096,29 @@ public class EA extends TSPAlgorithm {
       // At the beginning of each generation, we "complete" the individuals
       // in the population, i.e., perform GPMs and calculate the tour
       // lengths
-      for (i = currentLambda; (--i) >= 0;) {
-        ind = pop[i];
-        this.complete(ind, f, gpm);
-        if (f.shouldTerminate()) {
-          // if the computational budget is spent, we return
+      if (par != null) {
+        if (par._complete(pop, currentLambda, f)) {
           return;
         }
+      } else {
+        for (i = currentLambda; (--i) >= 0;) {
+          ind = pop[i];
+          this.complete(ind, f, gpm);
+          if (f.shouldTerminate()) {
+            // if the computational budget is spent, we return
+            return;
+          }
+        }
       }
 
       // ok, all individuals have been processed by the gpm
       gpm.afterGeneration(f);
 
+      // another island may have sent us a good tour
+      if (migrant != null) {
+        EA.__immigrate(pop, currentLambda, f, migrant);
+      }
+
       // use the tour lengths (and potentially other individual features)
       // to create the fitness of each individual (by default, fitness=tour
       // length, but the fitness assignment process may do whatever it
@@ -2989,6 +3191,13 @@ public class EA extends TSPAlgorithm {
       }
 
       // now we can fill the population with lambda new offspring
+      if (par != null) {
+        if (par._createOffspring(pop, currentLambda, mate, currentMu, cr,
+            f)) {
+          return;
+        }
+        continue;
+      }
       for (i = currentLambda; (--i) >= 0;) {
         pop[i] = ind = new Individual<>();
         // With probability cr, an offspring results from crossover (binary
@@ -3008,6 +3217,15 @@ public class EA extends TSPAlgorithm {
     }
   }
 
+  /**
+   * {@inheritDoc} The EA stores its population and population sizes in
+   * the checkpoints at the beginning of a generation.
+   */
+  @Override
+  public boolean isCheckpointing() {
+    return true;
+  }
+
   /** {@inheritDoc} */
   @Override
   @SuppressWarnings("unchecked")
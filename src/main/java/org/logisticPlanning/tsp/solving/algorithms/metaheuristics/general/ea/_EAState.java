@@ -0,0 +1,150 @@
+package org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.ea;
+
+import java.io.Serializable;
+
+import org.logisticPlanning.tsp.solving.Individual;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * The state of an
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.ea.EA}
+ * at the beginning of a generation, which is stored in the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#checkpoint(Serializable)
+ * checkpoints} of a run. It holds the genotypes, tour lengths, and
+ * fitness values of the population as well as the current population
+ * sizes and counters. The producers of the individuals are not stored.
+ * </p>
+ */
+final class _EAState implements Serializable {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the genotypes of the individuals in the population */
+  private final Object[] m_solutions;
+
+  /** the tour lengths of the individuals in the population */
+  private final long[] m_tourLengths;
+
+  /** the fitness values of the individuals in the population */
+  private final double[] m_fitness;
+
+  /** the number of new individuals */
+  final int m_lambda;
+
+  /** the size of the mating pool of the previous generation */
+  final int m_mu;
+
+  /** the size of the mating pool of the next generation */
+  final int m_nextMu;
+
+  /** the FEs consumed at the last improvement seen by the EA */
+  final long m_lastImprovementFE;
+
+  /** the number of completed generations */
+  final int m_generations;
+
+  /**
+   * create
+   *
+   * @param solutions
+   *          the genotypes
+   * @param tourLengths
+   *          the tour lengths
+   * @param fitness
+   *          the fitness values
+   * @param lambda
+   *          the number of new individuals
+   * @param mu
+   *          the size of the mating pool of the previous generation
+   * @param nextMu
+   *          the size of the mating pool of the next generation
+   * @param lastImprovementFE
+   *          the FEs consumed at the last improvement seen by the EA
+   * @param generations
+   *          the number of completed generations
+   */
+  private _EAState(final Object[] solutions, final long[] tourLengths,
+      final double[] fitness, final int lambda, final int mu,
+      final int nextMu, final long lastImprovementFE, final int generations) {
+    super();
+    this.m_solutions = solutions;
+    this.m_tourLengths = tourLengths;
+    this.m_fitness = fitness;
+    this.m_lambda = lambda;
+    this.m_mu = mu;
+    this.m_nextMu = nextMu;
+    this.m_lastImprovementFE = lastImprovementFE;
+    this.m_generations = generations;
+  }
+
+  /**
+   * Create the state of the EA at the beginning of a generation
+   *
+   * @param pop
+   *          the population
+   * @param lambda
+   *          the number of new individuals
+   * @param mu
+   *          the size of the mating pool of the previous generation
+   * @param nextMu
+   *          the size of the mating pool of the next generation
+   * @param lastImprovementFE
+   *          the FEs consumed at the last improvement seen by the EA
+   * @param generations
+   *          the number of completed generations
+   * @return the state, or {@code null} if the genotypes cannot be stored
+   */
+  static final _EAState _create(final Individual<Object>[] pop,
+      final int lambda, final int mu, final int nextMu,
+      final long lastImprovementFE, final int generations) {
+    final Object[] solutions;
+    final long[] tourLengths;
+    final double[] fitness;
+    Individual<Object> ind;
+    int i;
+
+    i = pop.length;
+    solutions = new Object[i];
+    tourLengths = new long[i];
+    fitness = new double[i];
+    for (; (--i) >= 0;) {
+      ind = pop[i];
+      if (!(ind.solution instanceof Serializable)) {
+        return null;
+      }
+      solutions[i] = ind.solution;
+      tourLengths[i] = ind.tourLength;
+      fitness[i] = ind.f;
+    }
+
+    return new _EAState(solutions, tourLengths, fitness, lambda, mu,
+        nextMu, lastImprovementFE, generations);
+  }
+
+  /**
+   * Restore the population
+   *
+   * @return the population
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  final Individual<Object>[] _getPopulation() {
+    final Individual<Object>[] pop;
+    Individual<Object> ind;
+    int i;
+
+    i = this.m_solutions.length;
+    pop = new Individual[i];
+    for (; (--i) >= 0;) {
+      pop[i] = ind = new Individual<>();
+      ind.solution = this.m_solutions[i];
+      ind.tourLength = this.m_tourLengths[i];
+      ind.f = this.m_fitness[i];
+    }
+    return pop;
+  }
+}
@@ -0,0 +1,237 @@
+package org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.ea;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.benchmarking.objective.TaskRecord;
+import org.logisticPlanning.tsp.solving.Individual;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * The parallel mode of the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.ea.EA}
+ * (see
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.ea.EA#PARAM_PARALLELISM}
+ * ). The completion of the individuals of a generation (genotype-phenotype
+ * mapping, local search, evaluation) and the creation of the offspring are
+ * farmed out to the workers in a fork-join pool. Each worker has its own
+ * clone of the EA, i.e., its own operators with their scratch memory, and
+ * its own {@link ObjectiveFunction#fork() fork} of the objective function.
+ * </p>
+ * <p>
+ * Each individual is processed in one task. The random seed of a task is
+ * drawn from the randomizer of the run in a fixed order and the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.TaskRecord
+ * records} of the tasks are {@link ObjectiveFunction#merge(TaskRecord)
+ * merged} into the objective function of the run in the same order as the
+ * sequential EA would process the individuals, once per generation. The
+ * termination criterion is checked after each merged task and the records
+ * of the tasks following the one which triggered the termination are
+ * discarded. Thus, the logged FEs, DEs, and objective values are exactly
+ * those of a sequential run processing the same individuals.
+ * </p>
+ */
+final class _ParallelEA {
+
+  /** the fork-join pool */
+  private final ForkJoinPool m_pool;
+
+  /** the workers */
+  private final ArrayList<_ParallelEAWorker> m_workers;
+
+  /** the index of the next individual to process plus one */
+  final AtomicInteger m_next;
+
+  /** the task records, one per individual */
+  TaskRecord[] m_records;
+
+  /** the random seeds of the tasks, one per individual */
+  long[] m_seeds;
+
+  /**
+   * are we creating offspring ({@code true}) or completing individuals (
+   * {@code false})?
+   */
+  boolean m_offspring;
+
+  /** the population */
+  Individual<Object>[] m_pop;
+
+  /** the mating pool */
+  Individual<Object>[] m_mate;
+
+  /** the number of individuals in the mating pool */
+  int m_mu;
+
+  /** the crossover rate */
+  double m_cr;
+
+  /**
+   * create the parallel mode
+   *
+   * @param ea
+   *          the EA
+   * @param f
+   *          the objective function of the run
+   * @param parallelism
+   *          the number of worker threads
+   */
+  _ParallelEA(final EA ea, final ObjectiveFunction f, final int parallelism) {
+    super();
+
+    EA clone;
+    ObjectiveFunction fork;
+    int i;
+
+    this.m_pool = new ForkJoinPool(parallelism);
+    this.m_workers = new ArrayList<>(parallelism);
+    this.m_next = new AtomicInteger();
+    this.m_records = new TaskRecord[0];
+    this.m_seeds = new long[0];
+
+    for (i = parallelism; (--i) >= 0;) {
+      clone = ea.clone();
+      fork = f.fork();
+      clone.beginRun(fork);
+      this.m_workers.add(new _ParallelEAWorker(this, clone, fork));
+    }
+  }
+
+  /**
+   * Complete the individuals of a generation in parallel
+   *
+   * @param pop
+   *          the population
+   * @param lambda
+   *          the number of individuals to complete
+   * @param f
+   *          the objective function
+   * @return {@code true} if the run should terminate, {@code false}
+   *         otherwise
+   */
+  final boolean _complete(final Individual<Object>[] pop, final int lambda,
+      final ObjectiveFunction f) {
+    this.m_offspring = false;
+    this.m_pop = pop;
+    return this.__run(lambda, f);
+  }
+
+  /**
+   * Create the offspring of a generation in parallel
+   *
+   * @param pop
+   *          the population to fill
+   * @param lambda
+   *          the number of offspring
+   * @param mate
+   *          the mating pool
+   * @param mu
+   *          the number of individuals in the mating pool
+   * @param cr
+   *          the crossover rate
+   * @param f
+   *          the objective function
+   * @return {@code true} if the run should terminate, {@code false}
+   *         otherwise
+   */
+  final boolean _createOffspring(final Individual<Object>[] pop,
+      final int lambda, final Individual<Object>[] mate, final int mu,
+      final double cr, final ObjectiveFunction f) {
+    this.m_offspring = true;
+    this.m_pop = pop;
+    this.m_mate = mate;
+    this.m_mu = mu;
+    this.m_cr = cr;
+    return this.__run(lambda, f);
+  }
+
+  /**
+   * Process {@code count} individuals in parallel and merge the task
+   * records
+   *
+   * @param count
+   *          the number of individuals
+   * @param f
+   *          the objective function
+   * @return {@code true} if the run should terminate, {@code false}
+   *         otherwise
+   */
+  private final boolean __run(final int count, final ObjectiveFunction f) {
+    final Randomizer r;
+    TaskRecord[] records;
+    Throwable error;
+    int i;
+
+    records = this.m_records;
+    if (records.length < count) {
+      this.m_records = records = Arrays.copyOf(records, count);
+      this.m_seeds = new long[count];
+    }
+
+    r = f.getRandom();
+    for (i = count; (--i) >= 0;) {
+      if (records[i] == null) {
+        records[i] = new TaskRecord();
+      }
+      this.m_seeds[i] = r.nextLong();
+    }
+
+    this.m_next.set(count);
+    error = null;
+    for (final Future<Void> future : this.m_pool.invokeAll(this.m_workers)) {
+      try {
+        future.get();
+      } catch (final ExecutionException ee) {
+        if (error == null) {
+          error = ee.getCause();
+        }
+      } catch (final InterruptedException ie) {
+        if (error == null) {
+          error = ie;
+        }
+      }
+    }
+    if (error != null) {
+      if (error instanceof RuntimeException) {
+        throw ((RuntimeException) error);
+      }
+      if (error instanceof Error) {
+        throw ((Error) error);
+      }
+      throw new RuntimeException(error);
+    }
+
+    // merge in the same order in which the sequential EA would process the
+    // individuals
+    for (i = count; (--i) >= 0;) {
+      f.merge(records[i]);
+      if (f.shouldTerminate()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** shut down the workers */
+  final void _close() {
+    try {
+      for (final _ParallelEAWorker worker : this.m_workers) {
+        worker.m_ea.endRun(worker.m_f);
+      }
+    } finally {
+      this.m_pool.shutdown();
+      this.m_pop = null;
+      this.m_mate = null;
+    }
+  }
+}
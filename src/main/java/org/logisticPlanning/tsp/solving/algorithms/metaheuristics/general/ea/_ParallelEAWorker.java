@@ -0,0 +1,108 @@
+package org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.ea;
+
+import java.util.concurrent.Callable;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.Individual;
+import org.logisticPlanning.tsp.solving.gpm.GPM;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * A worker of the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.ea._ParallelEA
+ * parallel EA mode}: it takes the indices of the individuals to process
+ * from a shared counter until all of them are processed. Each individual
+ * is processed in a task on the worker's own fork of the objective
+ * function, using the worker's own clone of the EA.
+ * </p>
+ */
+final class _ParallelEAWorker implements Callable<Void> {
+
+  /** the owning parallel mode */
+  private final _ParallelEA m_owner;
+
+  /** the clone of the EA */
+  final EA m_ea;
+
+  /** the fork of the objective function */
+  final ObjectiveFunction m_f;
+
+  /**
+   * create the worker
+   *
+   * @param owner
+   *          the owning parallel mode
+   * @param ea
+   *          the clone of the EA
+   * @param f
+   *          the fork of the objective function
+   */
+  _ParallelEAWorker(final _ParallelEA owner, final EA ea,
+      final ObjectiveFunction f) {
+    super();
+    this.m_owner = owner;
+    this.m_ea = ea;
+    this.m_f = f;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final Void call() {
+    final _ParallelEA owner;
+    final ObjectiveFunction f;
+    final GPM<Object> gpm;
+    final boolean offspring;
+    Individual<Object> ind;
+    Randomizer r;
+    boolean first;
+    int i;
+
+    owner = this.m_owner;
+    f = this.m_f;
+    gpm = this.m_ea.getGPM();
+    offspring = owner.m_offspring;
+    first = true;
+
+    while ((i = owner.m_next.decrementAndGet()) >= 0) {
+      f.beginTask(owner.m_records[i], owner.m_seeds[i]);
+      try {
+        if (f.shouldTerminate()) {
+          continue;
+        }
+
+        if (offspring) {
+          owner.m_pop[i] = ind = new Individual<>();
+          r = f.getRandom();
+          if (r.nextDouble() < owner.m_cr) {
+            this.m_ea.getBinaryOperator().recombine(ind, f,
+                owner.m_mate[i % owner.m_mu],
+                owner.m_mate[r.nextInt(owner.m_mu)]);
+          } else {
+            this.m_ea.getUnaryOperator().mutate(ind, f,
+                owner.m_mate[i % owner.m_mu]);
+          }
+        } else {
+          if (first) {
+            // the gpm of this worker needs the state of the run, which
+            // is only available during a task
+            gpm.beforeGeneration(f);
+            first = false;
+          }
+          this.m_ea.complete(owner.m_pop[i], f, gpm);
+        }
+      } finally {
+        f.endTask();
+      }
+    }
+
+    if (!(offspring || first)) {
+      gpm.afterGeneration(f);
+    }
+    return null;
+  }
+}
@@ -0,0 +1,323 @@
+package org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.islands;
+
+import java.io.PrintStream;
+
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.TSPAlgorithm;
+import org.logisticPlanning.tsp.solving.TSPAlgorithmRunner;
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.ea.PermutationEA;
+import org.logisticPlanning.utils.config.Configurable;
+import org.logisticPlanning.utils.config.Configuration;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+/**
+ * <p>
+ * The island model runs {@link #m_islands k} clones of an arbitrary
+ * {@link #m_algorithm island algorithm} on the same problem instance in
+ * {@code k} parallel threads. This allows us to use all processors for a
+ * single run on a hard instance instead of only for independent runs.
+ * </p>
+ * <p>
+ * Each island has its own {@link ObjectiveFunction#fork() fork} of the
+ * objective function and hence its own random seed, which is drawn from
+ * the randomizer of the run. The forks do not lock the objective function
+ * of the run on every evaluation. Instead, each island records its
+ * function evaluations (FEs) and distance evaluations (DEs) and merges
+ * them into the run every {@link #m_migrationInterval} FEs (see
+ * {@link ObjectiveFunction#beginTask(org.logisticPlanning.tsp.benchmarking.objective.TaskRecord, long, int)}
+ * ). Thus, the log of the run contains all FEs and DEs of all islands and
+ * all improvements of the best tour. The computational budget is shared
+ * by the islands. An island may overshoot it by at most one migration
+ * interval, but these FEs are not logged.
+ * </p>
+ * <p>
+ * The islands are arranged in a ring. Whenever an island merges its
+ * record and has found a new best tour since the last merge, it sends a
+ * copy of this tour to the next island (see
+ * {@link ObjectiveFunction#setMigrationTarget(ObjectiveFunction)}). This
+ * happens via a lock-free mailbox holding only the newest tour. The island
+ * algorithm picks it up whenever it is ready (see
+ * {@link ObjectiveFunction#pollMigrant(int[])}): The
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.ea.EA
+ * EA} replaces its worst new individual with the migrant once per
+ * generation if its genotypes are tours, the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco.PACO
+ * PACO} lets the migrant compete with the best ant of a generation, the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.eda.templateBasedEHBSA.TemplateBasedEHBSA
+ * TemplateBasedEHBSA} lets it compete with a random template, and the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.TSPLocalSearchAlgorithm
+ * local search algorithms} adopt it if it is better than their current
+ * solution. All other algorithms run independently on their islands.
+ * </p>
+ * <p>
+ * If several runs are executed in parallel (see
+ * {@link org.logisticPlanning.tsp.solving.TSPAlgorithmRunner#PARAM_MAX_THREADS}
+ * ), the threads multiply, so usually only one run should be performed at
+ * a time. The CPU time, allocation, and garbage collection time recorded
+ * by the {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark
+ * benchmark profile} only cover the thread of the run, which just waits
+ * for the islands.
+ * </p>
+ */
+public class IslandModel extends TSPAlgorithm {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * the parameter for the class of the algorithm to run on each island:
+   * {@value}
+   */
+  public static final String PARAM_ISLAND_ALGORITHM = "islandAlgorithm"; //$NON-NLS-1$
+
+  /** the parameter for the number of islands: {@value} */
+  public static final String PARAM_ISLANDS = "islands"; //$NON-NLS-1$
+
+  /**
+   * the parameter for the number of FEs an island performs between two
+   * merges and migrations: {@value}
+   */
+  public static final String PARAM_MIGRATION_INTERVAL = "migrationInterval"; //$NON-NLS-1$
+
+  /** the default migration interval: {@value} */
+  private static final int DEFAULT_MIGRATION_INTERVAL = 1024;
+
+  /**
+   * the algorithm to run on each island, which is cloned for each island
+   *
+   * @serial a non-{@code null} algorithm
+   * @see #getIslandAlgorithm()
+   * @see #setIslandAlgorithm(TSPAlgorithm)
+   */
+  private TSPAlgorithm m_algorithm;
+
+  /**
+   * the number of islands, i.e., threads; by default, the number of
+   * available processors
+   *
+   * @serial a positive integer number
+   * @see #getIslands()
+   * @see #setIslands(int)
+   */
+  private int m_islands;
+
+  /**
+   * the number of FEs an island performs before it merges its FEs and DEs
+   * into the run and sends its best tour to the next island, if it has
+   * improved
+   *
+   * @serial a positive integer number
+   * @see #getMigrationInterval()
+   * @see #setMigrationInterval(int)
+   */
+  private int m_migrationInterval;
+
+  /** create the island model */
+  public IslandModel() {
+    super("Island Model"); //$NON-NLS-1$
+    this.m_algorithm = new PermutationEA();
+    this.m_islands = Math.max(1, Runtime.getRuntime()
+        .availableProcessors());
+    this.m_migrationInterval = IslandModel.DEFAULT_MIGRATION_INTERVAL;
+  }
+
+  /**
+   * Get the algorithm run on each island
+   *
+   * @return the algorithm run on each island
+   * @see #m_algorithm
+   */
+  public final TSPAlgorithm getIslandAlgorithm() {
+    return this.m_algorithm;
+  }
+
+  /**
+   * Set the algorithm run on each island
+   *
+   * @param algorithm
+   *          the algorithm run on each island
+   * @throws IllegalArgumentException
+   *           if {@code algorithm} is {@code null}
+   * @see #m_algorithm
+   */
+  public final void setIslandAlgorithm(final TSPAlgorithm algorithm) {
+    if (algorithm == null) {
+      throw new IllegalArgumentException();
+    }
+    this.m_algorithm = algorithm;
+  }
+
+  /**
+   * Get the number of islands
+   *
+   * @return the number of islands
+   * @see #m_islands
+   */
+  public final int getIslands() {
+    return this.m_islands;
+  }
+
+  /**
+   * Set the number of islands
+   *
+   * @param islands
+   *          the number of islands
+   * @see #m_islands
+   */
+  public final void setIslands(final int islands) {
+    this.m_islands = Math.max(1, islands);
+  }
+
+  /**
+   * Get the migration interval
+   *
+   * @return the migration interval
+   * @see #m_migrationInterval
+   */
+  public final int getMigrationInterval() {
+    return this.m_migrationInterval;
+  }
+
+  /**
+   * Set the migration interval
+   *
+   * @param migrationInterval
+   *          the migration interval
+   * @see #m_migrationInterval
+   */
+  public final void setMigrationInterval(final int migrationInterval) {
+    this.m_migrationInterval = Math.max(1, migrationInterval);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void configure(final Configuration config) {
+    super.configure(config);
+
+    this.m_algorithm = config.getInstance(
+        IslandModel.PARAM_ISLAND_ALGORITHM, TSPAlgorithm.class, null,
+        this.m_algorithm);
+
+    this.m_islands = config.getInt(IslandModel.PARAM_ISLANDS, 1, 10000,
+        this.m_islands);
+
+    this.m_migrationInterval = config.getInt(
+        IslandModel.PARAM_MIGRATION_INTERVAL, 1, Integer.MAX_VALUE,
+        this.m_migrationInterval);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void printConfiguration(final PrintStream ps) {
+    super.printConfiguration(ps);
+
+    Configurable.printKey(IslandModel.PARAM_ISLANDS, ps);
+    ps.println(this.m_islands);
+
+    Configurable.printKey(IslandModel.PARAM_MIGRATION_INTERVAL, ps);
+    ps.println(this.m_migrationInterval);
+
+    Configurable.printKey(IslandModel.PARAM_ISLAND_ALGORITHM, ps);
+    Configurable.printlnObject(this.m_algorithm, ps);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void printParameters(final PrintStream ps) {
+    super.printParameters(ps);
+
+    Configurable.printKey(IslandModel.PARAM_ISLANDS, ps);
+    ps.println("the number of islands, i.e., of parallel threads"); //$NON-NLS-1$
+
+    Configurable.printKey(IslandModel.PARAM_MIGRATION_INTERVAL, ps);
+    ps.println("the number of FEs after which an island merges its FEs and DEs into the log and sends its best tour to the next island"); //$NON-NLS-1$
+
+    Configurable.printKey(IslandModel.PARAM_ISLAND_ALGORITHM, ps);
+    ps.println("the class of the algorithm to run on each island"); //$NON-NLS-1$
+    this.m_algorithm.printParameters(ps);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void solve(final ObjectiveFunction f) {
+    final _Island[] islands;
+    final ObjectiveFunction[] forks;
+    final Randomizer r;
+    boolean interrupted;
+    Throwable error;
+    int i;
+
+    forks = new ObjectiveFunction[this.m_islands];
+    for (i = forks.length; (--i) >= 0;) {
+      forks[i] = f.fork();
+    }
+
+    islands = new _Island[forks.length];
+    r = f.getRandom();
+    for (i = 0; i < islands.length; i++) {
+      forks[i].setMigrationTarget(forks[(i + 1) % forks.length]);
+      islands[i] = new _Island((this.name() + ' ' + i),
+          this.m_algorithm.clone(), f, forks[i], r.nextLong(),
+          this.m_migrationInterval);
+    }
+
+    for (final _Island island : islands) {
+      island.start();
+    }
+
+    interrupted = false;
+    for (i = islands.length; (--i) >= 0;) {
+      try {
+        islands[i].join();
+      } catch (final InterruptedException ie) {
+        // stop the islands, but wait for them to merge their records
+        interrupted = true;
+        f.terminate();
+        i++;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+
+    error = null;
+    for (final _Island island : islands) {
+      if (island.m_error != null) {
+        error = island.m_error;
+        break;
+      }
+    }
+    if (error != null) {
+      if (error instanceof RuntimeException) {
+        throw ((RuntimeException) error);
+      }
+      if (error instanceof Error) {
+        throw ((Error) error);
+      }
+      throw new RuntimeException(error);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public IslandModel clone() {
+    final IslandModel res;
+
+    res = ((IslandModel) (super.clone()));
+    res.m_algorithm = res.m_algorithm.clone();
+    return res;
+  }
+
+  /**
+   * Perform the island model
+   *
+   * @param args
+   *          the command line arguments
+   */
+  public static void main(final String[] args) {
+    TSPAlgorithmRunner.benchmark(Instance.SYMMETRIC_INSTANCES,
+        IslandModel.class,//
+        args);
+  }
+}
@@ -0,0 +1,90 @@
+package org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.islands;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.benchmarking.objective.TaskRecord;
+import org.logisticPlanning.tsp.solving.TSPAlgorithm;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * One island of an
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.islands.IslandModel
+ * island model}: a thread which runs its own clone of the island algorithm
+ * on its own {@link ObjectiveFunction#fork() fork} of the objective
+ * function for the whole duration of the run.
+ * </p>
+ */
+final class _Island extends Thread {
+
+  /** the algorithm of this island */
+  private final TSPAlgorithm m_algorithm;
+
+  /** the objective function of the run */
+  private final ObjectiveFunction m_run;
+
+  /** the fork of this island */
+  private final ObjectiveFunction m_f;
+
+  /** the record of the FEs and DEs of this island */
+  private final TaskRecord m_record;
+
+  /** the random seed of this island */
+  private final long m_seed;
+
+  /** the migration interval */
+  private final int m_migrationInterval;
+
+  /** the error caught, if any */
+  Throwable m_error;
+
+  /**
+   * create the island
+   *
+   * @param name
+   *          the name of the thread
+   * @param algorithm
+   *          the algorithm of this island
+   * @param run
+   *          the objective function of the run
+   * @param f
+   *          the fork of this island
+   * @param seed
+   *          the random seed of this island
+   * @param migrationInterval
+   *          the migration interval
+   */
+  _Island(final String name, final TSPAlgorithm algorithm,
+      final ObjectiveFunction run, final ObjectiveFunction f,
+      final long seed, final int migrationInterval) {
+    super(name);
+    this.m_algorithm = algorithm;
+    this.m_run = run;
+    this.m_f = f;
+    this.m_record = new TaskRecord();
+    this.m_seed = seed;
+    this.m_migrationInterval = migrationInterval;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void run() {
+    final ObjectiveFunction f;
+
+    f = this.m_f;
+    try {
+      f.beginTask(this.m_record, this.m_seed, this.m_migrationInterval);
+      try {
+        this.m_algorithm.call(f);
+      } finally {
+        f.endTask();
+      }
+    } catch (final Throwable t) {
+      this.m_error = t;
+      // let the other islands stop as well
+      this.m_run.terminate();
+    }
+  }
+}
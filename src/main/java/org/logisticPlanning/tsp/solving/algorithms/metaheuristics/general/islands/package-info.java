@@ -0,0 +1,10 @@
+/**
+ * <p>
+ * The island model: several instances of an arbitrary
+ * {@link org.logisticPlanning.tsp.solving.TSPAlgorithm TSP algorithm} work
+ * on the same problem instance in parallel threads, exchange their best
+ * tours from time to time, and share one log.
+ * </p>
+ */
+package org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.islands;
+
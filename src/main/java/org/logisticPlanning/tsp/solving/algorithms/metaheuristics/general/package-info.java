@@ -34,6 +34,10 @@
  * according to Darwin's Evolution theory&nbsp;[<a href="#cite_D1859EV"
  * style="font-weight:bold">6</a>, <a href="#cite_D1859EV2"
  * style="font-weight:bold">7</a>].</li>
+ * <li>The
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.islands.IslandModel
+ * IslandModel} runs several instances of any of the other algorithms in
+ * parallel threads which exchange their best tours.</li>
  * </ol>
  * <h2>References</h2>
  * <ol>
@@ -5,6 +5,7 @@ import java.util.Arrays;
 
 import org.logisticPlanning.tsp.benchmarking.instances.Instance;
 import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.Individual;
 import org.logisticPlanning.tsp.solving.TSPAlgorithm;
 import org.logisticPlanning.tsp.solving.TSPAlgorithmRunner;
 import org.logisticPlanning.tsp.solving.operators.permutation.creation.PermutationCreateUniform;
@@ -805,8 +806,10 @@ public class TemplateBasedEHBSA extends TSPAlgorithm {
   public final void solve(final ObjectiveFunction f) {
     final TemplateIndividual[] templates, samples;
     final int n;
+    final int[] migrant;
     TemplateIndividual sample, template;
     final boolean addToModel;
+    long length;
     int i;
 
     n = f.n();
@@ -828,6 +831,10 @@ public class TemplateBasedEHBSA extends TSPAlgorithm {
       }
     }
 
+    // if we are an island of an island model, other islands may send us
+    // good tours
+    migrant = (f.isFork() ? new int[n] : null);
+
     // The algorithm has properly started up, now perform the main loop
     for (;;) {
       this.m_completedGenerations++;
@@ -852,6 +859,17 @@ public class TemplateBasedEHBSA extends TSPAlgorithm {
         this.refineIndividual(f, sample);
       }
 
+      // a tour sent by another island replaces a random sample and thus
+      // competes with its template
+      if (migrant != null) {
+        length = f.pollMigrant(migrant);
+        if (length < Individual.TOUR_LENGTH_NOT_SET) {
+          sample = samples[f.getRandom().nextInt(samples.length)];
+          System.arraycopy(migrant, 0, sample.solution, 0, n);
+          sample.tourLength = length;
+        }
+      }
+
       // update the model
       for (i = samples.length; (--i) >= 0;) {
         sample = samples[i];
@@ -0,0 +1,32 @@
+package org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.heuristicInitMA;
+
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.solving.TSPAlgorithmRunner;
+
+/**
+ * The neighbor list 2-opt/Or-opt based MA with Edge crossover.
+ */
+public final class HeuristicInitNeighborListEdgeMA extends
+    _HeuristicInitNeighborListEdgeMA {
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * create the ea
+   */
+  public HeuristicInitNeighborListEdgeMA() {
+    super("");//$NON-NLS-1$
+  }
+
+  /**
+   * Perform the heuristic init neighbor list edge MA
+   *
+   * @param args
+   *          the command line arguments
+   */
+  public final static void main(final String[] args) {
+    TSPAlgorithmRunner.benchmark(Instance.SYMMETRIC_INSTANCES,
+        HeuristicInitNeighborListEdgeMA.class,//
+        args);
+  }
+}
@@ -0,0 +1,30 @@
+package org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.heuristicInitMA;
+
+import org.logisticPlanning.tsp.solving.operators.BinaryOperator;
+import org.logisticPlanning.tsp.solving.operators.permutation.recombination.PermutationEdgeCrossover;
+
+/**
+ * A neighbor list 2-opt/Or-opt EA with edge crossover.
+ */
+class _HeuristicInitNeighborListEdgeMA extends
+    _HeuristicInitNeighborListMA {
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * create the ea
+   *
+   * @param name
+   *          a string to be added to the base name
+   */
+  public _HeuristicInitNeighborListEdgeMA(final String name) {
+    super("with Edge Crossover" + //$NON-NLS-1$
+        name);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final BinaryOperator<int[]> createBinary() {
+    return new PermutationEdgeCrossover();
+  }
+}
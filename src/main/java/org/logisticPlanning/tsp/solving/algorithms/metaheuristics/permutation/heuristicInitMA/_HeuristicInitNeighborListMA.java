@@ -0,0 +1,32 @@
+package org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.heuristicInitMA;
+
+import org.logisticPlanning.tsp.solving.operators.UnaryOperator;
+import org.logisticPlanning.tsp.solving.operators.permutation.mutation.PermutationNeighborListMutation;
+
+/**
+ * A base class for MAs with neighbor list 2-opt/Or-opt search.
+ */
+abstract class _HeuristicInitNeighborListMA extends
+    PermutationHeuristicInitMA {
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * create the ea
+   *
+   * @param name
+   *          a string to be added to the base name
+   */
+  public _HeuristicInitNeighborListMA(final String name) {
+    super(
+        "Permutation-based heuristic-initialized Neighbor List 2-opt/Or-opt Memetic Algorithm " + //$NON-NLS-1$
+            name);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final UnaryOperator<int[]> createUnary() {
+    return new PermutationNeighborListMutation();
+  }
+
+}
@@ -0,0 +1,40 @@
+package org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco;
+
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.solving.TSPAlgorithmRunner;
+import org.logisticPlanning.tsp.solving.operators.permutation.mutation.PermutationNeighborListMutation;
+
+/**
+ * A P-ACO algorithm with neighbor list 2-opt/Or-opt mutation.
+ */
+public class HeuristicInitNeighborListPACO extends
+    _HeuristicInitLocalSearchPACO {
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * instantiate
+   */
+  public HeuristicInitNeighborListPACO() {
+    super("Neighbor List 2-opt/Or-opt ");//$NON-NLS-1$
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected final PermutationNeighborListMutation createLocalSearch() {
+    return new PermutationNeighborListMutation();
+  }
+
+  /**
+   * Perform the population-based ACO
+   *
+   * @param args
+   *          the command line arguments
+   */
+  public static void main(final String[] args) {
+    TSPAlgorithmRunner.benchmark(
+    //
+        Instance.SYMMETRIC_INSTANCES, HeuristicInitNeighborListPACO.class,//
+        args);
+  }
+}
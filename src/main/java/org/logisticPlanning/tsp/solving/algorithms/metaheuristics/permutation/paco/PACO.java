@@ -10,6 +10,7 @@ import org.logisticPlanning.tsp.solving.TSPAlgorithm;
 import org.logisticPlanning.tsp.solving.TSPAlgorithmRunner;
 import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco.update.Age;
 import org.logisticPlanning.tsp.solving.utils.NodeManager;
+import org.logisticPlanning.tsp.solving.utils.candidates.CandidateSet;
 import org.logisticPlanning.utils.config.Configurable;
 import org.logisticPlanning.utils.config.Configuration;
 import org.logisticPlanning.utils.math.random.Randomizer;
@@ -80,6 +81,25 @@ import org.logisticPlanning.utils.math.random.Randomizer;
  * href="#cite_GM2002APBAFA" style="font-weight:bold">2</a>].
  * </p>
  * <p>
+ * On large instances, each ant would need {@code O(n<sup>2</sup>)} steps
+ * to construct a tour. If a {@link #PARAM_CANDIDATE_COUNT candidate count}
+ * {@code c} is set, an ant therefore only chooses among the not yet
+ * visited ones of the {@code c} nearest neighbors of its current node and
+ * only considers all other nodes if all of these have already been
+ * visited, which makes the construction take {@code O(c*n)} steps in most
+ * cases. The heuristic values of the candidate edges are then computed
+ * only once per run.
+ * </p>
+ * <p>
+ * The ants of a generation only read the pheromones, which change only
+ * between the generations. If the {@link #PARAM_PARALLELISM parallelism}
+ * is larger than {@code 1}, the ants of a generation are therefore
+ * constructed in parallel threads on the same pheromone matrix, each with
+ * its own random seed. The best ant of the generation is then chosen and
+ * the population is updated in the same order as in the sequential
+ * algorithm, so the results only depend on the random seed of the run.
+ * </p>
+ * <p>
  * This class provides two hook methods,
  * {@link #createInitialPopulation(Individual[], ObjectiveFunction)} and
  * {@link #refineSolution(int[], long, ObjectiveFunction)}, which allow to
@@ -290,6 +310,11 @@ public class PACO extends TSPAlgorithm {
   public static final double DEFAULT_TAU_MAX = 1d;
   /** the default {@link #m_antCount ant count} m: {@value} */
   public static final int DEFAULT_ANT_COUNT = 10;
+  /**
+   * the default {@link #m_candidateCount candidate count}: {@value} ,
+   * i.e., all nodes are considered in each step
+   */
+  public static final int DEFAULT_CANDIDATE_COUNT = -1;
   /** the default {@link #m_update update strategy} */
   private static final PopulationUpdateStrategy DEFAULT_UPDATE = Age.INSTANCE;
 
@@ -305,6 +330,17 @@ public class PACO extends TSPAlgorithm {
   public static final String PARAM_TAU_MAX = "tauMax"; //$NON-NLS-1$
   /** the {@link #m_antCount ant count} parameter m: {@value} */
   public static final String PARAM_ANT_COUNT = "antsPerIteration"; //$NON-NLS-1$
+  /**
+   * the {@link #m_candidateCount candidate count} parameter: {@value} ,
+   * {@code -1} means that all nodes are considered in each step
+   */
+  public static final String PARAM_CANDIDATE_COUNT = "candidateCount"; //$NON-NLS-1$
+  /**
+   * the parameter for the number of threads used inside a single run:
+   * {@value} . If this is larger than {@code 1}, the ants of each
+   * generation are constructed in parallel (see {@link #m_parallelism}).
+   */
+  public static final String PARAM_PARALLELISM = "parallelism"; //$NON-NLS-1$
   /** the {@link #m_update update strategy} parameter: {@value} */
   private static final String PARAM_UPDATE = "populationUpdateStrategy"; //$NON-NLS-1$
 
@@ -397,6 +433,38 @@ public class PACO extends TSPAlgorithm {
    */
   private PopulationUpdateStrategy m_update;
 
+  /**
+   * the number of nearest neighbors of the current node among which an
+   * ant chooses the next node, or {@code -1} if it chooses among all
+   * nodes, with default value {@value #DEFAULT_CANDIDATE_COUNT}
+   *
+   * @serial serializable field
+   */
+  private int m_candidateCount;
+
+  /**
+   * The number of threads used inside a single run. If this is {@code 1}
+   * (the default), the ants are constructed one after the other.
+   * Otherwise, the {@code m} ants of a generation are constructed by a
+   * fork-join pool of this many threads. Each thread works on its own
+   * clone of this algorithm and its own
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#fork()
+   * fork} of the objective function, and each ant is constructed with its
+   * own random seed. The FEs and DEs of the ants are merged into the
+   * objective function of the run in the order of the ants, so the log
+   * and the termination criteria are exact and the results do not depend
+   * on the number of threads. Since the seeds are drawn differently, a
+   * parallel run does not produce the same ants as a sequential run with
+   * the same random seed. On an island of an
+   * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.islands.IslandModel
+   * island model}, the ants are always constructed sequentially.
+   *
+   * @serial a positive integer number
+   * @see #getParallelism()
+   * @see #setParallelism(int)
+   */
+  private int m_parallelism;
+
   /** a temporary variable for the current solution */
   private transient int[] m_cur;
 
@@ -415,6 +483,30 @@ public class PACO extends TSPAlgorithm {
   /** a temporary variable for the population */
   private transient PACOIndividual[] m_pop;
 
+  /** the candidate set, or {@code null} if all nodes are considered */
+  private transient CandidateSet m_candidates;
+
+  /**
+   * the heuristic values of the candidate edges raised to the power of
+   * beta: the value for the {@code j}th candidate of node {@code i} is
+   * stored at index {@code ((i-1)*m)+j-1}, where {@code m} is the number
+   * of candidates per node
+   */
+  private transient double[] m_candidateHeuristics;
+
+  /** the distances of the candidate edges, indexed like the heuristics */
+  private transient int[] m_candidateDists;
+
+  /** a temporary variable for the candidate nodes available in a step */
+  private transient int[] m_candidateNodes;
+
+  /**
+   * the algorithm whose pheromone matrix and candidate tables are shared
+   * by this clone, which is a worker of its parallel mode, or {@code null}
+   * if this algorithm performs the run itself
+   */
+  transient PACO m_master;
+
   /**
    * instantiate
    *
@@ -432,6 +524,8 @@ public class PACO extends TSPAlgorithm {
     this.m_tauMax = PACO.DEFAULT_TAU_MAX;
     this.m_antCount = PACO.DEFAULT_ANT_COUNT;
     this.m_update = PACO.DEFAULT_UPDATE;
+    this.m_candidateCount = PACO.DEFAULT_CANDIDATE_COUNT;
+    this.m_parallelism = 1;
     this.__clearInstance();
   }
 
@@ -516,8 +610,60 @@ public class PACO extends TSPAlgorithm {
     this.m_antCount = ac;
   }
 
+  /**
+   * Get the number of nearest neighbors among which an ant chooses the
+   * next node
+   *
+   * @return the number of nearest neighbors among which an ant chooses
+   *         the next node, or {@code -1} if it chooses among all nodes
+   */
+  public final int getCandidateCount() {
+    return this.m_candidateCount;
+  }
+
+  /**
+   * Set the number of nearest neighbors among which an ant chooses the
+   * next node
+   *
+   * @param cc
+   *          the number of nearest neighbors among which an ant chooses
+   *          the next node, or {@code -1} if it should choose among all
+   *          nodes
+   */
+  public final void setCandidateCount(final int cc) {
+    this.m_candidateCount = ((cc > 0) ? cc : (-1));
+  }
+
+  /**
+   * Get the number of threads used inside a single run
+   *
+   * @return the number of threads used inside a single run
+   * @see #m_parallelism
+   * @see #setParallelism(int)
+   */
+  public final int getParallelism() {
+    return this.m_parallelism;
+  }
+
+  /**
+   * Set the number of threads used inside a single run
+   *
+   * @param parallelism
+   *          the number of threads used inside a single run
+   * @see #m_parallelism
+   * @see #getParallelism()
+   */
+  public final void setParallelism(final int parallelism) {
+    this.m_parallelism = Math.max(1, parallelism);
+  }
+
   /** initialize an instance: this method is called by clone */
   private final void __clearInstance() {
+    this.m_master = null;
+    this.m_candidates = null;
+    this.m_candidateHeuristics = null;
+    this.m_candidateDists = null;
+    this.m_candidateNodes = null;
     this.m_cur = null;
     this.m_dists = null;
     this.m_table = null;
@@ -551,44 +697,22 @@ public class PACO extends TSPAlgorithm {
   public final void solve(final ObjectiveFunction f) {
     final int n, m;
     final PheromoneMatrix matrix;
-    final int[] cur, dists;
-    final double[] table;
-    final NodeManager nodes;
-    final Randomizer r;
-    final double alpha, beta, q0;
+    final int[] cur, migrant;
     final PACOIndividual[] pop;
     final PopulationUpdateStrategy update;
-
+    _ParallelPACO par;
     PACOIndividual bestGen;
-    int curAnt, i, j, curNode, lastNode, nodesLeft, dist, bestNode, bestDist;
-    double phero, bestPhero, pheroSum;
-    boolean decideRandomly;
+    int curAnt;
     long curTotalDist, gen;
     boolean initialized;
 
     // initialize all local variables and stuff
     n = f.n();
     matrix = this.m_matrix;
-
-    // the node manager is an O(1) thingy that allows us to 1) keep track
-    // of
-    // all unvisited nodes, 2) delete nodes by visiting them, 3) find
-    // random
-    // nodes and deleting them
-    nodes = this.m_nodes;
-
-    // allocate temporary variables
     cur = this.m_cur;
-    dists = this.m_dists;
-    table = this.m_table;
-
-    r = f.getRandom();
 
     // get local copies of algorithm parameters
     m = this.m_antCount;
-    alpha = this.m_alpha;
-    beta = this.m_beta;
-    q0 = this.m_q0;
     update = this.m_update;
 
     curAnt = 0; // curAnt = the index of the ant
@@ -621,34 +745,180 @@ public class PACO extends TSPAlgorithm {
 
     bestGen = new PACOIndividual();
 
-    // main algorithm part: run as long as we can
-    while (!(f.shouldTerminate())) {
-      nodes.init(n);
-
-      // Build one new candidate solution by simulating the behavior of
-      // one ant
-      // moving through the graph.
-      nodesLeft = n;
-      i = 0;
-      cur[i++] = curNode = nodes.deleteRandom(r); // start at a random
-      // node
-      curTotalDist = 0l;
-
-      // Visit the nodes, after starting at a random node (skipping the
-      // last
-      // node as there is no decision to make for the last node).
-      for (; (--nodesLeft) > 1;) {// for (n-2) times do...
-        lastNode = curNode;
-
-        // With probability q0, always choose best node directly.
-        decideRandomly = (r.nextDouble() >= q0);
-
-        // Ok, calculate the matrix stuff.
-        // First: setup the best values.
-        bestPhero = Double.NEGATIVE_INFINITY;
-        bestDist = bestNode = (-1);
-        pheroSum = 0d;
+    // if we are an island of an island model, other islands may send us
+    // good tours
+    migrant = (f.isFork() ? new int[n] : null);
+
+    // in the parallel mode, the workers are set up only now, so that they
+    // share the pheromone matrix after the initialization
+    par = null;
+    if ((this.m_parallelism > 1) && (migrant == null)
+        && (!(f.shouldTerminate()))) {
+      par = new _ParallelPACO(this, f, this.m_parallelism);
+    }
+
+    try {
+      // main algorithm part: run as long as we can
+      while (!(f.shouldTerminate())) {
+        if (par != null) {
+          // Build all m ants of this generation at once.
+          if (par._createAnts(m, bestGen, gen, f)) {
+            return;
+          }
+          curAnt = m;
+        } else {
+          // Build one new candidate solution.
+          curTotalDist = this._createAnt(cur, f);
+
+          // Is this the best ant of this generation so far?
+          if (curTotalDist < bestGen.tourLength) {
+            bestGen.setup(cur, curTotalDist, gen);
+          }
+
+          curAnt++; // Ok, one ant has finished
+        }
+
+        if (curAnt == m) { // Every m steps...
+          // A tour sent by another island competes with the best ant.
+          if (migrant != null) {
+            curTotalDist = f.pollMigrant(migrant);
+            if (curTotalDist < bestGen.tourLength) {
+              bestGen.setup(migrant, curTotalDist, gen);
+            }
+          }
+
+          // we update the population and matrix!
+          update.update(pop, bestGen, matrix);
+
+          // Start next cycle of m ants.
+          curAnt = 0;
+          gen++;
+          bestGen.doclear();
+        }
+      }
+    } finally {
+      if (par != null) {
+        par._close();
+      }
+    }
+  }
+
+  /**
+   * Build one new candidate solution by simulating the behavior of one ant
+   * moving through the graph, register it, and
+   * {@link #refineSolution(int[], long, ObjectiveFunction) refine} it. The
+   * ant only reads the pheromone matrix, which is changed only between
+   * the generations, so several ants can be constructed at the same time
+   * by different clones of this algorithm sharing the same matrix (see
+   * {@link #PARAM_PARALLELISM}).
+   *
+   * @param cur
+   *          the destination array to receive the tour
+   * @param f
+   *          the objective function
+   * @return the length of the tour
+   */
+  final long _createAnt(final int[] cur, final ObjectiveFunction f) {
+    final int n, cm;
+    final PheromoneMatrix matrix;
+    final int[] dists, candDists, candNodes;
+    final double[] table, candHeuristics;
+    final NodeManager nodes;
+    final CandidateSet candidates;
+    final Randomizer r;
+    final double beta, q0;
+    int i, j, curNode, lastNode, nodesLeft, dist, bestNode, bestDist;
+    int choices, base;
+    double phero, bestPhero, pheroSum;
+    boolean decideRandomly;
+    long curTotalDist;
+
+    n = f.n();
+    matrix = this.m_matrix;
+
+    // the node manager is an O(1) thingy that allows us to 1) keep track
+    // of
+    // all unvisited nodes, 2) delete nodes by visiting them, 3) find
+    // random
+    // nodes and deleting them
+    nodes = this.m_nodes;
+
+    // allocate temporary variables
+    dists = this.m_dists;
+    table = this.m_table;
+
+    // the candidate edges, if any
+    candidates = this.m_candidates;
+    cm = ((candidates != null) ? candidates.m() : 0);
+    candHeuristics = this.m_candidateHeuristics;
+    candDists = this.m_candidateDists;
+    candNodes = this.m_candidateNodes;
+
+    r = f.getRandom();
+
+    // get local copies of algorithm parameters
+    beta = this.m_beta;
+    q0 = this.m_q0;
+
+    nodes.init(n);
+
+    // Build one new candidate solution by simulating the behavior of
+    // one ant
+    // moving through the graph.
+    nodesLeft = n;
+    i = 0;
+    cur[i++] = curNode = nodes.deleteRandom(r); // start at a random
+    // node
+    curTotalDist = 0l;
+
+    // Visit the nodes, after starting at a random node (skipping the
+    // last
+    // node as there is no decision to make for the last node).
+    for (; (--nodesLeft) > 1;) {// for (n-2) times do...
+      lastNode = curNode;
+
+      // With probability q0, always choose best node directly.
+      decideRandomly = (r.nextDouble() >= q0);
+
+      // Ok, calculate the matrix stuff.
+      // First: setup the best values.
+      bestPhero = Double.NEGATIVE_INFINITY;
+      bestDist = bestNode = (-1);
+      pheroSum = 0d;
+      choices = 0;
+
+      // If we have candidate sets, we first only consider the
+      // unvisited candidates of the last node, whose heuristic values
+      // and distances we already know.
+      if (candidates != null) {
+        base = ((lastNode - 1) * cm);
+        for (j = 0; j < cm; j++) {
+          curNode = candidates.getCandidate(lastNode, (j + 1));
+          if (!(nodes.isIDAvailable(curNode))) {
+            continue;
+          }
+
+          dist = candDists[base + j];
+          phero = (matrix.getPow(lastNode, curNode) * //
+          candHeuristics[base + j]);
 
+          if (phero >= bestPhero) {
+            bestPhero = phero;
+            bestNode = curNode;
+            bestDist = dist;
+          }
+
+          if (decideRandomly) {
+            pheroSum += phero;
+            table[choices] = pheroSum;
+            dists[choices] = dist;
+            candNodes[choices] = curNode;
+          }
+          choices++;
+        }
+      }
+
+      if (choices <= 0) {
         // Then: for each node which is not yet assigned...
         for (j = 0; j < nodesLeft; j++) {
           // Get that node.
@@ -658,7 +928,7 @@ public class PACO extends TSPAlgorithm {
           dist = f.distance(lastNode, curNode);
 
           // Compute the pheromone/heuristic value.
-          phero = (Math.pow(matrix.get(lastNode, curNode), alpha) * //
+          phero = (matrix.getPow(lastNode, curNode) * //
           Math.pow(((dist != 0) ? (1d / dist) : PACO.ERROR_NU), beta));
 
           // Is this the best pheromone/heuristic value?
@@ -683,18 +953,29 @@ public class PACO extends TSPAlgorithm {
             dists[j] = dist;
           }
         }
+      }
 
-        // Ok, by now we have either found the best node to add (in case
-        // of
-        // !decideRandomly) or built the complete distance/pheromone
-        // decision
-        // table (in case of decideRandomly).
-        // After we have decided, bestDist should hold the distance of
-        // this
-        // step and curNode is the selected node.
-        if (decideRandomly) {
-          // Decide randomly based on the table that we have
-          // constructed.
+      // Ok, by now we have either found the best node to add (in case
+      // of
+      // !decideRandomly) or built the complete distance/pheromone
+      // decision
+      // table (in case of decideRandomly).
+      // After we have decided, bestDist should hold the distance of
+      // this
+      // step and curNode is the selected node.
+      if (decideRandomly) {
+        // Decide randomly based on the table that we have
+        // constructed.
+        if (choices > 0) {
+          table[choices - 1] = Double.POSITIVE_INFINITY;
+          j = Arrays.binarySearch(table, 0, choices,//
+              r.nextDouble() * pheroSum);
+          if (j < 0) {
+            j = (-(j + 1));
+          }
+          bestDist = dists[j];
+          curNode = candNodes[j];
+        } else {
           table[nodesLeft - 1] = Double.POSITIVE_INFINITY;
           j = Arrays.binarySearch(table, 0, nodesLeft,//
               r.nextDouble() * pheroSum);
@@ -703,53 +984,38 @@ public class PACO extends TSPAlgorithm {
           }
           bestDist = dists[j];
           curNode = nodes.getByIndex(j);
-        } else {
-          // No random decision: choose the best.
-          curNode = bestNode;
         }
-
-        // Visit the chosen node!
-        cur[i++] = curNode;// Store node in solution.
-        nodes.deleteByID(curNode);// Delete node from list of available
-        // nodes.
-        curTotalDist += bestDist;
+      } else {
+        // No random decision: choose the best.
+        curNode = bestNode;
       }
 
-      // Add the last node: There only is one choice.
-      cur[i] = bestNode = nodes.deleteLast();
-
-      // And we can compute the total distance by adding the distance to
-      // the
-      // last node and the distance back to the beginning.
-      curTotalDist += f.distance(curNode, bestNode) + //
-          f.distance(bestNode, cur[0]);
-
-      // Register this FE: We have constructed a complete solution!
-      f.registerFE(cur, curTotalDist);
+      // Visit the chosen node!
+      cur[i++] = curNode;// Store node in solution.
+      nodes.deleteByID(curNode);// Delete node from list of available
+      // nodes.
+      curTotalDist += bestDist;
+    }
 
-      // Call the local search procedure, if any. This procedure, if it
-      // does
-      // something, must also register its FEs and DEs.
-      curTotalDist = this.refineSolution(cur, curTotalDist, f);
+    // Add the last node: There only is one choice.
+    cur[i] = bestNode = nodes.deleteLast();
 
-      // Is this the best ant of this generation so far?
-      if (curTotalDist < bestGen.tourLength) {
-        bestGen.setup(cur, curTotalDist, gen);
-      }
+    // And we can compute the total distance by adding the distance to
+    // the
+    // last node and the distance back to the beginning.
+    curTotalDist += f.distance(curNode, bestNode) + //
+        f.distance(bestNode, cur[0]);
 
-      curAnt++; // Ok, one ant has finished
-      if (curAnt == m) { // Every m steps...
-        // we update the population and matrix!
-        update.update(pop, bestGen, matrix);
+    // Register this FE: We have constructed a complete solution!
+    f.registerFE(cur, curTotalDist);
 
-        // Start next cycle of m ants.
-        curAnt = 0;
-        gen++;
-        bestGen.doclear();
-      }
-    }
+    // Call the local search procedure, if any. This procedure, if it
+    // does
+    // something, must also register its FEs and DEs.
+    return this.refineSolution(cur, curTotalDist, f);
   }
 
+
   /** {@inheritDoc} */
   @Override
   public void configure(final Configuration config) {
@@ -774,6 +1040,12 @@ public class PACO extends TSPAlgorithm {
 
     this.m_update = config.getInstance(PACO.PARAM_UPDATE,
         PopulationUpdateStrategy.class, null, this.m_update);
+
+    this.setCandidateCount(config.getInt(PACO.PARAM_CANDIDATE_COUNT, -1,
+        1000000, this.m_candidateCount));
+
+    this.m_parallelism = config.getInt(PACO.PARAM_PARALLELISM, 1, 10000,
+        this.m_parallelism);
   }
 
   /** {@inheritDoc} */
@@ -801,6 +1073,12 @@ public class PACO extends TSPAlgorithm {
 
     Configurable.printKey(PACO.PARAM_UPDATE, ps);
     Configurable.printlnObject(this.m_update, ps);
+
+    Configurable.printKey(PACO.PARAM_CANDIDATE_COUNT, ps);
+    ps.println(this.m_candidateCount);
+
+    Configurable.printKey(PACO.PARAM_PARALLELISM, ps);
+    ps.println(this.m_parallelism);
   }
 
   /** {@inheritDoc} */
@@ -828,6 +1106,12 @@ public class PACO extends TSPAlgorithm {
 
     Configurable.printKey(PACO.PARAM_UPDATE, ps);
     ps.println("the population update strategy"); //$NON-NLS-1$
+
+    Configurable.printKey(PACO.PARAM_CANDIDATE_COUNT, ps);
+    ps.println("the number of nearest neighbors among which the next node is chosen, -1 for all nodes"); //$NON-NLS-1$
+
+    Configurable.printKey(PACO.PARAM_PARALLELISM, ps);
+    ps.println("the number of threads used to construct the ants inside a single run."); //$NON-NLS-1$
   }
 
   /**
@@ -882,20 +1166,56 @@ public class PACO extends TSPAlgorithm {
   public void beginRun(final ObjectiveFunction f) {
     final int n;
     final PACOIndividual[] res;
-    int i;
+    final CandidateSet candidates;
+    final double[] heuristics;
+    final int[] dists;
+    final PACO master;
+    int i, j, k, m, dist;
 
     super.beginRun(f);
 
     this.m_nodes = new NodeManager();
 
     n = f.n();
-    this.m_matrix = new PheromoneMatrix();
-    this.m_matrix.init(n, this.m_populationSize, this.m_tauMax);
-
     this.m_cur = new int[n];
     this.m_dists = new int[n];
     this.m_table = new double[n];
 
+    master = this.m_master;
+    if (master != null) {
+      // a worker of the parallel mode shares the read-only data
+      this.m_matrix = master.m_matrix;
+      this.m_candidates = master.m_candidates;
+      this.m_candidateHeuristics = master.m_candidateHeuristics;
+      this.m_candidateDists = master.m_candidateDists;
+      if (master.m_candidateNodes != null) {
+        this.m_candidateNodes = new int[master.m_candidateNodes.length];
+      }
+    } else {
+      this.m_matrix = new PheromoneMatrix();
+      this.m_matrix.init(n, this.m_populationSize, this.m_tauMax,
+          this.m_alpha);
+    }
+
+    if ((master == null) && (this.m_candidateCount > 0)
+        && (this.m_candidateCount < (n - 1))) {
+      // compute the heuristic values of the candidate edges only once
+      this.m_candidates = candidates = CandidateSet.allocate(f,
+          this.m_candidateCount, null);
+      m = candidates.m();
+      this.m_candidateHeuristics = heuristics = new double[n * m];
+      this.m_candidateDists = dists = new int[n * m];
+      this.m_candidateNodes = new int[m];
+      k = 0;
+      for (i = 1; i <= n; i++) {
+        for (j = 1; j <= m; j++) {
+          dists[k] = dist = f.distance(i, candidates.getCandidate(i, j));
+          heuristics[k++] = Math.pow(((dist != 0) ? (1d / dist)
+              : PACO.ERROR_NU), this.m_beta);
+        }
+      }
+    }
+
     this.m_pop = res = new PACOIndividual[this.m_populationSize];
     for (i = res.length; (--i) >= 0;) {
       res[i] = new PACOIndividual();
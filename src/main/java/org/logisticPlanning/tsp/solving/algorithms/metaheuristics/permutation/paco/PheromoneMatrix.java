@@ -20,6 +20,13 @@ import java.util.Arrays;
  * href="#cite_GM2002APBAFA" style="font-weight:bold">2</a>, <a
  * href="#cite_GM2002APBATDOP" style="font-weight:bold">3</a>].
  * </p>
+ * <p>
+ * The ants need the pheromone values raised to the power of
+ * &#945;&nbsp;(alpha) much more often than the pheromones change. Hence,
+ * the matrix stores these powers next to the pheromone values and only
+ * re-computes them when an ant enters or leaves the population, see
+ * {@link #getPow(int, int)}.
+ * </p>
  * <h2>References</h2>
  * <ol>
  * <li><div><span id="cite_G2004AAISAMCE" /><a
@@ -112,6 +119,15 @@ public final class PheromoneMatrix {
   /** the values */
   private double[] m_values;
 
+  /** the values raised to the power of {@link #m_alpha} */
+  private double[] m_pows;
+
+  /** the exponent alpha */
+  private double m_alpha;
+
+  /** the default value raised to the power of {@link #m_alpha} */
+  private double m_defaultPow;
+
   /** the number of ants */
   private int m_k;
 
@@ -135,8 +151,11 @@ public final class PheromoneMatrix {
    *          the number of ants
    * @param tauMax
    *          the maximum tau
+   * @param alpha
+   *          the exponent alpha, see {@link #getPow(int, int)}
    */
-  final void init(final int n, final int k, final double tauMax) {
+  final void init(final int n, final int k, final double tauMax,
+      final double alpha) {
     int entries;
 
     this.m_k = k;
@@ -148,12 +167,16 @@ public final class PheromoneMatrix {
     if ((this.m_ids == null) || (this.m_ids.length < entries)) {
       this.m_ids = new int[entries];
       this.m_values = new double[entries];
+      this.m_pows = new double[entries];
     }
 
     this.m_default = (1d / (n - 1));
     this.m_tauAdd = ((tauMax - this.m_default) / k);
     this.m_delThreshold = (this.m_default + (0.5 * this.m_tauAdd));
+    this.m_alpha = alpha;
+    this.m_defaultPow = Math.pow(this.m_default, alpha);
     Arrays.fill(this.m_values, 0, entries, this.m_default);
+    Arrays.fill(this.m_pows, 0, entries, this.m_defaultPow);
     Arrays.fill(this.m_ids, 0, entries, Integer.MAX_VALUE);
   }
 
@@ -178,6 +201,30 @@ public final class PheromoneMatrix {
     return this.m_values[idx];
   }
 
+  /**
+   * get the pheromone value for the edge from {@code a} to {@code b}
+   * raised to the power of the exponent alpha passed to
+   * {@link #init(int, int, double, double)}, i.e., the same as
+   * {@code Math.pow(get(a, b), alpha)}, but without computing the power
+   *
+   * @param a
+   *          the first node index
+   * @param b
+   *          the second node index
+   * @return the pheromone value raised to the power of alpha
+   */
+  final double getPow(final int a, final int b) {
+    int i, idx;
+
+    i = ((a - 1) * (this.m_k + 1));
+    idx = Arrays.binarySearch(this.m_ids, i, (i + this.m_k), b);
+    if (idx < 0) {
+      return this.m_defaultPow;
+    }
+
+    return this.m_pows[idx];
+  }
+
   /**
    * add a pheromone value for a given edge
    *
@@ -190,7 +237,7 @@ public final class PheromoneMatrix {
    */
   private final void add(final int a, final int b, final double add) {
     int i, idx, end;
-    final double[] v;
+    final double[] v, p;
     final int[] ids;
 
     i = ((this.m_k + 1) * (a - 1));
@@ -198,15 +245,17 @@ public final class PheromoneMatrix {
     ids = this.m_ids;
     idx = Arrays.binarySearch(ids, i, end, b);
     v = this.m_values;
+    p = this.m_pows;
     if (idx >= 0) {
-      v[idx] += add;
+      p[idx] = Math.pow((v[idx] += add), this.m_alpha);
       return;
     }
 
     end += idx;
     idx = (-(idx + 1));
     System.arraycopy(v, idx, v, (idx + 1), end);
-    v[idx] = (this.m_default + add);
+    System.arraycopy(p, idx, p, (idx + 1), end);
+    p[idx] = Math.pow((v[idx] = (this.m_default + add)), this.m_alpha);
     System.arraycopy(ids, idx, ids, (idx + 1), end);
     ids[idx] = b;
   }
@@ -223,7 +272,7 @@ public final class PheromoneMatrix {
    */
   private final void delete(final int a, final int b, final double delete) {
     int i, idx, end;
-    final double[] v;
+    final double[] v, p;
     final int[] ids;
 
     i = ((a - 1) * (this.m_k + 1));
@@ -231,11 +280,15 @@ public final class PheromoneMatrix {
     ids = this.m_ids;
     idx = Arrays.binarySearch(ids, i, end, b);
     v = this.m_values;
+    p = this.m_pows;
     if (idx >= 0) {
       if ((v[idx] -= delete) <= this.m_delThreshold) {
         end -= (idx);
         System.arraycopy(v, (idx + 1), v, idx, end);
+        System.arraycopy(p, (idx + 1), p, idx, end);
         System.arraycopy(ids, (idx + 1), ids, idx, end);
+      } else {
+        p[idx] = Math.pow(v[idx], this.m_alpha);
       }
 
       return;
@@ -0,0 +1,198 @@
+package org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.benchmarking.objective.TaskRecord;
+import org.logisticPlanning.tsp.solving.Individual;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * The parallel mode of the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco.PACO}
+ * (see
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco.PACO#PARAM_PARALLELISM}
+ * ). The construction (and refinement) of the ants of a generation is
+ * farmed out to the workers in a fork-join pool. Each worker has its own
+ * clone of the algorithm, i.e., its own scratch memory and local search,
+ * and its own {@link ObjectiveFunction#fork() fork} of the objective
+ * function. All workers read the pheromone matrix of the run, which is a
+ * snapshot that does not change while the ants are constructed: it is
+ * only updated by the thread of the run after all ants of a generation
+ * have been finished.
+ * </p>
+ * <p>
+ * Each ant is constructed in one task. The random seed of a task is drawn
+ * from the randomizer of the run in a fixed order and the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.TaskRecord
+ * records} of the tasks are {@link ObjectiveFunction#merge(TaskRecord)
+ * merged} into the objective function of the run in the order of the
+ * ants. The best ant of the generation is chosen in the same order. The
+ * termination criterion is checked after each merged task and the records
+ * of the tasks following the one which triggered the termination are
+ * discarded. Thus, the logged FEs, DEs, and objective values are exactly
+ * those of a sequential run constructing the same ants, regardless of the
+ * number of threads.
+ * </p>
+ */
+final class _ParallelPACO {
+
+  /** the fork-join pool */
+  private final ForkJoinPool m_pool;
+
+  /** the workers */
+  private final ArrayList<_ParallelPACOWorker> m_workers;
+
+  /** the index of the next ant to construct plus one */
+  final AtomicInteger m_next;
+
+  /** the task records, one per ant */
+  TaskRecord[] m_records;
+
+  /** the random seeds of the tasks, one per ant */
+  long[] m_seeds;
+
+  /** the tours of the ants */
+  int[][] m_tours;
+
+  /** the tour lengths of the ants */
+  long[] m_lengths;
+
+  /**
+   * create the parallel mode
+   *
+   * @param paco
+   *          the algorithm
+   * @param f
+   *          the objective function of the run
+   * @param parallelism
+   *          the number of worker threads
+   */
+  _ParallelPACO(final PACO paco, final ObjectiveFunction f,
+      final int parallelism) {
+    super();
+
+    PACO clone;
+    ObjectiveFunction fork;
+    int i;
+
+    this.m_pool = new ForkJoinPool(parallelism);
+    this.m_workers = new ArrayList<>(parallelism);
+    this.m_next = new AtomicInteger();
+    this.m_records = new TaskRecord[0];
+    this.m_seeds = new long[0];
+    this.m_tours = new int[0][];
+    this.m_lengths = new long[0];
+
+    for (i = parallelism; (--i) >= 0;) {
+      clone = paco.clone();
+      clone.m_master = paco;
+      fork = f.fork();
+      clone.beginRun(fork);
+      this.m_workers.add(new _ParallelPACOWorker(this, clone, fork));
+    }
+  }
+
+  /**
+   * Construct the ants of a generation in parallel and store the best one
+   * in {@code best}
+   *
+   * @param count
+   *          the number of ants
+   * @param best
+   *          the record for the best ant of the generation
+   * @param gen
+   *          the index of the generation
+   * @param f
+   *          the objective function
+   * @return {@code true} if the run should terminate, {@code false}
+   *         otherwise
+   */
+  final boolean _createAnts(final int count, final PACOIndividual best,
+      final long gen, final ObjectiveFunction f) {
+    final Randomizer r;
+    final int n;
+    TaskRecord[] records;
+    int[][] tours;
+    Throwable error;
+    int i;
+
+    records = this.m_records;
+    if (records.length < count) {
+      this.m_records = records = Arrays.copyOf(records, count);
+      this.m_seeds = new long[count];
+      this.m_lengths = new long[count];
+      this.m_tours = Arrays.copyOf(this.m_tours, count);
+    }
+
+    n = f.n();
+    tours = this.m_tours;
+    r = f.getRandom();
+    for (i = 0; i < count; i++) {
+      if (records[i] == null) {
+        records[i] = new TaskRecord();
+        tours[i] = new int[n];
+      }
+      this.m_seeds[i] = r.nextLong();
+      this.m_lengths[i] = Individual.TOUR_LENGTH_NOT_SET;
+    }
+
+    this.m_next.set(count);
+    error = null;
+    for (final Future<Void> future : this.m_pool.invokeAll(this.m_workers)) {
+      try {
+        future.get();
+      } catch (final ExecutionException ee) {
+        if (error == null) {
+          error = ee.getCause();
+        }
+      } catch (final InterruptedException ie) {
+        if (error == null) {
+          error = ie;
+        }
+      }
+    }
+    if (error != null) {
+      if (error instanceof RuntimeException) {
+        throw ((RuntimeException) error);
+      }
+      if (error instanceof Error) {
+        throw ((Error) error);
+      }
+      throw new RuntimeException(error);
+    }
+
+    // merge and choose the best ant in the order of the ants
+    for (i = 0; i < count; i++) {
+      f.merge(records[i]);
+      if (f.shouldTerminate()) {
+        return true;
+      }
+      if (this.m_lengths[i] < best.tourLength) {
+        best.setup(tours[i], this.m_lengths[i], gen);
+      }
+    }
+    return false;
+  }
+
+  /** shut down the workers */
+  final void _close() {
+    try {
+      for (final _ParallelPACOWorker worker : this.m_workers) {
+        worker.m_paco.endRun(worker.m_f);
+      }
+    } finally {
+      this.m_pool.shutdown();
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco;
+
+import java.util.concurrent.Callable;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+
+/**
+ * <p>
+ * This class is an internal class. Please do not instantiate it, use it by
+ * yourself, or otherwise meddle with it.
+ * </p>
+ * <p>
+ * A worker of the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco._ParallelPACO
+ * parallel PACO mode}: it takes the indices of the ants to construct from
+ * a shared counter until all of them are constructed. Each ant is
+ * constructed in a task on the worker's own fork of the objective
+ * function, using the worker's own clone of the algorithm.
+ * </p>
+ */
+final class _ParallelPACOWorker implements Callable<Void> {
+
+  /** the owning parallel mode */
+  private final _ParallelPACO m_owner;
+
+  /** the clone of the algorithm */
+  final PACO m_paco;
+
+  /** the fork of the objective function */
+  final ObjectiveFunction m_f;
+
+  /**
+   * create the worker
+   *
+   * @param owner
+   *          the owning parallel mode
+   * @param paco
+   *          the clone of the algorithm
+   * @param f
+   *          the fork of the objective function
+   */
+  _ParallelPACOWorker(final _ParallelPACO owner, final PACO paco,
+      final ObjectiveFunction f) {
+    super();
+    this.m_owner = owner;
+    this.m_paco = paco;
+    this.m_f = f;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final Void call() {
+    final _ParallelPACO owner;
+    final ObjectiveFunction f;
+    int i;
+
+    owner = this.m_owner;
+    f = this.m_f;
+
+    while ((i = owner.m_next.decrementAndGet()) >= 0) {
+      f.beginTask(owner.m_records[i], owner.m_seeds[i]);
+      try {
+        if (f.shouldTerminate()) {
+          continue;
+        }
+        owner.m_lengths[i] = this.m_paco._createAnt(owner.m_tours[i], f);
+      } finally {
+        f.endTask();
+      }
+    }
+
+    return null;
+  }
+}
@@ -0,0 +1,20 @@
+package org.logisticPlanning.tsp.solving.operators.permutation.mutation;
+
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.TSPLocalSearchBasedMutation;
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.neighborList.NeighborListSearch;
+
+/**
+ * A mutation operator based on the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.neighborList.NeighborListSearch
+ * neighbor list 2-opt/Or-opt search}.
+ */
+public class PermutationNeighborListMutation extends
+    TSPLocalSearchBasedMutation<int[]> {
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** create */
+  public PermutationNeighborListMutation() {
+    super(new NeighborListSearch());
+  }
+}
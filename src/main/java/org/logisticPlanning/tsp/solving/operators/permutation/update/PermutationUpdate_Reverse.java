@@ -347,27 +347,15 @@ public final class PermutationUpdate_Reverse
   @Override
   public final int delta(final int[] perm, final DistanceComputer f,
       final int a, final int b) {
-    final int l, m1;
-    final int B, E, A, F, AB, EF, AE, BF;
+    final int l;
 
     l = perm.length;
-    m1 = (l - 1);
-
-    if (((((b - a) + l) % l) == m1) || (a == b)) {
+    // reversing all nodes or all but one does not change the tour
+    if (((((b - a) + l) % l) >= (l - 2)) || (a == b)) {
       return PermutationUpdateOperator.NO_EFFECT;
     }
 
-    A = perm[(a + m1) % l];
-    B = perm[a];
-    E = perm[b];
-    F = perm[(b + 1) % l];
-
-    BF = f.distance(B, F);
-    AE = f.distance(A, E);
-    AB = f.distance(A, B);
-    EF = f.distance(E, F);
-
-    return (BF + AE) - (AB + EF);
+    return f.twoOptDelta(perm, a, b);
   }
 
   /** {@inheritDoc} */
@@ -109,11 +109,9 @@ public final class PermutationUpdate_Rotate_Left
   @Override
   public final int delta(final int[] perm, final DistanceComputer f,
       final int a, final int b) {
-    final int l, m1;
-    final int B, E, A, C, F, AC, BE, BF, AB, EF, BC;
+    final int l;
 
     l = perm.length;
-    m1 = (l - 1);
 
     if ((((b - a) + l) % l) <= 1) {// changed == to <=
       return PermutationUpdate_Swap.INSTANCE.delta(perm, f, a, b);
@@ -122,21 +120,8 @@ public final class PermutationUpdate_Rotate_Left
       return PermutationUpdateOperator.NO_EFFECT;
     }
 
-    A = perm[(a + m1) % l];
-    B = perm[a];
-    C = perm[(a + 1) % l];
-    E = perm[b];
-    F = perm[(b + 1) % l];
-
-    AB = f.distance(A, B);
-    BC = f.distance(B, C);
-    EF = f.distance(E, F);
-
-    AC = f.distance(A, C);
-    BE = f.distance(E, B);
-    BF = f.distance(B, F);
-
-    return (AC + BE + BF) - (AB + EF + BC);
+    // move the node at index a behind the node at index b
+    return f.orOptDelta(perm, a, a, b, false);
   }
 
   /** {@inheritDoc} */
@@ -110,11 +110,9 @@ public final class PermutationUpdate_Rotate_Right
   @Override
   public final int delta(final int[] perm, final DistanceComputer f,
       final int a, final int b) {
-    final int l, m1;
-    final int B, E, A, F, D, DF, BE, AE, AB, EF, DE;
+    final int l;
 
     l = perm.length;
-    m1 = (l - 1);
 
     if ((((b - a) + l) % l) <= 1) {// changed == to <=
       return PermutationUpdate_Swap.INSTANCE.delta(perm, f, a, b);
@@ -123,21 +121,8 @@ public final class PermutationUpdate_Rotate_Right
       return PermutationUpdateOperator.NO_EFFECT;
     }
 
-    A = perm[(a + m1) % l];
-    B = perm[a];
-
-    D = perm[(b + m1) % l];
-    E = perm[b];
-    F = perm[(b + 1) % l];
-
-    DF = f.distance(D, F);
-    BE = f.distance(E, B);
-    AE = f.distance(A, E);
-    AB = f.distance(A, B);
-    EF = f.distance(E, F);
-    DE = f.distance(D, E);
-
-    return (DF + BE + AE) - (AB + EF + DE);//
+    // move the node at index b in front of the node at index a
+    return f.orOptDelta(perm, b, b, ((a + l) - 1) % l, false);
   }
 
   /** {@inheritDoc} */
@@ -142,46 +142,11 @@ public final class PermutationUpdate_Swap
   @Override
   public final int delta(final int[] perm, final DistanceComputer f,
       final int a, final int b) {
-    final int l, m1;
-    final int A, B, C, D, E, F, AB, BC, DE, EF, AE, CE, BD, BF;
-
-    l = perm.length;
-    m1 = (l - 1);
-
     if (a == b) {
       return PermutationUpdateOperator.NO_EFFECT;
     }
 
-    A = (perm[(a + m1) % l]);
-    B = perm[a];
-    C = perm[(a + 1) % l];
-    D = (perm[(b + m1) % l]);
-    E = perm[b];
-    F = perm[(b + 1) % l];
-
-    if (B == E) {
-      return PermutationUpdateOperator.NO_EFFECT;
-    }
-
-    AB = f.distance(A, B);
-    BC = f.distance(B, C);
-    DE = f.distance(D, E);
-    EF = f.distance(E, F);
-
-    AE = f.distance(A, E);
-    CE = f.distance(E, C);
-    BD = f.distance(D, B);
-    BF = f.distance(B, F);
-
-    if (B == D) {
-      return (BF + AE) - (AB + EF);
-    }
-
-    if (E == A) {
-      return (BD + CE) - (DE + BC);
-    }
-
-    return (AE + CE + BD + BF) - (AB + BC + DE + EF);
+    return f.swapDelta(perm, a, b);
   }
 
   /** {@inheritDoc} */
@@ -3,7 +3,7 @@ package org.logisticPlanning.tsp.solving.utils.candidates;
 import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
 
 /**
- * A candidate set that presents {@code m} candidates per node, i.e., the
+ * A candidate set that presents {@code m} candidates per node, e.g., the
  * {@code m} nearest other nodes. The candidates for each node receive
  * &quot;pseudo-node ids&quot; ranging from {@code 1} to {@code m}.
  */
@@ -27,7 +27,11 @@ public abstract class CandidateSet {
   }
 
   /**
-   * Allocate and initialize a candidate set.
+   * Allocate and initialize a candidate set holding {@code m} candidates
+   * for each node. The candidates are chosen according to the
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#getCandidateSetKind()
+   * kind configured for the benchmark}, which are the {@code m} nearest
+   * neighbors by default.
    *
    * @param f
    *          the objective function
@@ -41,28 +45,48 @@ public abstract class CandidateSet {
    */
   public static final CandidateSet allocate(final ObjectiveFunction f,
       final int m, final CandidateSet old) {
-    final int n, nm1, mm;
+    return CandidateSet.allocate(f, m, f.getCandidateSetKind(), old);
+  }
+
+  /**
+   * Allocate and initialize a candidate set of the given kind. Candidate
+   * sets are immutable and shared by all runs on the same benchmark
+   * instance (see
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#getSharedData(Object, org.logisticPlanning.tsp.benchmarking.objective.ISharedDataFactory)}
+   * ), so for each instance, {@code m}, and {@code kind}, only one
+   * candidate set is built.
+   *
+   * @param f
+   *          the objective function
+   * @param m
+   *          the number of candidates per node
+   * @param kind
+   *          the kind of candidate set to build
+   * @param old
+   *          an old candidate set that can maybe be re-used
+   * @return the candidate set, or {@code null} if the objective function
+   *         should always be used (if {@code m<=0} or
+   *         {@code m>=Integer.MAX_VALUE})
+   */
+  public static final CandidateSet allocate(final ObjectiveFunction f,
+      final int m, final ECandidateSetKind kind, final CandidateSet old) {
+    final int n, nm1;
     final CandidateSet ret;
+    final _CandidateSetKey key;
 
     nm1 = ((n = f.n()) - 1);
     if ((m <= 0) || (m >= nm1)) {
-      mm = nm1;
       if (old instanceof _ProxyCandidateSet) {
         ret = old;
       } else {
         ret = new _ProxyCandidateSet();
       }
-    } else {
-      mm = m;
-      if (old instanceof _CandidateSubSet) {
-        ret = old;
-      } else {
-        ret = new _CandidateSubSet();
-      }
+      ret.init(f, n, nm1, kind);
+      return ret;
     }
 
-    ret.init(f, n, mm);
-    return ret;
+    key = new _CandidateSetKey(m, kind);
+    return f.getSharedData(key, key);
   }
 
   /**
@@ -106,8 +130,11 @@ public abstract class CandidateSet {
    *          the number of candidates per node
    * @param n
    *          the number of nodes n
+   * @param kind
+   *          the kind of candidate set to build
    */
-  void init(final ObjectiveFunction f, final int n, final int m) {
+  void init(final ObjectiveFunction f, final int n, final int m,
+      final ECandidateSetKind kind) {
     this.m_m = m;
   }
 }
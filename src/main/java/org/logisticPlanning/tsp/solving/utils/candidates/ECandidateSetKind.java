@@ -0,0 +1,101 @@
+package org.logisticPlanning.tsp.solving.utils.candidates;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+
+/**
+ * The kinds of candidate sets that can be built. The kind used by
+ * algorithms which only specify the number of candidates can be chosen for
+ * the whole benchmark with the parameter
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_CANDIDATE_SET_KIND}
+ * . The {@link #QUADRANT_NEIGHBORS quadrant} and {@link #GABRIEL_NEIGHBORS
+ * Gabriel} neighbors need a spatial index over node coordinates. For
+ * instances given as explicit distance matrices or using geographical or
+ * x-ray crystallography distances, no such index exists and these kinds
+ * fall back to the exhaustive nearest neighbor search.
+ */
+public enum ECandidateSetKind {
+
+  /**
+   * The candidates of a node are its {@code m} nearest neighbors. This is
+   * the classical candidate set. For coordinate-based instances, they are
+   * found with a k-d tree, otherwise by an exhaustive search over all
+   * {@code n*(n-1)} distances. Both ways yield exactly the same candidate
+   * sets.
+   */
+  NEAREST_NEIGHBORS() {
+    /** {@inheritDoc} */
+    @Override
+    final boolean fill(final ObjectiveFunction f, final int m,
+        final int[] dest) {
+      return f.nearestNeighbors(m, dest, f);
+    }
+  },
+
+  /**
+   * The candidates of a node are about {@code m/4} nearest neighbors from
+   * each of the four quadrants around it, filled up with the nearest
+   * remaining neighbors if a quadrant has too few nodes.
+   */
+  QUADRANT_NEIGHBORS() {
+    /** {@inheritDoc} */
+    @Override
+    final boolean fill(final ObjectiveFunction f, final int m,
+        final int[] dest) {
+      return f.quadrantNeighbors(m, dest, f);
+    }
+  },
+
+  /**
+   * The candidates of a node are its neighbors in the Gabriel graph, a
+   * sub-graph of the Delaunay triangulation, filled up with the nearest
+   * remaining neighbors.
+   */
+  GABRIEL_NEIGHBORS() {
+    /** {@inheritDoc} */
+    @Override
+    final boolean fill(final ObjectiveFunction f, final int m,
+        final int[] dest) {
+      return f.gabrielNeighbors(m, dest, f);
+    }
+  },
+
+  /**
+   * The candidates of a node are its {@code m} &alpha;-nearest nodes
+   * according to a
+   * {@link org.logisticPlanning.tsp.solving.utils.oneTree.OneTree 1-tree}
+   * whose node penalties were optimized with the subgradient method.
+   * These candidates contain the edges of optimal tours much more often
+   * than the nearest neighbors. For instances with a spatial index, the
+   * 1-tree and the &alpha;-values are computed over a sparse graph of
+   * quadrant neighbors, otherwise the &alpha;-values are computed for all
+   * {@code n*(n-1)} node pairs in {@code O(n<sup>2</sup>)} time and
+   * {@code O(n)} memory.
+   */
+  ALPHA_NEARNESS() {
+    /** {@inheritDoc} */
+    @Override
+    final boolean fill(final ObjectiveFunction f, final int m,
+        final int[] dest) {
+      _AlphaNearness._fill(f, m, dest);
+      return true;
+    }
+  };
+
+  /**
+   * Fill the candidate array with the help of a spatial index. The
+   * distance evaluations performed are counted as DEs by {@code f}.
+   *
+   * @param f
+   *          the objective function
+   * @param m
+   *          the number of candidates per node
+   * @param dest
+   *          the destination array of length at least {@code n*m}, the
+   *          candidates of node {@code i} will be stored at indexes
+   *          {@code (i-1)*m} to {@code (i*m)-1}
+   * @return {@code true} if the array was filled, {@code false} if the
+   *         exhaustive nearest neighbor search must be used
+   */
+  abstract boolean fill(final ObjectiveFunction f, final int m,
+      final int[] dest);
+}
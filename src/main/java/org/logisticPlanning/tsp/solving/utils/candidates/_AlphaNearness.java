@@ -0,0 +1,74 @@
+package org.logisticPlanning.tsp.solving.utils.candidates;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.utils.oneTree.OneTree;
+
+/**
+ * This class is an internal class which builds the candidates of
+ * {@link ECandidateSetKind#ALPHA_NEARNESS}. A
+ * {@link org.logisticPlanning.tsp.solving.utils.oneTree.OneTree 1-tree} is
+ * optimized over a sparse graph of quadrant neighbors (or nearest
+ * neighbors, if the instance has no spatial index). For instances with a
+ * spatial index, the &alpha;-nearest candidates are then chosen among the
+ * neighbors in this graph, otherwise among all nodes.
+ */
+final class _AlphaNearness {
+
+  /** the minimum number of neighbors per node in the sparse graph */
+  private static final int MIN_GRAPH_DEGREE = 10;
+
+  /** the maximum length of the initial period of the ascent */
+  private static final int MAX_INITIAL_PERIOD = 300;
+
+  /** the forbidden constructor */
+  private _AlphaNearness() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Fill the candidate array with the {@code m} &alpha;-nearest nodes of
+   * each node. The distance evaluations performed are counted as DEs by
+   * {@code f}.
+   *
+   * @param f
+   *          the objective function
+   * @param m
+   *          the number of candidates per node, less than {@code n-1}
+   * @param dest
+   *          the destination array of length at least {@code n*m}
+   */
+  static final void _fill(final ObjectiveFunction f, final int m,
+      final int[] dest) {
+    final int n, k;
+    final int[] graph;
+    final OneTree tree;
+    final boolean sparse;
+    final CandidateSet nearest;
+    int i, j, idx;
+
+    n = f.n();
+    k = Math.min((n - 1),
+        Math.max((m << 1), _AlphaNearness.MIN_GRAPH_DEGREE));
+    graph = new int[n * k];
+
+    sparse = f.quadrantNeighbors(k, graph, f);
+    if (!sparse) {
+      nearest = CandidateSet.allocate(f, k,
+          ECandidateSetKind.NEAREST_NEIGHBORS, null);
+      idx = 0;
+      for (i = 1; i <= n; i++) {
+        for (j = 1; j <= k; j++) {
+          graph[idx++] = nearest.getCandidate(i, j);
+        }
+      }
+    }
+
+    tree = new OneTree(f, graph, k);
+    tree.ascent(_AlphaNearness.MAX_INITIAL_PERIOD);
+    if (sparse) {
+      tree.alphaNearestInGraph(m, dest);
+    } else {
+      tree.alphaNearest(f, m, dest);
+    }
+  }
+}
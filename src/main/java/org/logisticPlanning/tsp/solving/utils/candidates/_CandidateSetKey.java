@@ -0,0 +1,63 @@
+package org.logisticPlanning.tsp.solving.utils.candidates;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ISharedDataFactory;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+
+/**
+ * The key under which a candidate set is shared between all runs on the
+ * same benchmark instance. It also serves as the factory creating the
+ * candidate set.
+ */
+final class _CandidateSetKey implements ISharedDataFactory<CandidateSet> {
+
+  /** the number of candidates per node */
+  private final int m_m;
+
+  /** the kind of candidate set */
+  private final ECandidateSetKind m_kind;
+
+  /**
+   * create the key
+   *
+   * @param m
+   *          the number of candidates per node
+   * @param kind
+   *          the kind of candidate set
+   */
+  _CandidateSetKey(final int m, final ECandidateSetKind kind) {
+    super();
+    this.m_m = m;
+    this.m_kind = kind;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final CandidateSet create(final ObjectiveFunction f) {
+    final _CandidateSubSet set;
+
+    set = new _CandidateSubSet();
+    set.init(f, f.n(), this.m_m, this.m_kind);
+    return set;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final int hashCode() {
+    return ((31 * this.m_m) + this.m_kind.hashCode());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final boolean equals(final Object o) {
+    final _CandidateSetKey k;
+
+    if (o == this) {
+      return true;
+    }
+    if (o instanceof _CandidateSetKey) {
+      k = ((_CandidateSetKey) o);
+      return ((k.m_m == this.m_m) && (k.m_kind == this.m_kind));
+    }
+    return false;
+  }
+}
@@ -7,7 +7,11 @@ import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
 /**
  * <p>
  * A candidate set that presents {@code m} candidates per node, i.e., the
- * {@code m} nearest other nodes. The candidate set is backed by a
+ * {@code m} nearest other nodes (or the nodes chosen according to another
+ * {@link ECandidateSetKind kind}). If the instance is based on
+ * coordinates, the candidates are found with a spatial index, otherwise
+ * by computing all {@code n*(n-1)} distances. The candidate set is backed
+ * by a
  * one-dimensional array of {@code int} which holds {@code n*m} elements,
  * where {@code n} is the total number of nodes.
  * </p>
@@ -39,7 +43,8 @@ final class _CandidateSubSet extends CandidateSet {
 
   /** {@inheritDoc} */
   @Override
-  final void init(final ObjectiveFunction f, final int n, final int m) {
+  final void init(final ObjectiveFunction f, final int n, final int m,
+      final ECandidateSetKind kind) {
     final int matrixSize, listLen;
     int[] data;
     final _Candidate[] list;
@@ -55,6 +60,14 @@ final class _CandidateSubSet extends CandidateSet {
       this.m_candidates = data = new int[matrixSize];
     }
 
+    // use the spatial index if the instance has one
+    if (kind.fill(f, m, data)) {
+      for (i = 0; i < matrixSize; i += m) {
+        Arrays.sort(data, i, (i + m));
+      }
+      return;
+    }
+
     // allocate the temporary list
     listLen = (n - 1);
     list = new _Candidate[listLen];
@@ -0,0 +1,919 @@
+package org.logisticPlanning.tsp.solving.utils.oneTree;
+
+import java.util.Arrays;
+
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
+
+/**
+ * <p>
+ * A minimum 1-tree over a sparse graph whose node penalties {@code pi} can
+ * be optimized with the subgradient method of Held and Karp&nbsp;[<a
+ * href="package-summary.html#cite_HK1970TTSPAMST"
+ * style="font-weight:bold">1</a>, <a
+ * href="package-summary.html#cite_HK1971TTSPAMSTP2"
+ * style="font-weight:bold">2</a>]. A 1-tree is a spanning tree plus one
+ * additional edge at a leaf, the <em>special node</em>. Each tour is a
+ * 1-tree, so the length of a minimum 1-tree under the transformed costs
+ * {@code d(i,j)+pi(i)+pi(j)} minus {@code 2*sum(pi)} is a lower bound for
+ * the optimal tour length. The {@link #ascent(int) ascent} raises this
+ * bound by pushing the degrees of all nodes towards {@code 2}.
+ * </p>
+ * <p>
+ * The 1-tree is computed over a sparse graph, e.g., the quadrant neighbors
+ * of each node, with Prim's algorithm and a binary heap in
+ * {@code O(e log n)}, where {@code e} is the number of edges. The graph is
+ * symmetrized and, if necessary, made connected by adding the shortest
+ * edges from each component to the rest of the nodes. Afterwards, the
+ * &alpha;-nearness&nbsp;[<a href="package-summary.html#cite_H2000AEIOTLKTSH"
+ * style="font-weight:bold">3</a>] of edges can be computed either for all
+ * node pairs with {@link #alphaNearest(DistanceComputer, int, int[])} in
+ * {@code O(n<sup>2</sup>)} time and {@code O(n)} memory, or only for the
+ * edges of the sparse graph with {@link #alphaNearestInGraph(int, int[])}
+ * in {@code O(e log n)}.
+ * </p>
+ * <p>
+ * All costs are handled as {@code long} values scaled by
+ * {@link #PRECISION}, so that the penalties can be integers and the
+ * results do not depend on floating point rounding.
+ * </p>
+ */
+public class OneTree {
+
+  /** the factor by which all distances are multiplied */
+  public static final int PRECISION = 100;
+
+  /** the minimum initial period of the ascent */
+  private static final int MIN_INITIAL_PERIOD = 100;
+
+  /** the number of nodes */
+  private final int m_n;
+
+  /**
+   * the start index of the neighbors of each node in {@link #m_adj}: the
+   * neighbors of node {@code i} are at indexes {@code m_start[i]}
+   * (inclusive) to {@code m_start[i+1]} (exclusive)
+   */
+  private final int[] m_start;
+
+  /** the neighbors of all nodes */
+  private final int[] m_adj;
+
+  /** the distances to the neighbors in {@link #m_adj} */
+  private final int[] m_dist;
+
+  /** the node penalties */
+  private final long[] m_pi;
+
+  /** the parent of each node in the spanning tree, {@code 0} for the root */
+  private final int[] m_dad;
+
+  /**
+   * the transformed cost of the edge from each node to its parent, also
+   * used as heap key while building the tree
+   */
+  private final long[] m_dadCost;
+
+  /** the nodes in the order in which they were added to the tree */
+  private final int[] m_order;
+
+  /** the degree of each node in the 1-tree */
+  private final int[] m_degree;
+
+  /** the heap */
+  private final int[] m_heap;
+
+  /**
+   * the position of each node in the heap plus one, {@code 0} if it was
+   * not yet reached, {@code -1} if it is already in the tree
+   */
+  private final int[] m_heapPos;
+
+  /** the special node, or {@code 0} if there is none */
+  private int m_special;
+
+  /** the node to which the additional edge of the special node leads */
+  private int m_specialNeighbor;
+
+  /** the transformed cost of the additional edge */
+  private long m_specialCost;
+
+  /** the transformed length of the 1-tree minus {@code 2*sum(pi)} */
+  private long m_w;
+
+  /** the sum of the squares of {@code degree-2} */
+  private long m_norm;
+
+  /**
+   * Create the 1-tree structure over a sparse graph. Distances of the
+   * graph edges are evaluated once here and cached.
+   *
+   * @param f
+   *          the distance computer
+   * @param graph
+   *          the graph: the {@code k} neighbors of node {@code i} are
+   *          stored at indexes {@code (i-1)*k} to {@code (i*k)-1}
+   * @param k
+   *          the number of neighbors per node in {@code graph}
+   */
+  public OneTree(final DistanceComputer f, final int[] graph, final int k) {
+    super();
+
+    final int n;
+    final int[] count, start, adj, dist, extra, set;
+    int i, j, u, v, idx, end, extraCount, best, bestDist, d, total;
+    boolean changed;
+
+    this.m_n = n = f.n();
+
+    // join the connected components of the graph
+    set = new int[n + 1];
+    for (i = n; i > 0; i--) {
+      set[i] = i;
+    }
+    idx = 0;
+    for (i = 1; i <= n; i++) {
+      for (j = k; (--j) >= 0;) {
+        OneTree.__union(set, i, graph[idx++]);
+      }
+    }
+
+    extra = new int[n << 1];
+    extraCount = 0;
+    do {
+      changed = false;
+      for (i = 1; i <= n; i++) {
+        u = OneTree.__find(set, i);
+        if (u == OneTree.__find(set, 1)) {
+          continue;
+        }
+        best = 0;
+        bestDist = Integer.MAX_VALUE;
+        for (v = n; v > 0; v--) {
+          if (OneTree.__find(set, v) != u) {
+            d = f.distance(i, v);
+            if ((best == 0) || (d < bestDist)) {
+              bestDist = d;
+              best = v;
+            }
+          }
+        }
+        extra[extraCount++] = i;
+        extra[extraCount++] = best;
+        OneTree.__union(set, u, best);
+        changed = true;
+      }
+    } while (changed);
+
+    // count the edges of the symmetric graph (with duplicates)
+    count = set;
+    Arrays.fill(count, 0);
+    idx = 0;
+    for (i = 1; i <= n; i++) {
+      for (j = k; (--j) >= 0;) {
+        count[i]++;
+        count[graph[idx++]]++;
+      }
+    }
+    for (j = extraCount; j > 0;) {
+      count[extra[--j]]++;
+      count[extra[--j]]++;
+    }
+
+    start = new int[n + 2];
+    total = 0;
+    for (i = 1; i <= n; i++) {
+      start[i] = total;
+      total += count[i];
+      count[i] = start[i];
+    }
+    start[n + 1] = total;
+
+    adj = new int[total];
+    idx = 0;
+    for (i = 1; i <= n; i++) {
+      for (j = k; (--j) >= 0;) {
+        u = graph[idx++];
+        adj[count[i]++] = u;
+        adj[count[u]++] = i;
+      }
+    }
+    for (j = extraCount; j > 0;) {
+      u = extra[--j];
+      v = extra[--j];
+      adj[count[u]++] = v;
+      adj[count[v]++] = u;
+    }
+
+    // remove duplicates and compact the adjacency lists
+    total = 0;
+    for (i = 1; i <= n; i++) {
+      idx = start[i];
+      end = start[i + 1];
+      start[i] = total;
+      Arrays.sort(adj, idx, end);
+      v = 0;
+      for (; idx < end; idx++) {
+        u = adj[idx];
+        if ((u != v) && (u != i)) {
+          adj[total++] = u;
+          v = u;
+        }
+      }
+    }
+    start[n + 1] = total;
+
+    this.m_start = start;
+    this.m_adj = Arrays.copyOf(adj, total);
+    this.m_dist = dist = new int[total];
+    for (i = 1; i <= n; i++) {
+      end = start[i + 1];
+      for (idx = start[i]; idx < end; idx++) {
+        dist[idx] = f.distance(i, adj[idx]);
+      }
+    }
+
+    this.m_pi = new long[n + 1];
+    this.m_dad = new int[n + 1];
+    this.m_dadCost = new long[n + 1];
+    this.m_order = new int[n];
+    this.m_degree = new int[n + 1];
+    this.m_heap = new int[n];
+    this.m_heapPos = new int[n + 1];
+
+    this.__computeTree();
+  }
+
+  /**
+   * find the representative of a set
+   *
+   * @param set
+   *          the union-find array
+   * @param node
+   *          the node
+   * @return the representative
+   */
+  private static final int __find(final int[] set, final int node) {
+    int r, i, t;
+
+    r = node;
+    while (set[r] != r) {
+      r = set[r];
+    }
+    for (i = node; i != r; i = t) {
+      t = set[i];
+      set[i] = r;
+    }
+    return r;
+  }
+
+  /**
+   * join the sets of two nodes
+   *
+   * @param set
+   *          the union-find array
+   * @param a
+   *          the first node
+   * @param b
+   *          the second node
+   */
+  private static final void __union(final int[] set, final int a,
+      final int b) {
+    set[OneTree.__find(set, a)] = OneTree.__find(set, b);
+  }
+
+  /**
+   * Get the number of nodes
+   *
+   * @return the number of nodes
+   */
+  public final int n() {
+    return this.m_n;
+  }
+
+  /**
+   * Get the penalty of a node, scaled by {@link #PRECISION}
+   *
+   * @param node
+   *          the node
+   * @return the penalty
+   */
+  public final long getPenalty(final int node) {
+    return this.m_pi[node];
+  }
+
+  /**
+   * Get the lower bound for the tour length provided by the current
+   * 1-tree, i.e., its length under the transformed costs minus
+   * {@code 2*sum(pi)}, divided by {@link #PRECISION}. This is only a
+   * valid bound for the tour length if the optimal tour is contained in
+   * the graph, e.g., if the graph is complete.
+   *
+   * @return the lower bound
+   */
+  public final double getLowerBound() {
+    return (((double) (this.m_w)) / OneTree.PRECISION);
+  }
+
+  /**
+   * Get the degree of a node in the current 1-tree
+   *
+   * @param node
+   *          the node
+   * @return the degree
+   */
+  public final int getDegree(final int node) {
+    return this.m_degree[node];
+  }
+
+  /**
+   * Check whether the current 1-tree is a tour, i.e., whether all nodes
+   * have degree {@code 2}.
+   *
+   * @return {@code true} if the 1-tree is a tour, {@code false} otherwise
+   */
+  public final boolean isTour() {
+    return (this.m_norm == 0l);
+  }
+
+  /**
+   * Perform the subgradient optimization of the penalties as proposed by
+   * Helsgaun: In each step, the penalty of each node is changed by a step
+   * size times a combination of its current and last degree deviation
+   * from {@code 2}. The step size is doubled as long as the bound improves
+   * in the initial phase and halved after each period, whose length is
+   * halved, too. At the end, the penalties yielding the best bound are
+   * restored. The initial period is {@code n/2}, but at least {@code 100}
+   * and at most {@code maxInitialPeriod}.
+   *
+   * @param maxInitialPeriod
+   *          the maximum length of the initial period, which limits the
+   *          number of 1-trees to be computed to a few times this number
+   */
+  public final void ascent(final int maxInitialPeriod) {
+    final int n, initialPeriod;
+    final long[] pi, bestPi;
+    final int[] lastV, degree;
+    long t, bestW, bestNorm;
+    int period, p, i, v;
+    boolean initialPhase;
+
+    n = this.m_n;
+    pi = this.m_pi;
+    degree = this.m_degree;
+    initialPeriod = Math.min(maxInitialPeriod,
+        Math.max((n >>> 1), OneTree.MIN_INITIAL_PERIOD));
+
+    bestPi = pi.clone();
+    bestW = this.m_w;
+    bestNorm = this.m_norm;
+    if (bestNorm == 0l) {
+      return;
+    }
+
+    lastV = new int[n + 1];
+    for (i = n; i > 0; i--) {
+      lastV[i] = (degree[i] - 2);
+    }
+
+    initialPhase = true;
+    for (period = initialPeriod, t = OneTree.PRECISION; //
+    (period > 0) && (t > 0l) && (this.m_norm != 0l); //
+    period >>>= 1, t >>>= 1) {
+
+      for (p = 1; (t > 0l) && (p <= period) && (this.m_norm != 0l); p++) {
+        for (i = n; i > 0; i--) {
+          v = (degree[i] - 2);
+          if (v != 0) {
+            pi[i] += ((t * ((7 * v) + (3 * lastV[i]))) / 10l);
+          }
+          lastV[i] = v;
+        }
+
+        this.__computeTree();
+
+        if ((this.m_w > bestW)
+            || ((this.m_w == bestW) && (this.m_norm < bestNorm))) {
+          bestW = this.m_w;
+          bestNorm = this.m_norm;
+          System.arraycopy(pi, 0, bestPi, 0, pi.length);
+          if (initialPhase) {
+            t <<= 1l;
+          }
+          if ((p == period) && ((period <<= 1) > initialPeriod)) {
+            period = initialPeriod;
+          }
+        }
+
+        if (initialPhase && (p > (period >>> 1))) {
+          initialPhase = false;
+          p = 0;
+          t = ((3l * t) >>> 2);
+        }
+      }
+    }
+
+    System.arraycopy(bestPi, 0, pi, 0, pi.length);
+    this.__computeTree();
+  }
+
+  /**
+   * move a heap element towards the root
+   *
+   * @param index
+   *          the index of the element
+   */
+  private final void __heapUp(final int index) {
+    final int[] heap, pos;
+    final long[] key;
+    final int node;
+    final long k;
+    int i, parent, p;
+
+    heap = this.m_heap;
+    pos = this.m_heapPos;
+    key = this.m_dadCost;
+    node = heap[index];
+    k = key[node];
+
+    for (i = index; i > 0; i = parent) {
+      parent = ((i - 1) >>> 1);
+      p = heap[parent];
+      if (key[p] <= k) {
+        break;
+      }
+      heap[i] = p;
+      pos[p] = (i + 1);
+    }
+    heap[i] = node;
+    pos[node] = (i + 1);
+  }
+
+  /**
+   * move the heap root towards the leaves
+   *
+   * @param size
+   *          the size of the heap
+   */
+  private final void __heapDown(final int size) {
+    final int[] heap, pos;
+    final long[] key;
+    final int node;
+    final long k;
+    int i, child, c;
+
+    heap = this.m_heap;
+    pos = this.m_heapPos;
+    key = this.m_dadCost;
+    node = heap[0];
+    k = key[node];
+
+    for (i = 0; (child = ((i << 1) + 1)) < size; i = child) {
+      c = heap[child];
+      if (((child + 1) < size) && (key[heap[child + 1]] < key[c])) {
+        c = heap[++child];
+      }
+      if (k <= key[c]) {
+        break;
+      }
+      heap[i] = c;
+      pos[c] = (i + 1);
+    }
+    heap[i] = node;
+    pos[node] = (i + 1);
+  }
+
+  /** compute the minimum 1-tree under the current penalties */
+  private final void __computeTree() {
+    final int n;
+    final int[] start, adj, dist, dad, order, degree, heap, pos;
+    final long[] pi, key;
+    int size, count, v, u, idx, end, p, t, special, specialNeighbor, e;
+    long w, c, pv, best, min, norm;
+
+    n = this.m_n;
+    start = this.m_start;
+    adj = this.m_adj;
+    dist = this.m_dist;
+    dad = this.m_dad;
+    order = this.m_order;
+    degree = this.m_degree;
+    heap = this.m_heap;
+    pos = this.m_heapPos;
+    pi = this.m_pi;
+    key = this.m_dadCost;
+
+    for (v = n; v > 0; v--) {
+      key[v] = Long.MAX_VALUE;
+      dad[v] = 0;
+      degree[v] = 0;
+      pos[v] = 0;
+    }
+
+    // Prim's algorithm, rooted at node 1
+    key[1] = 0l;
+    heap[0] = 1;
+    pos[1] = 1;
+    size = 1;
+    count = 0;
+    w = 0l;
+    while (size > 0) {
+      v = heap[0];
+      pos[v] = (-1);
+      if ((--size) > 0) {
+        heap[0] = heap[size];
+        this.__heapDown(size);
+      }
+      order[count++] = v;
+      if ((u = dad[v]) != 0) {
+        w += key[v];
+        degree[v]++;
+        degree[u]++;
+      }
+
+      pv = pi[v];
+      end = start[v + 1];
+      for (idx = start[v]; idx < end; idx++) {
+        u = adj[idx];
+        if ((p = pos[u]) >= 0) {
+          c = ((((long) (dist[idx])) * OneTree.PRECISION) + pv + pi[u]);
+          if (c < key[u]) {
+            key[u] = c;
+            dad[u] = v;
+            if (p == 0) {
+              heap[size] = u;
+              p = (++size);
+            }
+            pos[u] = p;
+            this.__heapUp(p - 1);
+          }
+        }
+      }
+    }
+
+    // choose the leaf whose cheapest non-tree edge is the longest
+    special = specialNeighbor = 0;
+    best = Long.MIN_VALUE;
+    for (v = n; v > 0; v--) {
+      if (degree[v] != 1) {
+        continue;
+      }
+      t = dad[v];
+      end = start[v + 1];
+      if (t == 0) {
+        for (idx = start[v]; idx < end; idx++) {
+          if (dad[adj[idx]] == v) {
+            t = adj[idx];
+            break;
+          }
+        }
+      }
+
+      pv = pi[v];
+      min = Long.MAX_VALUE;
+      e = 0;
+      for (idx = start[v]; idx < end; idx++) {
+        u = adj[idx];
+        if (u != t) {
+          c = ((((long) (dist[idx])) * OneTree.PRECISION) + pv + pi[u]);
+          if (c < min) {
+            min = c;
+            e = u;
+          }
+        }
+      }
+      if ((e != 0) && (min > best)) {
+        best = min;
+        special = v;
+        specialNeighbor = e;
+      }
+    }
+
+    this.m_special = special;
+    this.m_specialNeighbor = specialNeighbor;
+    this.m_specialCost = best;
+    if (special != 0) {
+      w += best;
+      degree[special]++;
+      degree[specialNeighbor]++;
+    }
+
+    norm = 0l;
+    for (v = n; v > 0; v--) {
+      w -= (pi[v] << 1l);
+      u = (degree[v] - 2);
+      norm += (u * u);
+    }
+    this.m_w = w;
+    this.m_norm = norm;
+  }
+
+  /**
+   * check whether a candidate should be preferred over another one: The
+   * candidate with the smaller &alpha;-value is better, ties are broken by
+   * the transformed cost and then by the node id.
+   *
+   * @param node
+   *          the candidate node
+   * @param alpha
+   *          its &alpha;-value
+   * @param cost
+   *          its transformed cost
+   * @param otherNode
+   *          the other candidate node
+   * @param otherAlpha
+   *          the &alpha;-value of the other candidate
+   * @param otherCost
+   *          the transformed cost of the other candidate
+   * @return {@code true} if the candidate is better than the other one
+   */
+  private static final boolean __isBetter(final int node,
+      final long alpha, final long cost, final int otherNode,
+      final long otherAlpha, final long otherCost) {
+    if (alpha != otherAlpha) {
+      return (alpha < otherAlpha);
+    }
+    if (cost != otherCost) {
+      return (cost < otherCost);
+    }
+    return (node < otherNode);
+  }
+
+  /**
+   * insert a candidate into a list sorted by &alpha;-value and cost, if it
+   * is better than the worst element of a full list
+   *
+   * @param node
+   *          the candidate node
+   * @param alpha
+   *          its &alpha;-value
+   * @param cost
+   *          its transformed cost
+   * @param m
+   *          the capacity of the list
+   * @param size
+   *          the current size of the list
+   * @param nodes
+   *          the nodes of the list
+   * @param alphas
+   *          the &alpha;-values of the list
+   * @param costs
+   *          the costs of the list
+   * @return the new size of the list
+   */
+  private static final int __insert(final int node, final long alpha,
+      final long cost, final int m, final int size, final int[] nodes,
+      final long[] alphas, final long[] costs) {
+    int i, newSize;
+
+    if (size >= m) {
+      i = (m - 1);
+      if (!(OneTree.__isBetter(node, alpha, cost, nodes[i], alphas[i],
+          costs[i]))) {
+        return size;
+      }
+      newSize = size;
+    } else {
+      i = size;
+      newSize = (size + 1);
+    }
+
+    for (; (i > 0)
+        && OneTree.__isBetter(node, alpha, cost, nodes[i - 1],
+            alphas[i - 1], costs[i - 1]); i--) {
+      nodes[i] = nodes[i - 1];
+      alphas[i] = alphas[i - 1];
+      costs[i] = costs[i - 1];
+    }
+    nodes[i] = node;
+    alphas[i] = alpha;
+    costs[i] = cost;
+    return newSize;
+  }
+
+  /**
+   * Get the transformed cost of the longer of the two 1-tree edges of the
+   * special node, which replaces the maximum path edge in the
+   * &alpha;-values of edges incident to the special node.
+   *
+   * @return the cost
+   */
+  private final long __specialBeta() {
+    final int s;
+    int t, u;
+
+    s = this.m_special;
+    t = this.m_dad[s];
+    if (t == 0) {
+      for (u = this.m_n; u > 0; u--) {
+        if (this.m_dad[u] == s) {
+          return Math.max(this.m_dadCost[u], this.m_specialCost);
+        }
+      }
+      return this.m_specialCost;
+    }
+    return Math.max(this.m_dadCost[s], this.m_specialCost);
+  }
+
+  /**
+   * Find the {@code m} &alpha;-nearest nodes of each node among all other
+   * nodes with Helsgaun's algorithm in {@code O(n<sup>2</sup>)} time and
+   * {@code O(n)} memory: For each node {@code i}, the maximum edge costs
+   * {@code beta(i,j)} on the tree paths to all nodes {@code j} are
+   * computed in one sweep over the nodes in the order in which they were
+   * added to the tree, and the &alpha;-value of {@code (i,j)} is
+   * {@code c(i,j)-beta(i,j)}. Nodes with the same &alpha;-value are
+   * ordered by their transformed cost and then by their id. All
+   * {@code n*(n-1)} distances are evaluated.
+   *
+   * @param f
+   *          the distance computer
+   * @param m
+   *          the number of candidates per node, at most {@code n-1}
+   * @param dest
+   *          the destination array: the {@code m} &alpha;-nearest nodes of
+   *          node {@code i} will be stored at indexes {@code (i-1)*m} to
+   *          {@code (i*m)-1}, ordered by increasing &alpha;-value
+   */
+  public final void alphaNearest(final DistanceComputer f, final int m,
+      final int[] dest) {
+    final int n, s;
+    final int[] dad, order, mark, nodes;
+    final long[] pi, key, beta, alphas, costs;
+    final long specialBeta;
+    int i, j, u, x, size, idx;
+    long c, pv;
+
+    n = this.m_n;
+    s = this.m_special;
+    dad = this.m_dad;
+    order = this.m_order;
+    pi = this.m_pi;
+    key = this.m_dadCost;
+    specialBeta = ((s != 0) ? this.__specialBeta() : 0l);
+
+    mark = new int[n + 1];
+    beta = new long[n + 1];
+    nodes = new int[m];
+    alphas = new long[m];
+    costs = new long[m];
+
+    idx = 0;
+    for (i = 1; i <= n; i++) {
+      if (i != s) {
+        // compute beta along the path from i to the root
+        beta[i] = Long.MIN_VALUE;
+        mark[i] = i;
+        for (j = i; (u = dad[j]) != 0; j = u) {
+          beta[u] = Math.max(beta[j], key[j]);
+          mark[u] = i;
+        }
+        // and from there to all other nodes
+        for (x = 0; x < n; x++) {
+          j = order[x];
+          if (mark[j] != i) {
+            beta[j] = Math.max(beta[dad[j]], key[j]);
+          }
+        }
+      }
+
+      size = 0;
+      pv = pi[i];
+      for (j = n; j > 0; j--) {
+        if (j == i) {
+          continue;
+        }
+        c = ((((long) (f.distance(i, j))) * OneTree.PRECISION) + pv + pi[j]);
+        size = OneTree.__insert(j, (((i == s) || (j == s)) ? //
+            Math.max(0l, (c - specialBeta))
+            : (c - beta[j])), c, m, size, nodes, alphas, costs);
+      }
+
+      System.arraycopy(nodes, 0, dest, idx, m);
+      idx += m;
+    }
+  }
+
+  /**
+   * Find the {@code m} &alpha;-nearest nodes of each node among its
+   * neighbors in the sparse graph. The maximum edge costs on the tree
+   * paths are computed with binary lifting, so this needs
+   * {@code O(e log n)} time and {@code O(n log n)} memory and no
+   * additional distance evaluation. Nodes with the same &alpha;-value are
+   * ordered by their transformed cost and then by their id.
+   *
+   * @param m
+   *          the number of candidates per node, at most the number of
+   *          neighbors each node has in the graph passed to the
+   *          constructor
+   * @param dest
+   *          the destination array: the {@code m} &alpha;-nearest nodes of
+   *          node {@code i} will be stored at indexes {@code (i-1)*m} to
+   *          {@code (i*m)-1}, ordered by increasing &alpha;-value
+   */
+  public final void alphaNearestInGraph(final int m, final int[] dest) {
+    final int n, s, levels;
+    final int[] start, adj, dist, dad, order, depth, nodes;
+    final int[][] up;
+    final long[][] max;
+    final long[] pi, key, alphas, costs;
+    final long specialBeta;
+    int i, j, a, b, l, x, size, idx, end, diff, maxDepth, d;
+    long c, pv, beta;
+
+    n = this.m_n;
+    s = this.m_special;
+    start = this.m_start;
+    adj = this.m_adj;
+    dist = this.m_dist;
+    dad = this.m_dad;
+    order = this.m_order;
+    pi = this.m_pi;
+    key = this.m_dadCost;
+    specialBeta = ((s != 0) ? this.__specialBeta() : 0l);
+
+    // build the binary lifting tables
+    depth = new int[n + 1];
+    maxDepth = 0;
+    for (x = 1; x < n; x++) {
+      j = order[x];
+      d = depth[j] = (depth[dad[j]] + 1);
+      if (d > maxDepth) {
+        maxDepth = d;
+      }
+    }
+    d = 1;
+    while ((1 << d) <= maxDepth) {
+      d++;
+    }
+    levels = d;
+
+    up = new int[levels][];
+    max = new long[levels][];
+    up[0] = dad.clone();
+    max[0] = key.clone();
+    up[0][order[0]] = order[0];
+    max[0][order[0]] = Long.MIN_VALUE;
+    for (l = 1; l < levels; l++) {
+      up[l] = new int[n + 1];
+      max[l] = new long[n + 1];
+      for (i = n; i > 0; i--) {
+        j = up[l - 1][i];
+        up[l][i] = up[l - 1][j];
+        max[l][i] = Math.max(max[l - 1][i], max[l - 1][j]);
+      }
+    }
+
+    nodes = new int[m];
+    alphas = new long[m];
+    costs = new long[m];
+
+    idx = 0;
+    for (i = 1; i <= n; i++) {
+      size = 0;
+      pv = pi[i];
+      end = start[i + 1];
+      for (x = start[i]; x < end; x++) {
+        j = adj[x];
+        c = ((((long) (dist[x])) * OneTree.PRECISION) + pv + pi[j]);
+
+        if ((i == s) || (j == s)) {
+          size = OneTree.__insert(j, Math.max(0l, (c - specialBeta)), c,
+              m, size, nodes, alphas, costs);
+          continue;
+        }
+
+        // the maximum edge cost on the tree path from i to j
+        beta = Long.MIN_VALUE;
+        a = i;
+        b = j;
+        if (depth[a] < depth[b]) {
+          a = j;
+          b = i;
+        }
+        diff = (depth[a] - depth[b]);
+        for (l = 0; diff != 0; l++, diff >>>= 1) {
+          if ((diff & 1) != 0) {
+            beta = Math.max(beta, max[l][a]);
+            a = up[l][a];
+          }
+        }
+        if (a != b) {
+          for (l = levels; (--l) >= 0;) {
+            if (up[l][a] != up[l][b]) {
+              beta = Math.max(beta, Math.max(max[l][a], max[l][b]));
+              a = up[l][a];
+              b = up[l][b];
+            }
+          }
+          beta = Math.max(beta, Math.max(max[0][a], max[0][b]));
+        }
+
+        size = OneTree.__insert(j, (c - beta), c, m, size, nodes, alphas,
+            costs);
+      }
+
+      System.arraycopy(nodes, 0, dest, idx, m);
+      idx += m;
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/**
+ * <p>
+ * In this package, we provide
+ * {@link org.logisticPlanning.tsp.solving.utils.oneTree.OneTree minimum
+ * 1-trees} whose node penalties are optimized with the subgradient method
+ * of Held and Karp&nbsp;[<a href="#cite_HK1970TTSPAMST"
+ * style="font-weight:bold">1</a>, <a href="#cite_HK1971TTSPAMSTP2"
+ * style="font-weight:bold">2</a>]. Such a 1-tree yields a lower bound for
+ * the tour length and, following Helsgaun&nbsp;[<a
+ * href="#cite_H2000AEIOTLKTSH" style="font-weight:bold">3</a>], the
+ * <em>&alpha;-nearness</em> of each edge, i.e., the increase of the 1-tree
+ * length if the 1-tree is forced to contain the edge. Edges of optimal
+ * tours tend to have a small &alpha;-nearness even if they are not among
+ * the nearest neighbors of their end nodes, which makes the &alpha;-nearest
+ * nodes much better candidates for local searches than the nearest ones.
+ * </p>
+ * <h2>References</h2>
+ * <ol>
+ * <li><div><span id="cite_HK1970TTSPAMST" /><a
+ * href="https://en.wikipedia.org/wiki/Michael_Held">Michael Held</a> and&nbsp;<a
+ * href="https://en.wikipedia.org/wiki/Richard_M._Karp">Richard Manning
+ * Karp</a>: <span style="font-weight:bold">&ldquo;The Traveling-Salesman
+ * Problem and Minimum Spanning Trees,&rdquo;</span> in <span
+ * style="font-style:italic;font-family:cursive;">Operations
+ * Research</span> 18(6):1138&ndash;1162, November&ndash;December&nbsp;1970;
+ * published by Linthicum, ML, USA: Institute for Operations Research and
+ * the Management Sciences (INFORMS). doi:&nbsp;<a
+ * href="http://dx.doi.org/10.1287/opre.18.6.1138">10.1287/opre.18.6.1138</a>
+ * </div></li>
+ * <li><div><span id="cite_HK1971TTSPAMSTP2" /><a
+ * href="https://en.wikipedia.org/wiki/Michael_Held">Michael Held</a> and&nbsp;<a
+ * href="https://en.wikipedia.org/wiki/Richard_M._Karp">Richard Manning
+ * Karp</a>: <span style="font-weight:bold">&ldquo;The Traveling-Salesman
+ * Problem and Minimum Spanning Trees: Part II,&rdquo;</span> in <span
+ * style="font-style:italic;font-family:cursive;">Mathematical
+ * Programming</span> 1(1):6&ndash;25, December&nbsp;1971; published by
+ * Berlin, Germany: Springer-Verlag GmbH. doi:&nbsp;<a
+ * href="http://dx.doi.org/10.1007/BF01584070">10.1007/BF01584070</a></div></li>
+ * <li><div><span id="cite_H2000AEIOTLKTSH" /><a
+ * href="http://www.ruc.dk/~keld/">Keld Helsgaun</a>: <span
+ * style="font-weight:bold">&ldquo;An Effective Implementation of the
+ * Lin-Kernighan Traveling Salesman Heuristic,&rdquo;</span> in <span
+ * style="font-style:italic;font-family:cursive;">European Journal of
+ * Operational Research (EJOR)</span> 126(1):106&ndash;130,
+ * October&nbsp;2000; published by Amsterdam, The Netherlands: Elsevier
+ * Science Publishers B.V.. doi:&nbsp;<a
+ * href="http://dx.doi.org/10.1016/S0377-2217(99)00284-2"
+ * >10.1016/S0377-2217(99)00284-2</a></div></li>
+ * </ol>
+ */
+package org.logisticPlanning.tsp.solving.utils.oneTree;
+
@@ -0,0 +1,758 @@
+package org.logisticPlanning.tsp.solving.utils.twoLevelList;
+
+import java.util.Arrays;
+
+import org.logisticPlanning.tsp.solving.utils.RepresentationUtils;
+
+/**
+ * <p>
+ * A two-level doubly-linked list&nbsp;[<a href="#cite_FJMGO1995DSFTS"
+ * style="font-weight:bold">1</a>] holding a tour of a symmetric TSP. The
+ * tour is cut into about <code>&radic;n</code> segments of about
+ * <code>&radic;n</code> nodes each. The nodes of a segment form a
+ * doubly-linked list and carry increasing sequence numbers. Each segment
+ * has a reversal bit, which tells whether its nodes are to be visited in
+ * the order of their sequence numbers or in the opposite order, and a
+ * rank, which is its index in the doubly-linked list of segments. The
+ * {@link #next(int) successor} and {@link #prev(int) predecessor} of a
+ * node as well as the relative {@link #between(int, int, int) order} of
+ * three nodes can thus be obtained in <em>O(1)</em>.
+ * </p>
+ * <p>
+ * A {@link #reverse(int, int) reversal} of a sub-sequence which lies
+ * within a single segment is done node by node. Otherwise, the segments
+ * at both ends of the sub-sequence are split so that it consists of whole
+ * segments, where the smaller part of a split segment is merged into the
+ * neighboring segment. Then, the order of the segments and their reversal
+ * bits are flipped. Either the sub-sequence or its complement is
+ * reversed, whichever spans fewer segments, and the orientation of the
+ * whole list is flipped in the latter case. A reversal thus takes
+ * <em>O(&radic;n)</em> steps. If a segment grows too large due to the
+ * merges, the list is rebuilt in <em>O(n)</em>.
+ * </p>
+ * <p>
+ * The list can be translated {@link #toPath(int[]) to} and
+ * {@link #fromPath(int[]) from} the path representation as well as
+ * {@link #toAdjacencyList(int[]) to} and
+ * {@link #fromAdjacencyList(int[]) from} the adjacency representation in
+ * <em>O(n)</em>.
+ * </p>
+ * <h2>References</h2>
+ * <ol>
+ * <li><div><span id="cite_FJMGO1995DSFTS" /><a
+ * href="http://en.wikipedia.org/wiki/Michael_Fredman">Michael L.
+ * Fredman</a>, <a
+ * href="https://en.wikipedia.org/wiki/David_S._Johnson">David Stifler
+ * Johnson</a>, <a
+ * href="https://www.amherst.edu/people/facstaff/lamcgeoch">Lyle A.
+ * McGeoch</a>, and&nbsp;Gerard Ostheimer: <span
+ * style="font-weight:bold">&ldquo;Data Structures for Traveling
+ * Salesmen,&rdquo;</span> in <span
+ * style="font-style:italic;font-family:cursive;">Journal of
+ * Algorithms</span> 18(3):432&ndash;479, May&nbsp;1995; published by
+ * Amsterdam, The Netherlands: Elsevier Science Publishers B.V..
+ * doi:&nbsp;<a
+ * href="http://dx.doi.org/10.1006/jagm.1995.1018">10.1006/jagm
+ * .1995.1018</a>.</div></li>
+ * </ol>
+ *
+ * @since TSP Suite/0.9.8
+ */
+public class TwoLevelList {
+
+  /**
+   * the bound for the sequence numbers beyond which the nodes of a
+   * segment are renumbered
+   */
+  private static final int MAX_SEQ = (1 << 30);
+
+  /** the number of nodes */
+  private final int m_n;
+
+  /** the number of segments */
+  private final int m_segments;
+
+  /** the maximum number of nodes in a segment before a rebuild */
+  private final int m_maxCount;
+
+  /** the raw successor of each node within its segment */
+  private final int[] m_next;
+
+  /** the raw predecessor of each node within its segment */
+  private final int[] m_prev;
+
+  /** the sequence number of each node within its segment */
+  private final int[] m_seq;
+
+  /** the segment of each node */
+  private final int[] m_parent;
+
+  /** the node with the lowest sequence number in each segment */
+  private final int[] m_first;
+
+  /** the node with the highest sequence number in each segment */
+  private final int[] m_last;
+
+  /** the number of nodes in each segment */
+  private final int[] m_count;
+
+  /** the successor of each segment */
+  private final int[] m_segNext;
+
+  /** the predecessor of each segment */
+  private final int[] m_segPrev;
+
+  /** the rank of each segment */
+  private final int[] m_rank;
+
+  /** the reversal bit of each segment */
+  private final boolean[] m_reversed;
+
+  /** a temporary array for rebuilding the list */
+  private final int[] m_temp;
+
+  /** is the orientation of the whole list flipped? */
+  private boolean m_flipped;
+
+  /** should the list be rebuilt? */
+  private boolean m_rebuild;
+
+  /**
+   * Create a two-level doubly-linked list of {@code n} nodes.
+   *
+   * @param n
+   *          the number of nodes
+   */
+  public TwoLevelList(final int n) {
+    super();
+
+    final int groupSize;
+
+    this.m_n = n;
+    groupSize = Math.max(1, ((int) (Math.ceil(Math.sqrt(n)))));
+    this.m_segments = Math.max(1, (((n + groupSize) - 1) / groupSize));
+    this.m_maxCount = (groupSize << 2);
+
+    this.m_next = new int[n + 1];
+    this.m_prev = new int[n + 1];
+    this.m_seq = new int[n + 1];
+    this.m_parent = new int[n + 1];
+    this.m_first = new int[this.m_segments];
+    this.m_last = new int[this.m_segments];
+    this.m_count = new int[this.m_segments];
+    this.m_segNext = new int[this.m_segments];
+    this.m_segPrev = new int[this.m_segments];
+    this.m_rank = new int[this.m_segments];
+    this.m_reversed = new boolean[this.m_segments];
+    this.m_temp = new int[n];
+  }
+
+  /**
+   * Get the number of nodes in the list
+   *
+   * @return the number of nodes in the list
+   */
+  public final int n() {
+    return this.m_n;
+  }
+
+  /**
+   * Load a solution in path representation into this list.
+   *
+   * @param path
+   *          the solution in path representation
+   */
+  public final void fromPath(final int[] path) {
+    final int n, segments;
+    int s, i, start, end, node;
+
+    n = this.m_n;
+    segments = this.m_segments;
+
+    for (s = 0; s < segments; s++) {
+      start = ((int) ((((long) s) * n) / segments));
+      end = ((int) ((((long) (s + 1)) * n) / segments));
+
+      this.m_first[s] = path[start];
+      this.m_last[s] = path[end - 1];
+      this.m_count[s] = (end - start);
+      this.m_rank[s] = s;
+      this.m_reversed[s] = false;
+      this.m_segNext[s] = (((s + 1) < segments) ? (s + 1) : 0);
+      this.m_segPrev[s] = ((s > 0) ? (s - 1) : (segments - 1));
+
+      for (i = start; i < end; i++) {
+        node = path[i];
+        this.m_parent[node] = s;
+        this.m_seq[node] = (i - start);
+        this.m_prev[node] = path[(i > 0) ? (i - 1) : (n - 1)];
+        this.m_next[node] = path[((i + 1) < n) ? (i + 1) : 0];
+      }
+    }
+
+    this.m_flipped = false;
+    this.m_rebuild = false;
+  }
+
+  /**
+   * Translate this list to the path representation, starting at node
+   * {@code 1}.
+   *
+   * @param path
+   *          the destination array
+   */
+  public final void toPath(final int[] path) {
+    int i, node;
+
+    node = 1;
+    for (i = 0; i < this.m_n; i++) {
+      path[i] = node;
+      node = this.next(node);
+    }
+  }
+
+  /**
+   * Load a solution in adjacency representation into this list.
+   *
+   * @param adjacencyList
+   *          the solution in adjacency representation
+   */
+  public final void fromAdjacencyList(final int[] adjacencyList) {
+    RepresentationUtils.adjacencyListToPath(adjacencyList, this.m_temp);
+    this.fromPath(this.m_temp);
+  }
+
+  /**
+   * Translate this list to the adjacency representation.
+   *
+   * @param adjacencyList
+   *          the destination array
+   */
+  public final void toAdjacencyList(final int[] adjacencyList) {
+    int node;
+
+    for (node = this.m_n; node > 0; node--) {
+      adjacencyList[node - 1] = this.next(node);
+    }
+  }
+
+  /**
+   * Get the successor of a node
+   *
+   * @param node
+   *          the node
+   * @return the successor of {@code node}
+   */
+  public final int next(final int node) {
+    return (this.m_flipped ? this.__prev(node) : this.__next(node));
+  }
+
+  /**
+   * Get the predecessor of a node
+   *
+   * @param node
+   *          the node
+   * @return the predecessor of {@code node}
+   */
+  public final int prev(final int node) {
+    return (this.m_flipped ? this.__next(node) : this.__prev(node));
+  }
+
+  /**
+   * Check whether node {@code b} lies on the path which starts at node
+   * {@code a} and follows the {@link #next(int) successors} until it
+   * reaches node {@code c}. The path includes both {@code a} and {@code c}
+   * .
+   *
+   * @param a
+   *          the first node of the path
+   * @param b
+   *          the node to check
+   * @param c
+   *          the last node of the path
+   * @return {@code true} if {@code b} lies on the path from {@code a} to
+   *         {@code c}, {@code false} otherwise
+   */
+  public final boolean between(final int a, final int b, final int c) {
+    return (this.m_flipped ? this.__between(c, b, a) : this.__between(a,
+        b, c));
+  }
+
+  /**
+   * Reverse the sub-sequence of the tour which starts at node {@code from}
+   * and follows the {@link #next(int) successors} until it reaches node
+   * {@code to}. Afterwards, {@code to} is the successor of the former
+   * predecessor of {@code from} and the successor of {@code from} is the
+   * former successor of {@code to}.
+   *
+   * @param from
+   *          the first node of the sub-sequence
+   * @param to
+   *          the last node of the sub-sequence
+   */
+  public final void reverse(final int from, final int to) {
+    if (this.m_flipped) {
+      this.__reverse(to, from);
+    } else {
+      this.__reverse(from, to);
+    }
+    if (this.m_rebuild) {
+      this.toPath(this.m_temp);
+      this.fromPath(this.m_temp);
+    }
+  }
+
+  /**
+   * Get the first node of a segment in the internal orientation
+   *
+   * @param segment
+   *          the segment
+   * @return the first node of the segment
+   */
+  private final int __head(final int segment) {
+    return (this.m_reversed[segment] ? this.m_last[segment]
+        : this.m_first[segment]);
+  }
+
+  /**
+   * Get the last node of a segment in the internal orientation
+   *
+   * @param segment
+   *          the segment
+   * @return the last node of the segment
+   */
+  private final int __tail(final int segment) {
+    return (this.m_reversed[segment] ? this.m_first[segment]
+        : this.m_last[segment]);
+  }
+
+  /**
+   * Get the successor of a node in the internal orientation
+   *
+   * @param node
+   *          the node
+   * @return the successor
+   */
+  private final int __next(final int node) {
+    final int s;
+
+    s = this.m_parent[node];
+    if (this.m_reversed[s]) {
+      return ((node == this.m_first[s]) ? this.__head(this.m_segNext[s])
+          : this.m_prev[node]);
+    }
+    return ((node == this.m_last[s]) ? this.__head(this.m_segNext[s])
+        : this.m_next[node]);
+  }
+
+  /**
+   * Get the predecessor of a node in the internal orientation
+   *
+   * @param node
+   *          the node
+   * @return the predecessor
+   */
+  private final int __prev(final int node) {
+    final int s;
+
+    s = this.m_parent[node];
+    if (this.m_reversed[s]) {
+      return ((node == this.m_last[s]) ? this.__tail(this.m_segPrev[s])
+          : this.m_next[node]);
+    }
+    return ((node == this.m_first[s]) ? this.__tail(this.m_segPrev[s])
+        : this.m_prev[node]);
+  }
+
+  /**
+   * Compare the positions of two nodes in the internal orientation,
+   * starting at the first node of the segment of rank {@code 0}
+   *
+   * @param a
+   *          the first node
+   * @param b
+   *          the second node
+   * @return a negative value if {@code a} comes before {@code b},
+   *         {@code 0} if {@code a==b}, a positive value otherwise
+   */
+  private final int __compare(final int a, final int b) {
+    final int sa, sb;
+
+    sa = this.m_parent[a];
+    sb = this.m_parent[b];
+    if (sa != sb) {
+      return (this.m_rank[sa] - this.m_rank[sb]);
+    }
+    return (this.m_reversed[sa] ? (this.m_seq[b] - this.m_seq[a])
+        : (this.m_seq[a] - this.m_seq[b]));
+  }
+
+  /**
+   * Check whether {@code b} lies on the path from {@code a} to {@code c}
+   * in the internal orientation
+   *
+   * @param a
+   *          the first node of the path
+   * @param b
+   *          the node to check
+   * @param c
+   *          the last node of the path
+   * @return {@code true} if {@code b} lies on the path, {@code false}
+   *         otherwise
+   */
+  private final boolean __between(final int a, final int b, final int c) {
+    final boolean ab, bc;
+
+    ab = (this.__compare(a, b) <= 0);
+    bc = (this.__compare(b, c) <= 0);
+    if (this.__compare(a, c) <= 0) {
+      return (ab && bc);
+    }
+    return (ab || bc);
+  }
+
+  /**
+   * Reverse the path from {@code from} to {@code to} in the internal
+   * orientation
+   *
+   * @param from
+   *          the first node of the path
+   * @param to
+   *          the last node of the path
+   */
+  private final void __reverse(final int from, final int to) {
+    final int[] parent;
+    int a, b, c, d, k, sa, sb, sc, sd;
+
+    if (from == to) {
+      return;
+    }
+    parent = this.m_parent;
+    b = from;
+    c = to;
+
+    for (;;) {
+      a = this.__prev(b);
+      d = this.__next(c);
+      if (d == b) {// the whole tour: only the orientation changes
+        this.m_flipped = (!(this.m_flipped));
+        return;
+      }
+
+      sa = parent[a];
+      sb = parent[b];
+      sc = parent[c];
+      sd = parent[d];
+
+      // the path lies within a single segment
+      if ((sb == sc) && (this.__compare(b, c) <= 0)) {
+        this.__reverseInSegment(sb, b, c);
+        return;
+      }
+
+      // the complement of the path lies within a single segment
+      if ((sd == sa) && (this.__compare(d, a) <= 0)) {
+        this.__reverseInSegment(sd, d, a);
+        this.m_flipped = (!(this.m_flipped));
+        return;
+      }
+
+      // split the segments so that the path consists of whole segments
+      if (sa == sb) {
+        this.__split(a, b);
+        continue;
+      }
+      if (sc == sd) {
+        this.__split(c, d);
+        continue;
+      }
+
+      k = (this.m_rank[sc] - this.m_rank[sb]);
+      if (k < 0) {
+        k += this.m_segments;
+      }
+      if (((k + 1) << 1) > this.m_segments) {
+        this.__reverseSegments(sd, sa);
+        this.m_flipped = (!(this.m_flipped));
+      } else {
+        this.__reverseSegments(sb, sc);
+      }
+      return;
+    }
+  }
+
+  /**
+   * Reverse the path from {@code from} to {@code to} in the internal
+   * orientation, both of which belong to the given segment and
+   * {@code from} comes before {@code to}
+   *
+   * @param segment
+   *          the segment
+   * @param from
+   *          the first node of the path
+   * @param to
+   *          the last node of the path
+   */
+  private final void __reverseInSegment(final int segment, final int from,
+      final int to) {
+    final int[] next, prev, seq;
+    final int x, y, sum, before, after;
+    final boolean isFirst, isLast;
+    int node, nx;
+
+    next = this.m_next;
+    prev = this.m_prev;
+    seq = this.m_seq;
+
+    if (this.m_reversed[segment]) {
+      x = to;
+      y = from;
+    } else {
+      x = from;
+      y = to;
+    }
+
+    isFirst = (x == this.m_first[segment]);
+    isLast = (y == this.m_last[segment]);
+    before = prev[x];
+    after = next[y];
+    sum = (seq[x] + seq[y]);
+
+    node = x;
+    for (;;) {
+      nx = next[node];
+      next[node] = prev[node];
+      prev[node] = nx;
+      seq[node] = (sum - seq[node]);
+      if (node == y) {
+        break;
+      }
+      node = nx;
+    }
+
+    if (isFirst) {
+      this.m_first[segment] = y;
+    } else {
+      next[before] = y;
+    }
+    prev[y] = before;
+
+    if (isLast) {
+      this.m_last[segment] = x;
+    } else {
+      prev[after] = x;
+    }
+    next[x] = after;
+  }
+
+  /**
+   * Split the segment holding node {@code a} and its successor {@code b}
+   * between these two nodes. The smaller part is merged into the
+   * neighboring segment.
+   *
+   * @param a
+   *          the node
+   * @param b
+   *          the successor of {@code a} in the internal orientation
+   */
+  private final void __split(final int a, final int b) {
+    final int s, t, headCount;
+    final boolean reversed;
+    int node, nx;
+
+    s = this.m_parent[a];
+    reversed = this.m_reversed[s];
+    headCount = (reversed ? (this.m_seq[this.m_last[s]] - this.m_seq[a])
+        : (this.m_seq[a] - this.m_seq[this.m_first[s]])) + 1;
+
+    if (headCount <= (this.m_count[s] - headCount)) {
+      // move the nodes from the head of s to a to the tail of the
+      // previous segment
+      t = this.m_segPrev[s];
+      node = this.__head(s);
+      for (;;) {
+        nx = (reversed ? this.m_prev[node] : this.m_next[node]);
+        this.__append(t, node);
+        if (node == a) {
+          break;
+        }
+        node = nx;
+      }
+      if (reversed) {
+        this.m_last[s] = b;
+      } else {
+        this.m_first[s] = b;
+      }
+      this.m_count[s] -= headCount;
+      this.m_count[t] += headCount;
+    } else {
+      // move the nodes from b to the tail of s to the head of the next
+      // segment
+      t = this.m_segNext[s];
+      node = this.__tail(s);
+      for (;;) {
+        nx = (reversed ? this.m_next[node] : this.m_prev[node]);
+        this.__prepend(t, node);
+        if (node == b) {
+          break;
+        }
+        node = nx;
+      }
+      if (reversed) {
+        this.m_first[s] = a;
+      } else {
+        this.m_last[s] = a;
+      }
+      this.m_count[t] += (this.m_count[s] - headCount);
+      this.m_count[s] = headCount;
+    }
+
+    if (this.m_count[t] > this.m_maxCount) {
+      this.m_rebuild = true;
+    }
+    if ((this.m_seq[this.m_first[t]] < (-TwoLevelList.MAX_SEQ))
+        || (this.m_seq[this.m_last[t]] > TwoLevelList.MAX_SEQ)) {
+      this.__renumber(t);
+    }
+  }
+
+  /**
+   * Append a node to the tail of a segment in the internal orientation
+   *
+   * @param segment
+   *          the segment
+   * @param node
+   *          the node
+   */
+  private final void __append(final int segment, final int node) {
+    final int x;
+
+    if (this.m_reversed[segment]) {
+      x = this.m_first[segment];
+      this.m_prev[x] = node;
+      this.m_next[node] = x;
+      this.m_seq[node] = (this.m_seq[x] - 1);
+      this.m_first[segment] = node;
+    } else {
+      x = this.m_last[segment];
+      this.m_next[x] = node;
+      this.m_prev[node] = x;
+      this.m_seq[node] = (this.m_seq[x] + 1);
+      this.m_last[segment] = node;
+    }
+    this.m_parent[node] = segment;
+  }
+
+  /**
+   * Prepend a node to the head of a segment in the internal orientation
+   *
+   * @param segment
+   *          the segment
+   * @param node
+   *          the node
+   */
+  private final void __prepend(final int segment, final int node) {
+    final int x;
+
+    if (this.m_reversed[segment]) {
+      x = this.m_last[segment];
+      this.m_next[x] = node;
+      this.m_prev[node] = x;
+      this.m_seq[node] = (this.m_seq[x] + 1);
+      this.m_last[segment] = node;
+    } else {
+      x = this.m_first[segment];
+      this.m_prev[x] = node;
+      this.m_next[node] = x;
+      this.m_seq[node] = (this.m_seq[x] - 1);
+      this.m_first[segment] = node;
+    }
+    this.m_parent[node] = segment;
+  }
+
+  /**
+   * Assign the sequence numbers {@code 0} to {@code count-1} to the nodes
+   * of a segment
+   *
+   * @param segment
+   *          the segment
+   */
+  private final void __renumber(final int segment) {
+    final int last;
+    int node, i;
+
+    last = this.m_last[segment];
+    node = this.m_first[segment];
+    for (i = 0;; i++) {
+      this.m_seq[node] = i;
+      if (node == last) {
+        return;
+      }
+      node = this.m_next[node];
+    }
+  }
+
+  /**
+   * Reverse the chain of whole segments from segment {@code from} to
+   * segment {@code to} in the internal orientation, which must not
+   * contain all segments
+   *
+   * @param from
+   *          the first segment of the chain
+   * @param to
+   *          the last segment of the chain
+   */
+  private final void __reverseSegments(final int from, final int to) {
+    final int[] rank, segNext, segPrev;
+    final int before, after;
+    int k, i, j, t;
+
+    rank = this.m_rank;
+    segNext = this.m_segNext;
+    segPrev = this.m_segPrev;
+
+    before = segPrev[from];
+    after = segNext[to];
+    k = (rank[to] - rank[from]);
+    if (k < 0) {
+      k += this.m_segments;
+    }
+    k++;
+
+    // the segments take over the ranks in reverse order
+    i = from;
+    j = to;
+    for (t = (k >>> 1); (--t) >= 0;) {
+      rank[i] ^= rank[j];
+      rank[j] ^= rank[i];
+      rank[i] ^= rank[j];
+      i = segNext[i];
+      j = segPrev[j];
+    }
+
+    // flip the links and the reversal bits
+    i = from;
+    for (t = k; (--t) >= 0;) {
+      j = segNext[i];
+      segNext[i] = segPrev[i];
+      segPrev[i] = j;
+      this.m_reversed[i] = (!(this.m_reversed[i]));
+      i = j;
+    }
+
+    segNext[before] = to;
+    segPrev[to] = before;
+    segPrev[after] = from;
+    segNext[from] = after;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final String toString() {
+    final int[] path;
+
+    path = new int[this.m_n];
+    this.toPath(path);
+    return Arrays.toString(path);
+  }
+}
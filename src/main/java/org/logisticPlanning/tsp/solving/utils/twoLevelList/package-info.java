@@ -0,0 +1,41 @@
+/**
+ * <p>
+ * In this package, we provide the
+ * {@link org.logisticPlanning.tsp.solving.utils.twoLevelList.TwoLevelList
+ * two-level doubly-linked list}&nbsp;[<a href="#cite_FJMGO1995DSFTS"
+ * style="font-weight:bold">1</a>], a representation for tours of
+ * symmetric TSPs which supports the reversal of arbitrary sub-sequences
+ * (2-opt moves) in <em>O(&radic;n)</em> while the successor, the
+ * predecessor, and the relative order of nodes can still be queried in
+ * <em>O(1)</em>. The <a href=
+ * "../satelliteList/package-summary.html#pathRepresentation"><em>path
+ * representation</em></a> needs <em>O(n)</em> for a reversal, which
+ * dominates the runtime of local searches on instances with tens of
+ * thousands of nodes.
+ * </p>
+ * <h2>References</h2>
+ * <ol>
+ * <li><div><span id="cite_FJMGO1995DSFTS" /><a
+ * href="http://en.wikipedia.org/wiki/Michael_Fredman">Michael L.
+ * Fredman</a>, <a
+ * href="https://en.wikipedia.org/wiki/David_S._Johnson">David Stifler
+ * Johnson</a>, <a
+ * href="https://www.amherst.edu/people/facstaff/lamcgeoch">Lyle A.
+ * McGeoch</a>, and&nbsp;Gerard Ostheimer: <span
+ * style="font-weight:bold">&ldquo;Data Structures for Traveling
+ * Salesmen,&rdquo;</span> in <span
+ * style="font-style:italic;font-family:cursive;">Journal of
+ * Algorithms</span> 18(3):432&ndash;479, May&nbsp;1995; published by
+ * Amsterdam, The Netherlands: Elsevier Science Publishers B.V..
+ * doi:&nbsp;<a
+ * href="http://dx.doi.org/10.1006/jagm.1995.1018">10.1006/jagm
+ * .1995.1018</a>. <div>link: [<a
+ * href="ftp://dimacs.rutgers.edu/pub/dsj/temp/data.ps">1</a>];
+ * CiteSeer<sup>x</sup><sub style="font-style:italic">&#946;</sub>:&nbsp;<a
+ * href
+ * ="http://citeseerx.ist.psu.edu/viewdoc/summary?doi=10.1.1.71.170">10.1
+ * .1.71.170</a></div></div></li>
+ * </ol>
+ */
+package org.logisticPlanning.tsp.solving.utils.twoLevelList;
+
@@ -135,6 +135,22 @@ public final class Randomizer extends Random {
     this.m_haveNextNextGaussian = false;
   }
 
+  /**
+   * Set the complete internal state of this randomizer to the state of
+   * another one. Afterwards, both randomizers will produce the same
+   * sequence of random numbers. This allows us to store the state of a
+   * randomizer and to restore it later, e.g., when resuming an interrupted
+   * run.
+   *
+   * @param other
+   *          the randomizer whose state should be copied
+   */
+  public final void assign(final Randomizer other) {
+    this.m_seed = other.m_seed;
+    this.m_nextNextGaussian = other.m_nextNextGaussian;
+    this.m_haveNextNextGaussian = other.m_haveNextNextGaussian;
+  }
+
   /** {@inheritDoc} */
   @Override
   protected final int next(final int bits) {
@@ -1,5 +1,8 @@
 package test.junit.org.logisticPlanning.tsp.benchmarking.dist;
 
+import java.io.File;
+import java.util.Arrays;
+
 import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -89,6 +92,18 @@ public class DistanceComputerTest extends TestBase {
    */
   public static final String DISAGREE_EVAL = "Matrix-based and raw distance computer disagree about evaluation result."; //$NON-NLS-1$
 
+  /**
+   * the nearest neighbors found with the spatial index differ from those
+   * found by an exhaustive search
+   */
+  public static final String WRONG_NEAREST_NEIGHBORS = "Spatial index and exhaustive search disagree about nearest neighbors."; //$NON-NLS-1$
+
+  /** the memory-mapped matrix computes a wrong distance */
+  public static final String MAPPED_WRONG_POINT_DISTANCE = "Memory-mapped distance matrix has wrong point-distance."; //$NON-NLS-1$
+
+  /** a neighbor list is invalid */
+  public static final String INVALID_NEIGHBOR_LIST = "Invalid neighbor list."; //$NON-NLS-1$
+
   /** the internally used randomizer */
   protected final Randomizer m_r;
 
@@ -297,6 +312,133 @@ public class DistanceComputerTest extends TestBase {
     }
   }
 
+  /**
+   * Test whether the nearest neighbors found via the spatial index (if
+   * any) are the same as those found by an exhaustive search and whether
+   * the quadrant and Gabriel neighbor lists are sane.
+   */
+  @Test(timeout = 3600000)
+  public final void testDistanceComputerNeighbors() {
+    final int n, step;
+    int[] dest;
+    int m, node, j, k, v;
+    boolean[] seen;
+
+    n = this.getDistanceComputerMat().n();
+    step = Math.max(1, (n >>> 12));
+    seen = new boolean[n + 1];
+
+    for (final DistanceComputer d : new DistanceComputer[] {
+        this.getDistanceComputerMat(), this.getDistanceComputerNoMat() }) {
+      for (m = 1; (m < n) && (m <= 31); m = ((m << 1) + 1)) {
+        dest = new int[n * m];
+
+        if (d.nearestNeighbors(m, dest, d)) {
+          for (node = 1; node <= n; node += step) {
+            Assert.assertArrayEquals(
+                DistanceComputerTest.WRONG_NEAREST_NEIGHBORS,
+                DistanceComputerTest.exhaustiveNearestNeighbors(d, node, m),
+                Arrays.copyOfRange(dest, ((node - 1) * m),
+                    (node * m)));
+          }
+        }
+
+        for (k = 0; k < 2; k++) {
+          if ((k == 0) ? d.quadrantNeighbors(m, dest, d) : //
+              d.gabrielNeighbors(m, dest, d)) {
+            for (node = 1; node <= n; node += step) {
+              Arrays.fill(seen, false);
+              seen[node] = true;
+              for (j = ((node - 1) * m); j < (node * m); j++) {
+                v = dest[j];
+                Assert.assertTrue(
+                    DistanceComputerTest.INVALID_NEIGHBOR_LIST,
+                    ((v > 0) && (v <= n) && (!(seen[v]))));
+                seen[v] = true;
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Test whether a distance matrix in a memory-mapped file, both when
+   * created and when re-used, returns the same distances as the raw
+   * distance computer.
+   *
+   * @throws Throwable
+   *           if i/o fails
+   */
+  @Test(timeout = 3600000)
+  public final void testDistanceComputerMapped() throws Throwable {
+    final DistanceComputer raw;
+    final File file;
+    DistanceComputer mapped;
+    int n, i, j, k;
+
+    raw = this.getDistanceComputerNoMat();
+    n = raw.n();
+    if (n > 4096) {
+      return;
+    }
+
+    file = File.createTempFile("matrix", ".dist"); //$NON-NLS-1$//$NON-NLS-2$
+    try {
+      Assert.assertTrue(file.delete());
+      for (k = 0; k < 2; k++) {
+        mapped = DistanceComputer.mapMatrix(raw, file);
+        Assert.assertEquals(DistanceComputerTest.DISAGREE_DIMENSION, n,
+            mapped.n());
+        for (i = n; i > 0; i--) {
+          for (j = n; j > 0; j--) {
+            Assert.assertEquals(
+                DistanceComputerTest.MAPPED_WRONG_POINT_DISTANCE,
+                raw.distance(i, j), mapped.distance(i, j));
+          }
+        }
+      }
+    } finally {
+      file.delete();
+    }
+  }
+
+  /**
+   * Find the {@code m} nearest neighbors of a node by exhaustive search,
+   * ordered by distance and, in case of ties, node index.
+   *
+   * @param d
+   *          the distance computer
+   * @param node
+   *          the node
+   * @param m
+   *          the number of neighbors
+   * @return the neighbors
+   */
+  private static final int[] exhaustiveNearestNeighbors(
+      final DistanceComputer d, final int node, final int m) {
+    final long[] keys;
+    final int[] res;
+    final int n;
+    int i, j;
+
+    n = d.n();
+    keys = new long[n - 1];
+    j = 0;
+    for (i = 1; i <= n; i++) {
+      if (i != node) {
+        keys[j++] = ((((long) (d.distance(node, i))) << 32) | i);
+      }
+    }
+    Arrays.sort(keys);
+    res = new int[m];
+    for (i = m; (--i) >= 0;) {
+      res[i] = ((int) (keys[i]));
+    }
+    return res;
+  }
+
   /**
    * get the number of required random tests
    *
@@ -0,0 +1,257 @@
+package test.junit.org.logisticPlanning.tsp.benchmarking.dist;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.solving.operators.permutation.creation.PermutationCreateCanonical;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+import test.junit.TestBase;
+
+/**
+ * The distance computers for geographical ({@code GEO}) instances
+ * pre-compute per-node sines and cosines in order to speed up distance
+ * computation. Here we check, for all geographical and pseudo-Euclidean (
+ * {@code ATT}) instances shipped with the benchmark, that the distance
+ * computers return exactly the same distances and tour lengths as the
+ * straightforward implementation of the TSPLib formulas.
+ */
+public class GeoAndPseudoEuclideanDistanceTest extends TestBase {
+
+  /** the geographical distance type */
+  private static final String GEO = "GEO"; //$NON-NLS-1$
+
+  /** the pseudo-Euclidean distance type */
+  private static final String ATT = "ATT"; //$NON-NLS-1$
+
+  /** create */
+  public GeoAndPseudoEuclideanDistanceTest() {
+    super();
+  }
+
+  /**
+   * Convert a coordinate in degrees and minutes into radians, as done in
+   * TSPLib.
+   *
+   * @param x
+   *          the coordinate
+   * @return the radians
+   */
+  private static final double __radians(final double x) {
+    final int deg;
+
+    deg = ((int) x);
+    return ((3.141592d * (deg + ((5.0d * (x - deg)) / 3d))) / 180d);
+  }
+
+  /**
+   * The reference implementation of the geographical distance.
+   *
+   * @param c
+   *          the coordinates
+   * @param i
+   *          the first node
+   * @param j
+   *          the second node
+   * @return the distance
+   */
+  private static final int __geo(final double[] c, final int i,
+      final int j) {
+    final double latA, longA, latB, longB, q1, q2, q3;
+
+    if (i == j) {
+      return 0;
+    }
+
+    latA = GeoAndPseudoEuclideanDistanceTest.__radians(c[(i - 1) << 1]);
+    longA = GeoAndPseudoEuclideanDistanceTest
+        .__radians(c[((i - 1) << 1) + 1]);
+    latB = GeoAndPseudoEuclideanDistanceTest.__radians(c[(j - 1) << 1]);
+    longB = GeoAndPseudoEuclideanDistanceTest
+        .__radians(c[((j - 1) << 1) + 1]);
+
+    q1 = Math.cos(longA - longB);
+    q2 = Math.cos(latA - latB);
+    q3 = Math.cos(latA + latB);
+
+    return ((int) ((6378.388d * Math
+        .acos(0.5d * (((1d + q1) * q2) - ((1d - q1) * q3)))) + 1d));
+  }
+
+  /**
+   * The reference implementation of the pseudo-Euclidean distance.
+   *
+   * @param c
+   *          the coordinates
+   * @param i
+   *          the first node
+   * @param j
+   *          the second node
+   * @return the distance
+   */
+  private static final int __att(final double[] c, final int i,
+      final int j) {
+    final double x, y, rij;
+    final int tij;
+
+    if (i == j) {
+      return 0;
+    }
+
+    x = (c[(i - 1) << 1] - c[(j - 1) << 1]);
+    y = (c[((i - 1) << 1) + 1] - c[((j - 1) << 1) + 1]);
+    rij = Math.sqrt(((x * x) + (y * y)) * 0.1d);
+    tij = ((int) (0.5d + rij));
+    return ((tij < rij) ? (tij + 1) : tij);
+  }
+
+  /**
+   * Load the coordinates of an instance directly from its resource.
+   *
+   * @param inst
+   *          the instance
+   * @param type
+   *          the destination for the edge weight type
+   * @return the coordinates, or {@code null} if the instance is not
+   *         coordinate-based
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final double[] __coords(final Instance inst,
+      final String[] type) throws IOException {
+    final ArrayList<String> lines;
+    final double[] c;
+    String s, t;
+    String[] parts;
+    boolean nodes;
+    int i, k;
+
+    lines = new ArrayList<>();
+    nodes = false;
+    try (final InputStream is = Instance.class.getResourceAsStream(inst
+        .name() + ".tsp")) { //$NON-NLS-1$
+      try (final BufferedReader br = new BufferedReader(
+          new InputStreamReader(is))) {
+        while ((s = br.readLine()) != null) {
+          s = s.trim();
+          if (s.length() <= 0) {
+            continue;
+          }
+          if (nodes) {
+            if ("EOF".equalsIgnoreCase(s)) { //$NON-NLS-1$
+              break;
+            }
+            lines.add(s);
+            continue;
+          }
+          if ("NODE_COORD_SECTION".equalsIgnoreCase(s)) { //$NON-NLS-1$
+            nodes = true;
+            continue;
+          }
+          i = s.indexOf(':');
+          if (i > 0) {
+            t = s.substring(0, i).trim();
+            if ("EDGE_WEIGHT_TYPE".equalsIgnoreCase(t)) { //$NON-NLS-1$
+              type[0] = s.substring(i + 1).trim();
+            }
+          }
+        }
+      }
+    }
+
+    if (lines.size() != inst.n()) {
+      return null;
+    }
+
+    c = new double[inst.n() << 1];
+    for (final String line : lines) {
+      parts = line.split("\\s+"); //$NON-NLS-1$
+      k = ((Integer.parseInt(parts[0]) - 1) << 1);
+      c[k] = Double.parseDouble(parts[1]);
+      c[k + 1] = Double.parseDouble(parts[2]);
+    }
+    return c;
+  }
+
+  /**
+   * Check all geographical and pseudo-Euclidean instances.
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @Test(timeout = 3600000)
+  public void testEquivalence() throws IOException {
+    final String[] type;
+    final Randomizer r;
+    int[] perm, adj;
+    DistanceComputer dist;
+    double[] c;
+    boolean geo;
+    int n, i, j, checked, expected;
+    long total;
+
+    type = new String[1];
+    r = new Randomizer();
+    checked = 0;
+
+    for (final Instance inst : Instance.SYMMETRIC_INSTANCES) {
+      type[0] = null;
+      c = GeoAndPseudoEuclideanDistanceTest.__coords(inst, type);
+      if (c == null) {
+        continue;
+      }
+      if (GeoAndPseudoEuclideanDistanceTest.GEO.equalsIgnoreCase(type[0])) {
+        geo = true;
+      } else {
+        if (GeoAndPseudoEuclideanDistanceTest.ATT
+            .equalsIgnoreCase(type[0])) {
+          geo = false;
+        } else {
+          continue;
+        }
+      }
+
+      dist = inst.load(0);
+      n = dist.n();
+      for (i = n; i > 0; i--) {
+        for (j = n; j > 0; j--) {
+          expected = (geo ? GeoAndPseudoEuclideanDistanceTest.__geo(c, i,
+              j) : GeoAndPseudoEuclideanDistanceTest.__att(c, i, j));
+          if (expected != dist.distance(i, j)) {
+            Assert.fail(inst.name() + ": distance between " + i + //$NON-NLS-1$
+                " and " + j + " should be " + expected + //$NON-NLS-1$//$NON-NLS-2$
+                " but is " + dist.distance(i, j)); //$NON-NLS-1$
+          }
+        }
+      }
+
+      perm = new int[n];
+      adj = new int[n];
+      PermutationCreateCanonical.makeCanonical(perm);
+      for (j = 10; (--j) >= 0;) {
+        r.shuffle(perm, 0, n);
+        total = 0l;
+        for (i = 0; i < n; i++) {
+          total += (geo ? GeoAndPseudoEuclideanDistanceTest.__geo(c,
+              perm[i], perm[(i + 1) % n])
+              : GeoAndPseudoEuclideanDistanceTest.__att(c, perm[i],
+                  perm[(i + 1) % n]));
+          adj[perm[i] - 1] = perm[(i + 1) % n];
+        }
+        Assert.assertEquals(inst.name(), total, dist.evaluate(perm));
+        Assert.assertEquals(inst.name(), total, dist.evaluateAdj(adj));
+      }
+
+      checked++;
+    }
+
+    Assert.assertTrue(checked > 0);
+  }
+}
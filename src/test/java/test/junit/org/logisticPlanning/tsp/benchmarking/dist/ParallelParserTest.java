@@ -0,0 +1,306 @@
+package test.junit.org.logisticPlanning.tsp.benchmarking.dist;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+import test.junit.TestBase;
+
+/**
+ * Distance computers loaded from streams and files are parsed in parallel,
+ * while those loaded from readers are parsed sequentially. Here we create
+ * random instances in all edge weight formats and with several coordinate
+ * types, written with irregular white space and number formats, and check
+ * that both parsers yield exactly the same distances. The instances are
+ * large enough to be split into several chunks.
+ */
+public class ParallelParserTest extends TestBase {
+
+  /** the number of nodes of the matrix instances */
+  private static final int MATRIX_N = 300;
+
+  /** the number of nodes of the coordinate instances */
+  private static final int COORDS_N = 6000;
+
+  /** the explicit formats for symmetric matrices */
+  private static final String[] SYMMETRIC_FORMATS = { "FULL_MATRIX", //$NON-NLS-1$
+      "LOWER_ROW", //$NON-NLS-1$
+      "UPPER_ROW", //$NON-NLS-1$
+      "LOWER_DIAG_ROW", //$NON-NLS-1$
+      "UPPER_DIAG_ROW", //$NON-NLS-1$
+      "LOWER_COL", //$NON-NLS-1$
+      "UPPER_COL", //$NON-NLS-1$
+      "LOWER_DIAG_COL", //$NON-NLS-1$
+      "UPPER_DIAG_COL" //$NON-NLS-1$
+  };
+
+  /** the white space strings */
+  private static final String[] SPACES = { " ", //$NON-NLS-1$
+      "  ", //$NON-NLS-1$
+      "\t", //$NON-NLS-1$
+      " \t ", //$NON-NLS-1$
+      "\n", //$NON-NLS-1$
+      "\r\n", //$NON-NLS-1$
+      "\n  " //$NON-NLS-1$
+  };
+
+  /** create */
+  public ParallelParserTest() {
+    super();
+  }
+
+  /**
+   * append a random white space
+   *
+   * @param sb
+   *          the string builder
+   * @param r
+   *          the randomizer
+   */
+  private static final void __space(final StringBuilder sb,
+      final Randomizer r) {
+    sb.append(ParallelParserTest.SPACES[r
+        .nextInt(ParallelParserTest.SPACES.length)]);
+  }
+
+  /**
+   * append a floating point number in a random format
+   *
+   * @param sb
+   *          the string builder
+   * @param r
+   *          the randomizer
+   */
+  private static final void __double(final StringBuilder sb,
+      final Randomizer r) {
+    final double v;
+
+    switch (r.nextInt(5)) {
+      case 0: {
+        sb.append(r.nextInt(100000));
+        return;
+      }
+      case 1: {
+        sb.append((r.nextInt(10000000) - 5000000) / 1000d);
+        return;
+      }
+      case 2: {
+        v = (r.nextDouble() * 1e4d);
+        sb.append(v);
+        return;
+      }
+      case 3: {
+        sb.append(r.nextInt(1000));
+        sb.append('.');
+        sb.append(r.nextInt(1000));
+        sb.append('e');
+        sb.append(r.nextInt(5) - 2);
+        return;
+      }
+      default: {
+        sb.append('+');
+        sb.append(r.nextInt(1000));
+        sb.append(".1234567890123456789"); //$NON-NLS-1$
+      }
+    }
+  }
+
+  /**
+   * Parse the text with both parsers and compare the results
+   *
+   * @param text
+   *          the text
+   * @param intHint
+   *          the integer hint
+   * @param symmetricHint
+   *          the symmetric hint
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static final void __compare(final String text,
+      final boolean intHint, final boolean symmetricHint)
+      throws IOException {
+    final DistanceComputer sequential, parallel;
+    final int n;
+    int i, j;
+
+    sequential = DistanceComputer.read(new StringReader(text), 0, intHint,
+        symmetricHint);
+    parallel = DistanceComputer.read(
+        new ByteArrayInputStream(text.getBytes()), 0, intHint,
+        symmetricHint);
+
+    Assert.assertEquals(sequential.getClass(), parallel.getClass());
+    n = sequential.n();
+    Assert.assertEquals(n, parallel.n());
+    for (i = n; i > 0; i--) {
+      for (j = n; j > 0; j--) {
+        if (sequential.distance(i, j) != parallel.distance(i, j)) {
+          Assert.fail("Distance between " + i + " and " + j + //$NON-NLS-1$//$NON-NLS-2$
+              " differs: " + sequential.distance(i, j) + //$NON-NLS-1$
+              " vs. " + parallel.distance(i, j)); //$NON-NLS-1$
+        }
+      }
+    }
+  }
+
+  /**
+   * Create the header of an explicit instance
+   *
+   * @param sb
+   *          the string builder
+   * @param type
+   *          the type
+   * @param format
+   *          the format
+   * @param n
+   *          the dimension
+   */
+  private static final void __matrixHeader(final StringBuilder sb,
+      final String type, final String format, final int n) {
+    sb.append("NAME: test\nTYPE: "); //$NON-NLS-1$
+    sb.append(type);
+    sb.append("\nDIMENSION: "); //$NON-NLS-1$
+    sb.append(n);
+    sb.append("\nEDGE_WEIGHT_TYPE: EXPLICIT\nEDGE_WEIGHT_FORMAT: "); //$NON-NLS-1$
+    sb.append(format);
+    sb.append("\nEDGE_WEIGHT_SECTION\n"); //$NON-NLS-1$
+  }
+
+  /**
+   * Test all explicit formats of symmetric matrices.
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @Test(timeout = 3600000)
+  public void testSymmetricMatrices() throws IOException {
+    final Randomizer r;
+    final int n;
+    final int[][] m;
+    final StringBuilder sb;
+    boolean row, lower, diag;
+    int i, j, lo, hi;
+
+    r = new Randomizer();
+    n = ParallelParserTest.MATRIX_N;
+    m = new int[n][n];
+    for (i = n; (--i) >= 0;) {
+      for (j = i; (--j) >= 0;) {
+        m[i][j] = m[j][i] = (1 + r.nextInt(r.nextBoolean() ? 100 : 1000000));
+      }
+    }
+
+    sb = new StringBuilder();
+    for (final String format : ParallelParserTest.SYMMETRIC_FORMATS) {
+      sb.setLength(0);
+      ParallelParserTest.__matrixHeader(sb, "TSP", format, n); //$NON-NLS-1$
+
+      if (format.startsWith("FULL")) { //$NON-NLS-1$
+        for (i = 0; i < n; i++) {
+          for (j = 0; j < n; j++) {
+            sb.append(m[i][j]);
+            ParallelParserTest.__space(sb, r);
+          }
+        }
+      } else {
+        row = format.endsWith("ROW"); //$NON-NLS-1$
+        lower = format.startsWith("LOWER"); //$NON-NLS-1$
+        diag = (format.indexOf("DIAG") >= 0); //$NON-NLS-1$
+        for (i = 0; i < n; i++) {
+          lo = ((lower == row) ? 0 : (diag ? i : (i + 1)));
+          hi = ((lower == row) ? (diag ? (i + 1) : i) : n);
+          for (j = lo; j < hi; j++) {
+            sb.append(m[i][j]);
+            ParallelParserTest.__space(sb, r);
+          }
+        }
+      }
+      sb.append("\nEOF\n"); //$NON-NLS-1$
+
+      ParallelParserTest.__compare(sb.toString(), false, true);
+    }
+  }
+
+  /**
+   * Test an asymmetric full matrix.
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @Test(timeout = 3600000)
+  public void testAsymmetricMatrix() throws IOException {
+    final Randomizer r;
+    final int n;
+    final StringBuilder sb;
+    int i, j;
+
+    r = new Randomizer();
+    n = ParallelParserTest.MATRIX_N;
+    sb = new StringBuilder();
+    ParallelParserTest.__matrixHeader(sb, "ATSP", "FULL_MATRIX", n); //$NON-NLS-1$//$NON-NLS-2$
+    for (i = 0; i < n; i++) {
+      for (j = 0; j < n; j++) {
+        sb.append((i == j) ? 9999999 : r.nextInt(1000000));
+        ParallelParserTest.__space(sb, r);
+      }
+    }
+    sb.append("EOF"); //$NON-NLS-1$
+
+    ParallelParserTest.__compare(sb.toString(), false, false);
+  }
+
+  /**
+   * Test coordinate lists.
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @Test(timeout = 3600000)
+  public void testCoordinates() throws IOException {
+    final Randomizer r;
+    final StringBuilder sb;
+    final int n;
+    int i, d, dims;
+
+    r = new Randomizer();
+    sb = new StringBuilder();
+    n = ParallelParserTest.COORDS_N;
+
+    for (final String type : new String[] { "EUC_2D", //$NON-NLS-1$
+        "CEIL_2D", //$NON-NLS-1$
+        "ATT", //$NON-NLS-1$
+        "MAN_3D", //$NON-NLS-1$
+        "EUC_3D" }) { //$NON-NLS-1$
+      dims = (type.endsWith("3D") ? 3 : 2); //$NON-NLS-1$
+      for (final boolean intHint : new boolean[] { false, true }) {
+        sb.setLength(0);
+        sb.append("NAME : test\nTYPE : TSP\nDIMENSION : "); //$NON-NLS-1$
+        sb.append(n);
+        sb.append("\nEDGE_WEIGHT_TYPE : "); //$NON-NLS-1$
+        sb.append(type);
+        sb.append("\r\nNODE_COORD_SECTION\r\n"); //$NON-NLS-1$
+        for (i = 1; i <= n; i++) {
+          sb.append(i);
+          for (d = dims; (--d) >= 0;) {
+            ParallelParserTest.__space(sb, r);
+            if (intHint) {
+              sb.append(r.nextInt(100000));
+            } else {
+              ParallelParserTest.__double(sb, r);
+            }
+          }
+          sb.append('\n');
+        }
+        sb.append("EOF\n"); //$NON-NLS-1$
+
+        ParallelParserTest.__compare(sb.toString(), intHint, true);
+      }
+    }
+  }
+}
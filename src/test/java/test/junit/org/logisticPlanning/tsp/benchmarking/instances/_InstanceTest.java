@@ -15,6 +15,7 @@ import org.logisticPlanning.tsp.solving.operators.permutation.update.Permutation
 import org.logisticPlanning.tsp.solving.utils.RepresentationUtils;
 import org.logisticPlanning.utils.NumberReader;
 
+import test.junit.TempDir;
 import test.junit.org.logisticPlanning.tsp.benchmarking.dist.DistanceComputerTest;
 
 /**
@@ -34,6 +35,18 @@ public class _InstanceTest extends DistanceComputerTest {
   /** the instance has a wrong canonical tour length */
   public static final String WRONG_CANONICAL_TOUR_LENGTH = "Length of canonical tour shorter than optimum."; //$NON-NLS-1$
 
+  /** the instance cache yields a different distance computer */
+  public static final String CACHE_WRONG_DISTANCE_COMPUTER = "Instance cache yields different distance computer."; //$NON-NLS-1$
+
+  /** the instance cache yields a wrong point distance */
+  public static final String CACHE_WRONG_POINT_DISTANCE = "Instance cache yields wrong point distance."; //$NON-NLS-1$
+
+  /** the parallel parser yields a different distance computer */
+  public static final String PARALLEL_WRONG_DISTANCE_COMPUTER = "Parallel parser yields different distance computer."; //$NON-NLS-1$
+
+  /** the parallel parser yields a wrong point distance */
+  public static final String PARALLEL_WRONG_POINT_DISTANCE = "Parallel parser yields wrong point distance."; //$NON-NLS-1$
+
   /** the internal instance */
   final Instance m_i;
 
@@ -59,6 +72,81 @@ public class _InstanceTest extends DistanceComputerTest {
     return this.m_i.load(threshold);
   }
 
+  /**
+   * Test whether loading the instance via the binary instance cache, both
+   * when the cache is created and when it is re-used, yields the same
+   * distances as parsing it.
+   *
+   * @throws Throwable
+   *           if loading fails
+   */
+  @Test(timeout = 3600000)
+  public final void testInstanceCache() throws Throwable {
+    final DistanceComputer raw;
+    DistanceComputer cached;
+    int n, i, j, k;
+
+    raw = this.getDistanceComputerNoMat();
+    n = raw.n();
+    if (n > 4096) {
+      return;
+    }
+
+    try (final TempDir temp = new TempDir()) {
+      for (k = 0; k < 2; k++) {
+        cached = this.m_i.load(0, temp.getDir());
+        Assert.assertEquals(_InstanceTest.CACHE_WRONG_DISTANCE_COMPUTER,
+            raw.getClass(), cached.getClass());
+        Assert.assertEquals(DistanceComputerTest.RAW_WRONG_DIMENSION, n,
+            cached.n());
+        for (i = n; i > 0; i--) {
+          for (j = n; j > 0; j--) {
+            Assert.assertEquals(_InstanceTest.CACHE_WRONG_POINT_DISTANCE,
+                raw.distance(i, j), cached.distance(i, j));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Test whether the parallel parser, which is used when loading from
+   * streams and files, yields the same distances as the sequential parser
+   * used when loading from a {@link java.io.Reader}.
+   *
+   * @throws Throwable
+   *           if loading fails
+   */
+  @Test(timeout = 3600000)
+  public final void testParallelParser() throws Throwable {
+    final DistanceComputer parallel;
+    final DistanceComputer sequential;
+    int n, i, j;
+
+    parallel = this.getDistanceComputerNoMat();
+    n = parallel.n();
+    if (n > 4096) {
+      return;
+    }
+
+    try (final InputStream is = Instance.class.getResourceAsStream(//
+        this.m_i.name() + (this.m_i.symmetric() ? ".tsp" : ".atsp"))) { //$NON-NLS-1$//$NON-NLS-2$
+      sequential = DistanceComputer.read(new InputStreamReader(is), 0,
+          this.m_i.intHint(), this.m_i.symmetric());
+    }
+
+    Assert.assertEquals(_InstanceTest.PARALLEL_WRONG_DISTANCE_COMPUTER,
+        sequential.getClass(), parallel.getClass());
+    Assert.assertEquals(DistanceComputerTest.RAW_WRONG_DIMENSION, n,
+        sequential.n());
+    for (i = n; i > 0; i--) {
+      for (j = n; j > 0; j--) {
+        Assert.assertEquals(_InstanceTest.PARALLEL_WRONG_POINT_DISTANCE,
+            sequential.distance(i, j), parallel.distance(i, j));
+      }
+    }
+  }
+
   /**
    * If the length of the canonical tour is known from the documentation,
    * test whether it is equal to what we get by evaluating said tour.
@@ -341,6 +429,173 @@ public class _InstanceTest extends DistanceComputerTest {
     }
   }
 
+  /** a move delta does not fit to the evaluated tour after the move */
+  public static final String WRONG_MOVE_DELTA = "Move delta does not fit to the evaluated tour after the move."; //$NON-NLS-1$
+
+  /** a move delta computed a wrong number of distances */
+  public static final String WRONG_MOVE_DES = "Move delta computed a wrong number of distances."; //$NON-NLS-1$
+
+  /**
+   * Test whether the move deltas of the distance computer, e.g.,
+   * {@link org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer#twoOptDelta(int[], int, int)}
+   * , fit to the tours resulting from the moves and compute only the
+   * distances of the edges which change.
+   */
+  @Test(timeout = 3600000)
+  public final void testMoveDeltas() {
+    final __CountingDistanceComputer d;
+    final int n;
+    int[] perm, moved;
+    long before;
+    int trial, t, i, j, k, x, delta, len;
+    boolean ex, r1, r2;
+
+    if (!(this.m_i.symmetric())) {
+      return; // the move deltas only work for the symmetric instances
+    }
+    n = this.m_i.n();
+    if (n > 4096) {
+      return;
+    }
+
+    d = new __CountingDistanceComputer(this.getDistanceComputerMat());
+    perm = PermutationCreateCanonical.canonical(n);
+    for (trial = 1024; (--trial) >= 0;) {
+      synchronized (this.m_r) {
+        this.m_r.shuffle(perm, 0, n);
+        i = this.m_r.nextInt(n);
+        j = this.m_r.nextInt(n);
+        k = this.m_r.nextInt(n);
+        ex = this.m_r.nextBoolean();
+        r1 = this.m_r.nextBoolean();
+        r2 = this.m_r.nextBoolean();
+      }
+      before = d.evaluate(perm);
+
+      // 2-opt
+      moved = perm.clone();
+      d.m_count = 0;
+      delta = d.twoOptDelta(moved, i, j);
+      Assert.assertTrue(_InstanceTest.WRONG_MOVE_DES, (d.m_count == 4)
+          || ((d.m_count == 0) && (delta == 0)));
+      for (x = ((((j - i) + n) % n) >>> 1); x >= 0; x--) {
+        _InstanceTest.__swap(moved, ((i + x) % n), (((j - x) + n) % n));
+      }
+      Assert.assertEquals(_InstanceTest.WRONG_MOVE_DELTA, (before + delta),
+          d.evaluate(moved));
+
+      // swap
+      moved = perm.clone();
+      d.m_count = 0;
+      delta = d.swapDelta(moved, i, j);
+      Assert.assertTrue(_InstanceTest.WRONG_MOVE_DES, (d.m_count == 4)
+          || (d.m_count == 8) || ((d.m_count == 0) && (delta == 0)));
+      _InstanceTest.__swap(moved, i, j);
+      Assert.assertEquals(_InstanceTest.WRONG_MOVE_DELTA, (before + delta),
+          d.evaluate(moved));
+
+      // Or-opt: move the segment i..j behind k
+      len = ((((j - i) + n) % n) + 1);
+      d.m_count = 0;
+      delta = d.orOptDelta(perm, i, j, k, r1);
+      Assert.assertTrue(_InstanceTest.WRONG_MOVE_DES, (d.m_count <= 6)
+          && ((d.m_count & 1) == 0));
+      if ((((k - i) + n) % n) >= len) {
+        moved = new int[n];
+        x = 0;
+        for (t = ((j + 1) % n); t != ((k + 1) % n); t = ((t + 1) % n)) {
+          moved[x++] = perm[t];
+        }
+        for (t = 0; t < len; t++) {
+          moved[x++] = perm[(r1 ? ((j - t) + n) : (i + t)) % n];
+        }
+        for (t = ((k + 1) % n); t != i; t = ((t + 1) % n)) {
+          moved[x++] = perm[t];
+        }
+        Assert.assertEquals(_InstanceTest.WRONG_MOVE_DELTA,
+            (before + delta), d.evaluate(moved));
+      } else {
+        Assert.assertEquals(_InstanceTest.WRONG_MOVE_DELTA, 0, delta);
+      }
+
+      // 3-opt: cut after i, j, and k
+      d.m_count = 0;
+      delta = d.threeOptDelta(perm, i, j, k, ex, r1, r2);
+      Assert.assertTrue(_InstanceTest.WRONG_MOVE_DES, (d.m_count <= 6)
+          && ((d.m_count & 1) == 0));
+      if ((i != j) && (((((j - i) + n) % n) < (((k - i) + n) % n)))) {
+        moved = new int[n];
+        x = 0;
+        for (t = ((k + 1) % n); t != ((i + 1) % n); t = ((t + 1) % n)) {
+          moved[x++] = perm[t];
+        }
+        if (ex) {
+          x = _InstanceTest.__append(perm, j, k, r2, moved, x);
+          x = _InstanceTest.__append(perm, i, j, r1, moved, x);
+        } else {
+          x = _InstanceTest.__append(perm, i, j, r1, moved, x);
+          x = _InstanceTest.__append(perm, j, k, r2, moved, x);
+        }
+        Assert.assertEquals(n, x);
+        Assert.assertEquals(_InstanceTest.WRONG_MOVE_DELTA,
+            (before + delta), d.evaluate(moved));
+      } else {
+        Assert.assertEquals(_InstanceTest.WRONG_MOVE_DELTA, 0, delta);
+      }
+    }
+  }
+
+  /**
+   * swap two elements of an array
+   *
+   * @param perm
+   *          the array
+   * @param i
+   *          the first index
+   * @param j
+   *          the second index
+   */
+  private static final void __swap(final int[] perm, final int i,
+      final int j) {
+    final int t;
+
+    t = perm[i];
+    perm[i] = perm[j];
+    perm[j] = t;
+  }
+
+  /**
+   * append the nodes at the indexes {@code after+1..last} to an array
+   *
+   * @param perm
+   *          the source tour
+   * @param after
+   *          the index before the first node to append
+   * @param last
+   *          the index of the last node to append
+   * @param reverse
+   *          should the nodes be appended in reverse order?
+   * @param dest
+   *          the destination array
+   * @param start
+   *          the index in the destination array
+   * @return the next index in the destination array
+   */
+  private static final int __append(final int[] perm, final int after,
+      final int last, final boolean reverse, final int[] dest,
+      final int start) {
+    final int n, len;
+    int x, t;
+
+    n = perm.length;
+    len = (((last - after) + n) % n);
+    x = start;
+    for (t = 0; t < len; t++) {
+      dest[x++] = perm[(reverse ? ((last - t) + n) : (after + 1 + t)) % n];
+    }
+    return x;
+  }
+
   /**
    * try to load the optimal tour
    *
@@ -389,4 +644,32 @@ public class _InstanceTest extends DistanceComputerTest {
     return null;
   }
 
+  /** a distance computer counting the computed distances */
+  private static final class __CountingDistanceComputer extends
+      DistanceComputer {
+
+    /** the distance computer to delegate to */
+    private final DistanceComputer m_dist;
+
+    /** the number of computed distances */
+    int m_count;
+
+    /**
+     * create
+     *
+     * @param dist
+     *          the distance computer to delegate to
+     */
+    __CountingDistanceComputer(final DistanceComputer dist) {
+      super(dist.n());
+      this.m_dist = dist;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final int distance(final int i, final int j) {
+      this.m_count++;
+      return this.m_dist.distance(i, j);
+    }
+  }
 }
@@ -0,0 +1,163 @@
+package test.junit.org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.tsp.benchmarking.objective.BinaryLog;
+import org.logisticPlanning.tsp.benchmarking.objective.DataPoint;
+import org.logisticPlanning.tsp.benchmarking.objective.ELogFormat;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.utils.NamedObject;
+import org.logisticPlanning.utils.config.Configuration;
+
+import test.junit.TempDir;
+import test.junit.TestBase;
+
+/**
+ * A test for the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.BinaryLog binary
+ * log format}: a few runs are logged in the binary format. Converting
+ * their logs to text, back to binary, and to text again must yield the
+ * same text, and the log points read directly from the binary files must
+ * be the same as those read from the converted files.
+ */
+public class BinaryLogTest extends TestBase {
+
+  /** the number of runs */
+  private static final int RUNS = 5;
+
+  /** create */
+  public BinaryLogTest() {
+    super();
+  }
+
+  /**
+   * collect all files in a directory
+   *
+   * @param dir
+   *          the directory
+   * @param dest
+   *          the destination list
+   */
+  private static final void __collect(final File dir, final List<File> dest) {
+    final File[] files;
+
+    files = dir.listFiles();
+    if (files != null) {
+      for (final File f : files) {
+        if (f.isDirectory()) {
+          BinaryLogTest.__collect(f, dest);
+        } else {
+          dest.add(f);
+        }
+      }
+    }
+  }
+
+  /**
+   * convert a binary log to text
+   *
+   * @param data
+   *          the binary log
+   * @return the text
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  private static final byte[] __toText(final byte[] data) throws Throwable {
+    final ByteArrayOutputStream bos;
+
+    bos = new ByteArrayOutputStream();
+    try (final PrintStream ps = new PrintStream(bos, false, "UTF-8")) { //$NON-NLS-1$
+      BinaryLog.toText(ByteBuffer.wrap(data), ps);
+    }
+    return bos.toByteArray();
+  }
+
+  /**
+   * Perform some runs with binary logs and convert them
+   *
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testBinaryLogs() throws Throwable {
+    final Benchmark bm;
+    final Configuration config;
+    final NamedObject algo;
+    final ObjectiveFunction f;
+    final ArrayList<DataPoint> a, b;
+    final ByteArrayOutputStream bos;
+    final ArrayList<File> files;
+    final int[] tour;
+    byte[] data, text;
+    int i, j;
+
+    algo = new NamedObject("binaryLogTest"); //$NON-NLS-1$
+    a = new ArrayList<>();
+    b = new ArrayList<>();
+    bos = new ByteArrayOutputStream();
+    files = new ArrayList<>();
+
+    try (final TempDir tempDir = new TempDir()) {
+      bm = new Benchmark(tempDir.getDir(), Instance.BURMA14);
+      config = new Configuration();
+      config.putString(Benchmark.PARAM_LOG_FORMAT, ELogFormat.BINARY.name());
+      config.putString(Benchmark.PARAM_MAX_RUNS,
+          String.valueOf(BinaryLogTest.RUNS));
+      bm.configure(config);
+
+      f = bm.createObjective();
+      tour = new int[f.n()];
+      for (i = BinaryLogTest.RUNS; (--i) >= 0;) {
+        for (j = tour.length; (--j) >= 0;) {
+          tour[j] = (j + 1);
+        }
+        f.beginRun(algo);
+        try {
+          for (j = (1 + (3 * i)); (--j) >= 0;) {
+            f.evaluate(tour);
+            f.getRandom().shuffle(tour);
+          }
+        } finally {
+          f.endRun();
+        }
+      }
+      Benchmark.flushLogs();
+
+      BinaryLogTest.__collect(tempDir.getDir(), files);
+      Assert.assertEquals(BinaryLogTest.RUNS, files.size());
+
+      for (final File file : files) {
+        Assert.assertTrue(file.getName().endsWith(BinaryLog.FILE_SUFFIX));
+        data = Files.readAllBytes(file.toPath());
+        Assert.assertTrue(BinaryLog.isBinary(ByteBuffer.wrap(data)));
+
+        text = BinaryLogTest.__toText(data);
+        Assert.assertFalse(BinaryLog.isBinary(ByteBuffer.wrap(text)));
+        Assert.assertTrue(new String(text, "UTF-8").contains(//$NON-NLS-1$
+            ObjectiveFunction.BEST_SOLUTION));
+
+        bos.reset();
+        BinaryLog.toBinary(new String(text, "UTF-8"), bos); //$NON-NLS-1$
+        Assert.assertArrayEquals(text,
+            BinaryLogTest.__toText(bos.toByteArray()));
+
+        a.clear();
+        b.clear();
+        BinaryLog.readPoints(ByteBuffer.wrap(data), a);
+        BinaryLog.readPoints(ByteBuffer.wrap(bos.toByteArray()), b);
+        Assert.assertFalse(a.isEmpty());
+        Assert.assertEquals(a, b);
+      }
+    }
+  }
+}
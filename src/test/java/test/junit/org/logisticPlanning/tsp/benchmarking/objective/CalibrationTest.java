@@ -0,0 +1,144 @@
+package test.junit.org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.tsp.benchmarking.objective.ERuntimeNormalization;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.utils.NamedObject;
+import org.logisticPlanning.utils.config.Configuration;
+
+import test.junit.TempDir;
+import test.junit.TestBase;
+
+/**
+ * A test for the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ERuntimeNormalization#CALIBRATION
+ * calibrated} runtime normalization: the runs of two objective functions
+ * must use the same normalization factor, and the results of the
+ * calibration suite must be listed in the log files.
+ */
+public class CalibrationTest extends TestBase {
+
+  /** create */
+  public CalibrationTest() {
+    super();
+  }
+
+  /**
+   * collect all text log files in a directory
+   *
+   * @param dir
+   *          the directory
+   * @param dest
+   *          the destination list
+   */
+  private static final void __collect(final File dir, final List<File> dest) {
+    final File[] files;
+
+    files = dir.listFiles();
+    if (files != null) {
+      for (final File f : files) {
+        if (f.isDirectory()) {
+          CalibrationTest.__collect(f, dest);
+        } else {
+          if (f.getName().endsWith(Benchmark.TEXT_FILE_SUFFIX)) {
+            dest.add(f);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * get the value of a key in a log file
+   *
+   * @param text
+   *          the log file
+   * @param key
+   *          the key
+   * @return the value
+   */
+  private static final String __value(final String text, final String key) {
+    int i, j;
+
+    i = text.indexOf(key + ':');
+    Assert.assertTrue(i >= 0);
+    i += (key.length() + 1);
+    j = text.indexOf('\n', i);
+    return text.substring(i, j).trim();
+  }
+
+  /**
+   * Perform runs with calibrated runtime normalization
+   *
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testCalibratedNormalization() throws Throwable {
+    final NamedObject algo;
+    final ArrayList<File> files;
+    int[] tour;
+    Benchmark bm;
+    Configuration config;
+    ObjectiveFunction f;
+    String text, factor;
+    int i;
+
+    algo = new NamedObject("calibrationTest"); //$NON-NLS-1$
+    files = new ArrayList<>();
+
+    try (final TempDir tempDir = new TempDir()) {
+      for (final Instance inst : new Instance[] { Instance.BURMA14,
+          Instance.ULYSSES16 }) {
+        bm = new Benchmark(tempDir.getDir(), inst);
+        config = new Configuration();
+        config.putString(Benchmark.PARAM_RUNTIME_NORMALIZATION,
+            ERuntimeNormalization.CALIBRATION.name());
+        config.putString(Benchmark.PARAM_CALIBRATION_CACHE_DIR, new File(
+            tempDir.getDir(), "cache").getAbsolutePath()); //$NON-NLS-1$
+        config.putString(Benchmark.PARAM_MAX_RUNS, String.valueOf(1));
+        bm.configure(config);
+
+        f = bm.createObjective();
+        tour = new int[f.n()];
+        for (i = tour.length; (--i) >= 0;) {
+          tour[i] = (i + 1);
+        }
+        f.beginRun(algo);
+        try {
+          f.evaluate(tour);
+        } finally {
+          f.endRun();
+        }
+      }
+      Benchmark.flushLogs();
+
+      CalibrationTest.__collect(tempDir.getDir(), files);
+      Assert.assertEquals(2, files.size());
+
+      factor = null;
+      for (final File file : files) {
+        text = new String(Files.readAllBytes(file.toPath()), "UTF-8"); //$NON-NLS-1$
+        CalibrationTest.__value(text,
+            ObjectiveFunction.CALIBRATION_FINGERPRINT);
+        Assert.assertTrue(Double.parseDouble(CalibrationTest.__value(text,
+            ObjectiveFunction.CALIBRATION_MEMORY)) > 0d);
+        if (factor == null) {
+          factor = CalibrationTest.__value(text,
+              ObjectiveFunction.RUNTIME_NORMALIZATION_FACTOR);
+        } else {
+          Assert.assertEquals(factor, CalibrationTest.__value(text,
+              ObjectiveFunction.RUNTIME_NORMALIZATION_FACTOR));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,427 @@
+package test.junit.org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.tsp.benchmarking.objective.BinaryLog;
+import org.logisticPlanning.tsp.benchmarking.objective.DataPoint;
+import org.logisticPlanning.tsp.benchmarking.objective.ELogFormat;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.ea.PermutationEA;
+import org.logisticPlanning.utils.NamedObject;
+import org.logisticPlanning.utils.config.Configuration;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+import test.junit.TempDir;
+import test.junit.TestBase;
+
+/**
+ * A test for the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#checkpoint(java.io.Serializable)
+ * checkpoints} of runs: A run is interrupted by a simulated crash, its
+ * result directory is copied (as if the experiment was started again
+ * later, maybe in another JVM), and the run is resumed from its last
+ * checkpoint. An EA, which stores its state in the checkpoints, must then
+ * produce exactly the same log as an uninterrupted run with the same
+ * random seed. A run without algorithm state must continue with the
+ * counters and the best tour of the interrupted run. Since checkpoints
+ * are only resumed if runs are locked, the heartbeats of the locks of the
+ * copied runs are stopped, as if the crashed process had died long ago.
+ */
+public class CheckpointTest extends TestBase {
+
+  /** the random seed */
+  private static final long SEED = 4711l;
+
+  /** the maximum FEs */
+  private static final long MAX_FES = 20000l;
+
+  /** the mutation in which the EA crashes */
+  private static final int CRASH_MUTATION = 2000;
+
+  /** the FEs after which the run without algorithm state is interrupted */
+  private static final int CRASH_FES = 3000;
+
+  /** the job lock timeout */
+  private static final long TIMEOUT = 60000l;
+
+  /** create */
+  public CheckpointTest() {
+    super();
+  }
+
+  /**
+   * collect all files in a directory
+   *
+   * @param dir
+   *          the directory
+   * @param dest
+   *          the destination list
+   */
+  private static final void __collect(final File dir, final List<File> dest) {
+    final File[] files;
+
+    files = dir.listFiles();
+    if (files != null) {
+      for (final File f : files) {
+        if (f.isDirectory()) {
+          CheckpointTest.__collect(f, dest);
+        } else {
+          dest.add(f);
+        }
+      }
+    }
+  }
+
+  /**
+   * copy a directory
+   *
+   * @param src
+   *          the source directory
+   * @param dest
+   *          the destination directory
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  private static final void __copy(final File src, final File dest)
+      throws Throwable {
+    final File[] files;
+    File f;
+
+    dest.mkdirs();
+    files = src.listFiles();
+    if (files != null) {
+      for (final File s : files) {
+        f = new File(dest, s.getName());
+        if (s.isDirectory()) {
+          CheckpointTest.__copy(s, f);
+        } else {
+          Files.copy(s.toPath(), f.toPath());
+        }
+      }
+    }
+  }
+
+  /**
+   * stop the heartbeats of all lock files in a directory, as if the
+   * process holding them had died long ago
+   *
+   * @param dir
+   *          the directory
+   */
+  private static final void __stopHeartbeats(final File dir) {
+    final ArrayList<File> files;
+
+    files = new ArrayList<>();
+    CheckpointTest.__collect(dir, files);
+    for (final File f : files) {
+      if (f.getName().endsWith(Benchmark.LOCK_SUFFIX)) {
+        Assert.assertTrue(f.setLastModified(System.currentTimeMillis()
+            - (CheckpointTest.TIMEOUT << 1)));
+      }
+    }
+  }
+
+  /**
+   * create a benchmark writing checkpoints as often as possible
+   *
+   * @param dir
+   *          the directory
+   * @param maxFEs
+   *          the maximum FEs
+   * @param locked
+   *          should runs be locked?
+   * @return the benchmark
+   */
+  private static final Benchmark __benchmark(final File dir,
+      final long maxFEs, final boolean locked) {
+    final Benchmark bm;
+    final Configuration config;
+
+    bm = new Benchmark(dir, Instance.EIL51);
+    config = new Configuration();
+    config.putString(Benchmark.PARAM_LOG_FORMAT, ELogFormat.BINARY.name());
+    config.putString(Benchmark.PARAM_MAX_FES, String.valueOf(maxFEs));
+    config.putString(Benchmark.PARAM_MAX_RUNS, String.valueOf(1));
+    config.putString(Benchmark.PARAM_CHECKPOINT_INTERVAL, String.valueOf(1));
+    if (locked) {
+      config.putString(Benchmark.PARAM_JOB_LOCK_TIMEOUT,
+          String.valueOf(CheckpointTest.TIMEOUT));
+    }
+    bm.configure(config);
+    return bm;
+  }
+
+  /**
+   * load the log points of the only run in a directory, which must not
+   * have any checkpoint left
+   *
+   * @param dir
+   *          the directory
+   * @return the log points
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  private static final ArrayList<DataPoint> __load(final File dir)
+      throws Throwable {
+    final ArrayList<File> files;
+    final ArrayList<DataPoint> points;
+
+    Benchmark.flushLogs();
+    files = new ArrayList<>();
+    CheckpointTest.__collect(dir, files);
+    Assert.assertEquals(1, files.size());
+    Assert.assertTrue(files.get(0).getName()
+        .endsWith(BinaryLog.FILE_SUFFIX));
+
+    points = new ArrayList<>();
+    BinaryLog.readPoints(
+        ByteBuffer.wrap(Files.readAllBytes(files.get(0).toPath())),
+        points);
+    Assert.assertFalse(points.isEmpty());
+    return points;
+  }
+
+  /**
+   * perform an uninterrupted run of the EA
+   *
+   * @param dir
+   *          the directory
+   * @return the log points
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  private static final ArrayList<DataPoint> __runEA(final File dir)
+      throws Throwable {
+    final ObjectiveFunction f;
+    final PermutationEA ea;
+
+    f = CheckpointTest.__benchmark(dir, CheckpointTest.MAX_FES, true)
+        .createObjective();
+    ea = new PermutationEA();
+    f.beginRun(ea);
+    try {
+      f.getRandom().setSeed(CheckpointTest.SEED);
+      ea.call(f);
+    } finally {
+      f.endRun();
+    }
+    return CheckpointTest.__load(dir);
+  }
+
+  /**
+   * test that an EA resumed from a checkpoint continues exactly like an
+   * uninterrupted run
+   *
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testResumeEA() throws Throwable {
+    final ArrayList<DataPoint> expected, actual;
+    Benchmark bm;
+    ObjectiveFunction f;
+    PermutationEA ea;
+    boolean crashed;
+    DataPoint x, y;
+    int i;
+
+    try (final TempDir a = new TempDir(); final TempDir b = new TempDir();
+        final TempDir c = new TempDir()) {
+      expected = CheckpointTest.__runEA(a.getDir());
+
+      // interrupt a run
+      f = CheckpointTest.__benchmark(b.getDir(), CheckpointTest.MAX_FES,
+          true).createObjective();
+      ea = new PermutationEA();
+      ea.setUnaryOperator(new _CrashingOperator<>(ea.getUnaryOperator(),
+          CheckpointTest.CRASH_MUTATION));
+      f.beginRun(ea);
+      crashed = false;
+      try {
+        f.getRandom().setSeed(CheckpointTest.SEED);
+        ea.call(f);
+      } catch (final _CrashingOperator._Crash crash) {
+        crashed = true;
+      }
+      Assert.assertTrue(crashed);
+      Assert.assertFalse(f.shouldTerminate());
+
+      // save the state of the crashed machine and clean up
+      CheckpointTest.__copy(b.getDir(), c.getDir());
+      CheckpointTest.__stopHeartbeats(c.getDir());
+      f.endRun();
+      Benchmark.flushLogs();
+
+      // resume the run
+      bm = CheckpointTest.__benchmark(c.getDir(), CheckpointTest.MAX_FES,
+          true);
+      Assert.assertEquals(1, bm.remainingRunCount());
+      f = bm.createObjective();
+      ea = new PermutationEA();
+      f.beginRun(ea);
+      try {
+        Assert.assertTrue(f.isResumed());
+        Assert.assertNotNull(f.getResumedState());
+        Assert.assertTrue(f.getCurrentLogPoint().getConsumedFEs() > 0l);
+        ea.call(f);
+      } finally {
+        f.endRun();
+      }
+      actual = CheckpointTest.__load(c.getDir());
+      Assert.assertEquals(0, bm.remainingRunCount());
+    }
+
+    Assert.assertEquals(expected.size(), actual.size());
+    for (i = expected.size(); (--i) >= 0;) {
+      x = expected.get(i);
+      y = actual.get(i);
+      Assert.assertEquals(x.getConsumedFEs(), y.getConsumedFEs());
+      Assert.assertEquals(x.getConsumedDEs(), y.getConsumedDEs());
+      Assert.assertEquals(x.getBestF(), y.getBestF());
+    }
+  }
+
+  /**
+   * test that a run without algorithm state continues with the counters
+   * and the best tour of the interrupted run
+   *
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testAutomaticCheckpoints() throws Throwable {
+    final NamedObject algo;
+    final ArrayList<DataPoint> points;
+    final int[] tour;
+    Benchmark bm;
+    ObjectiveFunction f;
+    Randomizer r;
+    DataPoint p, q;
+    long fes, best;
+    int i;
+
+    algo = new NamedObject("automaticCheckpointTest"); //$NON-NLS-1$
+    try (final TempDir b = new TempDir(); final TempDir c = new TempDir()) {
+
+      // interrupt a run
+      f = CheckpointTest.__benchmark(b.getDir(), CheckpointTest.MAX_FES,
+          true).createObjective();
+      tour = new int[f.n()];
+      for (i = tour.length; (--i) >= 0;) {
+        tour[i] = (i + 1);
+      }
+      f.beginRun(algo);
+      r = f.getRandom();
+      for (i = 0; i < CheckpointTest.CRASH_FES; i++) {
+        if (i == (CheckpointTest.CRASH_FES >>> 1)) {
+          Thread.sleep(10l);
+        }
+        r.shuffle(tour);
+        f.evaluate(tour);
+      }
+
+      // save the state of the crashed machine and clean up
+      CheckpointTest.__copy(b.getDir(), c.getDir());
+      CheckpointTest.__stopHeartbeats(c.getDir());
+      f.endRun();
+      Benchmark.flushLogs();
+
+      // resume the run
+      bm = CheckpointTest.__benchmark(c.getDir(), CheckpointTest.MAX_FES,
+          true);
+      Assert.assertEquals(1, bm.remainingRunCount());
+      f = bm.createObjective();
+      f.beginRun(algo);
+      try {
+        Assert.assertTrue(f.isResumed());
+        Assert.assertNull(f.getResumedState());
+        fes = f.getCurrentLogPoint().getConsumedFEs();
+        Assert.assertTrue(fes >= (CheckpointTest.CRASH_FES >>> 1));
+        Assert.assertTrue(fes <= CheckpointTest.CRASH_FES);
+        Assert.assertEquals((fes * f.n()), f.getCurrentLogPoint()
+            .getConsumedDEs());
+
+        best = f.getCurrentLogPoint().getBestF();
+        f.getCopyOfBest(tour);
+        Assert.assertEquals(best, f.evaluate(tour));
+
+        r = f.getRandom();
+        while (!(f.shouldTerminate())) {
+          r.shuffle(tour);
+          f.evaluate(tour);
+        }
+      } finally {
+        f.endRun();
+      }
+      points = CheckpointTest.__load(c.getDir());
+      Assert.assertEquals(0, bm.remainingRunCount());
+    }
+
+    q = points.get(points.size() - 1);
+    Assert.assertEquals(CheckpointTest.MAX_FES, q.getConsumedFEs());
+    Assert.assertEquals((CheckpointTest.MAX_FES * Instance.EIL51.n()),
+        q.getConsumedDEs());
+    for (i = points.size(); (--i) > 0;) {
+      p = points.get(i - 1);
+      q = points.get(i);
+      Assert.assertTrue(p.getConsumedFEs() <= q.getConsumedFEs());
+      Assert.assertTrue(p.getBestF() >= q.getBestF());
+    }
+  }
+
+  /**
+   * test that a checkpoint is not resumed if runs are not locked, since
+   * its run may still be performed by another process sharing the output
+   * folder: the folder of an ongoing run is copied and seen by a
+   * benchmark which does not know the run
+   *
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testNoResumeWithoutLocks() throws Throwable {
+    final NamedObject algo;
+    final int[] tour;
+    Benchmark bm;
+    ObjectiveFunction f;
+    int i;
+
+    algo = new NamedObject("noResumeWithoutLocksTest"); //$NON-NLS-1$
+    try (final TempDir b = new TempDir(); final TempDir c = new TempDir()) {
+      f = CheckpointTest.__benchmark(b.getDir(), CheckpointTest.MAX_FES,
+          false).createObjective();
+      tour = new int[f.n()];
+      for (i = tour.length; (--i) >= 0;) {
+        tour[i] = (i + 1);
+      }
+      f.beginRun(algo);
+      try {
+        for (i = 0; i < CheckpointTest.CRASH_FES; i++) {
+          if (i == (CheckpointTest.CRASH_FES >>> 1)) {
+            Thread.sleep(10l);
+          }
+          f.getRandom().shuffle(tour);
+          f.evaluate(tour);
+        }
+
+        // another process sharing the folder must leave the run alone
+        CheckpointTest.__copy(b.getDir(), c.getDir());
+        bm = CheckpointTest.__benchmark(c.getDir(), CheckpointTest.MAX_FES,
+            false);
+        Assert.assertEquals(0, bm.remainingRunCount());
+        Assert.assertFalse(bm.createObjective().tryBeginRun(algo));
+      } finally {
+        f.endRun();
+      }
+      Benchmark.flushLogs();
+    }
+  }
+}
@@ -0,0 +1,240 @@
+package test.junit.org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.tsp.benchmarking.objective.BinaryLog;
+import org.logisticPlanning.tsp.benchmarking.objective.DataPoint;
+import org.logisticPlanning.tsp.benchmarking.objective.ELogFormat;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.benchmarking.objective.TaskRecord;
+import org.logisticPlanning.utils.NamedObject;
+import org.logisticPlanning.utils.config.Configuration;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+import test.junit.TempDir;
+import test.junit.TestBase;
+
+/**
+ * A test for
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction#fork()
+ * forked objective functions}: the same tasks are performed once directly
+ * on the objective function of a run and once on forks in other threads
+ * whose records are merged into the run. Both runs must log exactly the
+ * same FEs, DEs, and objective values and terminate at the same point.
+ */
+public class ForkTest extends TestBase {
+
+  /** the number of tasks */
+  private static final int TASKS = 64;
+
+  /** the number of FEs per task */
+  private static final int STEPS = 16;
+
+  /** create */
+  public ForkTest() {
+    super();
+  }
+
+  /**
+   * collect all files in a directory
+   *
+   * @param dir
+   *          the directory
+   * @param dest
+   *          the destination list
+   */
+  private static final void __collect(final File dir, final List<File> dest) {
+    final File[] files;
+
+    files = dir.listFiles();
+    if (files != null) {
+      for (final File f : files) {
+        if (f.isDirectory()) {
+          ForkTest.__collect(f, dest);
+        } else {
+          dest.add(f);
+        }
+      }
+    }
+  }
+
+  /**
+   * perform one task
+   *
+   * @param f
+   *          the objective function
+   * @param r
+   *          the randomizer
+   */
+  static final void _task(final ObjectiveFunction f, final Randomizer r) {
+    final int[] tour;
+    long length;
+    int i, j;
+
+    tour = new int[f.n()];
+    for (i = tour.length; (--i) >= 0;) {
+      tour[i] = (i + 1);
+    }
+    for (i = ForkTest.STEPS; (--i) >= 0;) {
+      r.shuffle(tour);
+      if (r.nextBoolean()) {
+        f.evaluate(tour);
+      } else {
+        length = f.distance(tour[tour.length - 1], tour[0]);
+        for (j = tour.length; (--j) > 0;) {
+          length += f.distance(tour[j - 1], tour[j]);
+        }
+        f.registerFE(tour, length);
+      }
+      if (f.shouldTerminate()) {
+        return;
+      }
+    }
+    f.distance(tour[0], tour[1]);
+  }
+
+  /**
+   * perform a run and load its log points
+   *
+   * @param maxFEs
+   *          the maximum FEs
+   * @param forked
+   *          should the tasks be performed on forks?
+   * @return the log points
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  private static final ArrayList<DataPoint> __run(final long maxFEs,
+      final boolean forked) throws Throwable {
+    final Benchmark bm;
+    final Configuration config;
+    final ObjectiveFunction f;
+    final ArrayList<File> files;
+    final ArrayList<DataPoint> points;
+    final long[] seeds;
+    final TaskRecord[] records;
+    final ArrayList<Callable<Void>> tasks;
+    final ExecutorService exec;
+    int i;
+
+    files = new ArrayList<>();
+    points = new ArrayList<>();
+    try (final TempDir tempDir = new TempDir()) {
+      bm = new Benchmark(tempDir.getDir(), Instance.BURMA14);
+      config = new Configuration();
+      config.putString(Benchmark.PARAM_LOG_FORMAT, ELogFormat.BINARY.name());
+      config.putString(Benchmark.PARAM_MAX_FES, String.valueOf(maxFEs));
+      config.putString(Benchmark.PARAM_MAX_RUNS, String.valueOf(1));
+      bm.configure(config);
+
+      f = bm.createObjective();
+      f.beginRun(new NamedObject("forkTest")); //$NON-NLS-1$
+      try {
+        seeds = new long[ForkTest.TASKS];
+        for (i = seeds.length; (--i) >= 0;) {
+          seeds[i] = ((i * 0x9E3779B97F4A7C15L) + 12345l);
+        }
+
+        if (forked) {
+          records = new TaskRecord[ForkTest.TASKS];
+          tasks = new ArrayList<>();
+          for (i = 0; i < 4; i++) {
+            tasks.add(new _ForkTask(f.fork(), seeds, records, i, 4));
+          }
+          exec = Executors.newFixedThreadPool(4);
+          try {
+            for (final Future<Void> future : exec
+                .invokeAll(tasks)) {
+              future.get();
+            }
+          } finally {
+            exec.shutdown();
+          }
+          for (i = 0; i < ForkTest.TASKS; i++) {
+            f.merge(records[i]);
+            if (f.shouldTerminate()) {
+              break;
+            }
+          }
+        } else {
+          for (i = 0; i < ForkTest.TASKS; i++) {
+            ForkTest._task(f, new Randomizer(seeds[i]));
+            if (f.shouldTerminate()) {
+              break;
+            }
+          }
+        }
+      } finally {
+        f.endRun();
+      }
+      Benchmark.flushLogs();
+
+      ForkTest.__collect(tempDir.getDir(), files);
+      Assert.assertEquals(1, files.size());
+      BinaryLog.readPoints(
+          ByteBuffer.wrap(Files.readAllBytes(files.get(0).toPath())),
+          points);
+    }
+    return points;
+  }
+
+  /**
+   * compare the runs with the given FE limit
+   *
+   * @param maxFEs
+   *          the maximum FEs
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  private static final void __compare(final long maxFEs) throws Throwable {
+    final ArrayList<DataPoint> a, b;
+    DataPoint x, y;
+    int i;
+
+    a = ForkTest.__run(maxFEs, false);
+    b = ForkTest.__run(maxFEs, true);
+    Assert.assertFalse(a.isEmpty());
+    Assert.assertEquals(a.size(), b.size());
+    for (i = a.size(); (--i) >= 0;) {
+      x = a.get(i);
+      y = b.get(i);
+      Assert.assertEquals(x.getConsumedFEs(), y.getConsumedFEs());
+      Assert.assertEquals(x.getConsumedDEs(), y.getConsumedDEs());
+      Assert.assertEquals(x.getBestF(), y.getBestF());
+    }
+  }
+
+  /**
+   * test that forked tasks yield the same log as sequential tasks
+   *
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testForkedTasks() throws Throwable {
+    ForkTest.__compare(Long.MAX_VALUE);
+  }
+
+  /**
+   * test that forked tasks terminate at the same point as sequential ones
+   *
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testForkedTasksTermination() throws Throwable {
+    ForkTest.__compare((ForkTest.TASKS * ForkTest.STEPS) / 3);
+  }
+}
@@ -0,0 +1,337 @@
+package test.junit.org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.tsp.benchmarking.objective.ELogFormat;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.utils.NamedObject;
+import org.logisticPlanning.utils.config.Configuration;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+import test.junit.TempDir;
+import test.junit.TestBase;
+
+/**
+ * A test for the
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_JOB_LOCK_TIMEOUT
+ * lock files} by which several processes share the runs of an experiment:
+ * Several benchmark objects, each acting like a separate process, claim
+ * runs in the same directory concurrently. Exactly the requested number
+ * of runs must be performed. A run whose lock file has become stale, as
+ * if the process performing it had died, must be taken over and resumed.
+ */
+public class JobLockTest extends TestBase {
+
+  /** the lock timeout */
+  private static final long TIMEOUT = 60000l;
+
+  /** the maximum FEs */
+  private static final long MAX_FES = 2000l;
+
+  /** the number of runs */
+  private static final int RUNS = 7;
+
+  /** the number of simulated processes */
+  private static final int PROCESSES = 4;
+
+  /** the algorithm */
+  static final NamedObject ALGO = new NamedObject("jobLockTest"); //$NON-NLS-1$
+
+  /** create */
+  public JobLockTest() {
+    super();
+  }
+
+  /**
+   * create a benchmark with locked runs
+   *
+   * @param dir
+   *          the directory
+   * @param runs
+   *          the number of runs
+   * @return the benchmark
+   */
+  static final Benchmark _benchmark(final File dir, final int runs) {
+    final Benchmark bm;
+    final Configuration config;
+
+    bm = new Benchmark(dir, Instance.EIL51);
+    config = new Configuration();
+    config.putString(Benchmark.PARAM_LOG_FORMAT, ELogFormat.BINARY.name());
+    config.putString(Benchmark.PARAM_MAX_FES,
+        String.valueOf(JobLockTest.MAX_FES));
+    config.putString(Benchmark.PARAM_MAX_RUNS, String.valueOf(runs));
+    config.putString(Benchmark.PARAM_CHECKPOINT_INTERVAL, String.valueOf(1));
+    config.putString(Benchmark.PARAM_JOB_LOCK_TIMEOUT,
+        String.valueOf(JobLockTest.TIMEOUT));
+    bm.configure(config);
+    return bm;
+  }
+
+  /**
+   * perform random sampling until the run should terminate
+   *
+   * @param f
+   *          the objective function
+   */
+  static final void _sample(final ObjectiveFunction f) {
+    final int[] tour;
+    final Randomizer r;
+    int i;
+
+    tour = new int[f.n()];
+    for (i = tour.length; (--i) >= 0;) {
+      tour[i] = (i + 1);
+    }
+    r = f.getRandom();
+    while (!(f.shouldTerminate())) {
+      r.shuffle(tour);
+      f.evaluate(tour);
+    }
+  }
+
+  /**
+   * collect all files in a directory whose names end with a given suffix
+   *
+   * @param dir
+   *          the directory
+   * @param suffix
+   *          the suffix
+   * @param dest
+   *          the destination list
+   */
+  private static final void __collect(final File dir, final String suffix,
+      final ArrayList<File> dest) {
+    final File[] files;
+
+    files = dir.listFiles();
+    if (files != null) {
+      for (final File f : files) {
+        if (f.isDirectory()) {
+          JobLockTest.__collect(f, suffix, dest);
+        } else {
+          if (f.getName().endsWith(suffix)) {
+            dest.add(f);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * get all files in a directory whose names end with a given suffix
+   *
+   * @param dir
+   *          the directory
+   * @param suffix
+   *          the suffix
+   * @return the files
+   */
+  private static final ArrayList<File> __files(final File dir,
+      final String suffix) {
+    final ArrayList<File> files;
+
+    files = new ArrayList<>();
+    JobLockTest.__collect(dir, suffix, files);
+    return files;
+  }
+
+  /**
+   * copy a directory
+   *
+   * @param src
+   *          the source directory
+   * @param dest
+   *          the destination directory
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  private static final void __copy(final File src, final File dest)
+      throws Throwable {
+    final File[] files;
+    File f;
+
+    dest.mkdirs();
+    files = src.listFiles();
+    if (files != null) {
+      for (final File s : files) {
+        f = new File(dest, s.getName());
+        if (s.isDirectory()) {
+          JobLockTest.__copy(s, f);
+        } else {
+          Files.copy(s.toPath(), f.toPath());
+        }
+      }
+    }
+  }
+
+  /**
+   * test that processes sharing a directory perform exactly the requested
+   * number of runs
+   *
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testNoRunPerformedTwice() throws Throwable {
+    final __Process[] processes;
+    final AtomicInteger runs;
+    int i;
+
+    runs = new AtomicInteger();
+    try (final TempDir dir = new TempDir()) {
+      processes = new __Process[JobLockTest.PROCESSES];
+      for (i = processes.length; (--i) >= 0;) {
+        processes[i] = new __Process(
+            JobLockTest._benchmark(dir.getDir(), JobLockTest.RUNS), runs);
+      }
+      for (final __Process p : processes) {
+        p.start();
+      }
+      for (final __Process p : processes) {
+        p.join();
+        if (p.m_error != null) {
+          throw p.m_error;
+        }
+      }
+      Benchmark.flushLogs();
+
+      Assert.assertEquals(JobLockTest.RUNS, runs.get());
+      for (final File f : JobLockTest.__files(dir.getDir(), "")) { //$NON-NLS-1$
+        Assert.assertTrue(f.getName(), f.length() > 0l);
+      }
+      Assert.assertEquals(JobLockTest.RUNS,
+          JobLockTest.__files(dir.getDir(), "").size()); //$NON-NLS-1$
+      Assert.assertEquals(0,
+          JobLockTest._benchmark(dir.getDir(), JobLockTest.RUNS)
+              .remainingRunCount());
+    }
+  }
+
+  /**
+   * test that a run whose lock has become stale is taken over and resumed
+   * from its checkpoint
+   *
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testStaleLockRecovery() throws Throwable {
+    final int[] tour;
+    final ArrayList<File> locks;
+    Benchmark bm;
+    ObjectiveFunction f;
+    Randomizer r;
+    int i;
+
+    try (final TempDir b = new TempDir(); final TempDir c = new TempDir()) {
+
+      // interrupt a run
+      f = JobLockTest._benchmark(b.getDir(), 1).createObjective();
+      tour = new int[f.n()];
+      for (i = tour.length; (--i) >= 0;) {
+        tour[i] = (i + 1);
+      }
+      Assert.assertTrue(f.tryBeginRun(JobLockTest.ALGO));
+      r = f.getRandom();
+      for (i = 0; i < 1000; i++) {
+        if (i == 500) {
+          Thread.sleep(10l);
+        }
+        r.shuffle(tour);
+        f.evaluate(tour);
+      }
+
+      // save the state of the machine which is about to die
+      JobLockTest.__copy(b.getDir(), c.getDir());
+      f.endRun();
+      Benchmark.flushLogs();
+
+      // the run is still locked by the dead process
+      locks = JobLockTest.__files(c.getDir(), Benchmark.LOCK_SUFFIX);
+      Assert.assertEquals(1, locks.size());
+      bm = JobLockTest._benchmark(c.getDir(), 1);
+      Assert.assertEquals(0, bm.remainingRunCount());
+      f = bm.createObjective();
+      Assert.assertFalse(f.tryBeginRun(JobLockTest.ALGO));
+
+      // the heartbeat of the lock stops
+      Assert.assertTrue(locks.get(0).setLastModified(
+          System.currentTimeMillis() - (JobLockTest.TIMEOUT << 1)));
+      Assert.assertEquals(1, bm.remainingRunCount());
+      Assert.assertTrue(f.tryBeginRun(JobLockTest.ALGO));
+      try {
+        Assert.assertTrue(f.isResumed());
+        Assert.assertTrue(f.getCurrentLogPoint().getConsumedFEs() > 0l);
+        Assert.assertEquals(0, bm.remainingRunCount());
+        Assert.assertFalse(JobLockTest._benchmark(c.getDir(), 1)
+            .createObjective().tryBeginRun(JobLockTest.ALGO));
+        JobLockTest._sample(f);
+      } finally {
+        f.endRun();
+      }
+      Benchmark.flushLogs();
+
+      Assert.assertEquals(0, bm.remainingRunCount());
+      Assert.assertTrue(JobLockTest.__files(c.getDir(),
+          Benchmark.LOCK_SUFFIX).isEmpty());
+      Assert.assertTrue(JobLockTest.__files(c.getDir(),
+          Benchmark.CHECKPOINT_SUFFIX).isEmpty());
+      Assert.assertEquals(1, JobLockTest.__files(c.getDir(), "").size()); //$NON-NLS-1$
+    }
+  }
+
+  /** a thread acting like a separate process */
+  private static final class __Process extends Thread {
+
+    /** the benchmark */
+    private final Benchmark m_bm;
+
+    /** the number of runs performed by all processes */
+    private final AtomicInteger m_runs;
+
+    /** the error, if any */
+    Throwable m_error;
+
+    /**
+     * create
+     *
+     * @param bm
+     *          the benchmark
+     * @param runs
+     *          the number of runs performed by all processes
+     */
+    __Process(final Benchmark bm, final AtomicInteger runs) {
+      super();
+      this.m_bm = bm;
+      this.m_runs = runs;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public final void run() {
+      final ObjectiveFunction f;
+
+      try {
+        f = this.m_bm.createObjective();
+        while (f.tryBeginRun(JobLockTest.ALGO)) {
+          try {
+            this.m_runs.incrementAndGet();
+            JobLockTest._sample(f);
+          } finally {
+            f.endRun();
+          }
+        }
+      } catch (final Throwable t) {
+        this.m_error = t;
+      }
+    }
+  }
+}
@@ -0,0 +1,232 @@
+package test.junit.org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.utils.NamedObject;
+import org.logisticPlanning.utils.config.Configuration;
+
+import test.junit.TempDir;
+import test.junit.TestBase;
+
+/**
+ * A test for the background log writer: several threads perform many
+ * short runs with a small log writer queue, so that logs are written both
+ * by the background thread and, when the queue is full, synchronously.
+ * After {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#flushLogs()}
+ * , every run must have its complete log file.
+ */
+public class LogWriterTest extends TestBase {
+
+  /** the number of threads */
+  private static final int THREADS = 4;
+
+  /** the number of runs per thread */
+  private static final int RUNS = 25;
+
+  /** create */
+  public LogWriterTest() {
+    super();
+  }
+
+  /**
+   * collect all files in a directory
+   *
+   * @param dir
+   *          the directory
+   * @param dest
+   *          the destination list
+   */
+  private static final void __collect(final File dir, final List<File> dest) {
+    final File[] files;
+
+    files = dir.listFiles();
+    if (files != null) {
+      for (final File f : files) {
+        if (f.isDirectory()) {
+          LogWriterTest.__collect(f, dest);
+        } else {
+          dest.add(f);
+        }
+      }
+    }
+  }
+
+  /**
+   * Perform many runs with a background log writer and check the logs
+   *
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testBackgroundLogs() throws Throwable {
+    final Benchmark bm;
+    final Configuration config;
+    final AtomicReference<Throwable> error;
+    final Thread[] threads;
+    final NamedObject algo;
+    final ArrayList<File> files;
+    String[] text;
+    String s;
+    int i;
+
+    algo = new NamedObject("logWriterTest"); //$NON-NLS-1$
+    error = new AtomicReference<>();
+    files = new ArrayList<>();
+
+    try (final TempDir tempDir = new TempDir()) {
+      bm = new Benchmark(tempDir.getDir(), Instance.BURMA14);
+      config = new Configuration();
+      config.putString(Benchmark.PARAM_LOG_WRITER_QUEUE, "1"); //$NON-NLS-1$
+      config.putString(Benchmark.PARAM_MAX_RUNS,
+          String.valueOf(LogWriterTest.THREADS * LogWriterTest.RUNS));
+      bm.configure(config);
+
+      threads = new Thread[LogWriterTest.THREADS];
+      for (i = threads.length; (--i) >= 0;) {
+        threads[i] = new Thread() {
+          @Override
+          public final void run() {
+            final ObjectiveFunction f;
+            final int[] tour;
+            int j;
+
+            try {
+              f = bm.createObjective();
+              tour = new int[f.n()];
+              for (j = tour.length; (--j) >= 0;) {
+                tour[j] = (j + 1);
+              }
+
+              for (j = LogWriterTest.RUNS; (--j) >= 0;) {
+                f.beginRun(algo);
+                try {
+                  f.evaluate(tour);
+                } finally {
+                  f.endRun();
+                }
+              }
+            } catch (final Throwable t) {
+              error.compareAndSet(null, t);
+            }
+          }
+        };
+      }
+
+      for (final Thread t : threads) {
+        t.start();
+      }
+      for (final Thread t : threads) {
+        t.join();
+      }
+
+      Benchmark.flushLogs();
+
+      if (error.get() != null) {
+        throw error.get();
+      }
+
+      LogWriterTest.__collect(tempDir.getDir(), files);
+      Assert.assertEquals((LogWriterTest.THREADS * LogWriterTest.RUNS),
+          files.size());
+
+      for (final File f : files) {
+        s = new String(Files.readAllBytes(f.toPath()),
+            Charset.forName("UTF-8")); //$NON-NLS-1$
+        Assert.assertTrue(s.contains(ObjectiveFunction.BEST_SOLUTION));
+        text = s.trim().split("\n"); //$NON-NLS-1$
+        Assert.assertEquals(ObjectiveFunction.SECTION_END,
+            text[text.length - 1].trim());
+      }
+    }
+  }
+
+  /**
+   * A log which cannot be written in the background must not go unnoticed:
+   * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#flushLogs()}
+   * must throw the error. The log of the next run must still be written
+   * completely.
+   *
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testBackgroundLogError() throws Throwable {
+    final Benchmark bm;
+    final Configuration config;
+    final ObjectiveFunction f;
+    final NamedObject algo;
+    final ArrayList<File> files;
+    final int[] tour;
+    final File broken;
+    String s;
+    boolean thrown;
+    int j;
+
+    algo = new NamedObject("logWriterTest"); //$NON-NLS-1$
+    files = new ArrayList<>();
+
+    try (final TempDir tempDir = new TempDir()) {
+      bm = new Benchmark(tempDir.getDir(), Instance.BURMA14);
+      config = new Configuration();
+      config.putString(Benchmark.PARAM_LOG_WRITER_QUEUE, "1"); //$NON-NLS-1$
+      bm.configure(config);
+
+      f = bm.createObjective();
+      tour = new int[f.n()];
+      for (j = tour.length; (--j) >= 0;) {
+        tour[j] = (j + 1);
+      }
+
+      f.beginRun(algo);
+      try {
+        f.evaluate(tour);
+      } finally {
+        // replace the log file with a directory, so it cannot be written
+        LogWriterTest.__collect(tempDir.getDir(), files);
+        Assert.assertEquals(1, files.size());
+        broken = files.get(0);
+        Assert.assertTrue(broken.delete());
+        Assert.assertTrue(broken.mkdir());
+        f.endRun();
+      }
+
+      // give the background thread time to fail before the next run ends
+      Thread.sleep(1000l);
+
+      f.beginRun(algo);
+      try {
+        f.evaluate(tour);
+      } finally {
+        f.endRun();
+      }
+
+      thrown = false;
+      try {
+        Benchmark.flushLogs();
+      } catch (final RuntimeException re) {
+        thrown = true;
+      }
+      Assert.assertTrue(thrown);
+
+      // the error is reported only once
+      Benchmark.flushLogs();
+
+      files.clear();
+      LogWriterTest.__collect(tempDir.getDir(), files);
+      Assert.assertEquals(1, files.size());
+      s = new String(Files.readAllBytes(files.get(0).toPath()),
+          Charset.forName("UTF-8")); //$NON-NLS-1$
+      Assert.assertTrue(s.contains(ObjectiveFunction.BEST_SOLUTION));
+    }
+  }
+}
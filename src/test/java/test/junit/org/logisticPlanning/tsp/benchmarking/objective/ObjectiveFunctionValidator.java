@@ -8,6 +8,7 @@ import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
 import org.logisticPlanning.tsp.benchmarking.objective.LogPoint;
 import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
 import org.logisticPlanning.utils.NamedObject;
+import org.logisticPlanning.utils.config.Configuration;
 
 import test.junit.TempDir;
 import test.junit.org.logisticPlanning.tsp.solving.utils.TourValidatorTestBase;
@@ -30,6 +31,12 @@ public class ObjectiveFunctionValidator extends TourValidatorTestBase {
   /** the function has a finished run */
   protected static final int STATE_HAS_FINISHED_RUN = 2;
 
+  /**
+   * the maximum number of runs of a test: tests may perform further runs
+   * besides the runs they are asked for, e.g., to create random inputs
+   */
+  private static final int MAX_RUNS = 100000;
+
   /** the tour */
   private transient int[] m_tour;
 
@@ -541,6 +548,7 @@ public class ObjectiveFunctionValidator extends TourValidatorTestBase {
       final long maxTimePerRun, final int maxRuns,
       final boolean incrementState) throws Throwable {
     final Benchmark bm;
+    final Configuration config;
     final ObjectiveFunction ff;
     int i, state, runState;
 
@@ -549,6 +557,10 @@ public class ObjectiveFunctionValidator extends TourValidatorTestBase {
 
     try (final TempDir tempDir = new TempDir()) {
       bm = new Benchmark(tempDir.getDir(), inst);
+      config = new Configuration();
+      config.putString(Benchmark.PARAM_MAX_RUNS,
+          String.valueOf(ObjectiveFunctionValidator.MAX_RUNS));
+      bm.configure(config);
 
       bm.setMaxDEs(Long.MAX_VALUE);
       bm.setMaxFEs(maxFEsPerRun);
@@ -0,0 +1,242 @@
+package test.junit.org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.tsp.benchmarking.objective.BinaryLog;
+import org.logisticPlanning.tsp.benchmarking.objective.DataPoint;
+import org.logisticPlanning.tsp.benchmarking.objective.ELogFormat;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.benchmarking.objective.TaskRecord;
+import org.logisticPlanning.utils.NamedObject;
+import org.logisticPlanning.utils.config.Configuration;
+
+import test.junit.TempDir;
+import test.junit.TestBase;
+
+/**
+ * A test for
+ * {@link org.logisticPlanning.tsp.benchmarking.objective.Benchmark#PARAM_PROFILE
+ * profiled} runs: all log points of a profiled run must carry the CPU
+ * time, which must never decrease, the totals must be listed in the
+ * system data section, the CPU time of tasks performed on forks in other
+ * threads must be included, and the profile must survive the conversion
+ * between the binary and the text log format.
+ */
+public class ProfileTest extends TestBase {
+
+  /** the number of runs */
+  private static final int RUNS = 3;
+
+  /** the CPU time, in nanoseconds, to be consumed by a forked task */
+  private static final long TASK_CPU = 300000000l;
+
+  /** create */
+  public ProfileTest() {
+    super();
+  }
+
+  /**
+   * collect all files in a directory
+   *
+   * @param dir
+   *          the directory
+   * @param dest
+   *          the destination list
+   */
+  private static final void __collect(final File dir, final List<File> dest) {
+    final File[] files;
+
+    files = dir.listFiles();
+    if (files != null) {
+      for (final File f : files) {
+        if (f.isDirectory()) {
+          ProfileTest.__collect(f, dest);
+        } else {
+          dest.add(f);
+        }
+      }
+    }
+  }
+
+  /**
+   * Perform some profiled runs and check their logs
+   *
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testProfiledRuns() throws Throwable {
+    final Benchmark bm;
+    final Configuration config;
+    final NamedObject algo;
+    final ObjectiveFunction f;
+    final ArrayList<DataPoint> a, b;
+    final ByteArrayOutputStream bos;
+    final ArrayList<File> files;
+    final int[] tour;
+    byte[] data;
+    String text;
+    long last;
+    int i, j;
+
+    algo = new NamedObject("profileTest"); //$NON-NLS-1$
+    a = new ArrayList<>();
+    b = new ArrayList<>();
+    bos = new ByteArrayOutputStream();
+    files = new ArrayList<>();
+
+    try (final TempDir tempDir = new TempDir()) {
+      bm = new Benchmark(tempDir.getDir(), Instance.BURMA14);
+      config = new Configuration();
+      config.putString(Benchmark.PARAM_LOG_FORMAT, ELogFormat.BINARY.name());
+      config.putString(Benchmark.PARAM_PROFILE, String.valueOf(true));
+      config.putString(Benchmark.PARAM_MAX_RUNS,
+          String.valueOf(ProfileTest.RUNS));
+      bm.configure(config);
+
+      f = bm.createObjective();
+      tour = new int[f.n()];
+      for (i = ProfileTest.RUNS; (--i) >= 0;) {
+        for (j = tour.length; (--j) >= 0;) {
+          tour[j] = (j + 1);
+        }
+        f.beginRun(algo);
+        try {
+          for (j = (10 + (100 * i)); (--j) >= 0;) {
+            f.evaluate(tour);
+            f.getRandom().shuffle(tour);
+          }
+        } finally {
+          f.endRun();
+        }
+      }
+      Benchmark.flushLogs();
+
+      ProfileTest.__collect(tempDir.getDir(), files);
+      Assert.assertEquals(ProfileTest.RUNS, files.size());
+
+      for (final File file : files) {
+        data = Files.readAllBytes(file.toPath());
+
+        a.clear();
+        BinaryLog.readPoints(ByteBuffer.wrap(data), a);
+        Assert.assertFalse(a.isEmpty());
+        last = 0l;
+        for (final DataPoint p : a) {
+          Assert.assertTrue(p.isProfiled());
+          Assert.assertTrue(p.getConsumedCPUTime() >= last);
+          Assert.assertTrue(p.getGCTime() >= 0l);
+          last = p.getConsumedCPUTime();
+        }
+
+        bos.reset();
+        try (final PrintStream ps = new PrintStream(bos, false, "UTF-8")) { //$NON-NLS-1$
+          BinaryLog.toText(ByteBuffer.wrap(data), ps);
+        }
+        text = new String(bos.toByteArray(), "UTF-8"); //$NON-NLS-1$
+        Assert.assertTrue(text.contains(ObjectiveFunction.CPU_TIME));
+        Assert.assertTrue(text.contains(ObjectiveFunction.FES_PER_SECOND));
+
+        bos.reset();
+        BinaryLog.toBinary(text, bos);
+        b.clear();
+        BinaryLog.readPoints(ByteBuffer.wrap(bos.toByteArray()), b);
+        Assert.assertEquals(a, b);
+      }
+    }
+  }
+
+  /**
+   * Perform a profiled run whose work is done by a task on a fork in
+   * another thread: the CPU time of the task must be included in the
+   * profile of the run.
+   *
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testForkedCPUTime() throws Throwable {
+    final Benchmark bm;
+    final Configuration config;
+    final ObjectiveFunction f, fork;
+    final TaskRecord record;
+    final ArrayList<DataPoint> points;
+    final ArrayList<File> files;
+    final long[] taskCPU;
+    final Thread thread;
+
+    points = new ArrayList<>();
+    files = new ArrayList<>();
+    record = new TaskRecord();
+    taskCPU = new long[1];
+
+    try (final TempDir tempDir = new TempDir()) {
+      bm = new Benchmark(tempDir.getDir(), Instance.BURMA14);
+      config = new Configuration();
+      config.putString(Benchmark.PARAM_LOG_FORMAT, ELogFormat.BINARY.name());
+      config.putString(Benchmark.PARAM_PROFILE, String.valueOf(true));
+      config.putString(Benchmark.PARAM_MAX_RUNS, String.valueOf(1));
+      bm.configure(config);
+
+      f = bm.createObjective();
+      f.beginRun(new NamedObject("forkedProfileTest")); //$NON-NLS-1$
+      try {
+        fork = f.fork();
+        thread = new Thread() {
+          @Override
+          public final void run() {
+            final ThreadMXBean threads;
+            final int[] tour;
+            final long start;
+            int i;
+
+            threads = ManagementFactory.getThreadMXBean();
+            tour = new int[fork.n()];
+            for (i = tour.length; (--i) >= 0;) {
+              tour[i] = (i + 1);
+            }
+            fork.beginTask(record, 1l);
+            start = threads.getCurrentThreadCpuTime();
+            try {
+              fork.evaluate(tour);
+              do {
+                fork.getRandom().shuffle(tour);
+              } while ((threads.getCurrentThreadCpuTime() - start) < //
+              ProfileTest.TASK_CPU);
+              fork.evaluate(tour);
+            } finally {
+              taskCPU[0] = (threads.getCurrentThreadCpuTime() - start);
+              fork.endTask();
+            }
+          }
+        };
+        thread.start();
+        thread.join();
+        f.merge(record);
+      } finally {
+        f.endRun();
+      }
+      Benchmark.flushLogs();
+
+      ProfileTest.__collect(tempDir.getDir(), files);
+      Assert.assertEquals(1, files.size());
+      BinaryLog.readPoints(
+          ByteBuffer.wrap(Files.readAllBytes(files.get(0).toPath())), points);
+      Assert.assertFalse(points.isEmpty());
+      Assert.assertTrue(points.get(points.size() - 1).getConsumedCPUTime() >= //
+          (taskCPU[0] / 1000000l));
+    }
+  }
+}
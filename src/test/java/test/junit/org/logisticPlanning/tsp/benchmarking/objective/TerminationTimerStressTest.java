@@ -0,0 +1,151 @@
+package test.junit.org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.utils.NamedObject;
+import org.logisticPlanning.utils.config.Configuration;
+
+import test.junit.TempDir;
+import test.junit.TestBase;
+
+/**
+ * A stress test for the timer which terminates runs when their runtime
+ * limit is reached. Many threads concurrently start and stop thousands of
+ * short runs. Half of the runs have a runtime limit of a few milliseconds
+ * and wait until they are terminated by the timer, which must happen
+ * shortly after the limit. The other half have a long runtime limit and
+ * are ended right away, so they must be removed from the timer without
+ * ever being terminated by it.
+ */
+public class TerminationTimerStressTest extends TestBase {
+
+  /** the number of threads */
+  private static final int THREADS = 8;
+
+  /** the number of runs per thread */
+  private static final int RUNS = 125;
+
+  /** the runtime limit of the short runs */
+  private static final long SHORT_TIME = 3l;
+
+  /** the runtime limit of the long runs */
+  private static final long LONG_TIME = 3600000l;
+
+  /** the maximum tolerated delay of the termination of a short run */
+  private static final long MAX_DELAY = 5000l;
+
+  /** create */
+  public TerminationTimerStressTest() {
+    super();
+  }
+
+  /**
+   * Start and stop many runs concurrently
+   *
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testManyShortRuns() throws Throwable {
+    final Benchmark shortBm, longBm;
+    final Configuration config;
+    final AtomicReference<Throwable> error;
+    final AtomicInteger terminated;
+    final Thread[] threads;
+    final NamedObject algo;
+    int i;
+
+    algo = new NamedObject("timerTest"); //$NON-NLS-1$
+    error = new AtomicReference<>();
+    terminated = new AtomicInteger();
+
+    try (final TempDir tempDir = new TempDir()) {
+      // both benchmarks log their runs into the same folder
+      config = new Configuration();
+      config.putString(Benchmark.PARAM_MAX_RUNS, String.valueOf(//
+          TerminationTimerStressTest.THREADS * //
+              ((TerminationTimerStressTest.RUNS << 1) + 1)));
+
+      shortBm = new Benchmark(tempDir.getDir(), Instance.BURMA14);
+      shortBm.configure(config);
+      shortBm.setMaxRuntime(TerminationTimerStressTest.SHORT_TIME);
+      longBm = new Benchmark(tempDir.getDir(), Instance.BURMA14);
+      longBm.configure(config);
+      longBm.setMaxRuntime(TerminationTimerStressTest.LONG_TIME);
+
+      threads = new Thread[TerminationTimerStressTest.THREADS];
+      for (i = threads.length; (--i) >= 0;) {
+        threads[i] = new Thread() {
+          @Override
+          public final void run() {
+            final ObjectiveFunction fs, fl;
+            long start, delay;
+            int j;
+
+            try {
+              fs = shortBm.createObjective();
+              fl = longBm.createObjective();
+
+              for (j = TerminationTimerStressTest.RUNS; (--j) >= 0;) {
+                fl.beginRun(algo);
+                try {
+                  Assert.assertFalse(fl.shouldTerminate());
+                } finally {
+                  fl.endRun();
+                }
+
+                start = System.currentTimeMillis();
+                fs.beginRun(algo);
+                try {
+                  while (!(fs.shouldTerminate())) {
+                    Thread.sleep(1l);
+                  }
+                } finally {
+                  fs.endRun();
+                }
+                delay = (System.currentTimeMillis() - start - //
+                TerminationTimerStressTest.SHORT_TIME);
+                Assert.assertTrue(("Run terminated " + delay + //$NON-NLS-1$
+                    "ms too late."), //$NON-NLS-1$
+                    (delay <= TerminationTimerStressTest.MAX_DELAY));
+                terminated.incrementAndGet();
+              }
+
+              // a long run started after all the others must not be
+              // terminated by some stale timer entry
+              fl.beginRun(algo);
+              try {
+                Thread.sleep(TerminationTimerStressTest.SHORT_TIME << 2);
+                Assert.assertFalse(fl.shouldTerminate());
+              } finally {
+                fl.endRun();
+              }
+            } catch (final Throwable t) {
+              error.compareAndSet(null, t);
+            }
+          }
+        };
+      }
+
+      for (final Thread t : threads) {
+        t.start();
+      }
+      for (final Thread t : threads) {
+        t.join();
+      }
+    }
+
+    if (error.get() != null) {
+      throw error.get();
+    }
+    Assert.assertEquals(
+        (TerminationTimerStressTest.THREADS * TerminationTimerStressTest.RUNS),
+        terminated.get());
+  }
+}
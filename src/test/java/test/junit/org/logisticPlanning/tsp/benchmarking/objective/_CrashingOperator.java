@@ -0,0 +1,89 @@
+package test.junit.org.logisticPlanning.tsp.benchmarking.objective;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.Individual;
+import org.logisticPlanning.tsp.solving.operators.UnaryOperator;
+
+/**
+ * A unary operator for the {@link CheckpointTest}: it delegates to
+ * another operator, but simulates a crash of the machine by throwing an
+ * exception in a given application. Shortly before, it waits a bit, so
+ * that a checkpoint becomes due.
+ *
+ * @param <P>
+ *          the solution type
+ */
+final class _CrashingOperator<P> extends UnaryOperator<P> {
+
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+
+  /** the operator to delegate to */
+  private final UnaryOperator<P> m_op;
+
+  /** the application in which we crash */
+  private final int m_crashAt;
+
+  /** the number of applications so far */
+  private int m_count;
+
+  /**
+   * create
+   *
+   * @param op
+   *          the operator to delegate to
+   * @param crashAt
+   *          the application in which we crash
+   */
+  _CrashingOperator(final UnaryOperator<P> op, final int crashAt) {
+    super("crashing"); //$NON-NLS-1$
+    this.m_op = op;
+    this.m_crashAt = crashAt;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void mutate(final Individual<P> dest,
+      final ObjectiveFunction f, final Individual<P> parent) {
+    if ((++this.m_count) == (this.m_crashAt >>> 1)) {
+      try {
+        Thread.sleep(10l);
+      } catch (final InterruptedException ie) {
+        throw new RuntimeException(ie);
+      }
+    }
+    if (this.m_count >= this.m_crashAt) {
+      throw new _Crash();
+    }
+    this.m_op.mutate(dest, f, parent);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void beginRun(final ObjectiveFunction f) {
+    super.beginRun(f);
+    this.m_op.beginRun(f);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final void endRun(final ObjectiveFunction f) {
+    try {
+      this.m_op.endRun(f);
+    } finally {
+      super.endRun(f);
+    }
+  }
+
+  /** the simulated crash */
+  static final class _Crash extends RuntimeException {
+
+    /** the serial version uid */
+    private static final long serialVersionUID = 1L;
+
+    /** create */
+    _Crash() {
+      super();
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package test.junit.org.logisticPlanning.tsp.benchmarking.objective;
+
+import java.util.concurrent.Callable;
+
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.benchmarking.objective.TaskRecord;
+
+/**
+ * A worker of the {@link ForkTest}: it performs every {@code step}-th
+ * task, starting at task {@code start}, on its fork.
+ */
+final class _ForkTask implements Callable<Void> {
+
+  /** the fork */
+  private final ObjectiveFunction m_f;
+
+  /** the seeds */
+  private final long[] m_seeds;
+
+  /** the records */
+  private final TaskRecord[] m_records;
+
+  /** the first task */
+  private final int m_start;
+
+  /** the step */
+  private final int m_step;
+
+  /**
+   * create
+   *
+   * @param f
+   *          the fork
+   * @param seeds
+   *          the seeds
+   * @param records
+   *          the records
+   * @param start
+   *          the first task
+   * @param step
+   *          the step
+   */
+  _ForkTask(final ObjectiveFunction f, final long[] seeds,
+      final TaskRecord[] records, final int start, final int step) {
+    super();
+    this.m_f = f;
+    this.m_seeds = seeds;
+    this.m_records = records;
+    this.m_start = start;
+    this.m_step = step;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public final Void call() {
+    TaskRecord record;
+    int i;
+
+    for (i = this.m_start; i < this.m_seeds.length; i += this.m_step) {
+      this.m_records[i] = record = new TaskRecord();
+      this.m_f.beginTask(record, this.m_seeds[i]);
+      try {
+        ForkTest._task(this.m_f, this.m_f.getRandom());
+      } finally {
+        this.m_f.endTask();
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,29 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.neighborList;
+
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.neighborList.NeighborListSearch;
+
+import test.junit.org.logisticPlanning.tsp.solving.algorithms.TSPAlgorithmSymmetricTest;
+
+/**
+ * The test of the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.neighborList.NeighborListSearch
+ * neighbor list 2-opt/Or-opt search} using all nodes as candidates.
+ */
+public class NeighborListSearchAllCandidatesTest extends
+    TSPAlgorithmSymmetricTest {
+
+  /** create */
+  public NeighborListSearchAllCandidatesTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected NeighborListSearch createAlgorithm() {
+    final NeighborListSearch res;
+
+    res = new NeighborListSearch();
+    res.setCandidateCount(-1);
+    return res;
+  }
+}
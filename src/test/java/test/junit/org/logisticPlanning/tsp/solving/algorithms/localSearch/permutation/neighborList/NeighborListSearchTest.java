@@ -0,0 +1,24 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.neighborList;
+
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.neighborList.NeighborListSearch;
+
+import test.junit.org.logisticPlanning.tsp.solving.algorithms.TSPAlgorithmSymmetricTest;
+
+/**
+ * The test of the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.neighborList.NeighborListSearch
+ * neighbor list 2-opt/Or-opt search}.
+ */
+public class NeighborListSearchTest extends TSPAlgorithmSymmetricTest {
+
+  /** create */
+  public NeighborListSearchTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected NeighborListSearch createAlgorithm() {
+    return new NeighborListSearch();
+  }
+}
@@ -0,0 +1,75 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.neighborList;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.neighborList.NeighborListSearch;
+import org.logisticPlanning.utils.config.Configuration;
+
+import test.junit.TempDir;
+import test.junit.org.logisticPlanning.tsp.solving.algorithms.TSPAlgorithmSymmetricTest;
+
+/**
+ * The test of the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.neighborList.NeighborListSearch
+ * neighbor list 2-opt/Or-opt search} keeping the tour in a
+ * {@link org.logisticPlanning.tsp.solving.utils.twoLevelList.TwoLevelList
+ * two-level doubly-linked list}.
+ */
+public class NeighborListSearchTwoLevelListTest extends
+    TSPAlgorithmSymmetricTest {
+
+  /** the maximum FEs, not a multiple of the batch size */
+  private static final long MAX_FES = 100l;
+
+  /** create */
+  public NeighborListSearchTwoLevelListTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected NeighborListSearch createAlgorithm() {
+    final NeighborListSearch res;
+
+    res = new NeighborListSearch();
+    res.setUseTwoLevelList(true);
+    return res;
+  }
+
+  /**
+   * test that the moves registered in batches do not exceed the FE budget
+   *
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testMaxFEs() throws Throwable {
+    final Benchmark bm;
+    final Configuration config;
+    final ObjectiveFunction f;
+    final NeighborListSearch algo;
+
+    try (final TempDir dir = new TempDir()) {
+      bm = new Benchmark(dir.getDir(), Instance.PCB442);
+      config = new Configuration();
+      config.putString(Benchmark.PARAM_MAX_FES,
+          String.valueOf(NeighborListSearchTwoLevelListTest.MAX_FES));
+      bm.configure(config);
+
+      f = bm.createObjective();
+      algo = this.createAlgorithm();
+      f.beginRun(algo);
+      try {
+        algo.call(f);
+        Assert.assertEquals(NeighborListSearchTwoLevelListTest.MAX_FES, f
+            .getCurrentLogPoint().getConsumedFEs());
+      } finally {
+        f.endRun();
+      }
+      Benchmark.flushLogs();
+    }
+  }
+}
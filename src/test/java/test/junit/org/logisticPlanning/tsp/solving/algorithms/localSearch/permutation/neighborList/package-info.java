@@ -0,0 +1,7 @@
+/**
+ * Tests for the neighbor list search in package
+ * {@link org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.neighborList}
+ * .
+ */
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.localSearch.permutation.neighborList;
+
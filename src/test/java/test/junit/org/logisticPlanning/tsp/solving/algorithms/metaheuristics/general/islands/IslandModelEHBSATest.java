@@ -0,0 +1,35 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.islands;
+
+import java.util.Random;
+
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.islands.IslandModel;
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.eda.templateBasedEHBSA.TemplateBasedEHBSA;
+
+import test.junit.org.logisticPlanning.tsp.solving.algorithms.TSPAlgorithmSymmetricTest;
+
+/**
+ * The test of the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.islands.IslandModel
+ * island model} running the template-based EHBSA on each island.
+ */
+public class IslandModelEHBSATest extends TSPAlgorithmSymmetricTest {
+
+  /** create */
+  public IslandModelEHBSATest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected IslandModel createAlgorithm() {
+    final IslandModel res;
+    final Random r;
+
+    r = new Random();
+    res = new IslandModel();
+    res.setIslandAlgorithm(new TemplateBasedEHBSA());
+    res.setIslands(2 + r.nextInt(3));
+    res.setMigrationInterval(1 + r.nextInt(256));
+    return res;
+  }
+}
@@ -0,0 +1,35 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.islands;
+
+import java.util.Random;
+
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.islands.IslandModel;
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco.PACO;
+
+import test.junit.org.logisticPlanning.tsp.solving.algorithms.TSPAlgorithmAsymmetricTest;
+
+/**
+ * The test of the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.islands.IslandModel
+ * island model} running the population-based ACO on each island.
+ */
+public class IslandModelPACOTest extends TSPAlgorithmAsymmetricTest {
+
+  /** create */
+  public IslandModelPACOTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected IslandModel createAlgorithm() {
+    final IslandModel res;
+    final Random r;
+
+    r = new Random();
+    res = new IslandModel();
+    res.setIslandAlgorithm(new PACO());
+    res.setIslands(2 + r.nextInt(3));
+    res.setMigrationInterval(1 + r.nextInt(256));
+    return res;
+  }
+}
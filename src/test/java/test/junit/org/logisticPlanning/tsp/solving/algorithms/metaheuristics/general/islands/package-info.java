@@ -0,0 +1,7 @@
+/**
+ * Tests for the island model in package
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.islands}
+ * .
+ */
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general.islands;
+
@@ -0,0 +1,7 @@
+/**
+ * Tests for general metaheuristics in package
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general}
+ * .
+ */
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.metaheuristics.general;
+
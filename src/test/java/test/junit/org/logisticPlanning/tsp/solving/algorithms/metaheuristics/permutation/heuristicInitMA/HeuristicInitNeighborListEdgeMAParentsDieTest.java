@@ -0,0 +1,39 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.heuristicInitMA;
+
+import java.util.Random;
+
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.heuristicInitMA.HeuristicInitNeighborListEdgeMA;
+
+import test.junit.org.logisticPlanning.tsp.solving.algorithms.TSPAlgorithmSymmetricTest;
+
+/**
+ * the test of the permutation-based heuristic init edge MA with
+ * neighbor list 2-opt/Or-opt mutation
+ */
+public class HeuristicInitNeighborListEdgeMAParentsDieTest extends
+    TSPAlgorithmSymmetricTest {
+
+  /** create */
+  public HeuristicInitNeighborListEdgeMAParentsDieTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected HeuristicInitNeighborListEdgeMA createAlgorithm() {
+    HeuristicInitNeighborListEdgeMA res;
+    Random r;
+    int mu, lambda;
+
+    res = new HeuristicInitNeighborListEdgeMA();
+    res.setParentsSurvive(false);
+
+    r = new Random();
+    mu = (1 + r.nextInt(512));
+    lambda = (mu + 1 + r.nextInt(512));
+    res.setMu(mu);
+    res.setLambda(lambda);
+
+    return res;
+  }
+}
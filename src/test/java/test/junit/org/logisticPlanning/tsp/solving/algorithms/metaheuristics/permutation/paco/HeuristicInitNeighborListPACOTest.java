@@ -0,0 +1,22 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco;
+
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco.HeuristicInitNeighborListPACO;
+
+/**
+ * the test of the heuristically initialized population-based ACO with
+ * neighbor list 2-opt/Or-opt search
+ */
+public class HeuristicInitNeighborListPACOTest extends
+    HeuristicInitPACOTest {
+
+  /** create */
+  public HeuristicInitNeighborListPACOTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected HeuristicInitNeighborListPACO createAlgorithm() {
+    return new HeuristicInitNeighborListPACO();
+  }
+}
@@ -0,0 +1,114 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.benchmarking.objective.Benchmark;
+import org.logisticPlanning.tsp.benchmarking.objective.ELogFormat;
+import org.logisticPlanning.tsp.benchmarking.objective.LogPoint;
+import org.logisticPlanning.tsp.benchmarking.objective.ObjectiveFunction;
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco.PACO;
+import org.logisticPlanning.utils.config.Configuration;
+
+import test.junit.TempDir;
+
+/**
+ * the test of the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco.PACO
+ * population-based ACO} constructing the ants in
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco.PACO#PARAM_PARALLELISM
+ * parallel}.
+ */
+public class PACOParallelTest extends PACOTest {
+
+  /** the random seed */
+  private static final long SEED = 4711l;
+
+  /** the maximum FEs */
+  private static final long MAX_FES = 5000l;
+
+  /** create */
+  public PACOParallelTest() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected PACO createAlgorithm() {
+    final PACO p;
+
+    p = super.createAlgorithm();
+    p.setParallelism(3);
+    return p;
+  }
+
+  /**
+   * perform a run with a fixed random seed
+   *
+   * @param parallelism
+   *          the number of threads
+   * @param tour
+   *          the destination for the best tour
+   * @return the log point of the last improvement
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  private static final LogPoint __run(final int parallelism,
+      final int[] tour) throws Throwable {
+    final Benchmark bm;
+    final Configuration config;
+    final ObjectiveFunction f;
+    final PACO paco;
+    final LogPoint res;
+
+    try (final TempDir dir = new TempDir()) {
+      bm = new Benchmark(dir.getDir(), Instance.EIL51);
+      config = new Configuration();
+      config.putString(Benchmark.PARAM_LOG_FORMAT, ELogFormat.BINARY.name());
+      config.putString(Benchmark.PARAM_MAX_FES,
+          String.valueOf(PACOParallelTest.MAX_FES));
+      config.putString(Benchmark.PARAM_MAX_RUNS, String.valueOf(1));
+      bm.configure(config);
+
+      f = bm.createObjective();
+      paco = new PACO();
+      paco.setParallelism(parallelism);
+      f.beginRun(paco);
+      try {
+        f.getRandom().setSeed(PACOParallelTest.SEED);
+        paco.call(f);
+        f.getCopyOfBest(tour);
+        Assert.assertEquals(PACOParallelTest.MAX_FES, f.getCurrentLogPoint()
+            .getConsumedFEs());
+        res = f.getLastImprovementLogPoint().clone();
+      } finally {
+        f.endRun();
+      }
+      Benchmark.flushLogs();
+    }
+    return res;
+  }
+
+  /**
+   * test that the results of a parallel run only depend on the random
+   * seed and not on the number of threads
+   *
+   * @throws Throwable
+   *           if anything goes wrong
+   */
+  @Test(timeout = 3600000)
+  public void testDeterministic() throws Throwable {
+    final int[] a, b;
+    final LogPoint x, y;
+
+    a = new int[Instance.EIL51.n()];
+    b = new int[a.length];
+    x = PACOParallelTest.__run(2, a);
+    y = PACOParallelTest.__run(4, b);
+
+    Assert.assertEquals(x.getConsumedFEs(), y.getConsumedFEs());
+    Assert.assertEquals(x.getConsumedDEs(), y.getConsumedDEs());
+    Assert.assertEquals(x.getBestF(), y.getBestF());
+    Assert.assertArrayEquals(a, b);
+  }
+}
@@ -0,0 +1,28 @@
+package test.junit.org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco;
+
+import org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco.PACO;
+
+/**
+ * the test of the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco.PACO
+ * population-based ACO} choosing the next node among the
+ * {@link org.logisticPlanning.tsp.solving.algorithms.metaheuristics.permutation.paco.PACO#PARAM_CANDIDATE_COUNT
+ * 10 nearest neighbors}.
+ */
+public class PACOTest_Candidates_10 extends PACOTest {
+
+  /** create */
+  public PACOTest_Candidates_10() {
+    super();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected PACO createAlgorithm() {
+    final PACO p;
+
+    p = super.createAlgorithm();
+    p.setCandidateCount(10);
+    return p;
+  }
+}
@@ -0,0 +1,199 @@
+package test.junit.org.logisticPlanning.tsp.solving.utils.oneTree;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.benchmarking.dist.DistanceComputer;
+import org.logisticPlanning.tsp.benchmarking.instances.Instance;
+import org.logisticPlanning.tsp.solving.utils.oneTree.OneTree;
+
+import test.junit.TestBase;
+
+/**
+ * Test the {@link org.logisticPlanning.tsp.solving.utils.oneTree.OneTree
+ * 1-tree}: the bound must never exceed the optimal tour length and the
+ * &alpha;-nearness computed for all node pairs must equal the one computed
+ * over the edges of a complete graph.
+ */
+public class OneTreeTest extends TestBase {
+
+  /** the maximum number of nodes of the instances to test */
+  private static final int MAX_N = 200;
+
+  /** create */
+  public OneTreeTest() {
+    super();
+  }
+
+  /**
+   * create the complete graph
+   *
+   * @param n
+   *          the number of nodes
+   * @return the graph with {@code n-1} neighbors per node
+   */
+  private static final int[] __completeGraph(final int n) {
+    final int[] graph;
+    int i, j, idx;
+
+    graph = new int[n * (n - 1)];
+    idx = 0;
+    for (i = 1; i <= n; i++) {
+      for (j = 1; j <= n; j++) {
+        if (i != j) {
+          graph[idx++] = j;
+        }
+      }
+    }
+    return graph;
+  }
+
+  /**
+   * check that a candidate array contains {@code m} distinct other nodes
+   * for each node
+   *
+   * @param n
+   *          the number of nodes
+   * @param m
+   *          the number of candidates per node
+   * @param dest
+   *          the candidate array
+   */
+  private static final void __checkCandidates(final int n, final int m,
+      final int[] dest) {
+    final boolean[] seen;
+    int i, j, c, idx;
+
+    seen = new boolean[n + 1];
+    idx = 0;
+    for (i = 1; i <= n; i++) {
+      for (j = m; (--j) >= 0;) {
+        c = dest[idx + j];
+        Assert.assertTrue((c >= 1) && (c <= n) && (c != i));
+        Assert.assertFalse(seen[c]);
+        seen[c] = true;
+      }
+      for (j = m; (--j) >= 0;) {
+        seen[dest[idx++]] = false;
+      }
+    }
+  }
+
+  /**
+   * test that the optimized bound is valid and not worse than the initial
+   * one
+   *
+   * @throws IOException
+   *           if loading an instance fails
+   */
+  @Test(timeout = 3600000)
+  public void testLowerBound() throws IOException {
+    DistanceComputer dist;
+    OneTree tree;
+    double initial;
+    int n, i, degrees;
+
+    for (final Instance inst : Instance.SYMMETRIC_INSTANCES) {
+      n = inst.n();
+      if (n > OneTreeTest.MAX_N) {
+        continue;
+      }
+      dist = inst.load(0);
+      tree = new OneTree(dist, OneTreeTest.__completeGraph(n), (n - 1));
+      initial = tree.getLowerBound();
+      tree.ascent(1000);
+
+      Assert.assertTrue(inst.name(), (tree.getLowerBound() >= initial));
+      Assert.assertTrue(inst.name(),
+          (tree.getLowerBound() <= inst.optimum()));
+
+      degrees = 0;
+      for (i = n; i > 0; i--) {
+        degrees += tree.getDegree(i);
+      }
+      Assert.assertEquals(inst.name(), (n << 1), degrees);
+    }
+  }
+
+  /**
+   * test that the &alpha;-nearest nodes among all nodes equal those found
+   * in the complete graph
+   *
+   * @throws IOException
+   *           if loading an instance fails
+   */
+  @Test(timeout = 3600000)
+  public void testAlphaNearest() throws IOException {
+    DistanceComputer dist;
+    OneTree tree;
+    int[] a, b;
+    int n, m;
+
+    for (final Instance inst : Instance.SYMMETRIC_INSTANCES) {
+      n = inst.n();
+      if (n > OneTreeTest.MAX_N) {
+        continue;
+      }
+      dist = inst.load(0);
+      tree = new OneTree(dist, OneTreeTest.__completeGraph(n), (n - 1));
+      tree.ascent(1000);
+
+      for (m = 1; m <= Math.min(8, (n - 1)); m++) {
+        a = new int[n * m];
+        b = new int[n * m];
+        tree.alphaNearest(dist, m, a);
+        tree.alphaNearestInGraph(m, b);
+        OneTreeTest.__checkCandidates(n, m, a);
+        Assert.assertArrayEquals(inst.name(), a, b);
+      }
+    }
+  }
+
+  /**
+   * test a sparse graph of nearest neighbors, which is often not
+   * connected
+   *
+   * @throws IOException
+   *           if loading an instance fails
+   */
+  @Test(timeout = 3600000)
+  public void testSparseGraph() throws IOException {
+    DistanceComputer dist;
+    OneTree tree;
+    int[] graph, dest;
+    int n, k, i, j, best, d, bestDist;
+
+    for (final Instance inst : Instance.SYMMETRIC_INSTANCES) {
+      n = inst.n();
+      if (n > OneTreeTest.MAX_N) {
+        continue;
+      }
+      dist = inst.load(0);
+
+      for (k = 1; k <= 2; k++) {
+        graph = new int[n * k];
+        for (i = n; i > 0; i--) {
+          for (j = 0; j < k; j++) {
+            best = 0;
+            bestDist = Integer.MAX_VALUE;
+            for (d = n; d > 0; d--) {
+              if ((d != i) && ((j <= 0) || (d != graph[((i - 1) * k)]))
+                  && (dist.distance(i, d) < bestDist)) {
+                bestDist = dist.distance(i, d);
+                best = d;
+              }
+            }
+            graph[((i - 1) * k) + j] = best;
+          }
+        }
+
+        tree = new OneTree(dist, graph, k);
+        tree.ascent(100);
+        dest = new int[n * k];
+        tree.alphaNearestInGraph(k, dest);
+        OneTreeTest.__checkCandidates(n, k, dest);
+      }
+    }
+  }
+}
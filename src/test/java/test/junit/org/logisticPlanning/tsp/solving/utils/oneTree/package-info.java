@@ -0,0 +1,6 @@
+/**
+ * Tests for the subgradient-optimized 1-trees and the &alpha;-nearness
+ * computation in {@link org.logisticPlanning.tsp.solving.utils.oneTree} .
+ */
+package test.junit.org.logisticPlanning.tsp.solving.utils.oneTree;
+
@@ -0,0 +1,194 @@
+package test.junit.org.logisticPlanning.tsp.solving.utils.twoLevelList;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.logisticPlanning.tsp.solving.operators.permutation.creation.PermutationCreateUniform;
+import org.logisticPlanning.tsp.solving.utils.RepresentationUtils;
+import org.logisticPlanning.tsp.solving.utils.twoLevelList.TwoLevelList;
+import org.logisticPlanning.utils.math.random.Randomizer;
+
+import test.junit.TestBase;
+
+/**
+ * Test the
+ * {@link org.logisticPlanning.tsp.solving.utils.twoLevelList.TwoLevelList
+ * two-level doubly-linked list} by comparing it with a tour in path
+ * representation to which the same reversals are applied.
+ */
+public class TwoLevelListTest extends TestBase {
+
+  /** create */
+  public TwoLevelListTest() {
+    super();
+  }
+
+  /**
+   * Check that the list represents the same tour, with the same
+   * orientation, as the given path
+   *
+   * @param list
+   *          the list
+   * @param path
+   *          the path
+   * @param pos
+   *          the index of each node in the path
+   * @param r
+   *          the randomizer
+   */
+  private static final void __check(final TwoLevelList list,
+      final int[] path, final int[] pos, final Randomizer r) {
+    final int n;
+    int i, a, b, c, ab, ac;
+
+    n = path.length;
+    for (i = n; (--i) >= 0;) {
+      pos[path[i]] = i;
+    }
+
+    for (i = n; (--i) >= 0;) {
+      a = path[i];
+      Assert.assertEquals(path[((i + 1) < n) ? (i + 1) : 0], list.next(a));
+      Assert.assertEquals(path[(i > 0) ? (i - 1) : (n - 1)], list.prev(a));
+    }
+
+    for (i = Math.min(n, 100); (--i) >= 0;) {
+      a = (1 + r.nextInt(n));
+      b = (1 + r.nextInt(n));
+      c = (1 + r.nextInt(n));
+      ab = (pos[b] - pos[a]);
+      if (ab < 0) {
+        ab += n;
+      }
+      ac = (pos[c] - pos[a]);
+      if (ac < 0) {
+        ac += n;
+      }
+      Assert.assertEquals((ab <= ac), list.between(a, b, c));
+    }
+  }
+
+  /**
+   * reverse a sub-sequence of a path
+   *
+   * @param path
+   *          the path
+   * @param i
+   *          the index of the first node
+   * @param j
+   *          the index of the last node, which may be smaller than
+   *          {@code i} if the sub-sequence wraps around
+   */
+  private static final void __reverse(final int[] path, final int i,
+      final int j) {
+    final int n;
+    int a, b, k, t;
+
+    n = path.length;
+    k = (j - i);
+    if (k < 0) {
+      k += n;
+    }
+    a = i;
+    b = j;
+    for (k = ((k + 1) >>> 1); (--k) >= 0;) {
+      t = path[a];
+      path[a] = path[b];
+      path[b] = t;
+      if ((++a) >= n) {
+        a = 0;
+      }
+      if ((--b) < 0) {
+        b = (n - 1);
+      }
+    }
+  }
+
+  /** test the conversion from and to the path representation */
+  @Test(timeout = 3600000)
+  public void testFromToPath() {
+    final Randomizer r;
+    TwoLevelList list;
+    int i, j, n;
+    int[] a, b;
+
+    r = new Randomizer();
+
+    for (i = 1; i <= 300; i++) {
+      n = ((i < 50) ? i : (1 + r.nextInt(3000)));
+      list = new TwoLevelList(n);
+      Assert.assertEquals(n, list.n());
+      b = new int[n];
+
+      for (j = 10; (--j) >= 0;) {
+        a = PermutationCreateUniform.create(n, r);
+        list.fromPath(a);
+        list.toPath(b);
+        Assert.assertTrue(RepresentationUtils.arePathsEquivalentSTSP(a, b));
+        TwoLevelListTest.__check(list, a, new int[n + 1], r);
+      }
+    }
+  }
+
+  /** test the conversion from and to the adjacency representation */
+  @Test(timeout = 3600000)
+  public void testFromToAdjacencyList() {
+    final Randomizer r;
+    TwoLevelList list;
+    int i, j, n;
+    int[] a, b, adj;
+
+    r = new Randomizer();
+
+    for (i = 2; i <= 300; i++) {
+      n = ((i < 50) ? i : (2 + r.nextInt(3000)));
+      list = new TwoLevelList(n);
+      adj = new int[n];
+      b = new int[n];
+
+      for (j = 10; (--j) >= 0;) {
+        a = PermutationCreateUniform.create(n, r);
+        RepresentationUtils.pathToAdjacencyList(a, adj);
+        list.fromAdjacencyList(adj);
+        TwoLevelListTest.__check(list, a, new int[n + 1], r);
+        list.toAdjacencyList(b);
+        Assert.assertArrayEquals(adj, b);
+      }
+    }
+  }
+
+  /** test random reversals */
+  @Test(timeout = 3600000)
+  public void testReverse() {
+    final Randomizer r;
+    TwoLevelList list;
+    int i, j, n, b, c, k;
+    int[] path, pos;
+
+    r = new Randomizer();
+
+    for (i = 1; i <= 250; i++) {
+      n = ((i < 50) ? i : (1 + r.nextInt(2000)));
+      list = new TwoLevelList(n);
+      path = PermutationCreateUniform.create(n, r);
+      pos = new int[n + 1];
+      list.fromPath(path);
+      TwoLevelListTest.__check(list, path, pos, r);
+
+      for (j = 300; (--j) >= 0;) {
+        b = (1 + r.nextInt(n));
+        if (r.nextBoolean()) {
+          c = (1 + r.nextInt(n));
+        } else {// short sub-sequences, as in local searches
+          c = b;
+          for (k = r.nextInt(5); (--k) >= 0;) {
+            c = path[(pos[c] + 1) % n];
+          }
+        }
+
+        list.reverse(b, c);
+        TwoLevelListTest.__reverse(path, pos[b], pos[c]);
+        TwoLevelListTest.__check(list, path, pos, r);
+      }
+    }
+  }
+}
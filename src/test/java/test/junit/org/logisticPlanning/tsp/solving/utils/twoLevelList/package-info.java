@@ -0,0 +1,6 @@
+/**
+ * Tests for the two-level doubly-linked list representation utilities
+ * {@link org.logisticPlanning.tsp.solving.utils.twoLevelList} .
+ */
+package test.junit.org.logisticPlanning.tsp.solving.utils.twoLevelList;
+